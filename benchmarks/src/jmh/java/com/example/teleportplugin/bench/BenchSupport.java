@@ -0,0 +1,62 @@
+package com.example.teleportplugin.bench;
+
+import com.example.teleportplugin.data.HomeData;
+import com.example.teleportplugin.logging.LogLevel;
+import com.example.teleportplugin.logging.PluginLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Shared fixtures for the benchmarks
+ */
+final class BenchSupport {
+    static final String[] HOME_NAMES = {"home", "base", "farm", "mine", "spawn"};
+
+    private BenchSupport() {
+    }
+
+    /**
+     * Keep per-operation info logging out of the measurements
+     */
+    static void quietLogging() {
+        PluginLogger.setLevel(LogLevel.WARN);
+    }
+
+    static UUID playerId(int i) {
+        return UUID.nameUUIDFromBytes(("player-" + i).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Homes for the given number of players, homesPerPlayer each, spread over two worlds
+     */
+    static Map<String, Map<String, HomeData.HomeLocation>> generateHomes(int players, int homesPerPlayer) {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>(players * 2);
+        for (int p = 0; p < players; p++) {
+            Map<String, HomeData.HomeLocation> playerHomes = new HashMap<>();
+            for (int h = 0; h < homesPerPlayer; h++) {
+                String world = (p + h) % 2 == 0 ? "default" : "nether";
+                playerHomes.put(HOME_NAMES[h % HOME_NAMES.length] + (h / HOME_NAMES.length),
+                        new HomeData.HomeLocation(p * 16.5, 64 + h, -p * 3.25, world));
+            }
+            homes.put(playerId(p).toString(), playerHomes);
+        }
+        return homes;
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
\ No newline at end of file
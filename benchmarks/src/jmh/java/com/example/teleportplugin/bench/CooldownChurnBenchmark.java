@@ -0,0 +1,95 @@
+package com.example.teleportplugin.bench;
+
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Start/cancel churn on the cooldown manager, as seen when players spam /home tp and
+ * move right away. Cooldowns are long enough that none complete during a run, so only
+ * scheduling and cancellation are measured, on the timer wheel and on the world-tick queue.
+ * In world-tick mode a stand-in world thread drains the queue every 50ms.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CooldownChurnBenchmark {
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({"false", "true"})
+    public boolean worldTickDriven;
+
+    @Param({"10000"})
+    public int players;
+
+    private TeleportCooldownManager cooldownManager;
+    private UUID[] playerIds;
+    private ScheduledExecutorService worldThread;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchSupport.quietLogging();
+        cooldownManager = new TeleportCooldownManager(60, 50, worldTickDriven);
+        playerIds = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = BenchSupport.playerId(i);
+        }
+        if (worldTickDriven) {
+            worldThread = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "Bench-World");
+                thread.setDaemon(true);
+                return thread;
+            });
+            worldThread.scheduleAtFixedRate(() -> cooldownManager.tick("default"), 50, 50, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (worldThread != null) {
+            worldThread.shutdownNow();
+        }
+        cooldownManager.shutdown();
+    }
+
+    /**
+     * Starting a cooldown replaces any pending one of the same player
+     */
+    @Benchmark
+    @Threads(4)
+    public void startCooldown() {
+        UUID playerId = playerIds[ThreadLocalRandom.current().nextInt(players)];
+        cooldownManager.startCooldown(playerId, "default", "home", NOOP, NOOP);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void startThenCancel() {
+        UUID playerId = playerIds[ThreadLocalRandom.current().nextInt(players)];
+        cooldownManager.startCooldown(playerId, "default", "home", NOOP, NOOP);
+        cooldownManager.cancelCooldown(playerId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.teleportplugin.bench;
+
+import com.example.teleportplugin.data.BinaryHomeData;
+import com.example.teleportplugin.data.HomeData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full snapshot save and load of homes.json and homes.bin at different server sizes.
+ * Every player has three homes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HomeDataBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int players;
+
+    private Map<String, Map<String, HomeData.HomeLocation>> homes;
+    private Path saveDir;
+    private Path loadDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchSupport.quietLogging();
+        homes = BenchSupport.generateHomes(players, 3);
+        saveDir = Files.createTempDirectory("homedata-save");
+        loadDir = Files.createTempDirectory("homedata-load");
+        HomeData.saveHomes(homes, loadDir);
+        BinaryHomeData.saveHomes(homes, loadDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchSupport.deleteRecursively(saveDir);
+        BenchSupport.deleteRecursively(loadDir);
+    }
+
+    @Benchmark
+    public boolean saveJson() {
+        return HomeData.saveHomes(homes, saveDir);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, HomeData.HomeLocation>> loadJson() {
+        return HomeData.loadHomes(loadDir);
+    }
+
+    @Benchmark
+    public boolean saveBinary() {
+        return BinaryHomeData.saveHomes(homes, saveDir);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, HomeData.HomeLocation>> loadBinary() {
+        return BinaryHomeData.loadHomes(loadDir);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.example.teleportplugin.bench;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.data.HomeData;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.HomeStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HomeManager lookups and updates under contention, with write-behind persistence to
+ * the configured store in a temporary directory. The mixed group runs six readers
+ * against two writers on the same players, the read-only and write-only benchmarks
+ * run on eight threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HomeManagerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int players;
+
+    @Param({PluginConfig.STORAGE_SHARDED, PluginConfig.STORAGE_JOURNAL})
+    public String storageMode;
+
+    private HomeManager homeManager;
+    private Path dataDir;
+    private UUID[] playerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchSupport.quietLogging();
+        dataDir = Files.createTempDirectory("homemanager");
+
+        PluginConfig config = new PluginConfig();
+        config.storageMode = storageMode;
+        config.writeBehindEnabled = true;
+        config.writeBehindIntervalMillis = 1000;
+
+        homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        playerIds = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = BenchSupport.playerId(i);
+            for (int h = 0; h < 3; h++) {
+                homeManager.setHome(playerIds[i], BenchSupport.HOME_NAMES[h], i, 64, h);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        homeManager.saveAll();
+        BenchSupport.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public HomeData.HomeLocation getHome() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return homeManager.getHome(playerIds[random.nextInt(players)], BenchSupport.HOME_NAMES[random.nextInt(3)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void setHome() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        homeManager.setHome(playerIds[random.nextInt(players)], BenchSupport.HOME_NAMES[random.nextInt(3)],
+                random.nextDouble(1000), 64, random.nextDouble(1000));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public HomeData.HomeLocation mixedGet() {
+        return getHome();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void mixedSet() {
+        setHome();
+    }
+}
\ No newline at end of file
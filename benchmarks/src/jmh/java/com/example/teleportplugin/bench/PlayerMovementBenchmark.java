@@ -0,0 +1,79 @@
+package com.example.teleportplugin.bench;
+
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.example.teleportplugin.systems.PlayerMovementSystem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a movement update for players without a cooldown (the common case) and for
+ * watched players that stay within the movement threshold.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerMovementBenchmark {
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({"1000"})
+    public int players;
+
+    private TeleportCooldownManager cooldownManager;
+    private PlayerMovementSystem movementSystem;
+    private UUID[] idlePlayers;
+    private UUID[] watchedPlayers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchSupport.quietLogging();
+        cooldownManager = new TeleportCooldownManager(3600);
+        movementSystem = new PlayerMovementSystem(cooldownManager, 0.1);
+        idlePlayers = new UUID[players];
+        watchedPlayers = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            idlePlayers[i] = new UUID(1, i);
+            watchedPlayers[i] = new UUID(2, i);
+            cooldownManager.startCooldown(watchedPlayers[i], "default", "home", NOOP, NOOP);
+            movementSystem.startWatching(watchedPlayers[i]);
+            movementSystem.onPlayerMove(watchedPlayers[i], i, 64, i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        movementSystem.shutdown();
+        cooldownManager.shutdown();
+    }
+
+    @Benchmark
+    public void moveWithoutCooldown() {
+        int i = ThreadLocalRandom.current().nextInt(players);
+        movementSystem.onPlayerMove(idlePlayers[i], i + 5, 64, i + 5);
+    }
+
+    @Benchmark
+    public void moveWithinThreshold() {
+        int i = ThreadLocalRandom.current().nextInt(players);
+        movementSystem.onPlayerMove(watchedPlayers[i], i + 0.01, 64, i);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.teleportplugin.bench;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every benchmark method once with the first value of each parameter, without JMH
+ */
+class BenchmarkSmokeTest {
+    @ParameterizedTest
+    @ValueSource(classes = {
+            CooldownChurnBenchmark.class,
+            HomeDataBenchmark.class,
+            HomeManagerBenchmark.class,
+            PlayerMovementBenchmark.class})
+    void everyBenchmarkRunsOnce(Class<?> benchmarkClass) throws Exception {
+        Object benchmark = benchmarkClass.getConstructor().newInstance();
+        for (Field field : benchmarkClass.getFields()) {
+            Param param = field.getAnnotation(Param.class);
+            if (param != null) {
+                setParam(benchmark, field, param.value()[0]);
+            }
+        }
+
+        List<Method> benchmarks = new ArrayList<>();
+        for (Method method : benchmarkClass.getMethods()) {
+            if (method.isAnnotationPresent(Benchmark.class)) {
+                benchmarks.add(method);
+            }
+        }
+        assertFalse(benchmarks.isEmpty());
+
+        invokeAnnotated(benchmark, Setup.class);
+        try {
+            for (Method method : benchmarks) {
+                method.invoke(benchmark);
+            }
+        } finally {
+            invokeAnnotated(benchmark, TearDown.class);
+        }
+    }
+
+    private static void setParam(Object benchmark, Field field, String value) throws IllegalAccessException {
+        if (field.getType() == int.class) {
+            field.setInt(benchmark, Integer.parseInt(value));
+        } else if (field.getType() == boolean.class) {
+            field.setBoolean(benchmark, Boolean.parseBoolean(value));
+        } else {
+            field.set(benchmark, value);
+        }
+    }
+
+    private static void invokeAnnotated(Object benchmark, Class<? extends Annotation> annotation) throws Exception {
+        for (Method method : benchmark.getClass().getMethods()) {
+            if (method.isAnnotationPresent(annotation)) {
+                method.invoke(benchmark);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.teleportplugin.cooldown;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TeleportCooldownManagerTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+
+    @Test
+    void replacedCooldownIsCancelledAndLeavesTheNewOneActive() {
+        // No delay and driven by ticks, so each tick() completes whatever is pending
+        TeleportCooldownManager manager = new TeleportCooldownManager(0, 50, true);
+        List<String> events = new ArrayList<>();
+        manager.startCooldown(PLAYER, "earth", "base", () -> events.add("base done"), () -> events.add("base cancelled"));
+        manager.startCooldown(PLAYER, "earth", "camp", () -> events.add("camp done"), () -> events.add("camp cancelled"));
+
+        assertEquals(List.of("base cancelled"), events);
+        assertTrue(manager.hasCooldown(PLAYER));
+        assertEquals(1, manager.getActiveCooldownCount());
+
+        manager.tick("earth");
+        assertEquals(List.of("base cancelled", "camp done"), events);
+        assertFalse(manager.hasCooldown(PLAYER));
+    }
+
+    @Test
+    void worldTickModeRunsCallbacksOnlyFromTheirWorldsTick() {
+        TeleportCooldownManager manager = new TeleportCooldownManager(0, 50, true);
+        assertTrue(manager.isWorldTickDriven());
+        Thread[] ranOn = new Thread[1];
+        manager.startCooldown(PLAYER, "earth", "base", () -> ranOn[0] = Thread.currentThread(), null);
+
+        manager.tick("mars");
+        assertTrue(manager.hasCooldown(PLAYER));
+        assertNull(ranOn[0]);
+
+        manager.tick("earth");
+        assertEquals(Thread.currentThread(), ranOn[0]);
+        assertFalse(manager.hasCooldown(PLAYER));
+        assertEquals(0, manager.getActiveCooldownCount());
+    }
+
+    @Test
+    void cancelCallbackThatStartsANewCooldownKeepsIt() {
+        TeleportCooldownManager manager = new TeleportCooldownManager(0, 50, true);
+        List<String> events = new ArrayList<>();
+        // Starting over from the cancel callback, e.g. a retry, must not be undone by the
+        // cancelled cooldown cleaning up after itself
+        manager.startCooldown(PLAYER, "earth", "base", () -> events.add("base done"),
+                () -> manager.startCooldown(PLAYER, "earth", "retry", () -> events.add("retry done"), null));
+        manager.cancelCooldown(PLAYER);
+
+        assertTrue(manager.hasCooldown(PLAYER));
+        manager.tick("earth");
+        assertEquals(List.of("retry done"), events);
+        assertFalse(manager.hasCooldown(PLAYER));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.example.teleportplugin.cooldown;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+    // Four 1ms buckets, so most delays below need several rounds of the wheel
+    private final TimingWheel wheel = new TimingWheel("TimingWheelTest", 1, 4);
+
+    @AfterEach
+    void shutdown() {
+        wheel.shutdown();
+    }
+
+    @Test
+    void firesNoEarlierThanTheDeadline() throws Exception {
+        int count = 50;
+        CountDownLatch fired = new CountDownLatch(count);
+        AtomicLong early = new AtomicLong();
+        for (int i = 0; i < count; i++) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(i % 25);
+            wheel.scheduleAt(() -> {
+                if (System.nanoTime() < deadline) {
+                    early.incrementAndGet();
+                }
+                fired.countDown();
+            }, deadline);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void firesLaterDeadlinesLater() throws Exception {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(3);
+        long now = System.nanoTime();
+        // 16ms apart, so all three hash to the same bucket and differ only in rounds
+        wheel.scheduleAt(() -> { order.add(3); fired.countDown(); }, now + TimeUnit.MILLISECONDS.toNanos(41));
+        wheel.scheduleAt(() -> { order.add(1); fired.countDown(); }, now + TimeUnit.MILLISECONDS.toNanos(9));
+        wheel.scheduleAt(() -> { order.add(2); fired.countDown(); }, now + TimeUnit.MILLISECONDS.toNanos(25));
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), order);
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean();
+        TimingWheel.Timeout timeout = wheel.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        assertEquals(1, wheel.getPendingCount());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.getPendingCount());
+
+        // A later timeout firing means the cancelled one's tick has passed
+        CountDownLatch later = new CountDownLatch(1);
+        wheel.schedule(later::countDown, 40, TimeUnit.MILLISECONDS);
+        assertTrue(later.await(5, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void cancelAfterFiringReturnsFalse() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = wheel.schedule(fired::countDown, 1, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws Exception {
+        wheel.schedule(() -> {
+            throw new IllegalStateException("expected by the test");
+        }, 1, TimeUnit.MILLISECONDS);
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(fired::countDown, 10, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void scheduleAfterShutdownIsCancelled() {
+        wheel.shutdown();
+        TimingWheel.Timeout timeout = wheel.schedule(() -> { }, 1, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.getPendingCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.example.teleportplugin.cooldown;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldTickQueueTest {
+    private final WorldTickQueue queue = new WorldTickQueue();
+
+    @Test
+    void runsDueStepsInDeadlineOrderOnTheirWorldOnly() {
+        List<String> ran = new ArrayList<>();
+        CooldownScheduler earth = queue.forWorld("earth");
+        earth.scheduleAt(() -> ran.add("late"), 30);
+        earth.scheduleAt(() -> ran.add("early"), 10);
+        earth.scheduleAt(() -> ran.add("later"), 50);
+        queue.forWorld("mars").scheduleAt(() -> ran.add("mars"), 0);
+
+        assertEquals(2, queue.drain("earth", 30));
+        assertEquals(List.of("early", "late"), ran);
+        assertEquals(0, queue.drain("nowhere", 100));
+        assertEquals(2, queue.getPendingCount());
+
+        assertEquals(1, queue.drain("earth", 100));
+        assertEquals(List.of("early", "late", "later"), ran);
+    }
+
+    @Test
+    void stepsScheduledWhileDrainingWaitForTheNextTick() {
+        CooldownScheduler earth = queue.forWorld("earth");
+        AtomicInteger steps = new AtomicInteger();
+        // A cooldown step that schedules the next one, as the countdown does
+        earth.scheduleAt(() -> {
+            steps.incrementAndGet();
+            earth.scheduleAt(steps::incrementAndGet, 0);
+        }, 0);
+
+        assertEquals(1, queue.drain("earth", 10));
+        assertEquals(1, steps.get());
+        assertEquals(1, queue.drain("earth", 10));
+        assertEquals(2, steps.get());
+    }
+
+    @Test
+    void cancelledStepsNeverRun() {
+        CooldownScheduler earth = queue.forWorld("earth");
+        AtomicInteger ran = new AtomicInteger();
+        CooldownScheduler.Handle inInbox = earth.scheduleAt(ran::incrementAndGet, 10);
+        assertTrue(inInbox.cancel());
+        assertEquals(0, queue.drain("earth", 100));
+
+        CooldownScheduler.Handle queued = earth.scheduleAt(ran::incrementAndGet, 50);
+        queue.drain("earth", 0);
+        assertTrue(queued.cancel());
+        assertFalse(queued.cancel());
+        assertEquals(0, queue.drain("earth", 100));
+        assertEquals(0, ran.get());
+
+        CooldownScheduler.Handle done = earth.scheduleAt(ran::incrementAndGet, 0);
+        assertEquals(1, queue.drain("earth", 0));
+        assertFalse(done.cancel());
+    }
+
+    @Test
+    void cancelRacingTheTickEitherRunsOrCancelsEachStep() throws Exception {
+        int count = 20_000;
+        CooldownScheduler earth = queue.forWorld("earth");
+        AtomicInteger[] runs = new AtomicInteger[count];
+        List<CooldownScheduler.Handle> handles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AtomicInteger run = runs[i] = new AtomicInteger();
+            handles.add(earth.scheduleAt(run::incrementAndGet, i));
+        }
+
+        boolean[] cancelled = new boolean[count];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread canceller = new Thread(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                cancelled[i] = handles.get(i).cancel();
+            }
+        });
+        canceller.start();
+        start.countDown();
+        // The world thread ticks forward while the canceller works back from the end
+        for (long now = 0; now < count; now += 100) {
+            queue.drain("earth", now);
+        }
+        canceller.join();
+        queue.drain("earth", count);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(cancelled[i] ? 0 : 1, runs[i].get(), "step " + i);
+        }
+    }
+}
\ No newline at end of file
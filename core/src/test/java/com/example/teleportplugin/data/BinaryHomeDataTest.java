@@ -0,0 +1,147 @@
+package com.example.teleportplugin.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryHomeDataTest {
+    @TempDir
+    Path dataDir;
+
+    /**
+     * Homes as comparable strings, HomeLocation has no equals
+     */
+    private static Map<String, Map<String, String>> describe(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        Map<String, Map<String, String>> described = new HashMap<>();
+        homes.forEach((player, playerHomes) -> playerHomes.forEach((name, location) ->
+                described.computeIfAbsent(player, k -> new HashMap<>())
+                        .put(name, location.x + "," + location.y + "," + location.z + "@" + location.worldId)));
+        return described;
+    }
+
+    @Test
+    void roundTripsEveryHome() {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Map<String, HomeData.HomeLocation> playerHomes = new HashMap<>();
+            playerHomes.put("base", new HomeData.HomeLocation(i + 0.25, 64, -i - 0.75, "earth"));
+            playerHomes.put("camp" + i, new HomeData.HomeLocation(-1e9, 1e-9, Double.MAX_VALUE, "mars"));
+            homes.put(new UUID(0, i).toString(), playerHomes);
+        }
+        // Keys from before homes were keyed by UUID, and names outside ASCII
+        homes.put("Steve", new HashMap<>(Map.of("h\u00f6hle", new HomeData.HomeLocation(1, 2, 3, "\u30cd\u30b6\u30fc"))));
+
+        assertTrue(BinaryHomeData.saveHomes(homes, dataDir));
+        assertEquals(describe(homes), describe(BinaryHomeData.loadHomes(dataDir)));
+    }
+
+    @Test
+    void storesEachStringOnce() throws Exception {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        homes.put("a", new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 2, 3, "earth"),
+                "camp", new HomeData.HomeLocation(4, 5, 6, "earth"))));
+        homes.put("b", new HashMap<>(Map.of("base", new HomeData.HomeLocation(7, 8, 9, "earth"))));
+        assertTrue(BinaryHomeData.saveHomes(homes, dataDir));
+
+        // Header, string table of a, b, base, camp and earth, then three 36 byte records
+        int strings = 0;
+        for (String value : new String[] {"a", "b", "base", "camp", "earth"}) {
+            strings += 2 + value.getBytes(StandardCharsets.UTF_8).length;
+        }
+        assertEquals(4 + 2 + 4 + strings + 4 + 3 * 36, Files.size(dataDir.resolve(BinaryHomeData.HOMES_FILE)));
+    }
+
+    @Test
+    void missingFileLoadsEmpty() {
+        assertTrue(BinaryHomeData.loadHomes(dataDir).isEmpty());
+    }
+
+    @Test
+    void emptySnapshotRoundTrips() {
+        assertTrue(BinaryHomeData.saveHomes(Map.of(), dataDir));
+        assertTrue(BinaryHomeData.loadHomes(dataDir).isEmpty());
+    }
+
+    /**
+     * Load a corrupt file and check it loads empty with its bytes kept in a backup
+     */
+    private void assertLoadsEmptyAndBacksUp(byte[] corrupt) throws Exception {
+        Path file = dataDir.resolve(BinaryHomeData.HOMES_FILE);
+        Files.write(file, corrupt);
+        assertTrue(BinaryHomeData.loadHomes(dataDir).isEmpty());
+
+        List<Path> backups;
+        try (Stream<Path> files = Files.list(dataDir)) {
+            backups = files.filter(path -> path.getFileName().toString().startsWith(BinaryHomeData.HOMES_FILE + ".corrupt-")).toList();
+        }
+        assertEquals(1, backups.size());
+        assertArrayEquals(corrupt, Files.readAllBytes(backups.get(0)));
+        Files.delete(backups.get(0));
+    }
+
+    @Test
+    void corruptFilesLoadEmptyAndAreBackedUp() throws Exception {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        homes.put("a", new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 2, 3, "earth"))));
+        assertTrue(BinaryHomeData.saveHomes(homes, dataDir));
+        byte[] valid = Files.readAllBytes(dataDir.resolve(BinaryHomeData.HOMES_FILE));
+
+        assertLoadsEmptyAndBacksUp(Arrays.copyOf(valid, valid.length - 10));
+
+        byte[] badMagic = valid.clone();
+        badMagic[0] = 'X';
+        assertLoadsEmptyAndBacksUp(badMagic);
+
+        byte[] badVersion = valid.clone();
+        badVersion[5] = 9;
+        assertLoadsEmptyAndBacksUp(badVersion);
+    }
+
+    @Test
+    void corruptCountsAreRejectedBeforeAllocating() throws Exception {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        homes.put("a", new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 2, 3, "earth"))));
+        assertTrue(BinaryHomeData.saveHomes(homes, dataDir));
+        byte[] valid = Files.readAllBytes(dataDir.resolve(BinaryHomeData.HOMES_FILE));
+        // The string count follows the magic and version
+        int stringCountOffset = 4 + 2;
+        int recordCountOffset = valid.length - 36 - 4;
+
+        for (int count : new int[] {-1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            byte[] badStrings = valid.clone();
+            ByteBuffer.wrap(badStrings).putInt(stringCountOffset, count);
+            assertLoadsEmptyAndBacksUp(badStrings);
+
+            byte[] badRecords = valid.clone();
+            ByteBuffer.wrap(badRecords).putInt(recordCountOffset, count);
+            assertLoadsEmptyAndBacksUp(badRecords);
+        }
+    }
+
+    @Test
+    void binaryFormatImportsJsonSnapshot() {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        homes.put("a", new HashMap<>(Map.of("base", new HomeData.HomeLocation(1.5, 2, 3, "earth"))));
+        assertTrue(SnapshotFormat.JSON.save(homes, dataDir));
+
+        assertEquals(describe(homes), describe(SnapshotFormat.BINARY.load(dataDir)));
+        // The next save writes the binary file, which then takes precedence
+        homes.get("a").put("camp", new HomeData.HomeLocation(4, 5, 6, "earth"));
+        assertTrue(SnapshotFormat.BINARY.save(homes, dataDir));
+        assertEquals(describe(homes), describe(SnapshotFormat.BINARY.load(dataDir)));
+    }
+}
\ No newline at end of file
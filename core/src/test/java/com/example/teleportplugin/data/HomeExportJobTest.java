@@ -0,0 +1,76 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HomeExportJobTest {
+    @TempDir
+    Path dataDir;
+
+    private Set<String> export(HomeManager homeManager) throws Exception {
+        Path file = dataDir.resolve("export.ndjson");
+        HomeExportJob job = new HomeExportJob(homeManager, file, false, 2, 0);
+        job.run();
+        assertEquals(HomeTransferJob.State.DONE, job.getState(), job.getError());
+        Set<String> lines = new HashSet<>();
+        for (String line : Files.readAllLines(file)) {
+            HomeTransferJob.HomeRecord record = HomeTransferJob.GSON.fromJson(line, HomeTransferJob.HomeRecord.class);
+            lines.add(record.player + "/" + record.name + "@" + record.world);
+        }
+        assertEquals(job.getRecords(), lines.size());
+        return lines;
+    }
+
+    @Test
+    void exportsPlayersThatAreNotLoaded() throws Exception {
+        PluginConfig config = new PluginConfig();
+        config.storageMode = PluginConfig.STORAGE_SHARDED;
+        config.lazyLoadingEnabled = true;
+        config.writeBehindEnabled = true;
+        config.writeBehindIntervalMillis = 60_000;
+        config.writeBehindBatchSize = 1000;
+
+        HomeManager writer = new HomeManager(HomeStore.create(config, dataDir), config);
+        for (int i = 0; i < 5; i++) {
+            writer.setHome(new UUID(0, i), "base", i, 64, i, "world");
+        }
+        writer.saveAll();
+
+        // A fresh lazy manager holds nobody in memory; one more change is still unflushed
+        HomeManager homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        homeManager.setHome(new UUID(0, 9), "camp", 9, 64, 9, "world");
+        assertEquals(1, homeManager.getLoadedPlayerCount());
+
+        Set<String> lines = export(homeManager);
+        assertEquals(6, lines.size());
+        assertTrue(lines.contains(new UUID(0, 9) + "/camp@world"));
+        homeManager.saveAll();
+    }
+
+    @Test
+    void exportsWorldsThatAreNotLoaded() throws Exception {
+        PluginConfig config = new PluginConfig();
+        config.storageMode = PluginConfig.STORAGE_WORLD;
+        config.writeBehindEnabled = false;
+
+        HomeManager homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        UUID player = new UUID(1, 1);
+        homeManager.setHome(player, "base", 1, 64, 1, "earth");
+        homeManager.setHome(player, "camp", 2, 64, 2, "mars");
+        homeManager.unloadWorld("earth");
+        homeManager.unloadWorld("mars");
+
+        assertEquals(Set.of(player + "/base@earth", player + "/camp@mars"), export(homeManager));
+        homeManager.saveAll();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HomeImportJobTest {
+    private static final int PLAYERS = 2000;
+
+    @TempDir
+    Path dir;
+
+    private HomeManager newManager() {
+        PluginConfig config = new PluginConfig();
+        config.writeBehindEnabled = false;
+        return new HomeManager(HomeStore.create(config, dir.resolve("data")), config);
+    }
+
+    private static String line(UUID player, String name, double x) {
+        return HomeTransferJob.GSON.toJson(new HomeTransferJob.HomeRecord(player.toString(), name,
+                new HomeData.HomeLocation(x, 64, -x, "earth"))) + "\n";
+    }
+
+    private Path checkpoint(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    @Test
+    void importsValidLinesAndCountsTheRest() throws Exception {
+        UUID player = new UUID(1, 1);
+        Path file = dir.resolve("import.ndjson");
+        Files.writeString(file, "# exported by hand\n"
+                + line(player, "base", 1)
+                + "\n"
+                + "{not json\n"
+                + "{\"player\":\"" + player + "\",\"name\":\"nox\",\"y\":1,\"z\":1}\n"
+                + line(player, "base", 2)
+                + "{\"player\":\"Steve\",\"name\":\"old\",\"x\":3,\"y\":64,\"z\":3}\n"
+                // Last line without its newline
+                + line(new UUID(1, 2), "camp", 4).trim());
+
+        HomeManager homeManager = newManager();
+        HomeImportJob job = new HomeImportJob(homeManager, file, false, 2, 0);
+        job.run();
+
+        assertEquals(HomeTransferJob.State.DONE, job.getState(), job.getError());
+        assertEquals(4, job.getRecords());
+        // The broken line, the one without x and the second "base"
+        assertEquals(3, job.getSkipped());
+        assertEquals(Files.size(file), job.getOffset());
+        assertEquals(1.0, homeManager.getHome(player, "base").x);
+        assertEquals("earth", homeManager.getHome(new UUID(1, 2), "camp").worldId);
+        assertEquals(1, homeManager.getLegacyPlayerCount());
+        assertFalse(Files.exists(checkpoint(file)));
+        homeManager.saveAll();
+    }
+
+    @Test
+    void cancelledImportResumesFromItsCheckpoint() throws Exception {
+        Path file = dir.resolve("import.ndjson");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < PLAYERS; i++) {
+            content.append(line(new UUID(2, i), "base", i));
+        }
+        Files.writeString(file, content);
+        // Bigger than the read buffer, so the cancel is seen before the end of the file
+        assertTrue(Files.size(file) > 2 * HomeTransferJob.BUFFER_SIZE);
+
+        HomeManager homeManager = newManager();
+        HomeImportJob first = new HomeImportJob(homeManager, file, false, 50, 0);
+        homeManager.addChangeListener(playerId -> first.cancel());
+        first.run();
+
+        assertEquals(HomeTransferJob.State.CANCELLED, first.getState());
+        assertTrue(first.getOffset() > 0 && first.getOffset() < Files.size(file));
+        assertTrue(Files.exists(checkpoint(file)));
+        // The checkpoint ends on a line boundary
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals('\n', bytes[(int) first.getOffset() - 1]);
+
+        HomeImportJob resumed = new HomeImportJob(homeManager, file, true, 50, 0);
+        resumed.run();
+
+        assertEquals(HomeTransferJob.State.DONE, resumed.getState(), resumed.getError());
+        assertEquals(PLAYERS, resumed.getRecords());
+        assertEquals(0, resumed.getSkipped());
+        for (int i = 0; i < PLAYERS; i++) {
+            assertEquals(1, homeManager.getHomeCount(new UUID(2, i)));
+        }
+        assertFalse(Files.exists(checkpoint(file)));
+        homeManager.saveAll();
+    }
+
+    @Test
+    void resumeWithoutUsableCheckpointStartsOver() throws Exception {
+        Path file = dir.resolve("import.ndjson");
+        Files.writeString(file, line(new UUID(3, 1), "base", 1) + line(new UUID(3, 2), "base", 2));
+        Files.writeString(checkpoint(file), "{\"kind\":\"EXPORT\",\"offset\":10,\"records\":5}");
+
+        HomeManager homeManager = newManager();
+        HomeImportJob job = new HomeImportJob(homeManager, file, true, 10, 0);
+        job.run();
+
+        assertEquals(HomeTransferJob.State.DONE, job.getState(), job.getError());
+        assertEquals(2, job.getRecords());
+        assertTrue(homeManager.hasHome(new UUID(3, 1), "base"));
+        homeManager.saveAll();
+    }
+
+    @Test
+    void checkpointPastTheEndOfTheFileFails() throws Exception {
+        Path file = dir.resolve("import.ndjson");
+        Files.writeString(file, line(new UUID(4, 1), "base", 1));
+        Files.writeString(checkpoint(file), "{\"kind\":\"IMPORT\",\"offset\":100000}");
+
+        HomeManager homeManager = newManager();
+        HomeImportJob job = new HomeImportJob(homeManager, file, true, 10, 0);
+        job.run();
+
+        assertEquals(HomeTransferJob.State.FAILED, job.getState());
+        assertEquals(0, homeManager.getHomeCount(new UUID(4, 1)));
+        // Kept, so the problem can be looked at and the import retried
+        assertTrue(Files.exists(checkpoint(file)));
+        homeManager.saveAll();
+    }
+
+    @Test
+    void oversizedLineIsSkipped() throws Exception {
+        Path file = dir.resolve("import.ndjson");
+        String padding = "x".repeat(HomeTransferJob.BUFFER_SIZE + 10);
+        Files.write(file, (line(new UUID(5, 1), "base", 1)
+                + "{\"player\":\"" + new UUID(5, 2) + "\",\"name\":\"" + padding + "\",\"x\":1,\"y\":1,\"z\":1}\n"
+                + line(new UUID(5, 3), "base", 3)).getBytes(StandardCharsets.UTF_8));
+
+        HomeManager homeManager = newManager();
+        HomeImportJob job = new HomeImportJob(homeManager, file, false, 10, 0);
+        job.run();
+
+        assertEquals(HomeTransferJob.State.DONE, job.getState(), job.getError());
+        assertEquals(2, job.getRecords());
+        assertEquals(1, job.getSkipped());
+        assertEquals(0, homeManager.getHomeCount(new UUID(5, 2)));
+        assertTrue(homeManager.hasHome(new UUID(5, 3), "base"));
+        homeManager.saveAll();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HomeListCacheTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+
+    @TempDir
+    Path dataDir;
+
+    private HomeManager homeManager;
+
+    private HomeListCache newCache() {
+        PluginConfig config = new PluginConfig();
+        homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        return new HomeListCache(homeManager);
+    }
+
+    @AfterEach
+    void shutdown() {
+        homeManager.saveAll();
+    }
+
+    @Test
+    void pagesAreSortedIgnoringCase() {
+        HomeListCache cache = newCache();
+        for (String name : new String[]{"delta", "Bravo", "echo", "alpha", "Charlie"}) {
+            homeManager.setHome(PLAYER, name, 1, 2, 3, "earth");
+        }
+
+        HomeListCache.Page first = cache.getPage(PLAYER, 1, 2);
+        assertArrayEquals(new String[]{"alpha", "Bravo"}, first.names);
+        assertEquals(3, first.pageCount);
+        assertEquals(5, first.total);
+        assertEquals(0, first.firstIndex);
+
+        HomeListCache.Page last = cache.getPage(PLAYER, 3, 2);
+        assertArrayEquals(new String[]{"echo"}, last.names);
+        assertEquals(4, last.firstIndex);
+
+        assertEquals(0, cache.getPage(PLAYER, 4, 2).names.length);
+        assertEquals(0, cache.getPage(PLAYER, 0, 2).names.length);
+    }
+
+    @Test
+    void locationsAreRenderedWithOneDecimal() {
+        HomeListCache cache = newCache();
+        homeManager.setHome(PLAYER, "base", 1.25, 64, -0.04, "earth");
+        homeManager.setHome(PLAYER, "camp", -12.5, 70.06, 3, "mars");
+
+        HomeListCache.Page page = cache.getPage(PLAYER, 1, 10);
+        assertArrayEquals(new String[]{"(1.3, 64.0, 0.0) in earth", "(-12.5, 70.1, 3.0) in mars"}, page.locations);
+    }
+
+    @Test
+    void changesDropTheCachedList() {
+        HomeListCache cache = newCache();
+        homeManager.setHome(PLAYER, "base", 1, 2, 3, "earth");
+        assertEquals(1, cache.getPage(PLAYER, 1, 10).total);
+        assertEquals(1, cache.size());
+
+        homeManager.setHome(PLAYER, "camp", 1, 2, 3, "earth");
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getPage(PLAYER, 1, 10).total);
+
+        homeManager.deleteHome(PLAYER, "base");
+        assertArrayEquals(new String[]{"camp"}, cache.getPage(PLAYER, 1, 10).names);
+
+        cache.invalidate(PLAYER);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void playerWithoutHomesHasOneEmptyPage() {
+        HomeListCache cache = newCache();
+        HomeListCache.Page page = cache.getPage(PLAYER, 1, 10);
+        assertEquals(0, page.total);
+        assertEquals(1, page.pageCount);
+    }
+}
\ No newline at end of file
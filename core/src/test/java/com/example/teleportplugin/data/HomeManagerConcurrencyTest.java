@@ -0,0 +1,80 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class HomeManagerConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int PLAYERS_PER_THREAD = 50;
+    private static final int OPS_PER_THREAD = 2000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void concurrentSetHomeWithJournalCompactionDoesNotDeadlock() throws Exception {
+        PluginConfig config = new PluginConfig();
+        config.storageMode = PluginConfig.STORAGE_JOURNAL;
+        config.journalCompactionThresholdBytes = 2000;
+        config.writeBehindEnabled = true;
+        config.writeBehindIntervalMillis = 50;
+        config.writeBehindBatchSize = 4;
+        HomeManager homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int thread = t;
+                    results.add(pool.submit(() -> {
+                        for (int i = 0; i < OPS_PER_THREAD; i++) {
+                            UUID playerId = new UUID(thread, i % PLAYERS_PER_THREAD);
+                            homeManager.setHome(playerId, "home" + (i % 3), i, 64, -i, "world");
+                            if (i % 7 == 0) {
+                                homeManager.deleteHome(playerId, "home" + (i % 3));
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            homeManager.saveAll();
+        });
+
+        // Snapshot plus journal must give back exactly what was in memory
+        HomeManager reloaded = new HomeManager(HomeStore.create(config, dataDir), config);
+        for (int t = 0; t < THREADS; t++) {
+            for (int p = 0; p < PLAYERS_PER_THREAD; p++) {
+                UUID playerId = new UUID(t, p);
+                assertEquals(homeManager.getHomeNames(playerId), reloaded.getHomeNames(playerId), playerId.toString());
+                for (String name : homeManager.getHomeNames(playerId)) {
+                    HomeData.HomeLocation expected = homeManager.getHome(playerId, name);
+                    HomeData.HomeLocation actual = reloaded.getHome(playerId, name);
+                    assertNotNull(actual);
+                    assertEquals(expected.x, actual.x);
+                    assertEquals(expected.z, actual.z);
+                }
+            }
+        }
+        reloaded.saveAll();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HomeManagerLazyPurgeTest {
+    private static final UUID LOADED = new UUID(1, 1);
+    private static final UUID STORED = new UUID(1, 2);
+    private static final UUID ELSEWHERE = new UUID(1, 3);
+
+    @TempDir
+    Path dataDir;
+
+    private HomeManager newManager() {
+        PluginConfig config = new PluginConfig();
+        config.storageMode = PluginConfig.STORAGE_SHARDED;
+        config.writeBehindEnabled = false;
+        config.lazyLoadingEnabled = true;
+        return new HomeManager(HomeStore.create(config, dataDir), config);
+    }
+
+    @Test
+    void purgeReachesPlayersThatAreNotLoaded() {
+        // Written straight to the shards, so the manager only holds whoever it is asked about
+        ShardedHomeStore store = new ShardedHomeStore(dataDir);
+        store.saveAll(Map.of(
+                STORED.toString(), Map.of(
+                        "base", new HomeData.HomeLocation(1, 64, 1, "nether"),
+                        "farm", new HomeData.HomeLocation(2, 64, 2, "earth")),
+                ELSEWHERE.toString(), Map.of("camp", new HomeData.HomeLocation(3, 64, 3, "earth"))));
+
+        HomeManager homeManager = newManager();
+        homeManager.setHome(LOADED, "mine", 4, 64, 4, "nether");
+        assertEquals(1, homeManager.getLoadedPlayerCount());
+
+        assertEquals(2, homeManager.countWorldHomes("nether"));
+        assertEquals(2, homeManager.purgeWorld("nether"));
+        assertEquals(0, homeManager.countWorldHomes("nether"));
+        homeManager.saveAll();
+
+        HomeManager reloaded = newManager();
+        assertEquals(Set.of("farm"), reloaded.getHomeNames(STORED));
+        assertEquals(Set.of("camp"), reloaded.getHomeNames(ELSEWHERE));
+        assertEquals(0, reloaded.getHomeCount(LOADED));
+        reloaded.saveAll();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HomeManagerWorldModeTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+
+    @TempDir
+    Path dataDir;
+
+    private HomeManager newManager() {
+        PluginConfig config = new PluginConfig();
+        config.storageMode = PluginConfig.STORAGE_WORLD;
+        config.writeBehindEnabled = false;
+        return new HomeManager(HomeStore.create(config, dataDir), config);
+    }
+
+    @Test
+    void homesInUnloadedWorldsStayVisible() {
+        HomeManager homeManager = newManager();
+        homeManager.setHome(PLAYER, "base", 1, 64, 1, "earth");
+        homeManager.setHome(PLAYER, "camp", 2, 64, 2, "mars");
+        assertTrue(homeManager.unloadWorld("earth"));
+        assertTrue(homeManager.unloadWorld("mars"));
+        assertEquals(0, homeManager.getLoadedWorldCount());
+
+        assertEquals(2, homeManager.getHomeCount(PLAYER));
+        assertEquals(Set.of("base", "camp"), homeManager.getHomeNames(PLAYER));
+        assertTrue(homeManager.hasHome(PLAYER, "base"));
+        assertEquals(List.of("camp"), homeManager.completeHomeNames(PLAYER, "c"));
+
+        HomeData.HomeLocation base = homeManager.getHome(PLAYER, "base");
+        assertNotNull(base);
+        assertEquals("earth", base.worldId);
+        assertTrue(homeManager.deleteHome(PLAYER, "camp"));
+        assertFalse(homeManager.hasHome(PLAYER, "camp"));
+        homeManager.saveAll();
+
+        HomeManager reloaded = newManager();
+        assertEquals(Set.of("base"), reloaded.getHomeNames(PLAYER));
+        assertEquals(1.0, reloaded.getHome(PLAYER, "base").x);
+        reloaded.saveAll();
+    }
+
+    @Test
+    void movingHomeToAnotherWorldLeavesOldPartition() {
+        HomeManager homeManager = newManager();
+        homeManager.setHome(PLAYER, "base", 1, 64, 1, "earth");
+        assertTrue(homeManager.unloadWorld("earth"));
+        homeManager.setHome(PLAYER, "base", 5, 64, 5, "mars");
+        assertEquals(1, homeManager.getHomeCount(PLAYER));
+        homeManager.saveAll();
+
+        HomeManager reloaded = newManager();
+        reloaded.loadWorld("earth");
+        HomeData.HomeLocation base = reloaded.getHome(PLAYER, "base");
+        assertEquals("mars", base.worldId);
+        assertEquals(5.0, base.x);
+        assertEquals(1, reloaded.getHomeCount(PLAYER));
+        reloaded.saveAll();
+    }
+
+    @Test
+    void nameStoredInTwoWorldsKeepsFirstWorldsCopy() {
+        WorldPartitionedHomeStore store = new WorldPartitionedHomeStore(dataDir);
+        store.saveWorld("earth", Map.of(PLAYER.toString(), Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"))));
+        store.saveWorld("mars", Map.of(PLAYER.toString(), Map.of("base", new HomeData.HomeLocation(2, 64, 2, "mars"))));
+
+        HomeManager homeManager = newManager();
+        assertEquals(1, homeManager.getHomeCount(PLAYER));
+        // Loading the losing world first must not let its copy win
+        homeManager.loadWorld("mars");
+        homeManager.loadWorld("earth");
+        assertEquals("earth", homeManager.getHome(PLAYER, "base").worldId);
+        homeManager.saveAll();
+
+        assertTrue(store.loadWorld("mars").isEmpty());
+        assertEquals(1.0, store.loadWorld("earth").get(PLAYER.toString()).get("base").x);
+    }
+
+    @Test
+    void importSkipsNamesTakenInUnloadedWorlds() {
+        HomeManager homeManager = newManager();
+        homeManager.setHome(PLAYER, "base", 1, 64, 1, "earth");
+        assertTrue(homeManager.unloadWorld("earth"));
+
+        int added = homeManager.importBatch(Map.of(PLAYER.toString(), Map.of(
+                "base", new HomeData.HomeLocation(9, 64, 9, "mars"),
+                "camp", new HomeData.HomeLocation(3, 64, 3, "mars"))));
+        assertEquals(1, added);
+        assertEquals(2, homeManager.getHomeCount(PLAYER));
+        assertEquals("earth", homeManager.getHome(PLAYER, "base").worldId);
+        homeManager.saveAll();
+    }
+
+    @Test
+    void changeMadeAfterItsWorldUnloadedIsSaved() {
+        WorldPartitionedHomeStore store = new WorldPartitionedHomeStore(dataDir);
+        store.saveWorld("earth", Map.of(PLAYER.toString(), Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"))));
+        PluginConfig config = new PluginConfig();
+        HomeTable table = new HomeTable(config.stringPoolMaxSize, config.spatialIndexCellSize);
+        WorldResidency worlds = new WorldResidency(store, table, config);
+
+        // What a setHome racing an unload leaves behind: the home is in memory but its
+        // world is not loaded
+        HomeData.HomeLocation camp = new HomeData.HomeLocation(2, 64, 2, "earth");
+        table.homes.compute(PLAYER, (id, playerHomes) -> {
+            Map<String, HomeData.HomeLocation> updated = playerHomes != null ? playerHomes : new ConcurrentHashMap<>();
+            updated.put("camp", camp);
+            return updated;
+        });
+        table.spatialIndex.add(PLAYER, "camp", camp);
+        worlds.recordHome(PLAYER.toString(), "camp", "earth");
+        worlds.markDirty("earth");
+
+        table.evictionLock.readLock().lock();
+        try {
+            assertTrue(worlds.writeWorld(worlds.partitions().get("earth")));
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+        worlds.shutdown();
+        assertEquals(Set.of("base", "camp"), store.loadWorld("earth").get(PLAYER.toString()).keySet());
+    }
+}
\ No newline at end of file
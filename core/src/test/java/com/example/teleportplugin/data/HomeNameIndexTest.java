@@ -0,0 +1,107 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HomeNameIndexTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+    private static final UUID OTHER = new UUID(1, 2);
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void completesPrefixesIgnoringCase() {
+        HomeNameIndex index = new HomeNameIndex();
+        for (String name : new String[]{"base", "Barn", "bridge", "camp", "BASE2", "b"}) {
+            index.add(PLAYER, name);
+        }
+        index.add(OTHER, "bakery");
+
+        assertEquals(List.of("b", "Barn", "base", "BASE2", "bridge"), index.complete(PLAYER, "b", 10));
+        assertEquals(List.of("Barn", "base", "BASE2"), index.complete(PLAYER, "BA", 10));
+        assertEquals(List.of("base", "BASE2"), index.complete(PLAYER, "bAs", 10));
+        assertEquals(List.of("b", "Barn"), index.complete(PLAYER, "b", 2));
+        assertEquals(6, index.complete(PLAYER, "", 10).size());
+        assertEquals(List.of(), index.complete(PLAYER, "basement", 10));
+        assertEquals(List.of(), index.complete(PLAYER, "z", 10));
+        assertEquals(List.of(), index.complete(new UUID(9, 9), "b", 10));
+        assertEquals(List.of(), index.complete(PLAYER, "b", 0));
+    }
+
+    @Test
+    void addRemoveAndClearKeepTheOrder() {
+        HomeNameIndex index = new HomeNameIndex();
+        index.addAll(PLAYER, List.of("mine", "farm", "Mine"));
+        index.add(PLAYER, "farm");
+        index.addAll(PLAYER, List.of("farm", "attic"));
+        assertEquals(List.of("attic", "farm", "Mine", "mine"), index.complete(PLAYER, "", 10));
+
+        index.remove(PLAYER, "Mine");
+        index.remove(PLAYER, "nothing");
+        assertEquals(List.of("attic", "farm", "mine"), index.complete(PLAYER, "", 10));
+        index.remove(PLAYER, "attic");
+        index.remove(PLAYER, "farm");
+        index.remove(PLAYER, "mine");
+        assertEquals(0, index.size(PLAYER));
+
+        index.add(PLAYER, "base");
+        index.clear(PLAYER);
+        assertEquals(List.of(), index.complete(PLAYER, "", 10));
+    }
+
+    @Test
+    void matchesAFilteredScan() {
+        HomeNameIndex index = new HomeNameIndex();
+        TreeSet<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER.thenComparing(String::compareTo));
+        Random random = new Random(7);
+        String letters = "aAbBcC_-1";
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int length = 1 + random.nextInt(5); length > 0; length--) {
+                name.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            if (random.nextInt(4) == 0) {
+                index.remove(PLAYER, name.toString());
+                names.remove(name.toString());
+            } else {
+                index.add(PLAYER, name.toString());
+                names.add(name.toString());
+            }
+        }
+
+        for (String prefix : new String[]{"", "a", "AB", "b_", "c-1", "1", "-"}) {
+            List<String> expected = new ArrayList<>();
+            for (String name : names) {
+                if (name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                    expected.add(name);
+                }
+            }
+            assertEquals(expected, index.complete(PLAYER, prefix, Integer.MAX_VALUE), "prefix " + prefix);
+        }
+    }
+
+    @Test
+    void managerCompletesFromTheIndex() {
+        PluginConfig config = new PluginConfig();
+        HomeManager homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        homeManager.setHome(PLAYER, "base", 1, 64, 1, "earth");
+        homeManager.setHome(PLAYER, "Barn", 1, 64, 1, "earth");
+        homeManager.setHome(PLAYER, "camp", 1, 64, 1, "earth");
+        assertEquals(List.of("Barn", "base"), homeManager.completeHomeNames(PLAYER, "ba"));
+
+        homeManager.deleteHome(PLAYER, "base");
+        assertEquals(List.of("Barn"), homeManager.completeHomeNames(PLAYER, "ba"));
+        homeManager.saveAll();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HomePersistenceTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+    private static final UUID OTHER = new UUID(1, 2);
+
+    @TempDir
+    Path dataDir;
+
+    private FlakyStore store;
+    private HomeTable table;
+    private HomePersistence persistence;
+    private PlayerCache cache;
+
+    /**
+     * Sharded store whose writes fail while {@link #failing} is set
+     */
+    private static final class FlakyStore extends ShardedHomeStore {
+        volatile boolean failing;
+        volatile boolean closed;
+        volatile int saves;
+
+        FlakyStore(Path dataDir) {
+            super(dataDir, 1);
+        }
+
+        @Override
+        public void save(Map<String, Map<String, HomeData.HomeLocation>> homes, Set<String> changedPlayers) {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+            saves++;
+            super.save(homes, changedPlayers);
+        }
+
+        @Override
+        public void saveAll(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+            super.saveAll(homes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private void open(boolean writeBehind) {
+        PluginConfig config = new PluginConfig();
+        config.storageMode = PluginConfig.STORAGE_SHARDED;
+        config.writeBehindEnabled = writeBehind;
+        // Flushes and evictions only run when a test asks for them
+        config.writeBehindIntervalMillis = 60_000;
+        config.writeBehindBatchSize = 1000;
+        config.lazyLoadingEnabled = true;
+        config.cacheIdleMillis = 0;
+        config.cacheEvictionIntervalMillis = 60_000;
+        config.shutdownFlushTimeoutMillis = 1000;
+        store = new FlakyStore(dataDir);
+        table = new HomeTable(config.stringPoolMaxSize, config.spatialIndexCellSize);
+        WorldResidency worlds = new WorldResidency(store, table, config);
+        persistence = new HomePersistence(store, table, worlds, config);
+        cache = new PlayerCache(store, table, persistence, config);
+    }
+
+    @AfterEach
+    void shutdown() {
+        cache.shutdown();
+        store.failing = false;
+        persistence.saveAll();
+    }
+
+    /**
+     * The steps of HomeManager.setHome that matter here
+     */
+    private void setHome(UUID playerId, String name, double x) {
+        table.evictionLock.readLock().lock();
+        try {
+            cache.get(playerId);
+            table.homes.compute(playerId, (id, playerHomes) -> {
+                if (playerHomes == null) {
+                    playerHomes = new ConcurrentHashMap<>();
+                }
+                playerHomes.put(name, new HomeData.HomeLocation(x, 64, x, "world"));
+                return playerHomes;
+            });
+            persistence.savePlayer(playerId);
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+    }
+
+    private void evictIdle() throws InterruptedException {
+        // Idle means older than cacheIdleMillis = 0, so any time at all
+        Thread.sleep(5);
+        cache.evictIdlePlayers();
+    }
+
+    @Test
+    void changesAreCoalescedIntoOneFlush() {
+        open(true);
+        setHome(PLAYER, "base", 1);
+        setHome(PLAYER, "base", 2);
+        setHome(PLAYER, "camp", 3);
+        setHome(OTHER, "base", 4);
+        assertEquals(0, store.saves);
+        assertEquals(2, persistence.getPendingDirtyCount());
+
+        persistence.flushDirty();
+        assertEquals(1, store.saves);
+        assertEquals(2, persistence.getLastFlushCount());
+        assertEquals(0, persistence.getPendingDirtyCount());
+        assertEquals(2, new ShardedHomeStore(dataDir).loadPlayer(PLAYER.toString()).get("base").x);
+
+        // Nothing dirty, nothing written
+        persistence.flushDirty();
+        assertEquals(1, store.saves);
+    }
+
+    @Test
+    void synchronousModeSavesEveryChange() {
+        open(false);
+        setHome(PLAYER, "base", 1);
+        setHome(PLAYER, "base", 2);
+        assertEquals(2, store.saves);
+        assertEquals(0, persistence.getPendingDirtyCount());
+    }
+
+    @Test
+    void failedFlushKeepsThePlayerDirtyAndLoaded() throws Exception {
+        open(true);
+        store.failing = true;
+        setHome(PLAYER, "base", 7);
+
+        persistence.flushDirty();
+        assertTrue(persistence.isDirty(PLAYER));
+        evictIdle();
+        assertNotNull(table.homes.get(PLAYER));
+
+        store.failing = false;
+        persistence.flushDirty();
+        assertFalse(persistence.isDirty(PLAYER));
+        evictIdle();
+        assertNull(table.homes.get(PLAYER));
+
+        // Reloaded from the shard the retried flush wrote
+        assertEquals(7, cache.get(PLAYER).get("base").x);
+    }
+
+    @Test
+    void failedSynchronousSaveIsRetriedWithTheNextSave() throws Exception {
+        open(false);
+        store.failing = true;
+        setHome(PLAYER, "base", 3);
+        assertTrue(persistence.isDirty(PLAYER));
+        evictIdle();
+        assertNotNull(table.homes.get(PLAYER));
+
+        store.failing = false;
+        setHome(OTHER, "camp", 4);
+        assertFalse(persistence.isDirty(PLAYER));
+        assertEquals(3, new ShardedHomeStore(dataDir).loadPlayer(PLAYER.toString()).get("base").x);
+    }
+
+    @Test
+    void failedSynchronousImportBatchIsThrown() {
+        open(false);
+        store.failing = true;
+        table.homes.put(PLAYER, new ConcurrentHashMap<>(Map.of("base", new HomeData.HomeLocation(1, 64, 1, "world"))));
+
+        assertThrows(UncheckedIOException.class, () -> persistence.saveBatch(List.of(PLAYER), List.of()));
+        assertTrue(persistence.isDirty(PLAYER));
+    }
+
+    @Test
+    void storeIsClosedWhenTheFinalFlushFails() {
+        open(true);
+        store.failing = true;
+        setHome(PLAYER, "base", 1);
+
+        persistence.saveAll();
+        assertTrue(store.closed);
+        assertTrue(persistence.isDirty(PLAYER));
+    }
+}
\ No newline at end of file
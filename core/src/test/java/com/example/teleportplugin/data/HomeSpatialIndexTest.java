@@ -0,0 +1,142 @@
+package com.example.teleportplugin.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HomeSpatialIndexTest {
+    private static final int HOMES = 2000;
+
+    private static String key(HomeSpatialIndex.Entry entry) {
+        return entry.playerId + "/" + entry.name;
+    }
+
+    private static Set<String> keys(List<HomeSpatialIndex.Entry> entries) {
+        Set<String> keys = new HashSet<>();
+        for (HomeSpatialIndex.Entry entry : entries) {
+            keys.add(key(entry));
+        }
+        assertEquals(entries.size(), keys.size(), "duplicate entries");
+        return keys;
+    }
+
+    /**
+     * Random homes in two worlds, on both sides of zero and often on cell edges
+     */
+    private static List<HomeSpatialIndex.Entry> randomHomes(HomeSpatialIndex index, Random random) {
+        List<HomeSpatialIndex.Entry> homes = new ArrayList<>();
+        for (int i = 0; i < HOMES; i++) {
+            double x = random.nextBoolean() ? random.nextInt(33) * 16 - 256 : random.nextDouble() * 1000 - 500;
+            double z = random.nextBoolean() ? random.nextInt(33) * 16 - 256 : random.nextDouble() * 1000 - 500;
+            HomeData.HomeLocation location = new HomeData.HomeLocation(x, 64, z, i % 5 == 0 ? "nether" : "earth");
+            HomeSpatialIndex.Entry entry = new HomeSpatialIndex.Entry(new UUID(0, i % 300), "home" + i, location);
+            index.add(entry.playerId, entry.name, location);
+            homes.add(entry);
+        }
+        return homes;
+    }
+
+    @Test
+    void regionMatchesFullScan() {
+        Random random = new Random(7);
+        HomeSpatialIndex index = new HomeSpatialIndex(16);
+        List<HomeSpatialIndex.Entry> homes = randomHomes(index, random);
+
+        for (int query = 0; query < 200; query++) {
+            // Mostly small regions that walk their cells, some large ones that walk the occupied cells
+            double size = query % 4 == 0 ? 2000 : random.nextDouble() * 64;
+            double x1 = random.nextDouble() * 1000 - 500;
+            double z1 = random.nextDouble() * 1000 - 500;
+            double x2 = x1 + (random.nextBoolean() ? size : -size);
+            double z2 = z1 + (random.nextBoolean() ? size : -size);
+
+            Set<String> expected = new HashSet<>();
+            for (HomeSpatialIndex.Entry home : homes) {
+                HomeData.HomeLocation location = home.location;
+                if (location.worldId.equals("earth")
+                        && location.x >= Math.min(x1, x2) && location.x <= Math.max(x1, x2)
+                        && location.z >= Math.min(z1, z2) && location.z <= Math.max(z1, z2)) {
+                    expected.add(key(home));
+                }
+            }
+            assertEquals(expected, keys(index.region("earth", x1, z1, x2, z2)));
+        }
+    }
+
+    @Test
+    void nearbyMatchesFullScanNearestFirst() {
+        Random random = new Random(11);
+        HomeSpatialIndex index = new HomeSpatialIndex(16);
+        List<HomeSpatialIndex.Entry> homes = randomHomes(index, random);
+
+        for (int query = 0; query < 200; query++) {
+            double x = random.nextDouble() * 1000 - 500;
+            double z = random.nextDouble() * 1000 - 500;
+            double radius = query % 4 == 0 ? 1500 : random.nextDouble() * 48;
+
+            Set<String> expected = new HashSet<>();
+            for (HomeSpatialIndex.Entry home : homes) {
+                double dx = home.location.x - x;
+                double dz = home.location.z - z;
+                if (home.location.worldId.equals("nether") && dx * dx + dz * dz <= radius * radius) {
+                    expected.add(key(home));
+                }
+            }
+            List<HomeSpatialIndex.Entry> result = index.nearby("nether", x, z, radius);
+            assertEquals(expected, keys(result));
+            for (int i = 1; i < result.size(); i++) {
+                assertTrue(distance(result.get(i - 1), x, z) <= distance(result.get(i), x, z));
+            }
+        }
+    }
+
+    private static double distance(HomeSpatialIndex.Entry entry, double x, double z) {
+        return Math.hypot(entry.location.x - x, entry.location.z - z);
+    }
+
+    @Test
+    void moveAndRemoveKeepTheIndexInSync() {
+        HomeSpatialIndex index = new HomeSpatialIndex(16);
+        UUID player = new UUID(1, 1);
+        HomeData.HomeLocation first = new HomeData.HomeLocation(5, 64, 5, "earth");
+        HomeData.HomeLocation second = new HomeData.HomeLocation(-900, 64, 300, "nether");
+        index.add(player, "base", first);
+        index.add(new UUID(1, 2), "base", first);
+
+        index.move(player, "base", first, second);
+        assertEquals(1, index.size("earth"));
+        assertEquals(1, index.size("nether"));
+        assertEquals(Set.of(player + "/base"), keys(index.nearby("nether", -900, 300, 1)));
+        assertEquals(Set.of(new UUID(1, 2) + "/base"), keys(index.region("earth", 0, 0, 10, 10)));
+
+        index.remove(player, "base", second);
+        assertEquals(0, index.size("nether"));
+        assertEquals(Set.of("earth"), index.getWorlds());
+        assertTrue(index.world("nether").isEmpty());
+        assertTrue(index.region("moon", -10, -10, 10, 10).isEmpty());
+    }
+
+    @Test
+    void queriesAtTheEdgeOfTheGridTerminate() {
+        HomeSpatialIndex index = new HomeSpatialIndex(16);
+        UUID player = new UUID(1, 1);
+        index.add(player, "far", new HomeData.HomeLocation(1e15, 64, -1e15, "earth"));
+        index.add(player, "near", new HomeData.HomeLocation(0, 64, 0, "earth"));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertEquals(Set.of(player + "/far"), keys(index.region("earth", 1e15 - 1, -1e15 - 1, 1e15 + 1, -1e15 + 1)));
+            assertEquals(Set.of(player + "/far"), keys(index.nearby("earth", 1e15, -1e15, 1)));
+            assertTrue(index.region("earth", 1e15 + 10, 0, 1e15 + 20, 1).isEmpty());
+        });
+    }
+}
\ No newline at end of file
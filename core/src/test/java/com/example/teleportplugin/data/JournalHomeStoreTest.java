@@ -0,0 +1,232 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalHomeStoreTest {
+    private static final String PLAYER = "00000000-0000-0001-0000-000000000001";
+    private static final String OTHER = "00000000-0000-0001-0000-000000000002";
+
+    @TempDir
+    Path dataDir;
+
+    private JournalHomeStore open(SnapshotFormat format, long threshold) {
+        return new JournalHomeStore(dataDir, format, threshold);
+    }
+
+    /**
+     * Homes as comparable strings, HomeLocation has no equals
+     */
+    private static Map<String, Map<String, String>> describe(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        Map<String, Map<String, String>> described = new HashMap<>();
+        homes.forEach((player, playerHomes) -> playerHomes.forEach((name, location) ->
+                described.computeIfAbsent(player, k -> new HashMap<>())
+                        .put(name, location.x + "," + location.y + "," + location.z + "@" + location.worldId)));
+        return described;
+    }
+
+    @Test
+    void replaysSetsAndDeletesAfterRestart() {
+        JournalHomeStore store = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        assertTrue(store.loadAll().isEmpty());
+        store.recordSet(PLAYER, "base", new HomeData.HomeLocation(1, 64, 1, "earth"));
+        store.recordSet(PLAYER, "camp", new HomeData.HomeLocation(2, 64, 2, "earth"));
+        store.recordSet(PLAYER, "base", new HomeData.HomeLocation(3.5, 70, -3.5, "mars"));
+        store.recordSet(OTHER, "only", new HomeData.HomeLocation(4, 64, 4, "earth"));
+        store.recordDelete(PLAYER, "camp");
+        store.recordDelete(OTHER, "only");
+        // Closed without a snapshot, everything has to come back from the journal
+        store.close();
+
+        JournalHomeStore reopened = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        assertEquals(Map.of(PLAYER, Map.of("base", "3.5,70.0,-3.5@mars")), describe(reopened.loadAll()));
+        reopened.close();
+    }
+
+    @Test
+    void tornTailIsDroppedAndTruncated() throws Exception {
+        JournalHomeStore store = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        store.loadAll();
+        store.recordSet(PLAYER, "base", new HomeData.HomeLocation(1, 64, 1, "earth"));
+        long intact = store.getJournalSize();
+        store.close();
+
+        // Half a record, as left by a crash in the middle of an append
+        Path journal = dataDir.resolve(JournalHomeStore.JOURNAL_FILE);
+        Files.write(journal, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        JournalHomeStore reopened = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        assertEquals(Set.of("base"), reopened.loadAll().get(PLAYER).keySet());
+        assertEquals(intact, Files.size(journal));
+        // Records appended after the truncation must be readable on the next start
+        reopened.recordSet(PLAYER, "camp", new HomeData.HomeLocation(2, 64, 2, "earth"));
+        reopened.close();
+
+        JournalHomeStore again = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        assertEquals(Set.of("base", "camp"), again.loadAll().get(PLAYER).keySet());
+        again.close();
+    }
+
+    @Test
+    void replayStopsAtChecksumMismatch() throws Exception {
+        JournalHomeStore store = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        store.loadAll();
+        store.recordSet(PLAYER, "base", new HomeData.HomeLocation(1, 64, 1, "earth"));
+        long first = store.getJournalSize();
+        store.recordSet(PLAYER, "camp", new HomeData.HomeLocation(2, 64, 2, "earth"));
+        store.close();
+
+        Path journal = dataDir.resolve(JournalHomeStore.JOURNAL_FILE);
+        byte[] bytes = Files.readAllBytes(journal);
+        // Flip a byte of the second record's stored checksum
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(journal, bytes);
+
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        assertEquals(first, JournalHomeStore.replay(journal, homes));
+        assertEquals(Set.of("base"), homes.get(PLAYER).keySet());
+    }
+
+    @ParameterizedTest
+    @EnumSource(SnapshotFormat.class)
+    void compactionFoldsJournalIntoSnapshot(SnapshotFormat format) {
+        JournalHomeStore store = open(format, 200);
+        Map<String, Map<String, HomeData.HomeLocation>> homes = store.loadAll();
+        long appended = 0;
+        for (int i = 0; i < 20; i++) {
+            HomeData.HomeLocation location = new HomeData.HomeLocation(i, 64, -i, "earth");
+            homes.computeIfAbsent(PLAYER, k -> new HashMap<>()).put("home" + i, location);
+            long before = store.getJournalSize();
+            store.recordSet(PLAYER, "home" + i, location);
+            appended += store.getJournalSize() - before;
+            store.save(homes, Set.of(PLAYER));
+        }
+        homes.get(PLAYER).remove("home0");
+        store.recordDelete(PLAYER, "home0");
+        store.save(homes, Set.of(PLAYER));
+        // Waits for the background compactor
+        store.close();
+
+        String snapshotFile = format == SnapshotFormat.BINARY ? BinaryHomeData.HOMES_FILE : HomeData.HOMES_FILE;
+        assertTrue(Files.exists(dataDir.resolve(snapshotFile)));
+        assertFalse(Files.exists(dataDir.resolve(JournalHomeStore.COMPACTING_FILE)));
+
+        JournalHomeStore reopened = open(format, 200);
+        Map<String, Map<String, HomeData.HomeLocation>> loaded = reopened.loadAll();
+        // Saves made while a compaction runs do not start another, so some records may remain
+        assertTrue(reopened.getJournalSize() < appended);
+        assertEquals(describe(homes), describe(loaded));
+        reopened.close();
+    }
+
+    @Test
+    void saveAllLeavesOnlyTheSnapshot() throws Exception {
+        JournalHomeStore store = open(SnapshotFormat.BINARY, Long.MAX_VALUE);
+        Map<String, Map<String, HomeData.HomeLocation>> homes = store.loadAll();
+        HomeData.HomeLocation location = new HomeData.HomeLocation(1, 64, 1, "earth");
+        homes.put(PLAYER, new HashMap<>(Map.of("base", location)));
+        store.recordSet(PLAYER, "base", location);
+        store.saveAll(homes);
+        store.close();
+
+        assertEquals(0, Files.size(dataDir.resolve(JournalHomeStore.JOURNAL_FILE)));
+        assertFalse(Files.exists(dataDir.resolve(JournalHomeStore.COMPACTING_FILE)));
+        assertEquals(describe(homes), describe(SnapshotFormat.BINARY.load(dataDir)));
+    }
+
+    @Test
+    void interruptedCompactionIsReplayedBeforeTheLiveJournal() throws Exception {
+        JournalHomeStore store = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        store.loadAll();
+        store.recordSet(PLAYER, "base", new HomeData.HomeLocation(1, 64, 1, "earth"));
+        store.recordSet(PLAYER, "camp", new HomeData.HomeLocation(2, 64, 2, "earth"));
+        store.close();
+        // As left by a crash after the journal was rotated but before the snapshot was written
+        Files.move(dataDir.resolve(JournalHomeStore.JOURNAL_FILE), dataDir.resolve(JournalHomeStore.COMPACTING_FILE));
+
+        JournalHomeStore restarted = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        assertEquals(Set.of("base", "camp"), restarted.loadAll().get(PLAYER).keySet());
+        restarted.recordSet(PLAYER, "base", new HomeData.HomeLocation(5, 64, 5, "mars"));
+        restarted.recordDelete(PLAYER, "camp");
+        restarted.close();
+
+        JournalHomeStore again = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        assertEquals(Map.of(PLAYER, Map.of("base", "5.0,64.0,5.0@mars")), describe(again.loadAll()));
+        again.close();
+    }
+
+    @Test
+    void saveSkipsTheSyncWhenItsRecordsAreAlreadyOnDisk() {
+        Counter syncs = MetricsRegistry.getInstance().counter("storage.journal_syncs");
+        JournalHomeStore store = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        store.loadAll();
+        store.recordSet(PLAYER, "base", new HomeData.HomeLocation(1, 64, 1, "earth"));
+        store.recordSet(OTHER, "base", new HomeData.HomeLocation(2, 64, 2, "earth"));
+
+        long before = syncs.get();
+        store.save(Map.of(), Set.of(PLAYER));
+        assertEquals(before + 1, syncs.get());
+        // Both records went out with the first fsync
+        store.save(Map.of(), Set.of(OTHER));
+        assertEquals(before + 1, syncs.get());
+
+        store.recordDelete(OTHER, "base");
+        store.save(Map.of(), Set.of(OTHER));
+        assertEquals(before + 2, syncs.get());
+        store.close();
+    }
+
+    @Test
+    void concurrentSavesKeepEveryRecord() throws Exception {
+        JournalHomeStore store = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        store.loadAll();
+        Map<String, Map<String, String>> expected = new HashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String player = new UUID(2, t).toString();
+                for (int i = 0; i < 50; i++) {
+                    expected.computeIfAbsent(player, k -> new HashMap<>()).put("home" + i, i + ".0,64.0,0.0@earth");
+                }
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        store.recordSet(player, "home" + i, new HomeData.HomeLocation(i, 64, 0, "earth"));
+                        store.save(Map.of(), Set.of(player));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        store.close();
+
+        JournalHomeStore reopened = open(SnapshotFormat.JSON, Long.MAX_VALUE);
+        assertEquals(expected, describe(reopened.loadAll()));
+        reopened.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PlayerCacheTest {
+    private static final UUID FIRST = new UUID(2, 1);
+    private static final UUID SECOND = new UUID(2, 2);
+    private static final UUID THIRD = new UUID(2, 3);
+
+    @TempDir
+    Path dataDir;
+
+    private HomeTable table;
+    private HomePersistence persistence;
+    private PlayerCache cache;
+
+    private void open(long idleMillis, int maxPlayers) {
+        ShardedHomeStore store = new ShardedHomeStore(dataDir);
+        store.saveAll(Map.of(
+                FIRST.toString(), Map.of("base", new HomeData.HomeLocation(1, 64, 1, "world")),
+                SECOND.toString(), Map.of("base", new HomeData.HomeLocation(2, 64, 2, "world")),
+                THIRD.toString(), Map.of("base", new HomeData.HomeLocation(3, 64, 3, "world"),
+                        "camp", new HomeData.HomeLocation(4, 64, 4, "world"))));
+
+        PluginConfig config = new PluginConfig();
+        config.storageMode = PluginConfig.STORAGE_SHARDED;
+        config.writeBehindEnabled = false;
+        config.lazyLoadingEnabled = true;
+        config.cacheIdleMillis = idleMillis;
+        config.cacheMaxPlayers = maxPlayers;
+        // Evictions only run when a test asks for them
+        config.cacheEvictionIntervalMillis = 60_000;
+        table = new HomeTable(config.stringPoolMaxSize, config.spatialIndexCellSize);
+        WorldResidency worlds = new WorldResidency(store, table, config);
+        persistence = new HomePersistence(store, table, worlds, config);
+        cache = new PlayerCache(store, table, persistence, config);
+    }
+
+    @AfterEach
+    void shutdown() {
+        cache.shutdown();
+        persistence.saveAll();
+    }
+
+    @Test
+    void loadsOnlyThePlayersAskedFor() {
+        open(60_000, 100);
+        assertEquals(0, table.homes.size());
+
+        Map<String, HomeData.HomeLocation> homes = cache.get(THIRD);
+        assertEquals(Set.of("base", "camp"), homes.keySet());
+        assertEquals(1, table.homes.size());
+        // Indexed like homes loaded at startup
+        assertEquals(2, table.spatialIndex.size("world"));
+        // The same live map on the next call
+        assertEquals(homes, cache.get(THIRD));
+    }
+
+    @Test
+    void idlePlayersAreEvictedAndLoadedAgain() throws Exception {
+        open(0, 100);
+        cache.get(FIRST);
+        cache.get(SECOND);
+        Thread.sleep(5);
+
+        cache.evictIdlePlayers();
+        assertEquals(0, table.homes.size());
+        assertEquals(0, table.spatialIndex.size("world"));
+        assertEquals(2, cache.getEvictedCount());
+
+        assertEquals(1, cache.get(FIRST).get("base").x);
+        assertEquals(1, table.spatialIndex.size("world"));
+    }
+
+    @Test
+    void leastRecentlyUsedPlayersGoWhenOverTheBound() throws Exception {
+        open(60_000, 2);
+        cache.get(FIRST);
+        Thread.sleep(2);
+        cache.get(SECOND);
+        Thread.sleep(2);
+        cache.get(THIRD);
+        Thread.sleep(2);
+        cache.get(FIRST);
+
+        cache.evictIdlePlayers();
+        assertEquals(2, table.homes.size());
+        assertNotNull(table.homes.get(FIRST));
+        assertNull(table.homes.get(SECOND));
+        assertNotNull(table.homes.get(THIRD));
+        assertEquals(1, cache.getEvictedCount());
+    }
+}
\ No newline at end of file
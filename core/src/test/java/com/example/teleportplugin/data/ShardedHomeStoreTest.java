@@ -0,0 +1,191 @@
+package com.example.teleportplugin.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedHomeStoreTest {
+    private static final String PLAYER = new UUID(1, 1).toString();
+    private static final String OTHER = new UUID(1, 2).toString();
+
+    @TempDir
+    Path dataDir;
+
+    /**
+     * Homes as comparable strings, HomeLocation has no equals
+     */
+    private static Map<String, Map<String, String>> describe(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        Map<String, Map<String, String>> described = new HashMap<>();
+        homes.forEach((player, playerHomes) -> playerHomes.forEach((name, location) ->
+                described.computeIfAbsent(player, k -> new HashMap<>())
+                        .put(name, location.x + "," + location.y + "," + location.z + "@" + location.worldId)));
+        return described;
+    }
+
+    @Test
+    void roundTripsEveryPlayer() {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            homes.put(new UUID(2, i).toString(), new HashMap<>(Map.of(
+                    "base", new HomeData.HomeLocation(i + 0.5, 64, -i, "earth"),
+                    "camp", new HomeData.HomeLocation(i, 80, i, "mars"))));
+        }
+        new ShardedHomeStore(dataDir, 4).saveAll(homes);
+
+        ShardedHomeStore store = new ShardedHomeStore(dataDir, 4);
+        assertEquals(describe(homes), describe(store.loadAll()));
+        assertEquals(homes.keySet(), new HashSet<>(store.listPartitions()));
+        String player = new UUID(2, 7).toString();
+        assertEquals(describe(Map.of(player, homes.get(player))), describe(store.loadPartition(player)));
+    }
+
+    @Test
+    void parallelLoadHandsEveryShardToTheSinkOnce() throws Exception {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            homes.put(new UUID(3, i).toString(), Map.of("base", new HomeData.HomeLocation(i, 64, i, "earth")));
+        }
+        new ShardedHomeStore(dataDir, 1).saveAll(homes);
+        // Not a shard, skipped
+        Files.writeString(new ShardedHomeStore(dataDir).shardPath(PLAYER).resolveSibling("notes.txt"), "hello");
+
+        Map<String, Integer> deliveries = new ConcurrentHashMap<>();
+        Map<String, Map<String, HomeData.HomeLocation>> loaded = new ConcurrentHashMap<>();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        new ShardedHomeStore(dataDir, 8).loadAll((player, playerHomes) -> {
+            deliveries.merge(player, 1, Integer::sum);
+            loaded.put(player, playerHomes);
+            threads.add(Thread.currentThread());
+        });
+
+        assertEquals(homes.keySet(), deliveries.keySet());
+        assertTrue(deliveries.values().stream().allMatch(count -> count == 1));
+        assertEquals(describe(homes), describe(loaded));
+        // Shards are read on the load pool, not the caller's thread
+        assertFalse(threads.contains(Thread.currentThread()));
+        assertEquals(describe(new ShardedHomeStore(dataDir, 1).loadAll()), describe(loaded));
+    }
+
+    @Test
+    void saveRewritesOnlyChangedPlayersAndDropsEmptyShards() throws Exception {
+        ShardedHomeStore store = new ShardedHomeStore(dataDir, 1);
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        homes.put(PLAYER, new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"))));
+        homes.put(OTHER, new HashMap<>(Map.of("base", new HomeData.HomeLocation(2, 64, 2, "earth"))));
+        store.saveAll(homes);
+
+        homes.get(PLAYER).put("camp", new HomeData.HomeLocation(3, 64, 3, "earth"));
+        homes.get(OTHER).put("ignored", new HomeData.HomeLocation(4, 64, 4, "earth"));
+        store.save(homes, Set.of(PLAYER));
+        assertEquals(Set.of("base", "camp"), store.loadPlayer(PLAYER).keySet());
+        assertEquals(Set.of("base"), store.loadPlayer(OTHER).keySet());
+
+        homes.remove(OTHER);
+        store.save(homes, Set.of(OTHER));
+        assertFalse(Files.exists(store.shardPath(OTHER)));
+        assertTrue(store.loadPlayer(OTHER).isEmpty());
+        assertEquals(List.of(PLAYER), store.listPartitions());
+    }
+
+    @Test
+    void encodesAnyPlayerKeyAsASafeFileName() {
+        for (String key : List.of(PLAYER, "Steve", "../../etc/passwd", "a b%c", "C:\\con", "Sp\u00e4ter\u2603")) {
+            String encoded = ShardedHomeStore.encodePlayerId(key);
+            assertTrue(encoded.matches("[A-Za-z0-9_%-]+"), encoded);
+            assertEquals(key, ShardedHomeStore.decodePlayerId(encoded + ".json"));
+        }
+        assertEquals(PLAYER, ShardedHomeStore.encodePlayerId(PLAYER));
+        assertNull(ShardedHomeStore.decodePlayerId("bad%4.json"));
+        assertNull(ShardedHomeStore.decodePlayerId("bad%zz.json"));
+    }
+
+    @Test
+    void migratesLegacyHomesFile() {
+        Map<String, Map<String, HomeData.HomeLocation>> legacy = new HashMap<>();
+        legacy.put(PLAYER, new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"))));
+        legacy.put("Steve", new HashMap<>(Map.of("camp", new HomeData.HomeLocation(2, 64, 2, "earth"))));
+        assertTrue(HomeData.saveHomes(legacy, dataDir));
+
+        ShardedHomeStore store = new ShardedHomeStore(dataDir, 2);
+        assertEquals(describe(legacy), describe(store.loadAll()));
+        assertFalse(Files.exists(dataDir.resolve(HomeData.HOMES_FILE)));
+        assertTrue(Files.exists(dataDir.resolve(HomeData.HOMES_FILE + ".migrated")));
+
+        // A second start reads the shards only
+        assertEquals(describe(legacy), describe(new ShardedHomeStore(dataDir, 2).loadAll()));
+    }
+
+    @Test
+    void unreadableLegacyFileIsNotRenamed() throws Exception {
+        // A directory in place of the file makes every read of it fail
+        Path legacyFile = Files.createDirectories(dataDir.resolve(HomeData.HOMES_FILE));
+
+        ShardedHomeStore store = new ShardedHomeStore(dataDir, 2);
+        assertThrows(UncheckedIOException.class, store::loadAll);
+        assertThrows(UncheckedIOException.class, () -> store.loadPlayer(PLAYER));
+        assertTrue(Files.isDirectory(legacyFile));
+        assertFalse(Files.exists(dataDir.resolve(HomeData.HOMES_FILE + ".migrated")));
+    }
+
+    @Test
+    void failedShardWriteKeepsLegacyFileForTheNextAttempt() throws Exception {
+        Map<String, Map<String, HomeData.HomeLocation>> legacy = new HashMap<>();
+        legacy.put(PLAYER, new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"))));
+        assertTrue(HomeData.saveHomes(legacy, dataDir));
+        // A file where the shard directory belongs makes every shard write fail
+        Path blocker = Files.writeString(dataDir.resolve("homes"), "");
+
+        ShardedHomeStore store = new ShardedHomeStore(dataDir, 2);
+        assertThrows(UncheckedIOException.class, store::loadAll);
+        assertTrue(Files.exists(dataDir.resolve(HomeData.HOMES_FILE)));
+
+        Files.delete(blocker);
+        assertEquals(describe(legacy), describe(store.loadAll()));
+        assertTrue(Files.exists(dataDir.resolve(HomeData.HOMES_FILE + ".migrated")));
+    }
+
+    @Test
+    void failedWriteIsReported() throws Exception {
+        ShardedHomeStore store = new ShardedHomeStore(dataDir, 2);
+        store.loadAll();
+        Files.writeString(dataDir.resolve("homes"), "");
+        Map<String, Map<String, HomeData.HomeLocation>> homes = Map.of(PLAYER,
+                Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth")));
+        assertThrows(UncheckedIOException.class, () -> store.save(homes, Set.of(PLAYER)));
+        assertThrows(UncheckedIOException.class, () -> store.saveAll(homes));
+    }
+
+    @Test
+    void corruptShardIsMovedAsideAndInvalidHomesDropped() throws Exception {
+        ShardedHomeStore store = new ShardedHomeStore(dataDir, 2);
+        store.saveAll(Map.of(PLAYER, Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"))));
+        Path corrupt = store.shardPath(OTHER);
+        Files.writeString(corrupt, "{\"base\": {\"x\": ");
+        Path partlyValid = store.shardPath("Steve");
+        Files.writeString(partlyValid, "{\"nan\": {\"x\": NaN, \"y\": 64, \"z\": 1, \"worldId\": \"earth\"},"
+                + " \"noworld\": {\"x\": 1, \"y\": 64, \"z\": 1}}");
+
+        Map<String, Map<String, HomeData.HomeLocation>> loaded = new ShardedHomeStore(dataDir, 2).loadAll();
+        assertEquals(Set.of(PLAYER, "Steve"), loaded.keySet());
+        assertEquals(Set.of("noworld"), loaded.get("Steve").keySet());
+        assertEquals("default", loaded.get("Steve").get("noworld").worldId);
+        assertFalse(Files.exists(corrupt));
+        assertTrue(Files.exists(corrupt.resolveSibling(corrupt.getFileName() + ".corrupt")));
+    }
+}
\ No newline at end of file
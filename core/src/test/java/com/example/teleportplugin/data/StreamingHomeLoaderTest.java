@@ -0,0 +1,105 @@
+package com.example.teleportplugin.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingHomeLoaderTest {
+    @TempDir
+    Path dir;
+
+    private List<Path> backups(Path file) throws IOException {
+        List<Path> backups = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, file.getFileName() + ".corrupt-*")) {
+            stream.forEach(backups::add);
+        }
+        return backups;
+    }
+
+    @Test
+    void repairsOrSkipsBadEntries() throws Exception {
+        Path file = Files.writeString(dir.resolve("homes.json"), "{"
+                + "\"a\": {"
+                + "  \"base\": {\"x\": 1.5, \"y\": \"64\", \"z\": -2, \"worldId\": \"earth\", \"extra\": [1, 2]},"
+                + "  \"noworld\": {\"x\": 1, \"y\": 2, \"z\": 3},"
+                + "  \"nox\": {\"y\": 2, \"z\": 3},"
+                + "  \"text\": \"not a home\""
+                + "},"
+                + "\"b\": [\"not\", \"an\", \"object\"],"
+                + "\"c\": {}"
+                + "}");
+
+        Map<String, Map<String, HomeData.HomeLocation>> homes = StreamingHomeLoader.load(file);
+        assertEquals(Set.of("a"), homes.keySet());
+        assertEquals(Set.of("base", "noworld"), homes.get("a").keySet());
+        HomeData.HomeLocation base = homes.get("a").get("base");
+        assertEquals(1.5, base.x);
+        assertEquals(64.0, base.y);
+        assertEquals("earth", base.worldId);
+        assertEquals("default", homes.get("a").get("noworld").worldId);
+        assertTrue(backups(file).isEmpty());
+    }
+
+    @Test
+    void readsEverythingTheSnapshotStoreWrites() throws Exception {
+        // More players than one progress interval
+        Map<String, Map<String, HomeData.HomeLocation>> written = new HashMap<>();
+        for (int i = 0; i < 12_000; i++) {
+            written.put("player-" + i, Map.of(
+                    "base", new HomeData.HomeLocation(i, 64, -i, "earth"),
+                    "camp", new HomeData.HomeLocation(0.5, i % 256, 0, "world-" + (i % 3))));
+        }
+        new SnapshotHomeStore(dir, SnapshotFormat.JSON).saveAll(written);
+
+        Map<String, Map<String, HomeData.HomeLocation>> homes = StreamingHomeLoader.load(dir.resolve(HomeData.HOMES_FILE));
+        assertEquals(written.keySet(), homes.keySet());
+        HomeData.HomeLocation camp = homes.get("player-4321").get("camp");
+        assertEquals(0.5, camp.x);
+        assertEquals(4321 % 256, camp.y);
+        assertEquals("world-" + (4321 % 3), camp.worldId);
+        assertEquals(-4321, homes.get("player-4321").get("base").z);
+    }
+
+    @Test
+    void keepsEverythingBeforeASyntaxErrorAndBacksUpTheFile() throws Exception {
+        String content = "{\"a\": {\"base\": {\"x\": 1, \"y\": 2, \"z\": 3, \"worldId\": \"earth\"}},"
+                + " \"b\": {\"base\": {\"x\": 1, \"y\": ]]] }}}";
+        Path file = Files.writeString(dir.resolve("homes.json"), content);
+
+        Map<String, Map<String, HomeData.HomeLocation>> homes = StreamingHomeLoader.load(file);
+        assertEquals(Set.of("a"), homes.keySet());
+        List<Path> backups = backups(file);
+        assertEquals(1, backups.size());
+        assertEquals(content, Files.readString(backups.get(0)));
+    }
+
+    @Test
+    void keepsEverythingBeforeACutOffEnd() throws Exception {
+        Path file = Files.writeString(dir.resolve("homes.json"),
+                "{\"a\": {\"base\": {\"x\": 1, \"y\": 2, \"z\": 3, \"worldId\": \"earth\"}}, \"b\": {\"base\": {\"x\"");
+
+        assertEquals(Set.of("a"), StreamingHomeLoader.load(file).keySet());
+        assertEquals(1, backups(file).size());
+    }
+
+    @Test
+    void readErrorsAreThrown() throws Exception {
+        // A directory in place of the file: opening works, reading fails
+        Path file = Files.createDirectories(dir.resolve("homes.json"));
+        assertThrows(IOException.class, () -> StreamingHomeLoader.load(file));
+        assertTrue(backups(file).isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StringPoolTest {
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void equalStringsShareOneInstance() {
+        StringPool pool = new StringPool(100);
+        String first = new String("nether");
+        String second = new String("nether");
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertNull(pool.intern(null));
+
+        assertEquals(1, pool.size());
+        assertEquals(2, pool.getLookupCount());
+        assertEquals(1, pool.getHitCount());
+    }
+
+    @Test
+    void fullPoolPassesNewValuesThrough() {
+        StringPool pool = new StringPool(2);
+        pool.intern("a");
+        pool.intern("b");
+        String c = new String("c");
+        assertSame(c, pool.intern(c));
+        assertNotSame(c, pool.intern(new String("c")));
+        assertEquals(2, pool.size());
+        // Values already pooled are still shared
+        assertSame(pool.intern("a"), pool.intern(new String("a")));
+    }
+
+    @Test
+    void estimatesLatin1AndUtf16Strings() {
+        assertEquals(24 + 16, StringPool.estimateSize(""));
+        assertEquals(24 + 24, StringPool.estimateSize("12345678"));
+        // Two bytes per char once any char is outside Latin-1
+        assertEquals(24 + 24, StringPool.estimateSize("\u0101\u0102\u0103\u0104"));
+        assertEquals(24 + 32, StringPool.estimateSize("\u0101\u0102\u0103\u0104\u0105"));
+    }
+
+    @Test
+    void loadedHomesShareNamesAndWorlds() {
+        Map<String, Map<String, HomeData.HomeLocation>> stored = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            stored.put(new UUID(5, i).toString(), Map.of(
+                    new String("base"), new HomeData.HomeLocation(i, 64, i, new String("earth"))));
+        }
+        new SnapshotHomeStore(dataDir).saveAll(stored);
+
+        PluginConfig config = new PluginConfig();
+        HomeManager homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        HomeManager.InternStats stats = homeManager.computeInternStats();
+        assertEquals(10, stats.homes);
+        assertEquals(20, stats.references);
+        assertEquals(2, stats.distinctInstances);
+        assertEquals(9 * (StringPool.estimateSize("base") + StringPool.estimateSize("earth")), stats.getBytesSaved());
+        assertSame(homeManager.getHome(new UUID(5, 0), "base").worldId, homeManager.getHome(new UUID(5, 9), "base").worldId);
+        homeManager.saveAll();
+    }
+}
\ No newline at end of file
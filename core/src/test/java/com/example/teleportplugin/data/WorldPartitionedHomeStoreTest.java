@@ -0,0 +1,70 @@
+package com.example.teleportplugin.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorldPartitionedHomeStoreTest {
+    private static final String PLAYER = "00000000-0000-0001-0000-000000000001";
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void migratesLegacyFileIntoWorlds() {
+        Map<String, Map<String, HomeData.HomeLocation>> legacy = new HashMap<>();
+        legacy.put(PLAYER, new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"),
+                "camp", new HomeData.HomeLocation(2, 64, 2, "mars"))));
+        assertTrue(HomeData.saveHomes(legacy, dataDir));
+
+        WorldPartitionedHomeStore store = new WorldPartitionedHomeStore(dataDir);
+        assertEquals(List.of("earth", "mars"), store.listWorlds().stream().sorted().toList());
+        assertEquals(2.0, store.loadWorld("mars").get(PLAYER).get("camp").x);
+        assertFalse(Files.exists(dataDir.resolve(HomeData.HOMES_FILE)));
+        assertTrue(Files.exists(dataDir.resolve(HomeData.HOMES_FILE + ".migrated")));
+    }
+
+    @Test
+    void unreadableLegacyFileIsNotMigrated() throws Exception {
+        Path legacyFile = Files.createDirectories(dataDir.resolve(HomeData.HOMES_FILE));
+
+        WorldPartitionedHomeStore store = new WorldPartitionedHomeStore(dataDir);
+        assertThrows(UncheckedIOException.class, store::listWorlds);
+        assertTrue(Files.isDirectory(legacyFile));
+        assertFalse(Files.exists(dataDir.resolve("worlds")));
+        assertFalse(Files.exists(dataDir.resolve(HomeData.HOMES_FILE + ".migrated")));
+    }
+
+    @Test
+    void failedPartitionWriteRemovesTheWorldsWrittenSoFar() {
+        // A world ID too long for a file name fails its partition, the other one is written
+        String longWorld = "w".repeat(300);
+        Map<String, Map<String, HomeData.HomeLocation>> legacy = new HashMap<>();
+        legacy.put(PLAYER, new HashMap<>(Map.of("base", new HomeData.HomeLocation(1, 64, 1, "earth"),
+                "far", new HomeData.HomeLocation(2, 64, 2, longWorld))));
+        assertTrue(HomeData.saveHomes(legacy, dataDir));
+
+        WorldPartitionedHomeStore store = new WorldPartitionedHomeStore(dataDir);
+        assertThrows(UncheckedIOException.class, store::listWorlds);
+        assertFalse(Files.exists(dataDir.resolve("worlds")));
+        assertTrue(Files.exists(dataDir.resolve(HomeData.HOMES_FILE)));
+
+        // Once the legacy file is fixed the next start migrates it
+        legacy.get(PLAYER).remove("far");
+        assertTrue(HomeData.saveHomes(legacy, dataDir));
+        WorldPartitionedHomeStore retried = new WorldPartitionedHomeStore(dataDir);
+        assertEquals(List.of("earth"), retried.listWorlds());
+        assertEquals(1.0, retried.loadWorld("earth").get(PLAYER).get("base").x);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.teleportplugin.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncLogAppenderTest {
+    private final PrintStream originalOut = System.out;
+    private final PrintStream originalErr = System.err;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @AfterEach
+    void restoreConsole() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+
+    /**
+     * Lines of this test's appenders, the plugin's shared appender may print to the same console
+     */
+    private static List<String> testLines(ByteArrayOutputStream console) {
+        List<String> lines = new ArrayList<>();
+        for (String line : console.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (line.startsWith("[Test] ")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private void captureConsole() {
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shutdownPrintsEverythingQueuedInOrder() {
+        captureConsole();
+        AsyncLogAppender appender = new AsyncLogAppender(1024);
+        for (int i = 0; i < 500; i++) {
+            appender.append(LogLevel.INFO, "Test", "line " + i, null);
+        }
+        appender.append(LogLevel.ERROR, "Test", "failed", new IllegalStateException("boom"));
+        appender.shutdown();
+
+        List<String> lines = testLines(out);
+        assertEquals(500, lines.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("[Test] line " + i, lines.get(i));
+        }
+        String errors = err.toString(StandardCharsets.UTF_8);
+        assertTrue(errors.contains("[Test] failed\n"));
+        assertTrue(errors.contains("IllegalStateException: boom"));
+    }
+
+    @Test
+    void fullBufferDropsLinesInsteadOfBlocking() throws Exception {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<Thread> existing = Thread.getAllStackTraces().keySet();
+        // Holds the new writer thread inside its first print, so nothing is drained meanwhile
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (existing.contains(Thread.currentThread())) {
+                    out.write(b);
+                    return;
+                }
+                writerBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write(b);
+            }
+        }, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        AsyncLogAppender appender = new AsyncLogAppender(16);
+        appender.append(LogLevel.INFO, "Test", "first", null);
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 16 + 5; i++) {
+            appender.append(LogLevel.INFO, "Test", "line " + i, null);
+        }
+        assertEquals(5, appender.getDroppedCount());
+
+        release.countDown();
+        appender.shutdown();
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("[Log] Dropped 5 log lines, buffer full"));
+    }
+
+    @Test
+    void linesAfterShutdownArePrintedDirectly() {
+        captureConsole();
+        AsyncLogAppender appender = new AsyncLogAppender(16);
+        appender.shutdown();
+        appender.append(LogLevel.WARN, "Test", "late", null);
+        assertEquals(List.of("[Test] late"), testLines(err));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.teleportplugin.messages;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageCatalogTest {
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void writesTheDefaultsWhenTheFileIsMissing() throws Exception {
+        MessageCatalog catalog = MessageCatalog.load(dataDir, "messages.json");
+        assertEquals("Home 'base' not found!", catalog.get("common.home_not_found").format("home", "base"));
+
+        JsonObject file = JsonParser.parseString(Files.readString(dataDir.resolve("messages.json"))).getAsJsonObject();
+        assertEquals(MessageCatalog.defaults().getTemplates().keySet(), file.keySet());
+    }
+
+    @Test
+    void fileEntriesOverrideDefaultsAndMissingOnesAreAdded() throws Exception {
+        Path file = Files.writeString(dataDir.resolve("messages.json"),
+                "{\"common.home_not_found\": {\"text\": \"Kein Zuhause '{home}'!\", \"color\": \"#123456\", \"bold\": true},"
+                        + " \"common.border\": {\"color\": \"#000000\"}}");
+
+        MessageCatalog catalog = MessageCatalog.load(dataDir, "messages.json");
+        MessageTemplate notFound = catalog.get("common.home_not_found");
+        assertEquals("Kein Zuhause 'base'!", notFound.format("home", "base"));
+        assertEquals("#123456", notFound.getColor());
+        assertTrue(notFound.isBold());
+        // An entry without text keeps the default
+        assertEquals(MessageCatalog.defaults().get("common.border").getText(), catalog.get("common.border").getText());
+
+        // Completed with the missing keys, the translated entry is kept
+        JsonObject written = JsonParser.parseString(Files.readString(file)).getAsJsonObject();
+        assertEquals(MessageCatalog.defaults().getTemplates().keySet(), written.keySet());
+        assertEquals("Kein Zuhause '{home}'!", written.getAsJsonObject("common.home_not_found").get("text").getAsString());
+    }
+
+    @Test
+    void unreadableFileFallsBackToDefaults() throws Exception {
+        Files.writeString(dataDir.resolve("messages.json"), "{\"common.border\": ");
+        MessageCatalog catalog = MessageCatalog.load(dataDir, "messages.json");
+        assertEquals(MessageCatalog.defaults().get("common.border").getText(), catalog.get("common.border").getText());
+    }
+
+    @Test
+    void unknownKeysGiveAPlaceholderLine() {
+        MessageTemplate template = MessageCatalog.defaults().get("no.such.key");
+        assertEquals("<no.such.key>", template.format());
+        assertEquals(MessageCatalog.RED, template.getColor());
+    }
+}
\ No newline at end of file
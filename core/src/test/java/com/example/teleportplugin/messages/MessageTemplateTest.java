@@ -0,0 +1,50 @@
+package com.example.teleportplugin.messages;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageTemplateTest {
+    private static MessageTemplate template(String text) {
+        return new MessageTemplate("test", text, "#ffffff", false);
+    }
+
+    @Test
+    void fillsPlaceholdersByName() {
+        MessageTemplate template = template("Teleporting to {home} in {seconds}s, {home}!");
+        assertFalse(template.isStatic());
+        assertEquals("Teleporting to base in 3s, base!", template.format("seconds", 3, "home", "base"));
+    }
+
+    @Test
+    void placeholdersWithoutValueStayAsTheyAre() {
+        MessageTemplate template = template("{home} at {position}");
+        assertEquals("base at {position}", template.format("home", "base"));
+        // A trailing name without a value is ignored
+        assertEquals("{home} at {position}", template.format("home"));
+    }
+
+    @Test
+    void bracesThatAreNotPlaceholdersAreLiteral() {
+        assertTrue(template("Use {} or { to open").isStatic());
+        assertEquals("{1}", template("{{x}}").format("x", 1));
+        assertEquals("a {b", template("a {b").format("b", 1));
+    }
+
+    @Test
+    void staticTextIsReturnedAsIs() {
+        MessageTemplate template = template("No homes yet");
+        assertTrue(template.isStatic());
+        assertSame(template.getText(), template.format("home", "base"));
+    }
+
+    @Test
+    void coordinatesHaveOneDecimal() {
+        assertEquals("1.3, -0.5, 0.0", MessageTemplate.formatPosition(1.25, -0.45, -0.04));
+        assertEquals("-12.0, 64.0, 100000.1", MessageTemplate.formatPosition(-12, 64, 100000.06));
+        assertEquals("NaN", MessageTemplate.appendCoordinate(new StringBuilder(), Double.NaN).toString());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.teleportplugin.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50));
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+    @Test
+    void percentilesAreWithinAFactorOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000L * 1001 / 2 * 1000, histogram.getSumNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+
+        long p50 = histogram.getPercentileNanos(50);
+        assertTrue(p50 >= 500_000 && p50 < 1_000_000, "p50 " + p50);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+        // Never above the largest value recorded
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    void negativeAndZeroDurationsCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(3, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(100));
+    }
+}
\ No newline at end of file
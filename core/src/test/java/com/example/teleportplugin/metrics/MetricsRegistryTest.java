@@ -0,0 +1,69 @@
+package com.example.teleportplugin.metrics;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsRegistryTest {
+    // The registry is shared by the whole plugin, so every name here is unique to this test
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void namedMetricsAreCreatedOnce() {
+        Counter counter = registry.counter("test.registry.counter");
+        assertSame(counter, registry.counter("test.registry.counter"));
+        assertSame(registry.histogram("test.registry.histogram"), registry.histogram("test.registry.histogram"));
+
+        counter.increment();
+        counter.add(4);
+        assertEquals(5, registry.counter("test.registry.counter").get());
+    }
+
+    @Test
+    void rendersCountersGaugesAndHistograms() {
+        registry.counter("test.render.counter").add(3);
+        registry.gauge("test.render.gauge", () -> 42);
+        registry.gauge("test.render.broken", () -> {
+            throw new IllegalStateException("gone");
+        });
+        registry.histogram("test.render.latency").record(2_000_000);
+
+        List<String> lines = registry.renderLines();
+        assertTrue(lines.contains("test.render.counter 3"));
+        assertTrue(lines.contains("test.render.gauge 42"));
+        // A failing gauge does not break the report
+        assertTrue(lines.contains("test.render.broken -1"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("test.render.latency count=1 ")));
+
+        JsonObject json = JsonParser.parseString(registry.renderJson()).getAsJsonObject();
+        assertEquals(3, json.getAsJsonObject("counters").get("test.render.counter").getAsLong());
+        assertEquals(42, json.getAsJsonObject("gauges").get("test.render.gauge").getAsLong());
+        JsonObject latency = json.getAsJsonObject("histograms").getAsJsonObject("test.render.latency");
+        assertEquals(1, latency.get("count").getAsLong());
+        assertEquals(2_000_000, latency.get("maxNanos").getAsLong());
+    }
+
+    @Test
+    void dumperWritesTheChosenFormat() throws Exception {
+        registry.counter("test.dump.counter").increment();
+        new MetricsDumper(registry, dataDir, "json").dump();
+        JsonObject json = JsonParser.parseString(Files.readString(dataDir.resolve("metrics.json"))).getAsJsonObject();
+        assertEquals(1, json.getAsJsonObject("counters").get("test.dump.counter").getAsLong());
+
+        new MetricsDumper(registry, dataDir, "text").dump();
+        assertTrue(Files.readAllLines(dataDir.resolve("metrics.txt")).contains("test.dump.counter 1"));
+        assertTrue(Files.notExists(dataDir.resolve("metrics.txt.tmp")));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.teleportplugin.permissions;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PermissionNodeTableTest {
+    @TempDir
+    Path configDir;
+
+    @Test
+    void fixedNodesComeFirstThenSortedTiers() {
+        PermissionNodeTable table = PermissionNodeTable.build("tp", new int[]{10, 3, 0, -1, 999, 3});
+        assertEquals("tp.home.set", table.node(PermissionNodeTable.HOME_SET));
+        assertEquals("tp.home.tp", table.node(PermissionNodeTable.HOME_TP));
+        assertEquals("tp.home.delete", table.node(PermissionNodeTable.HOME_DELETE));
+        assertEquals("tp.home.list", table.node(PermissionNodeTable.HOME_LIST));
+        assertEquals("tp.home.set.999", table.node(PermissionNodeTable.HOME_SET_UNLIMITED));
+        assertEquals("tp.admin", table.node(PermissionNodeTable.ADMIN));
+
+        // Duplicates, non-positive tiers and the unlimited tier are dropped
+        assertEquals(2, table.limitTierCount());
+        assertEquals(3, table.limitTier(0));
+        assertEquals(10, table.limitTier(1));
+        assertEquals("tp.home.set.3", table.node(table.limitNodeId(0)));
+        assertEquals("tp.home.set.10", table.node(table.limitNodeId(1)));
+        assertEquals(PermissionNodeTable.ADMIN + 3, table.size());
+    }
+
+    @Test
+    void looksUpIdsByNodeAndLimit() {
+        PermissionNodeTable table = PermissionNodeTable.build("tp", new int[]{5, 1});
+        for (int id = 0; id < table.size(); id++) {
+            assertEquals(id, table.idOf(table.node(id)));
+        }
+        assertEquals(-1, table.idOf("tp.home.fly"));
+        assertEquals(-1, table.idOf("other.home.set"));
+
+        assertEquals(table.limitNodeId(1), table.limitNodeIdFor(5));
+        assertEquals(PermissionNodeTable.HOME_SET_UNLIMITED, table.limitNodeIdFor(999));
+        assertEquals(-1, table.limitNodeIdFor(4));
+    }
+
+    @Test
+    void toleratesMissingTiers() {
+        PermissionNodeTable table = PermissionNodeTable.build("tp", null);
+        assertEquals(0, table.limitTierCount());
+        assertEquals(PermissionNodeTable.ADMIN + 1, table.size());
+    }
+
+    @Test
+    void loadedConfigBuildsItsTableFromTheFile() throws Exception {
+        Files.writeString(configDir.resolve("teleport_config.json"),
+                "{\"permissionPrefix\": \"homes\", \"homeLimitTiers\": [2, 4]}");
+        PluginConfig config = PluginConfig.load(configDir);
+
+        assertEquals("homes.home.tp", config.getHomeTpPermission());
+        assertEquals("homes.home.set.4", config.getHomeSetLimitPermission(4));
+        // Limits outside the tiers still get a node, just not a precomputed one
+        assertEquals("homes.home.set.7", config.getHomeSetLimitPermission(7));
+    }
+}
\ No newline at end of file
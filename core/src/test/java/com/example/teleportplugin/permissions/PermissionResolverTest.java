@@ -0,0 +1,111 @@
+package com.example.teleportplugin.permissions;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionResolverTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+
+    /**
+     * Grants the nodes in {@link #granted} and counts how often it is asked
+     */
+    private static final class Backend implements PermissionBackend<Object> {
+        final Set<String> granted = new HashSet<>();
+        final AtomicInteger checks = new AtomicInteger();
+
+        @Override
+        public boolean hasPermission(Object subject, String node) {
+            checks.incrementAndGet();
+            return granted.contains(node);
+        }
+    }
+
+    private final Backend backend = new Backend();
+    private final PluginConfig config = new PluginConfig();
+
+    private PermissionResolver<Object> resolver() {
+        return new PermissionResolver<>(backend, config, playerId -> 2);
+    }
+
+    private String node(int id) {
+        return config.getPermissionNodes().node(id);
+    }
+
+    @Test
+    void resolvesOnceUntilInvalidated() {
+        PermissionResolver<Object> resolver = resolver();
+        Object subject = new Object();
+        assertFalse(resolver.isGranted(subject, PLAYER, PermissionNodeTable.HOME_TP));
+        int checks = backend.checks.get();
+
+        backend.granted.add(node(PermissionNodeTable.HOME_TP));
+        assertFalse(resolver.isGranted(subject, PLAYER, PermissionNodeTable.HOME_TP));
+        assertFalse(resolver.isGranted(subject, PLAYER, PermissionNodeTable.HOME_SET));
+        assertEquals(checks, backend.checks.get());
+
+        resolver.invalidate(PLAYER);
+        assertTrue(resolver.isGranted(subject, PLAYER, PermissionNodeTable.HOME_TP));
+        assertEquals(2 * checks, backend.checks.get());
+    }
+
+    @Test
+    void invalidateAllForgetsEveryPlayer() {
+        PermissionResolver<Object> resolver = resolver();
+        Object first = new Object();
+        Object second = new Object();
+        UUID other = new UUID(1, 2);
+        assertEquals(config.defaultMaxHomes, resolver.getMaxHomes(first, PLAYER));
+        assertEquals(config.defaultMaxHomes, resolver.getMaxHomes(second, other));
+
+        backend.granted.add(node(PermissionNodeTable.HOME_SET_UNLIMITED));
+        resolver.invalidateAll();
+        assertEquals(Integer.MAX_VALUE, resolver.getMaxHomes(first, PLAYER));
+        assertEquals(Integer.MAX_VALUE, resolver.getMaxHomes(second, other));
+    }
+
+    @Test
+    void entriesExpireAfterTheCacheTime() throws Exception {
+        config.permissionCacheMillis = 50;
+        PermissionResolver<Object> resolver = resolver();
+        Object subject = new Object();
+        assertFalse(resolver.isGranted(subject, PLAYER, PermissionNodeTable.HOME_LIST));
+
+        backend.granted.add(node(PermissionNodeTable.HOME_LIST));
+        assertFalse(resolver.isGranted(subject, PLAYER, PermissionNodeTable.HOME_LIST));
+        Thread.sleep(100);
+        assertTrue(resolver.isGranted(subject, PLAYER, PermissionNodeTable.HOME_LIST));
+    }
+
+    @Test
+    void newSubjectForTheSamePlayerIsResolvedAgain() {
+        PermissionResolver<Object> resolver = resolver();
+        assertFalse(resolver.isGranted(new Object(), PLAYER, PermissionNodeTable.HOME_DELETE));
+
+        backend.granted.add(node(PermissionNodeTable.HOME_DELETE));
+        // A rejoin or world change hands over a new player object
+        assertTrue(resolver.isGranted(new Object(), PLAYER, PermissionNodeTable.HOME_DELETE));
+    }
+
+    @Test
+    void highestGrantedLimitTierWins() {
+        PermissionResolver<Object> resolver = resolver();
+        PermissionNodeTable nodes = config.getPermissionNodes();
+        backend.granted.add(node(nodes.limitNodeIdFor(3)));
+        backend.granted.add(node(nodes.limitNodeIdFor(10)));
+        backend.granted.add(node(PermissionNodeTable.HOME_SET_UNLIMITED));
+        Object subject = new Object();
+
+        assertEquals(10, resolver.getMaxHomes(subject, PLAYER));
+        assertTrue(resolver.canSetAnotherHome(subject, PLAYER));
+        assertEquals("2/10 homes", resolver.getHomesLimitString(subject, PLAYER));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.teleportplugin.systems;
+
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerMovementSystemTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+
+    // Long enough that no cooldown finishes during a test
+    private final TeleportCooldownManager cooldowns = new TeleportCooldownManager(60);
+    private final PlayerMovementSystem movement = new PlayerMovementSystem(cooldowns, 1.0);
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        movement.shutdown();
+        cooldowns.shutdown();
+    }
+
+    private void startTeleport() {
+        cooldowns.startCooldown(PLAYER, "earth", "base", () -> { }, cancelled::incrementAndGet);
+        movement.startWatching(PLAYER);
+    }
+
+    @Test
+    void movingPastTheThresholdCancelsTheTeleport() {
+        startTeleport();
+        // The first position seen is the start position
+        assertTrue(movement.checkMovement(PLAYER, 10, 64, 10));
+        assertTrue(movement.checkMovement(PLAYER, 10.5, 64, 10.5));
+        assertTrue(cooldowns.hasCooldown(PLAYER));
+
+        assertFalse(movement.checkMovement(PLAYER, 11.5, 64, 10));
+        assertFalse(cooldowns.hasCooldown(PLAYER));
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void smallStepsAreMeasuredFromTheStartPosition() {
+        startTeleport();
+        movement.checkMovement(PLAYER, 0, 64, 0);
+        assertTrue(movement.checkMovement(PLAYER, 0.6, 64, 0));
+        // Each step is small, the total is not
+        assertFalse(movement.checkMovement(PLAYER, 1.2, 64, 0));
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void playersWithoutATeleportAreNoLongerWatched() {
+        assertFalse(movement.checkMovement(PLAYER, 0, 64, 0));
+
+        startTeleport();
+        movement.checkMovement(PLAYER, 0, 64, 0);
+        cooldowns.cancelCooldown(PLAYER);
+        assertFalse(movement.checkMovement(PLAYER, 50, 64, 0));
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void aNewTeleportTakesANewStartPosition() {
+        startTeleport();
+        movement.checkMovement(PLAYER, 0, 64, 0);
+        startTeleport();
+        assertTrue(movement.checkMovement(PLAYER, 20, 64, 0));
+        assertTrue(movement.checkMovement(PLAYER, 20.5, 64, 0));
+        assertTrue(cooldowns.hasCooldown(PLAYER));
+    }
+}
\ No newline at end of file
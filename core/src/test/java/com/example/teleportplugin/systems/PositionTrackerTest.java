@@ -0,0 +1,63 @@
+package com.example.teleportplugin.systems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PositionTrackerTest {
+    private static final UUID PLAYER = new UUID(1, 1);
+    private static final UUID OTHER = new UUID(1, 2);
+
+    @Test
+    void updateReturnsSquaredDistanceFromThePreviousPosition() {
+        PositionTracker tracker = new PositionTracker(4);
+        assertEquals(-1, tracker.update(PLAYER, 0, 64, 0));
+        assertEquals(9 + 16, tracker.update(PLAYER, 3, 64, 4));
+        assertEquals(1, tracker.update(PLAYER, 3, 65, 4));
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    void measureLeavesTheStoredPositionAlone() {
+        PositionTracker tracker = new PositionTracker(4);
+        assertEquals(-1, tracker.measure(PLAYER, 10, 64, 10));
+        assertEquals(4, tracker.measure(PLAYER, 12, 64, 10));
+        assertEquals(16, tracker.measure(PLAYER, 14, 64, 10));
+        assertEquals(0, tracker.measure(PLAYER, 10, 64, 10));
+    }
+
+    @Test
+    void removedPlayersStartOverAndTheirSlotIsReused() {
+        PositionTracker tracker = new PositionTracker(4);
+        tracker.update(PLAYER, 1, 1, 1);
+        tracker.remove(PLAYER);
+        assertEquals(0, tracker.size());
+        assertEquals(-1, tracker.update(PLAYER, 5, 5, 5));
+
+        // The recycled slot must not leak the previous player's position
+        tracker.remove(PLAYER);
+        assertEquals(-1, tracker.update(OTHER, 7, 7, 7));
+        assertEquals(0, tracker.measure(OTHER, 7, 7, 7));
+        tracker.remove(OTHER);
+        tracker.remove(OTHER);
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        PositionTracker tracker = new PositionTracker(1);
+        for (int i = 0; i < 1000; i++) {
+            tracker.update(new UUID(2, i), i, 64, -i);
+        }
+        assertEquals(1000, tracker.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1, tracker.measure(new UUID(2, i), i + 1, 64, -i));
+        }
+
+        tracker.clear();
+        assertEquals(0, tracker.size());
+        assertEquals(-1, tracker.update(new UUID(2, 5), 0, 0, 0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.teleportplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentUuidMapTest {
+    private static final int THREADS = 8;
+    private static final int KEYS = 1000;
+
+    @Test
+    void computeRemovesKeyWhenFunctionReturnsNull() {
+        ConcurrentUuidMap<String> map = new ConcurrentUuidMap<>();
+        UUID key = new UUID(1, 1);
+        assertEquals("a", map.compute(key, (k, v) -> "a"));
+        assertEquals("ab", map.compute(key, (k, v) -> v + "b"));
+        assertNull(map.compute(key, (k, v) -> null));
+        assertFalse(map.containsKey(key));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void conditionalRemoveComparesInstances() {
+        ConcurrentUuidMap<String> map = new ConcurrentUuidMap<>();
+        UUID key = new UUID(1, 1);
+        String value = new String("home");
+        map.put(key, value);
+        assertFalse(map.remove(key, new String("home")));
+        assertSame(value, map.get(key));
+        assertTrue(map.remove(key, value));
+        assertNull(map.get(key));
+    }
+
+    @Test
+    void concurrentComputeLosesNoUpdates() throws Exception {
+        ConcurrentUuidMap<Integer> map = new ConcurrentUuidMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < KEYS; i++) {
+                        map.compute(new UUID(0, i), (k, v) -> v == null ? 1 : v + 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(KEYS, map.size());
+        Set<UUID> keys = new HashSet<>(map.keys());
+        assertEquals(KEYS, keys.size());
+        map.forEach((key, count) -> assertEquals(THREADS, count));
+    }
+
+    @Test
+    void forEachMayModifyTheMap() {
+        ConcurrentUuidMap<Integer> map = new ConcurrentUuidMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            map.put(new UUID(0, i), i);
+        }
+        map.forEach((key, value) -> {
+            if (value % 2 == 0) {
+                map.remove(key);
+            }
+        });
+        assertEquals(KEYS / 2, map.size());
+        map.forEach((key, value) -> assertEquals(1, value % 2));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.example.teleportplugin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidMapTest {
+    // new UuidMap<>(8) has 16 slots and resizes after 10 entries
+    private static final int MASK = 15;
+
+    private static int home(UUID key) {
+        return (int) UuidMap.hash(key.getMostSignificantBits(), key.getLeastSignificantBits()) & MASK;
+    }
+
+    /**
+     * Sequential keys whose home slot is the given one
+     */
+    private static List<UUID> keysWithHome(int slot, int count, long[] next) {
+        List<UUID> keys = new ArrayList<>();
+        while (keys.size() < count) {
+            UUID key = new UUID(7, next[0]++);
+            if (home(key) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    void removeKeepsLaterEntriesOfTheProbeRunReachable() {
+        long[] next = {0};
+        List<UUID> sameHome = keysWithHome(3, 3, next);
+        UUID following = keysWithHome(4, 1, next).get(0);
+
+        UuidMap<String> map = new UuidMap<>(8);
+        for (UUID key : sameHome) {
+            map.put(key, key.toString());
+        }
+        // Home slot 4 is taken by the run, so it probes on to slot 6
+        map.put(following, "following");
+
+        assertEquals(sameHome.get(0).toString(), map.remove(sameHome.get(0)));
+        assertNull(map.get(sameHome.get(0)));
+        assertEquals(sameHome.get(1).toString(), map.get(sameHome.get(1)));
+        assertEquals(sameHome.get(2).toString(), map.get(sameHome.get(2)));
+        assertEquals("following", map.get(following));
+
+        assertEquals(sameHome.get(2).toString(), map.remove(sameHome.get(2)));
+        assertEquals(sameHome.get(1).toString(), map.get(sameHome.get(1)));
+        assertEquals("following", map.get(following));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeShiftsBackAcrossTheEndOfTheTable() {
+        long[] next = {0};
+        List<UUID> wrapping = keysWithHome(MASK, 3, next);
+        UUID atStart = keysWithHome(0, 1, next).get(0);
+
+        UuidMap<String> map = new UuidMap<>(8);
+        for (UUID key : wrapping) {
+            map.put(key, key.toString());
+        }
+        map.put(atStart, "start");
+
+        map.remove(wrapping.get(0));
+        assertEquals(wrapping.get(1).toString(), map.get(wrapping.get(1)));
+        assertEquals(wrapping.get(2).toString(), map.get(wrapping.get(2)));
+        assertEquals("start", map.get(atStart));
+
+        map.remove(wrapping.get(1));
+        map.remove(wrapping.get(2));
+        assertEquals("start", map.get(atStart));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        UuidMap<Integer> map = new UuidMap<>();
+        Map<UUID, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // A small key space keeps probe runs long and removals frequent
+            UUID key = new UUID(random.nextInt(4), random.nextInt(500));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            if (i % 10_000 == 0) {
+                assertEquals(expected.size(), map.size());
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<UUID, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Map<UUID, Integer> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void rejectsNullValues() {
+        UuidMap<String> map = new UuidMap<>();
+        assertThrows(NullPointerException.class, () -> map.put(new UUID(1, 1), null));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,348 @@
+package com.example.teleportplugin.loadtest;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.example.teleportplugin.data.HomeData;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.HomeStore;
+import com.example.teleportplugin.logging.AsyncLogAppender;
+import com.example.teleportplugin.logging.LogLevel;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
+import com.example.teleportplugin.permissions.PermissionBackend;
+import com.example.teleportplugin.permissions.PermissionNodeTable;
+import com.example.teleportplugin.permissions.PermissionResolver;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Headless load test: N virtual players issue a weighted mix of /home set, tp, delete
+ * and list against the real HomeManager, TeleportCooldownManager and permission
+ * resolver, with stand-in worlds in place of the server.
+ *
+ * Every virtual player belongs to one worker thread, so like a real player it never
+ * has two commands in flight. Reports throughput, latency percentiles per command,
+ * teleport lateness on the world threads, bytes written to disk, allocation and GC.
+ */
+public class LoadTest {
+    private static final Counter BYTES_WRITTEN = MetricsRegistry.getInstance().counter("storage.bytes_written");
+
+    private final LoadTestOptions options;
+    private final Map<LoadTestOptions.Operation, LatencyHistogram> latencies = new EnumMap<>(LoadTestOptions.Operation.class);
+    private final Map<LoadTestOptions.Operation, AtomicLong> refused = new EnumMap<>(LoadTestOptions.Operation.class);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final LoadTestOptions.Operation[] operationTable;
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+        for (LoadTestOptions.Operation operation : LoadTestOptions.Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            refused.put(operation, new AtomicLong());
+        }
+
+        // One slot per weight unit, a random slot picks the next command
+        List<LoadTestOptions.Operation> slots = new ArrayList<>();
+        options.mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        this.operationTable = slots.toArray(new LoadTestOptions.Operation[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.usage());
+            System.exit(2);
+            return;
+        }
+
+        PluginLogger.setLevel(LogLevel.fromConfig(options.logLevel));
+        boolean tempDir = options.dataDir == null;
+        Path dataDir = tempDir ? Files.createTempDirectory("teleport-loadtest") : options.dataDir;
+        try {
+            new LoadTest(options).run(dataDir);
+        } finally {
+            AsyncLogAppender.getInstance().shutdown();
+            if (tempDir) {
+                deleteRecursively(dataDir);
+            }
+        }
+    }
+
+    private void run(Path dataDir) throws Exception {
+        PluginConfig config = options.config;
+        System.out.println("Seeding " + options.players + " players with " + options.homesPerPlayer + " homes each in " + dataDir);
+        HomeStore seedStore = HomeStore.create(config, dataDir);
+        seedStore.saveAll(seedHomes());
+        seedStore.close();
+
+        long bytesBefore = BYTES_WRITTEN.get();
+        HomeManager homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        TeleportCooldownManager cooldownManager = new TeleportCooldownManager(config.teleportCooldownSeconds,
+                config.cooldownTickMillis, PluginConfig.COOLDOWN_DRIVER_WORLD_TICK.equalsIgnoreCase(config.cooldownDriver));
+        PermissionResolver<SimCommandContext> permissions = new PermissionResolver<>(grantBaseNodes(config), config, homeManager::getHomeCount);
+        SimCommands commands = new SimCommands(homeManager, cooldownManager, permissions, config.teleportCooldownSeconds,
+                config.homeListPageSize);
+
+        SimWorld[] worlds = new SimWorld[Math.max(1, options.worlds)];
+        for (int i = 0; i < worlds.length; i++) {
+            worlds[i] = new SimWorld(i == 0 ? "default" : "world" + i, cooldownManager, homeManager);
+        }
+        SimCommandContext[] players = new SimCommandContext[options.players];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new SimCommandContext(playerId(i), "player-" + i, worlds[i % worlds.length], i, 64, -i);
+        }
+
+        System.out.println("Running " + options.durationSeconds + "s with " + options.threads + " threads, mix " + options.mix
+                + ", storage " + config.storageMode + ", cooldown driver " + config.cooldownDriver);
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads, r -> {
+            Thread thread = new Thread(r, "LoadTest-Worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < options.threads; w++) {
+            int worker = w;
+            futures.add(workers.submit(() -> runWorker(worker, players, commands, deadline)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        workers.shutdown();
+
+        // Let the last teleports finish before shutting down
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.teleportCooldownSeconds + 1);
+        while (cooldownManager.getActiveCooldownCount() > 0 && System.nanoTime() < waitUntil) {
+            Thread.sleep(50);
+        }
+        long flushStart = System.nanoTime();
+        homeManager.saveAll();
+        long flushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - flushStart);
+        cooldownManager.shutdown();
+        for (SimWorld world : worlds) {
+            world.shutdown();
+        }
+
+        printReport(elapsedNanos, commands, BYTES_WRITTEN.get() - bytesBefore, directorySize(dataDir), flushMillis,
+                gcCount() - gcCountBefore, gcMillis() - gcMillisBefore);
+    }
+
+    private void runWorker(int worker, SimCommandContext[] players, SimCommands commands, long deadline) {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        long allocatedBefore = threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+        int homeNames = options.homesPerPlayer + 2;
+
+        try {
+            while (System.nanoTime() < deadline) {
+                for (int p = worker; p < players.length && System.nanoTime() < deadline; p += options.threads) {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    LoadTestOptions.Operation operation = operationTable[random.nextInt(operationTable.length)];
+                    String homeName = "home" + random.nextInt(homeNames);
+                    execute(operation, players[p], homeName, commands);
+
+                    if (options.thinkMillis > 0) {
+                        Thread.sleep(options.thinkMillis);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (threads != null) {
+                allocatedBytes.addAndGet(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            }
+        }
+    }
+
+    private void execute(LoadTestOptions.Operation operation, SimCommandContext context, String homeName, SimCommands commands) {
+        long start = System.nanoTime();
+        try {
+            boolean accepted;
+            switch (operation) {
+                case SET:
+                    accepted = commands.set(context, homeName);
+                    break;
+                case TP:
+                    accepted = commands.tp(context, homeName);
+                    break;
+                case DELETE:
+                    accepted = commands.delete(context, homeName);
+                    break;
+                default:
+                    commands.list(context, 1);
+                    accepted = true;
+            }
+            if (!accepted) {
+                refused.get(operation).incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            if (errors.getAndIncrement() == 0) {
+                System.err.println("[LoadTest] First command error: " + e);
+                e.printStackTrace();
+            }
+        } finally {
+            latencies.get(operation).recordSince(start);
+        }
+    }
+
+    private void printReport(long elapsedNanos, SimCommands commands, long bytesWritten, long bytesOnDisk, long flushMillis,
+                             long gcCount, long gcMillis) {
+        double seconds = elapsedNanos / 1e9;
+        long total = 0;
+        for (LatencyHistogram histogram : latencies.values()) {
+            total += histogram.getCount();
+        }
+
+        System.out.println();
+        System.out.println("=== Load test results ===");
+        System.out.printf("Commands:        %d in %.1fs (%.0f/s), %d errors, %d messages%n",
+                total, seconds, total / seconds, errors.get(), SimCommandContext.getMessageCount());
+        System.out.println();
+        System.out.printf("%-8s %10s %9s %9s %9s %9s %9s %9s%n", "command", "count", "refused", "ops/s", "p50 us", "p99 us", "p999 us", "max us");
+        for (Map.Entry<LoadTestOptions.Operation, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-8s %10d %9d %9.0f %9d %9d %9d %9d%n", entry.getKey().name().toLowerCase(),
+                    histogram.getCount(), refused.get(entry.getKey()).get(), histogram.getCount() / seconds,
+                    micros(histogram.getPercentileNanos(50)), micros(histogram.getPercentileNanos(99)),
+                    micros(histogram.getPercentileNanos(99.9)), micros(histogram.getMaxNanos()));
+        }
+
+        LatencyHistogram lateness = commands.getTeleportLateness();
+        System.out.println();
+        System.out.printf("Teleports:       %d, late by p50 %dms, p99 %dms, max %dms%n", lateness.getCount(),
+                millis(lateness.getPercentileNanos(50)), millis(lateness.getPercentileNanos(99)), millis(lateness.getMaxNanos()));
+        System.out.printf("Disk:            %s written (%s/s), %s on disk, final flush %dms%n",
+                bytes(bytesWritten), bytes((long) (bytesWritten / seconds)), bytes(bytesOnDisk), flushMillis);
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        System.out.printf("Memory:          %s allocated by workers (%s/s, %s per command), heap %s used%n",
+                bytes(allocatedBytes.get()), bytes((long) (allocatedBytes.get() / seconds)),
+                bytes(total > 0 ? allocatedBytes.get() / total : 0), bytes(heap.getUsed()));
+        System.out.printf("GC:              %d collections, %dms total (%.2f%% of run)%n",
+                gcCount, gcMillis, gcMillis / (seconds * 10));
+        System.out.println();
+        System.out.println("=== Plugin metrics ===");
+        for (String line : MetricsRegistry.getInstance().renderLines()) {
+            System.out.println(line);
+        }
+    }
+
+    private Map<String, Map<String, HomeData.HomeLocation>> seedHomes() {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        for (int p = 0; p < options.players; p++) {
+            Map<String, HomeData.HomeLocation> playerHomes = new HashMap<>();
+            for (int h = 0; h < options.homesPerPlayer; h++) {
+                playerHomes.put("home" + h, new HomeData.HomeLocation(p + h * 100.0, 64, -p, "default"));
+            }
+            homes.put(playerId(p).toString(), playerHomes);
+        }
+        return homes;
+    }
+
+    /**
+     * Grants every command node but no limit tier, so defaultMaxHomes is each player's limit
+     */
+    private static PermissionBackend<SimCommandContext> grantBaseNodes(PluginConfig config) {
+        PermissionNodeTable nodes = config.getPermissionNodes();
+        return (subject, node) -> {
+            int id = nodes.idOf(node);
+            return id >= 0 && id <= PermissionNodeTable.ADMIN && id != PermissionNodeTable.HOME_SET_UNLIMITED;
+        };
+    }
+
+    private static UUID playerId(int index) {
+        return UUID.nameUUIDFromBytes(("player-" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static long directorySize(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KiB", bytes / 1024.0);
+        }
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.example.teleportplugin.loadtest;
+
+import com.example.teleportplugin.config.PluginConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as --name=value
+ */
+public class LoadTestOptions {
+    public int players = 2000;
+    public int threads = 200; // Platform threads; every virtual player is served by one of them
+    public int durationSeconds = 30;
+    public long thinkMillis = 0; // Pause of each worker between two commands
+    public int homesPerPlayer = 3; // Homes every player starts with
+    public int worlds = 2;
+    public final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    public Path dataDir = null; // Temporary directory if not set, deleted afterwards
+    public String logLevel = "warn";
+    public final PluginConfig config = new PluginConfig();
+
+    public LoadTestOptions() {
+        mix.put(Operation.SET, 20);
+        mix.put(Operation.TP, 50);
+        mix.put(Operation.DELETE, 5);
+        mix.put(Operation.LIST, 25);
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.set(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "players":
+                players = Integer.parseInt(value);
+                break;
+            case "threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "duration":
+                durationSeconds = Integer.parseInt(value);
+                break;
+            case "think-millis":
+                thinkMillis = Long.parseLong(value);
+                break;
+            case "homes-per-player":
+                homesPerPlayer = Integer.parseInt(value);
+                break;
+            case "worlds":
+                worlds = Integer.parseInt(value);
+                break;
+            case "mix":
+                parseMix(value);
+                break;
+            case "data-dir":
+                dataDir = Paths.get(value);
+                break;
+            case "log-level":
+                logLevel = value;
+                break;
+            case "storage":
+                config.storageMode = value;
+                break;
+            case "snapshot-format":
+                config.snapshotFormat = value;
+                break;
+            case "write-behind":
+                config.writeBehindEnabled = Boolean.parseBoolean(value);
+                break;
+            case "write-behind-millis":
+                config.writeBehindIntervalMillis = Long.parseLong(value);
+                break;
+            case "lazy-loading":
+                config.lazyLoadingEnabled = Boolean.parseBoolean(value);
+                break;
+            case "cooldown":
+                config.teleportCooldownSeconds = Integer.parseInt(value);
+                break;
+            case "max-homes":
+                config.defaultMaxHomes = Integer.parseInt(value);
+                break;
+            case "cooldown-driver":
+                config.cooldownDriver = value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    /**
+     * Parse weights like set:20,tp:50,delete:5,list:25, operations left out get weight 0
+     */
+    private void parseMix(String value) {
+        mix.clear();
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, 0);
+        }
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry: " + part);
+            }
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix needs at least one positive weight");
+        }
+    }
+
+    static String usage() {
+        return "Usage: LoadTest [--players=N] [--threads=N] [--duration=SECONDS] [--think-millis=N]\n"
+                + "                [--homes-per-player=N] [--max-homes=N] [--worlds=N] [--mix=set:20,tp:50,delete:5,list:25]\n"
+                + "                [--storage=snapshot|sharded|journal|world] [--snapshot-format=json|binary]\n"
+                + "                [--write-behind=true|false] [--write-behind-millis=N] [--lazy-loading=true|false]\n"
+                + "                [--cooldown=SECONDS] [--cooldown-driver=timer|world-tick]\n"
+                + "                [--data-dir=PATH] [--log-level=debug|info|warn|error|off]";
+    }
+
+    /**
+     * The /home subcommands the virtual players issue
+     */
+    public enum Operation {
+        SET, TP, DELETE, LIST
+    }
+}
\ No newline at end of file
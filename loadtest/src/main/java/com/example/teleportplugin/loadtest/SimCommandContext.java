@@ -0,0 +1,67 @@
+package com.example.teleportplugin.loadtest;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the command context of one virtual player. Messages are only counted,
+ * the position is what /home set would read from the player's transform.
+ */
+public class SimCommandContext {
+    private static final AtomicLong MESSAGES = new AtomicLong();
+
+    private final UUID playerId;
+    private final String playerName;
+    private final SimWorld world;
+    private volatile double x, y, z;
+
+    public SimCommandContext(UUID playerId, String playerName, SimWorld world, double x, double y, double z) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public SimWorld getWorld() {
+        return world;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    /**
+     * Move the player, e.g. as the result of a teleport
+     */
+    public void moveTo(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public void sendMessage(String message) {
+        MESSAGES.incrementAndGet();
+    }
+
+    static long getMessageCount() {
+        return MESSAGES.get();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.example.teleportplugin.loadtest;
+
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.example.teleportplugin.data.HomeData.HomeLocation;
+import com.example.teleportplugin.data.HomeListCache;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.permissions.PermissionNodeTable;
+import com.example.teleportplugin.permissions.PermissionResolver;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The /home subcommands as the plugin runs them, minus the server API: same checks,
+ * same manager calls and the same number of chat messages.
+ */
+public class SimCommands {
+    private static final Pattern HOME_NAME = Pattern.compile("[a-zA-Z0-9_-]+");
+
+    private final HomeManager homeManager;
+    private final TeleportCooldownManager cooldownManager;
+    private final PermissionResolver<SimCommandContext> permissions;
+    private final HomeListCache listCache;
+    private final int listPageSize;
+    private final long cooldownNanos;
+    private final LatencyHistogram teleportLateness = new LatencyHistogram();
+
+    public SimCommands(HomeManager homeManager, TeleportCooldownManager cooldownManager,
+                       PermissionResolver<SimCommandContext> permissions, int cooldownSeconds, int listPageSize) {
+        this.homeManager = homeManager;
+        this.cooldownManager = cooldownManager;
+        this.permissions = permissions;
+        this.listCache = new HomeListCache(homeManager);
+        this.listPageSize = listPageSize;
+        this.cooldownNanos = TimeUnit.SECONDS.toNanos(cooldownSeconds);
+    }
+
+    /**
+     * How long after the end of the cooldown teleports actually ran on the world thread
+     */
+    public LatencyHistogram getTeleportLateness() {
+        return teleportLateness;
+    }
+
+    /**
+     * /home set, returns false if the command was refused
+     */
+    public boolean set(SimCommandContext context, String homeName) {
+        UUID playerId = context.getPlayerId();
+        homeManager.identify(playerId, context.getPlayerName());
+        if (!permissions.isGranted(context, playerId, PermissionNodeTable.HOME_SET)) {
+            context.sendMessage("You don't have permission to set homes!");
+            return false;
+        }
+        if (!homeManager.hasHome(playerId, homeName) && !permissions.canSetAnotherHome(context, playerId)) {
+            context.sendMessage("You've reached your home limit! (" + permissions.getHomesLimitString(context, playerId) + ")");
+            context.sendMessage("Delete a home first or get higher permissions.");
+            return false;
+        }
+        if (homeName.length() > 16 || !HOME_NAME.matcher(homeName).matches()) {
+            context.sendMessage("Invalid home name");
+            return false;
+        }
+
+        homeManager.setHome(playerId, homeName, context.getX(), context.getY(), context.getZ(), context.getWorld().getName());
+        for (int i = 0; i < 6; i++) {
+            context.sendMessage("home set");
+        }
+        return true;
+    }
+
+    /**
+     * /home tp, returns false if no cooldown was started
+     */
+    public boolean tp(SimCommandContext context, String homeName) {
+        UUID playerId = context.getPlayerId();
+        homeManager.identify(playerId, context.getPlayerName());
+        if (!permissions.isGranted(context, playerId, PermissionNodeTable.HOME_TP)) {
+            context.sendMessage("You don't have permission to teleport to homes!");
+            return false;
+        }
+        if (cooldownManager.hasCooldown(playerId)) {
+            context.sendMessage("You're already teleporting! Wait " + cooldownManager.getRemainingTime(playerId) + " more seconds.");
+            return false;
+        }
+
+        HomeLocation home = homeManager.getHome(playerId, homeName);
+        if (home == null) {
+            context.sendMessage("Home '" + homeName + "' not found!");
+            context.sendMessage("Use '/home list' to see your homes.");
+            return false;
+        }
+
+        context.sendMessage("Teleporting to home '" + homeName + "'...");
+        context.sendMessage("Don't move or the teleport will be cancelled!");
+
+        long dueAt = System.nanoTime() + cooldownNanos;
+        Runnable teleport = () -> {
+            teleportLateness.record(Math.max(0, System.nanoTime() - dueAt));
+            context.moveTo(home.x, home.y, home.z);
+            for (int i = 0; i < 5; i++) {
+                context.sendMessage("teleported");
+            }
+        };
+        // Queued on the world thread in both modes, as HomeTpCommand does
+        Runnable onSuccess = () -> context.getWorld().execute(teleport);
+        cooldownManager.startCooldown(playerId, context.getWorld().getName(), homeName, onSuccess,
+                () -> context.sendMessage("Teleport cancelled!"));
+        return true;
+    }
+
+    /**
+     * /home delete, returns false if the home did not exist
+     */
+    public boolean delete(SimCommandContext context, String homeName) {
+        UUID playerId = context.getPlayerId();
+        homeManager.identify(playerId, context.getPlayerName());
+        if (!permissions.isGranted(context, playerId, PermissionNodeTable.HOME_DELETE)) {
+            context.sendMessage("You don't have permission to delete homes!");
+            return false;
+        }
+        if (!homeManager.deleteHome(playerId, homeName)) {
+            context.sendMessage("[X] Home '" + homeName + "' not found!");
+            context.sendMessage("Use '/home list' to see your homes.");
+            return false;
+        }
+        for (int i = 0; i < 6; i++) {
+            context.sendMessage("home deleted");
+        }
+        return true;
+    }
+
+    /**
+     * /home list [page], returns the number of homes on the page
+     */
+    public int list(SimCommandContext context, int page) {
+        UUID playerId = context.getPlayerId();
+        homeManager.identify(playerId, context.getPlayerName());
+        if (!permissions.isGranted(context, playerId, PermissionNodeTable.HOME_LIST)) {
+            context.sendMessage("You don't have permission to list homes!");
+            return 0;
+        }
+        HomeListCache.Page homes = listCache.getPage(playerId, page, listPageSize);
+        StringBuilder out = new StringBuilder("YOUR HOMES\n");
+        for (int i = 0; i < homes.names.length; i++) {
+            out.append(homes.firstIndex + i + 1).append(". ").append(homes.names[i]).append(" - ").append(homes.locations[i]).append('\n');
+        }
+        context.sendMessage(out.toString());
+        return homes.names.length;
+    }
+}
\ No newline at end of file
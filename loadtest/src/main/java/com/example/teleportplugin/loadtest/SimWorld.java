@@ -0,0 +1,56 @@
+package com.example.teleportplugin.loadtest;
+
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.example.teleportplugin.data.HomeManager;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for a server world: one thread that runs submitted tasks in order and,
+ * like the real world loop, ticks every 50ms. The tick drains world-tick driven cooldowns
+ * and keeps the world's home partition loaded in world storage mode.
+ */
+public class SimWorld implements Executor {
+    private static final long TICK_MILLIS = 50;
+
+    private final String name;
+    private final ScheduledExecutorService thread;
+
+    public SimWorld(String name, TeleportCooldownManager cooldownManager, HomeManager homeManager) {
+        this.name = name;
+        this.thread = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "World-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+        if (homeManager.isWorldPartitioned()) {
+            // The world is loaded before the first command reaches it
+            homeManager.loadWorld(name);
+            thread.scheduleAtFixedRate(() -> homeManager.loadWorld(name), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (cooldownManager.isWorldTickDriven()) {
+            thread.scheduleAtFixedRate(() -> cooldownManager.tick(name), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        thread.execute(task);
+    }
+
+    public void shutdown() {
+        thread.shutdown();
+        try {
+            thread.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.teleportplugin.loadtest;
+
+import com.example.teleportplugin.config.PluginConfig;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadTestOptionsTest {
+    @Test
+    void defaultsWithoutArguments() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[0]);
+        assertEquals(2000, options.players);
+        assertEquals(50, options.mix.get(LoadTestOptions.Operation.TP));
+        assertNull(options.dataDir);
+    }
+
+    @Test
+    void parsesHarnessAndPluginOptions() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[]{
+                "--players=10", "--threads=2", "--duration=5", "--think-millis=3", "--data-dir=/tmp/homes",
+                "--storage=journal", "--write-behind=true", "--lazy-loading=false", "--cooldown=0",
+                "--cooldown-driver=world-tick"});
+        assertEquals(10, options.players);
+        assertEquals(2, options.threads);
+        assertEquals(5, options.durationSeconds);
+        assertEquals(3, options.thinkMillis);
+        assertEquals(Paths.get("/tmp/homes"), options.dataDir);
+        assertEquals(PluginConfig.STORAGE_JOURNAL, options.config.storageMode);
+        assertTrue(options.config.writeBehindEnabled);
+        assertFalse(options.config.lazyLoadingEnabled);
+        assertEquals(0, options.config.teleportCooldownSeconds);
+        assertEquals(PluginConfig.COOLDOWN_DRIVER_WORLD_TICK, options.config.cooldownDriver);
+    }
+
+    @Test
+    void mixLeavesOutOperationsNotNamed() {
+        LoadTestOptions options = LoadTestOptions.parse(new String[]{"--mix=set:1, TP:3"});
+        assertEquals(1, options.mix.get(LoadTestOptions.Operation.SET));
+        assertEquals(3, options.mix.get(LoadTestOptions.Operation.TP));
+        assertEquals(0, options.mix.get(LoadTestOptions.Operation.DELETE));
+        assertEquals(0, options.mix.get(LoadTestOptions.Operation.LIST));
+    }
+
+    @Test
+    void rejectsMalformedArguments() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"players=10"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--players"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--speed=fast"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--mix=set"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--mix=fly:5"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse(new String[]{"--mix=set:0"}));
+        assertThrows(NumberFormatException.class, () -> LoadTestOptions.parse(new String[]{"--players=many"}));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.example.teleportplugin.loadtest;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.HomeStore;
+import com.example.teleportplugin.permissions.PermissionNodeTable;
+import com.example.teleportplugin.permissions.PermissionResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimCommandsTest {
+    @TempDir
+    Path dataDir;
+
+    private HomeManager homeManager;
+    private TeleportCooldownManager cooldownManager;
+    private SimWorld world;
+    private SimCommands commands;
+
+    @BeforeEach
+    void setUp() {
+        PluginConfig config = new PluginConfig();
+        config.defaultMaxHomes = 2;
+        config.teleportCooldownSeconds = 0;
+        config.cooldownDriver = PluginConfig.COOLDOWN_DRIVER_WORLD_TICK;
+        homeManager = new HomeManager(HomeStore.create(config, dataDir), config);
+        cooldownManager = new TeleportCooldownManager(0, config.cooldownTickMillis, true);
+        // Every command node, no limit tier, as the load test grants them
+        PermissionNodeTable nodes = config.getPermissionNodes();
+        PermissionResolver<SimCommandContext> permissions = new PermissionResolver<>((subject, node) -> {
+            int id = nodes.idOf(node);
+            return id >= 0 && id <= PermissionNodeTable.ADMIN && id != PermissionNodeTable.HOME_SET_UNLIMITED;
+        }, config, homeManager::getHomeCount);
+        commands = new SimCommands(homeManager, cooldownManager, permissions, 0, config.homeListPageSize);
+        world = new SimWorld("default", cooldownManager, homeManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cooldownManager.shutdown();
+        world.shutdown();
+        homeManager.saveAll();
+    }
+
+    private SimCommandContext player(int index, double x) {
+        return new SimCommandContext(new UUID(4, index), "player-" + index, world, x, 64, 0);
+    }
+
+    @Test
+    void setListAndDeleteGoThroughTheManager() {
+        SimCommandContext player = player(1, 10);
+        assertTrue(commands.set(player, "base"));
+        assertTrue(commands.set(player, "camp"));
+        assertEquals(2, commands.list(player, 1));
+
+        // The limit is defaultMaxHomes, overwriting an existing home is still allowed
+        assertFalse(commands.set(player, "mine"));
+        assertTrue(commands.set(player, "base"));
+        assertFalse(commands.set(player, "bad name"));
+
+        assertTrue(commands.delete(player, "camp"));
+        assertFalse(commands.delete(player, "camp"));
+        assertEquals(1, commands.list(player, 1));
+    }
+
+    @Test
+    void teleportRunsOnTheWorldAfterTheCooldown() throws Exception {
+        SimCommandContext player = player(2, 10);
+        commands.set(player, "base");
+        player.moveTo(500, 70, 500);
+        assertFalse(commands.tp(player, "nowhere"));
+
+        assertTrue(commands.tp(player, "base"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (player.getX() != 10 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(10, player.getX());
+        assertEquals(64, player.getY());
+        assertEquals(1, commands.getTeleportLateness().getCount());
+        assertFalse(cooldownManager.hasCooldown(player.getPlayerId()));
+    }
+}
\ No newline at end of file
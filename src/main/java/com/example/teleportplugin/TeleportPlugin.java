@@ -1,12 +1,27 @@
 package com.example.teleportplugin;
 
+import com.example.teleportplugin.commands.HomeAdminCommand;
 import com.example.teleportplugin.commands.HomeCommand;
 import com.example.teleportplugin.config.PluginConfig;
-import com.example.teleportplugin.cooldown.TeleportCooldown;
 import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.example.teleportplugin.data.HomeListCache;
 import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.HomeStore;
+import com.example.teleportplugin.data.HomeTransferService;
+import com.example.teleportplugin.logging.AsyncLogAppender;
+import com.example.teleportplugin.logging.LogLevel;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.MessageCatalog;
+import com.example.teleportplugin.messages.Messages;
+import com.example.teleportplugin.metrics.MetricsDumper;
+import com.example.teleportplugin.metrics.MetricsRegistry;
 import com.example.teleportplugin.permissions.PermissionManager;
+import com.example.teleportplugin.systems.CooldownTickSystem;
+import com.example.teleportplugin.systems.MovementCancelSystem;
 import com.example.teleportplugin.systems.PlayerMovementSystem;
+import com.example.teleportplugin.systems.WorldPartitionSystem;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 
@@ -14,18 +29,25 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class TeleportPlugin extends JavaPlugin {
+    private static final PluginLogger LOG = PluginLogger.get("TeleportPlugin");
     private static TeleportPlugin instance;
     private PluginConfig config;
+    private Messages messages;
     private HomeManager homeManager;
+    private HomeListCache homeListCache;
+    private HomeTransferService homeTransferService;
     private TeleportCooldownManager cooldownManager;
     private PermissionManager permissionManager;
     private PlayerMovementSystem movementSystem;
+    private MovementCancelSystem movementCancelSystem;
     private HomeCommand homeCommand;
+    private HomeAdminCommand homeAdminCommand;
+    private MetricsDumper metricsDumper;
 
     public TeleportPlugin(JavaPluginInit init) {
         super(init);
         instance = this;
-        System.out.println("[TeleportPlugin] Plugin loaded!");
+        LOG.info("Plugin loaded!");
     }
 
     @Override
@@ -35,27 +57,74 @@ public class TeleportPlugin extends JavaPlugin {
         // Initialize configuration
         Path configDir = getPluginDataDirectory();
         config = PluginConfig.load(configDir);
+        PluginLogger.setLevel(LogLevel.fromConfig(config.logLevel));
+        messages = new Messages(MessageCatalog.load(configDir, config.messagesFile));
 
         // Initialize managers
-        homeManager = new HomeManager(configDir);
-        cooldownManager = new TeleportCooldownManager(config.teleportCooldownSeconds);
+        homeManager = new HomeManager(HomeStore.create(config, configDir), config);
+        homeListCache = new HomeListCache(homeManager);
+        homeTransferService = new HomeTransferService(homeManager, config, configDir);
+        cooldownManager = new TeleportCooldownManager(config.teleportCooldownSeconds, config.cooldownTickMillis,
+                PluginConfig.COOLDOWN_DRIVER_WORLD_TICK.equals(config.cooldownDriver));
         permissionManager = new PermissionManager(this);
-        movementSystem = new PlayerMovementSystem();
+        movementSystem = new PlayerMovementSystem(cooldownManager, config.movementCancelThreshold);
+
+        // Resolve permissions again once a player joined or changed world, forget them on leave
+        this.getEventRegistry().registerGlobal(PlayerReadyEvent.class,
+                event -> permissionManager.invalidate(event.getPlayer().getUuid()));
+        this.getEventRegistry().register(PlayerDisconnectEvent.class,
+                event -> permissionManager.invalidate(event.getPlayerRef().getUuid()));
+
+        // Cancel pending teleports of players who move
+        if (config.enableMovementCancellation) {
+            movementCancelSystem = new MovementCancelSystem(movementSystem);
+            this.getEntityStoreRegistry().registerSystem(movementCancelSystem);
+        }
+
+        // Drive cooldowns from the world tick when configured
+        if (cooldownManager.isWorldTickDriven()) {
+            this.getEntityStoreRegistry().registerSystem(new CooldownTickSystem(cooldownManager));
+        }
 
-        // Start movement detection system (placeholder implementation)
-        movementSystem.start();
+        // Load and keep each world's homes while the world ticks
+        if (homeManager.isWorldPartitioned()) {
+            this.getEntityStoreRegistry().registerSystem(new WorldPartitionSystem(homeManager));
+        }
+
+        // Metrics that are read on demand
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("homes.loaded_players", homeManager::getLoadedPlayerCount);
+        metrics.gauge("homes.dirty_players", homeManager::getPendingDirtyCount);
+        metrics.gauge("homes.legacy_players", homeManager::getLegacyPlayerCount);
+        metrics.gauge("homes.loaded_worlds", homeManager::getLoadedWorldCount);
+        metrics.gauge("homes.last_flush_lag_ms", homeManager::getLastFlushLagMillis);
+        metrics.gauge("homes.list_cache_players", homeListCache::size);
+        metrics.gauge("homes.string_pool_size", homeManager.getStringPool()::size);
+        metrics.gauge("homes.string_pool_hits", homeManager.getStringPool()::getHitCount);
+        metrics.gauge("log.dropped_lines", AsyncLogAppender.getInstance()::getDroppedCount);
+        if (config.metricsDumpIntervalMillis > 0) {
+            metricsDumper = new MetricsDumper(metrics, configDir, config.metricsDumpFormat);
+            metricsDumper.start(config.metricsDumpIntervalMillis);
+        }
 
         // Register commands
         homeCommand = new HomeCommand();
         this.getCommandRegistry().registerCommand(homeCommand);
+        homeAdminCommand = new HomeAdminCommand();
+        this.getCommandRegistry().registerCommand(homeAdminCommand);
 
-        System.out.println("[TeleportPlugin] Enhanced home system initialized!");
-        System.out.println("[TeleportPlugin] Features: JSON persistence, " + config.teleportCooldownSeconds + "s cooldown, permission limits");
-        System.out.println("[TeleportPlugin] Commands: /home set <name>, /home tp <name>, /home delete <name>, /home list");
+        LOG.info("Enhanced home system initialized!");
+        LOG.info("Features: JSON persistence, " + config.teleportCooldownSeconds + "s cooldown, permission limits");
+        LOG.info("Commands: /home set <name>, /home tp <name>, /home delete <name>, /home list [page], /homeadmin metrics|stats|region|nearby|purge|export|import|transfer|reload");
     }
 
     @Override
     protected void shutdown() {
+        // Stop a running import or export at a checkpoint, so it can be resumed
+        if (homeTransferService != null) {
+            homeTransferService.shutdown();
+        }
+
         // Save all data before shutdown
         if (homeManager != null) {
             homeManager.saveAll();
@@ -71,10 +140,13 @@ public class TeleportPlugin extends JavaPlugin {
             movementSystem.shutdown();
         }
 
-        // Shutdown cooldown timer
-        TeleportCooldown.shutdownTimer();
+        // Write the final metrics
+        if (metricsDumper != null) {
+            metricsDumper.shutdown();
+        }
 
-        System.out.println("[TeleportPlugin] Plugin shutdown complete");
+        LOG.info("Plugin shutdown complete");
+        AsyncLogAppender.getInstance().shutdown();
         super.shutdown();
     }
 
@@ -86,6 +158,27 @@ public class TeleportPlugin extends JavaPlugin {
         return homeManager;
     }
 
+    /**
+     * Rendered /home list entries per player
+     */
+    public HomeListCache getHomeListCache() {
+        return homeListCache;
+    }
+
+    /**
+     * Background bulk import and export of homes
+     */
+    public HomeTransferService getHomeTransferService() {
+        return homeTransferService;
+    }
+
+    /**
+     * Player-facing texts from the localization file
+     */
+    public Messages getMessages() {
+        return messages;
+    }
+
     public PluginConfig getConfig() {
         return config;
     }
@@ -98,6 +191,13 @@ public class TeleportPlugin extends JavaPlugin {
         return permissionManager;
     }
 
+    /**
+     * Movement cancellation system, null if movement cancellation is disabled
+     */
+    public MovementCancelSystem getMovementCancelSystem() {
+        return movementCancelSystem;
+    }
+
     /**
      * Get plugin data directory for file storage
      */
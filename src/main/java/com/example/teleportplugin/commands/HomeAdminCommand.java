@@ -0,0 +1,39 @@
+package com.example.teleportplugin.commands;
+
+import com.example.teleportplugin.commands.subcommands.HomeAdminExportCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminImportCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminMetricsCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminNearbyCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminPurgeCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminRegionCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminReloadCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminStatsCommand;
+import com.example.teleportplugin.commands.subcommands.HomeAdminTransferCommand;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractCommandCollection;
+
+/**
+ * Admin /homeadmin command with subcommands
+ * Usage: /homeadmin <metrics|stats|region|nearby|purge|export|import|transfer|reload> [args]
+ */
+public class HomeAdminCommand extends AbstractCommandCollection {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminCommand");
+
+    public HomeAdminCommand() {
+        super("homeadmin", "Home system administration - /homeadmin <metrics|stats|region|nearby|purge|export|import|transfer|reload>");
+
+        // Add all subcommands
+        addSubCommand((AbstractCommand) new HomeAdminMetricsCommand());
+        addSubCommand((AbstractCommand) new HomeAdminStatsCommand());
+        addSubCommand((AbstractCommand) new HomeAdminRegionCommand());
+        addSubCommand((AbstractCommand) new HomeAdminNearbyCommand());
+        addSubCommand((AbstractCommand) new HomeAdminPurgeCommand());
+        addSubCommand((AbstractCommand) new HomeAdminExportCommand());
+        addSubCommand((AbstractCommand) new HomeAdminImportCommand());
+        addSubCommand((AbstractCommand) new HomeAdminTransferCommand());
+        addSubCommand((AbstractCommand) new HomeAdminReloadCommand());
+
+        LOG.info("Home admin commands registered with subcommands");
+    }
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.example.teleportplugin.commands.subcommands.HomeDeleteCommand;
 import com.example.teleportplugin.commands.subcommands.HomeListCommand;
 import com.example.teleportplugin.commands.subcommands.HomeSetCommand;
 import com.example.teleportplugin.commands.subcommands.HomeTpCommand;
+import com.example.teleportplugin.logging.PluginLogger;
 import com.hypixel.hytale.server.core.command.system.AbstractCommand;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractCommandCollection;
 
@@ -12,6 +13,7 @@ import com.hypixel.hytale.server.core.command.system.basecommands.AbstractComman
  * Usage: /home <set|tp|delete|list> [args]
  */
 public class HomeCommand extends AbstractCommandCollection {
+    private static final PluginLogger LOG = PluginLogger.get("HomeCommand");
 
     public HomeCommand() {
         super("home", "Teleport home system - /home <set|tp|delete|list>");
@@ -22,6 +24,6 @@ public class HomeCommand extends AbstractCommandCollection {
         addSubCommand((AbstractCommand) new HomeDeleteCommand());
         addSubCommand((AbstractCommand) new HomeListCommand());
 
-        System.out.println("[HomeCommand] Home command system registered with subcommands");
+        LOG.info("Home command system registered with subcommands");
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.data.HomeTransferJob;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+
+/**
+ * /homeadmin export <file> [resume] - Write all loaded homes to an NDJSON file in the background
+ */
+public class HomeAdminExportCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminExportCommand");
+
+    private final RequiredArg<String> fileArg = withRequiredArg("file", "File in the transfers folder", ArgTypes.STRING);
+    private final OptionalArg<String> resumeArg = withOptionalArg("resume",
+        "Type 'resume' to continue an export that was stopped", ArgTypes.STRING);
+
+    public HomeAdminExportCommand() {
+        super("export", "Export all homes to a file - /homeadmin export <file> [resume]");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            if (!TeleportPlugin.getInstance().getPermissionManager().canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            String fileName = fileArg.get(context);
+            boolean resume = resumeArg.provided(context) && "resume".equalsIgnoreCase(resumeArg.get(context));
+            HomeTransferJob job;
+            try {
+                job = TeleportPlugin.getInstance().getHomeTransferService().startExport(fileName, resume);
+            } catch (IllegalArgumentException e) {
+                context.sendMessage(messages.format("admin.transfer.invalid_file", "reason", e.getMessage()));
+                return;
+            } catch (IllegalStateException e) {
+                context.sendMessage(messages.format("admin.transfer.busy", "reason", e.getMessage()));
+                return;
+            }
+
+            context.sendMessage(messages.lines(
+                    messages.format("admin.transfer.started", "kind", job.getKindName(), "file", fileName),
+                    messages.get("admin.transfer.status_hint")));
+            LOG.info(context.sender().getDisplayName() + " started an export of homes to " + job.getFile());
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.transfer.error"));
+        }
+    }
+}
\ No newline at end of file
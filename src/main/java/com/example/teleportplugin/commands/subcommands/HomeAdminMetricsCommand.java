@@ -0,0 +1,55 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.example.teleportplugin.metrics.MetricsRegistry;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /homeadmin metrics - Show plugin metrics
+ */
+public class HomeAdminMetricsCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminMetricsCommand");
+
+    public HomeAdminMetricsCommand() {
+        super("metrics", "Show home system metrics - /homeadmin metrics");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            if (!TeleportPlugin.getInstance().getPermissionManager().canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            List<String> metricLines = MetricsRegistry.getInstance().renderLines();
+
+            List<Message> lines = new ArrayList<>(metricLines.size() + 4);
+            lines.add(messages.get("common.border"));
+            lines.add(messages.get("admin.metrics.title"));
+            lines.add(messages.get("common.border"));
+
+            for (String line : metricLines) {
+                int split = line.indexOf(' ');
+                lines.add(Message.raw(line.substring(0, split)).color("#ffaa00")
+                        .insert(messages.value(line.substring(split))));
+            }
+
+            lines.add(messages.get("common.border"));
+            context.sendMessage(messages.lines(lines.toArray(new Message[0])));
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.metrics.error"));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.HomeSpatialIndex;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /homeadmin nearby <world> <x> <z> <radius> - List the homes around a point, nearest first
+ */
+public class HomeAdminNearbyCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminNearbyCommand");
+
+    private final RequiredArg<String> worldArg = withRequiredArg("world", "World to search", ArgTypes.STRING);
+    private final RequiredArg<Double> xArg = withRequiredArg("x", "X of the center", ArgTypes.DOUBLE);
+    private final RequiredArg<Double> zArg = withRequiredArg("z", "Z of the center", ArgTypes.DOUBLE);
+    private final RequiredArg<Double> radiusArg = withRequiredArg("radius", "Search radius in blocks", ArgTypes.DOUBLE);
+
+    public HomeAdminNearbyCommand() {
+        super("nearby", "List homes around a point - /homeadmin nearby <world> <x> <z> <radius>");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            if (!TeleportPlugin.getInstance().getPermissionManager().canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            String worldId = worldArg.get(context);
+            double x = xArg.get(context);
+            double z = zArg.get(context);
+            double radius = Math.abs(radiusArg.get(context));
+
+            HomeManager homeManager = TeleportPlugin.getInstance().getHomeManager();
+            List<HomeSpatialIndex.Entry> entries = homeManager.getSpatialIndex().nearby(worldId, x, z, radius);
+
+            List<Message> lines = new ArrayList<>();
+            lines.add(messages.get("common.border"));
+            lines.add(messages.get("admin.nearby.title"));
+            lines.add(messages.get("common.border"));
+            lines.add(messages.format("admin.nearby.summary", "count", entries.size(), "world", worldId,
+                    "radius", radius, "x", x, "z", z));
+            HomeAdminRegionCommand.addEntryLines(lines, messages, homeManager, entries);
+            lines.add(messages.get("common.border"));
+            context.sendMessage(messages.lines(lines.toArray(new Message[0])));
+
+            LOG.debug(() -> "Nearby query in " + worldId + " matched " + entries.size() + " homes");
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.spatial.error"));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+
+/**
+ * /homeadmin purge <world> [confirm] - Delete every home in a world
+ */
+public class HomeAdminPurgeCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminPurgeCommand");
+
+    private final RequiredArg<String> worldArg = withRequiredArg("world", "World whose homes are deleted", ArgTypes.STRING);
+    private final OptionalArg<String> confirmArg = withOptionalArg("confirm",
+        "Type 'confirm' to actually delete the homes", ArgTypes.STRING);
+
+    public HomeAdminPurgeCommand() {
+        super("purge", "Delete all homes in a world - /homeadmin purge <world> [confirm]");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            if (!TeleportPlugin.getInstance().getPermissionManager().canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            String worldId = worldArg.get(context);
+            HomeManager homeManager = TeleportPlugin.getInstance().getHomeManager();
+
+            // Without the confirmation only show what would be deleted
+            if (!confirmArg.provided(context) || !"confirm".equalsIgnoreCase(confirmArg.get(context))) {
+                context.sendMessage(messages.lines(
+                        messages.format("admin.purge.preview", "count", homeManager.countWorldHomes(worldId), "world", worldId),
+                        messages.format("admin.purge.confirm_hint", "world", worldId)));
+                return;
+            }
+
+            int purged = homeManager.purgeWorld(worldId);
+            context.sendMessage(messages.format("admin.purge.done", "count", purged, "world", worldId));
+            LOG.info(context.sender().getDisplayName() + " purged " + purged + " homes in world " + worldId);
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.purge.error"));
+        }
+    }
+}
\ No newline at end of file
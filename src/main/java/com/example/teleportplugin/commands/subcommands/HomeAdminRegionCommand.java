@@ -0,0 +1,91 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.HomeSpatialIndex;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.MessageTemplate;
+import com.example.teleportplugin.messages.Messages;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /homeadmin region <world> <x1> <z1> <x2> <z2> - List the homes inside an area
+ */
+public class HomeAdminRegionCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminRegionCommand");
+
+    private final RequiredArg<String> worldArg = withRequiredArg("world", "World to search", ArgTypes.STRING);
+    private final RequiredArg<Double> x1Arg = withRequiredArg("x1", "X of the first corner", ArgTypes.DOUBLE);
+    private final RequiredArg<Double> z1Arg = withRequiredArg("z1", "Z of the first corner", ArgTypes.DOUBLE);
+    private final RequiredArg<Double> x2Arg = withRequiredArg("x2", "X of the opposite corner", ArgTypes.DOUBLE);
+    private final RequiredArg<Double> z2Arg = withRequiredArg("z2", "Z of the opposite corner", ArgTypes.DOUBLE);
+
+    public HomeAdminRegionCommand() {
+        super("region", "List homes inside an area - /homeadmin region <world> <x1> <z1> <x2> <z2>");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            if (!TeleportPlugin.getInstance().getPermissionManager().canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            String worldId = worldArg.get(context);
+            double x1 = x1Arg.get(context);
+            double z1 = z1Arg.get(context);
+            double x2 = x2Arg.get(context);
+            double z2 = z2Arg.get(context);
+
+            HomeManager homeManager = TeleportPlugin.getInstance().getHomeManager();
+            List<HomeSpatialIndex.Entry> entries = homeManager.getSpatialIndex().region(worldId, x1, z1, x2, z2);
+
+            List<Message> lines = new ArrayList<>();
+            lines.add(messages.get("common.border"));
+            lines.add(messages.get("admin.region.title"));
+            lines.add(messages.get("common.border"));
+            lines.add(messages.format("admin.region.summary", "count", entries.size(), "world", worldId,
+                    "x1", x1, "z1", z1, "x2", x2, "z2", z2));
+            addEntryLines(lines, messages, homeManager, entries);
+            lines.add(messages.get("common.border"));
+            context.sendMessage(messages.lines(lines.toArray(new Message[0])));
+
+            LOG.debug(() -> "Region query in " + worldId + " matched " + entries.size() + " homes");
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.spatial.error"));
+        }
+    }
+
+    /**
+     * One line per home, capped at the configured number of results
+     */
+    static void addEntryLines(List<Message> lines, Messages messages, HomeManager homeManager,
+                              List<HomeSpatialIndex.Entry> entries) {
+        if (entries.isEmpty()) {
+            lines.add(messages.get("admin.spatial.empty"));
+            return;
+        }
+        int shown = Math.min(entries.size(), Math.max(1, TeleportPlugin.getInstance().getConfig().spatialQueryMaxResults));
+        for (int i = 0; i < shown; i++) {
+            HomeSpatialIndex.Entry entry = entries.get(i);
+            lines.add(messages.format("admin.spatial.entry", "name", entry.name,
+                    "player", homeManager.getDisplayName(entry.playerId),
+                    "location", MessageTemplate.formatPosition(entry.location.x, entry.location.y, entry.location.z)));
+        }
+        if (shown < entries.size()) {
+            lines.add(messages.format("admin.spatial.more", "count", entries.size() - shown));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.example.teleportplugin.permissions.PermissionManager;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+
+/**
+ * /homeadmin reload - Drop cached permissions, e.g. after changing a player's groups
+ */
+public class HomeAdminReloadCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminReloadCommand");
+
+    public HomeAdminReloadCommand() {
+        super("reload", "Read permissions again - /homeadmin reload");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            PermissionManager permissionManager = TeleportPlugin.getInstance().getPermissionManager();
+            if (!permissionManager.canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            permissionManager.invalidateAll();
+            context.sendMessage(messages.get("admin.reload.done"));
+            LOG.info("Cached permissions dropped by an admin");
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.reload.error"));
+        }
+    }
+}
\ No newline at end of file
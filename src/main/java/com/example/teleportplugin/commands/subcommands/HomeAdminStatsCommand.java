@@ -0,0 +1,70 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.StringPool;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+
+/**
+ * /homeadmin stats - Show home store size and what string interning saves
+ */
+public class HomeAdminStatsCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminStatsCommand");
+
+    public HomeAdminStatsCommand() {
+        super("stats", "Show home store memory stats - /homeadmin stats");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            if (!TeleportPlugin.getInstance().getPermissionManager().canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            HomeManager homeManager = TeleportPlugin.getInstance().getHomeManager();
+            HomeManager.InternStats stats = homeManager.computeInternStats();
+            StringPool pool = homeManager.getStringPool();
+
+            context.sendMessage(messages.lines(
+                    messages.get("common.border"),
+                    messages.get("admin.stats.title"),
+                    messages.get("common.border"),
+                    messages.labeled("admin.stats.label_players", stats.players),
+                    messages.labeled("admin.stats.label_homes", stats.homes),
+                    messages.labeled("admin.stats.label_strings", messages.format("admin.stats.strings",
+                            "references", stats.references, "distinct", stats.distinctInstances)),
+                    messages.labeled("admin.stats.label_pool", messages.format("admin.stats.pool",
+                            "size", pool.size(), "max", TeleportPlugin.getInstance().getConfig().stringPoolMaxSize,
+                            "hits", pool.getHitCount(), "lookups", pool.getLookupCount())),
+                    messages.labeled("admin.stats.label_memory", messages.format("admin.stats.memory",
+                            "saved", formatBytes(stats.getBytesSaved()),
+                            "unshared", formatBytes(stats.bytesUnshared),
+                            "shared", formatBytes(stats.bytesShared))),
+                    messages.get("common.border")));
+
+            LOG.debug(() -> "Home store stats: " + stats.homes + " homes, " + stats.getBytesSaved() + " bytes saved by interning");
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.stats.error"));
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return (bytes / 1024) + " KiB";
+        }
+        return (bytes / (1024 * 1024)) + "." + (bytes % (1024 * 1024)) * 10 / (1024 * 1024) + " MiB";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.data.HomeTransferJob;
+import com.example.teleportplugin.data.HomeTransferService;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /homeadmin transfer [cancel] - Show the progress of the current import or export, or stop it
+ */
+public class HomeAdminTransferCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeAdminTransferCommand");
+
+    private final OptionalArg<String> cancelArg = withOptionalArg("cancel",
+        "Type 'cancel' to stop the running transfer", ArgTypes.STRING);
+
+    public HomeAdminTransferCommand() {
+        super("transfer", "Show or stop the running home import/export - /homeadmin transfer [cancel]");
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        try {
+            if (!TeleportPlugin.getInstance().getPermissionManager().canAdminister(context.sender())) {
+                context.sendMessage(messages.get("admin.no_permission"));
+                return;
+            }
+
+            HomeTransferService service = TeleportPlugin.getInstance().getHomeTransferService();
+            HomeTransferJob job = service.getCurrentJob();
+
+            if (cancelArg.provided(context) && "cancel".equalsIgnoreCase(cancelArg.get(context))) {
+                if (!service.cancel()) {
+                    context.sendMessage(messages.get("admin.transfer.nothing_to_cancel"));
+                    return;
+                }
+                context.sendMessage(messages.format("admin.transfer.cancelled",
+                        "kind", job.getKindName(), "file", job.getFile().getFileName()));
+                LOG.info(context.sender().getDisplayName() + " cancelled the " + job.getKindName() + " of " + job.getFile());
+                return;
+            }
+
+            if (job == null) {
+                context.sendMessage(messages.get("admin.transfer.idle"));
+                return;
+            }
+
+            List<Message> lines = new ArrayList<>();
+            lines.add(messages.get("common.border"));
+            lines.add(messages.get("admin.transfer.title"));
+            lines.add(messages.get("common.border"));
+            lines.add(messages.labeled("admin.transfer.label_job", messages.format("admin.transfer.status",
+                    "kind", job.getKindName(), "file", job.getFile().getFileName(), "state", job.getStateName())));
+            lines.add(messages.labeled("admin.transfer.label_progress", messages.format("admin.transfer.progress",
+                    "records", job.getRecords(), "skipped", job.getSkipped(),
+                    "kib", job.getOffset() / 1024, "seconds", job.getElapsedMillis() / 1000)));
+            if (job.getState() == HomeTransferJob.State.FAILED) {
+                lines.add(messages.format("admin.transfer.failed", "reason", job.getError()));
+            }
+            if (job.getState() == HomeTransferJob.State.FAILED || job.getState() == HomeTransferJob.State.CANCELLED) {
+                lines.add(messages.format("admin.transfer.resume_hint",
+                        "kind", job.getKindName(), "file", job.getFile().getFileName()));
+            }
+            lines.add(messages.get("common.border"));
+            context.sendMessage(messages.lines(lines.toArray(new Message[0])));
+
+        } catch (Exception e) {
+            LOG.error("Error: " + e.getMessage(), e);
+            context.sendMessage(messages.get("admin.transfer.error"));
+        }
+    }
+}
\ No newline at end of file
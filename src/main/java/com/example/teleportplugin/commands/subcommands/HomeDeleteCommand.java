@@ -2,34 +2,47 @@ package com.example.teleportplugin.commands.subcommands;
 
 import com.example.teleportplugin.TeleportPlugin;
 import com.example.teleportplugin.data.HomeManager;
-import com.hypixel.hytale.server.core.Message;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import javax.annotation.Nonnull;
+import java.util.UUID;
 
 /**
  * /home delete <name> - Delete a home
  */
 public class HomeDeleteCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeDeleteCommand");
+    private static final LatencyHistogram LATENCY = MetricsRegistry.getInstance().histogram("command.home_delete");
+    private static final Counter ERRORS = MetricsRegistry.getInstance().counter("command.home_delete.errors");
 
     private final RequiredArg<String> homeNameArg = withRequiredArg("name", "Name of the home to delete", ArgTypes.STRING);
 
     public HomeDeleteCommand() {
         super("delete", "Delete one of your homes - /home delete <name>");
+        homeNameArg.suggest(new HomeNameSuggestions());
     }
 
     @Override
     protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        long start = System.nanoTime();
         try {
             // Check if executed by player
             if (!context.isPlayer()) {
-                context.sendMessage(Message.raw("This command can only be used by players!").color("#ff5555"));
+                context.sendMessage(messages.get("common.players_only"));
                 return;
             }
 
-            String playerId = context.sender().getDisplayName();
+            String playerName = context.sender().getDisplayName();
+            UUID playerId = context.sender().getUuid();
+            TeleportPlugin.getInstance().getHomeManager().identify(playerId, playerName);
             String homeName = homeNameArg.get(context);
 
             // Delete home
@@ -37,25 +50,27 @@ public class HomeDeleteCommand extends CommandBase {
             boolean deleted = homeManager.deleteHome(playerId, homeName);
 
             if (!deleted) {
-                context.sendMessage(Message.raw("[X] Home '" + homeName + "' not found!").color("#ff5555"));
-                context.sendMessage(Message.raw("Use '/home list' to see your homes.").color("#aaaaaa"));
+                context.sendMessage(messages.lines(messages.format("delete.not_found", "home", homeName),
+                        messages.get("common.list_hint")));
                 return;
             }
 
             // Send success message
-            context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
-            context.sendMessage(Message.raw("|        HOME DELETED                |").color("#ff5555").bold(true));
-            context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
-            context.sendMessage(Message.raw("Deleted home: ").color("#ffaa00").bold(true)
-                    .insert(Message.raw(homeName).color("#ffffff")));
-            context.sendMessage(Message.raw("This action cannot be undone!").color("#aaaaaa"));
+            context.sendMessage(messages.lines(
+                    messages.get("common.border"),
+                    messages.get("delete.title"),
+                    messages.get("common.border"),
+                    messages.labeled("delete.label_name", homeName),
+                    messages.get("delete.cannot_undo")));
 
-            System.out.println("[HomeDeleteCommand] Player " + playerId + " deleted home '" + homeName + "'");
+            LOG.info("Player " + playerName + " deleted home '" + homeName + "'");
 
         } catch (Exception e) {
-            System.err.println("[HomeDeleteCommand] Error: " + e.getMessage());
-            e.printStackTrace();
-            context.sendMessage(Message.raw("[X] Error deleting home!").color("#ff5555"));
+            LOG.error("Error: " + e.getMessage(), e);
+            ERRORS.increment();
+            context.sendMessage(messages.get("delete.error"));
+        } finally {
+            LATENCY.recordSince(start);
         }
     }
 }
\ No newline at end of file
@@ -1,75 +1,105 @@
 package com.example.teleportplugin.commands.subcommands;
 
 import com.example.teleportplugin.TeleportPlugin;
-import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.data.HomeListCache;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.Messages;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import javax.annotation.Nonnull;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 /**
- * /home list - List all homes
+ * /home list [page] - List your homes, one page per message
  */
 public class HomeListCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeListCommand");
+    private static final LatencyHistogram LATENCY = MetricsRegistry.getInstance().histogram("command.home_list");
+    private static final Counter ERRORS = MetricsRegistry.getInstance().counter("command.home_list.errors");
+    private static final Message EMPTY_LINE = Message.raw("");
+
+    private final OptionalArg<Integer> pageArg = withOptionalArg("page",
+        "Page of the list to show", ArgTypes.INTEGER);
 
     public HomeListCommand() {
-        super("list", "List all your homes - /home list");
+        super("list", "List all your homes - /home list [page]");
     }
 
     @Override
     protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        long start = System.nanoTime();
         try {
             // Check if executed by player
             if (!context.isPlayer()) {
-                context.sendMessage(Message.raw("This command can only be used by players!").color("#ff5555"));
+                context.sendMessage(messages.get("common.players_only"));
                 return;
             }
 
-            String playerId = context.sender().getDisplayName();
+            String playerName = context.sender().getDisplayName();
+            UUID playerId = context.sender().getUuid();
+            TeleportPlugin.getInstance().getHomeManager().identify(playerId, playerName);
+            int pageNumber = pageArg.provided(context) ? pageArg.get(context) : 1;
 
-            // Get player homes
-            HomeManager homeManager = TeleportPlugin.getInstance().getHomeManager();
-            Set<String> homeNames = homeManager.getHomeNames(playerId);
+            HomeListCache listCache = TeleportPlugin.getInstance().getHomeListCache();
+            HomeListCache.Page page = listCache.getPage(playerId, pageNumber, TeleportPlugin.getInstance().getConfig().homeListPageSize);
 
-            // Send header
-            context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
-            context.sendMessage(Message.raw("|           YOUR HOMES               |").color("#ffaa00").bold(true));
-            context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
+            if (page.total > 0 && page.names.length == 0) {
+                context.sendMessage(messages.format("list.no_such_page", "page", pageNumber, "pages", page.pageCount));
+                return;
+            }
 
-            if (homeNames.isEmpty()) {
-                context.sendMessage(Message.raw("You have no homes set!").color("#aaaaaa"));
-                context.sendMessage(Message.raw("Use '/home set <name>' to create one.").color("#aaaaaa"));
-            } else {
-                context.sendMessage(Message.raw("Total homes: ").color("#ffaa00").bold(true)
-                        .insert(Message.raw(String.valueOf(homeNames.size())).color("#ffffff")));
-                context.sendMessage(Message.raw("").color("#ffffff")); // Empty line
+            // Whole page as one message: header, entries, footer
+            List<Message> lines = new ArrayList<>(page.names.length + 8);
+            lines.add(messages.get("common.border"));
+            lines.add(messages.get("list.title"));
+            lines.add(messages.get("common.border"));
 
-                // List all homes with their locations
-                int count = 1;
-                for (String homeName : homeNames) {
-                    var home = homeManager.getHome(playerId, homeName);
+            if (page.total == 0) {
+                lines.add(messages.get("list.empty"));
+                lines.add(messages.get("list.empty_hint"));
+            } else {
+                Message total = messages.labeled("list.label_total", page.total);
+                if (page.pageCount > 1) {
+                    total.insert(messages.format("list.page_info", "page", page.page, "pages", page.pageCount));
+                }
+                lines.add(total);
+                lines.add(EMPTY_LINE);
 
-                    context.sendMessage(Message.raw(count + ". ").color("#aaaaaa")
-                            .insert(Message.raw(homeName).color("#00ff00").bold(true))
+                for (int i = 0; i < page.names.length; i++) {
+                    lines.add(Message.raw((page.firstIndex + i + 1) + ". ").color("#aaaaaa")
+                            .insert(Message.raw(page.names[i]).color("#00ff00").bold(true))
                             .insert(Message.raw(" - ").color("#aaaaaa"))
-                            .insert(Message.raw(home.toString()).color("#ffffff")));
-
-                    count++;
+                            .insert(messages.value(page.locations[i])));
                 }
 
-                context.sendMessage(Message.raw("").color("#ffffff")); // Empty line
-                context.sendMessage(Message.raw("Use '/home tp <name>' to teleport!").color("#aaaaaa"));
+                lines.add(EMPTY_LINE);
+                if (page.page < page.pageCount) {
+                    lines.add(messages.format("list.next_page_hint", "page", page.page + 1));
+                }
+                lines.add(messages.get("list.tp_hint"));
             }
 
-            context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
+            lines.add(messages.get("common.border"));
+            Message out = messages.lines(lines.toArray(new Message[0]));
+            context.sendMessage(out);
 
-            System.out.println("[HomeListCommand] Player " + playerId + " listed homes (" + homeNames.size() + " total)");
+            LOG.debug(() -> "Player " + playerName + " listed homes page " + page.page + "/" + page.pageCount + " (" + page.total + " total)");
 
         } catch (Exception e) {
-            System.err.println("[HomeListCommand] Error: " + e.getMessage());
-            e.printStackTrace();
-            context.sendMessage(Message.raw("[X] Error listing homes!").color("#ff5555"));
+            LOG.error("Error: " + e.getMessage(), e);
+            ERRORS.increment();
+            context.sendMessage(messages.get("list.error"));
+        } finally {
+            LATENCY.recordSince(start);
         }
     }
 }
\ No newline at end of file
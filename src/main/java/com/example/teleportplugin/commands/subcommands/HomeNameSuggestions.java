@@ -0,0 +1,28 @@
+package com.example.teleportplugin.commands.subcommands;
+
+import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.data.HomeManager;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.command.system.suggestion.SuggestionProvider;
+import com.hypixel.hytale.server.core.command.system.suggestion.SuggestionResult;
+
+import java.util.UUID;
+
+/**
+ * Tab completion of the sender's own home names, served from the HomeManager's name
+ * index so only the homes matching the typed prefix are looked at
+ */
+class HomeNameSuggestions implements SuggestionProvider {
+
+    @Override
+    public void suggest(CommandSender sender, String textAlreadyEntered, int numParametersTyped, SuggestionResult result) {
+        UUID playerId = sender.getUuid();
+        if (playerId == null) {
+            return;
+        }
+        HomeManager homeManager = TeleportPlugin.getInstance().getHomeManager();
+        for (String name : homeManager.completeHomeNames(playerId, textAlreadyEntered)) {
+            result.suggest(name);
+        }
+    }
+}
\ No newline at end of file
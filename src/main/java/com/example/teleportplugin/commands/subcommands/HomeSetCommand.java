@@ -2,6 +2,12 @@ package com.example.teleportplugin.commands.subcommands;
 
 import com.example.teleportplugin.TeleportPlugin;
 import com.example.teleportplugin.data.HomeManager;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.MessageTemplate;
+import com.example.teleportplugin.messages.Messages;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
 import com.example.teleportplugin.permissions.PermissionManager;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.component.Ref;
@@ -9,7 +15,6 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Transform;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
@@ -20,8 +25,12 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
+import java.util.UUID;
 
 public class HomeSetCommand extends AbstractPlayerCommand {
+    private static final PluginLogger LOG = PluginLogger.get("HomeSetCommand");
+    private static final LatencyHistogram LATENCY = MetricsRegistry.getInstance().histogram("command.home_set");
+    private static final Counter ERRORS = MetricsRegistry.getInstance().counter("command.home_set.errors");
 
     private final RequiredArg<String> homeNameArg = withRequiredArg("name",
         "Name of the home to set", ArgTypes.STRING);
@@ -36,6 +45,8 @@ public class HomeSetCommand extends AbstractPlayerCommand {
                           @Nonnull Ref<EntityStore> ref,
                           @Nonnull PlayerRef playerRef,
                           @Nonnull World world) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
+        long start = System.nanoTime();
         try {
             // Get player entity for permission checks
             // For now, we'll skip the player entity cast since we don't have the right API method
@@ -44,37 +55,39 @@ public class HomeSetCommand extends AbstractPlayerCommand {
 
             // TODO: Permission checks temporarily disabled until we have proper Player API access
             // Check basic permission
-            // if (!permissionManager.canSetHome(player)) {
-            //     context.sendMessage(Message.raw("You don't have permission to set homes!").color("#ff5555"));
+            // if (!permissionManager.canSetHome(player, playerId)) {
+            //     context.sendMessage(messages.get("set.no_permission"));
             //     return;
             // }
 
-            String playerId = context.sender().getDisplayName();
+            String playerName = context.sender().getDisplayName();
+            UUID playerId = context.sender().getUuid();
+            TeleportPlugin.getInstance().getHomeManager().identify(playerId, playerName);
 
             // TODO: Home limits temporarily disabled until we have proper Player API access
             // Check home limit
             // if (!permissionManager.canSetAnotherHome(player, playerId)) {
             //     String limitString = permissionManager.getHomesLimitString(player, playerId);
-            //     context.sendMessage(Message.raw("You've reached your home limit! (" + limitString + ")").color("#ff5555"));
-            //     context.sendMessage(Message.raw("Delete a home first or get higher permissions.").color("#ffaa00"));
+            //     context.sendMessage(messages.lines(messages.format("set.limit_reached", "limit", limitString),
+            //             messages.get("set.limit_hint")));
             //     return;
             // }
 
             String homeName = homeNameArg.get(context);
 
             if (homeName.length() > 16) {
-                context.sendMessage(Message.raw("Home name too long! Maximum 16 characters.").color("#ff5555"));
+                context.sendMessage(messages.format("set.name_too_long", "max", 16));
                 return;
             }
 
             if (!homeName.matches("[a-zA-Z0-9_-]+")) {
-                context.sendMessage(Message.raw("Home name can only contain letters, numbers, _ and -").color("#ff5555"));
+                context.sendMessage(messages.get("set.name_invalid"));
                 return;
             }
 
             TransformComponent transformComponent = (TransformComponent) store.ensureAndGetComponent(ref, TransformComponent.getComponentType());
             if (transformComponent == null) {
-                context.sendMessage(Message.raw("Unable to get your position!").color("#ff5555"));
+                context.sendMessage(messages.get("set.no_position"));
                 return;
             }
 
@@ -84,30 +97,30 @@ public class HomeSetCommand extends AbstractPlayerCommand {
             double z = position.getZ();
 
             HomeManager homeManager = TeleportPlugin.getInstance().getHomeManager();
-            homeManager.setHome(playerId, homeName, x, y, z);
+            homeManager.setHome(playerId, homeName, x, y, z, world.getName());
 
             // TODO: Re-enable when Player API is available
             // Get updated limit string after setting home
             // String limitString = permissionManager.getHomesLimitString(player, playerId);
 
-            context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
-            context.sendMessage(Message.raw("|         HOME SET SUCCESSFUL        |").color("#00ff00").bold(true));
-            context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
-            context.sendMessage(Message.raw("Home Name: ").color("#ffaa00").bold(true)
-                    .insert(Message.raw(homeName).color("#ffffff")));
-            context.sendMessage(Message.raw("Position: ").color("#ffaa00").bold(true)
-                    .insert(Message.raw(String.format("%.1f, %.1f, %.1f", x, y, z)).color("#ffffff")));
             // TODO: Re-enable home count display when Player API is available
-            // context.sendMessage(Message.raw("Homes: ").color("#ffaa00").bold(true)
-            //         .insert(Message.raw(limitString).color("#ffffff")));
-            context.sendMessage(Message.raw("Use '/home tp " + homeName + "' to teleport!").color("#aaaaaa"));
+            // (add messages.labeled("set.label_homes", limitString) after the position line)
+            context.sendMessage(messages.lines(
+                    messages.get("common.border"),
+                    messages.get("set.title"),
+                    messages.get("common.border"),
+                    messages.labeled("set.label_name", homeName),
+                    messages.labeled("set.label_position", MessageTemplate.formatPosition(x, y, z)),
+                    messages.format("set.tp_hint", "home", homeName)));
 
-            System.out.println("[HomeSetCommand] Player " + playerId + " set home '" + homeName + "' at " + x + "," + y + "," + z);
+            LOG.info("Player " + playerName + " set home '" + homeName + "' at " + x + "," + y + "," + z);
 
         } catch (Exception e) {
-            System.err.println("[HomeSetCommand] Error: " + e.getMessage());
-            e.printStackTrace();
-            context.sendMessage(Message.raw("[X] Error setting home!").color("#ff5555"));
+            LOG.error("Error: " + e.getMessage(), e);
+            ERRORS.increment();
+            context.sendMessage(messages.get("set.error"));
+        } finally {
+            LATENCY.recordSince(start);
         }
     }
 }
\ No newline at end of file
@@ -4,13 +4,19 @@ import com.example.teleportplugin.TeleportPlugin;
 import com.example.teleportplugin.cooldown.TeleportCooldownManager;
 import com.example.teleportplugin.data.HomeManager;
 import com.example.teleportplugin.data.HomeData.HomeLocation;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.messages.MessageTemplate;
+import com.example.teleportplugin.messages.Messages;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
 import com.example.teleportplugin.permissions.PermissionManager;
+import com.example.teleportplugin.systems.MovementCancelSystem;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
@@ -22,27 +28,34 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
+import java.util.UUID;
 
 public class HomeTpCommand extends CommandBase {
+    private static final PluginLogger LOG = PluginLogger.get("HomeTpCommand");
+    private static final LatencyHistogram LATENCY = MetricsRegistry.getInstance().histogram("command.home_tp");
+    private static final Counter ERRORS = MetricsRegistry.getInstance().counter("command.home_tp.errors");
 
     private final RequiredArg<String> homeNameArg = withRequiredArg("name",
         "Name of the home to teleport to", ArgTypes.STRING);
 
     public HomeTpCommand() {
         super("tp", "Teleport to a home - /home tp <name>");
+        homeNameArg.suggest(new HomeNameSuggestions());
     }
 
     @Override
     protected void executeSync(@Nonnull CommandContext context) {
+        Messages messages = TeleportPlugin.getInstance().getMessages();
         Ref<EntityStore> ref = context.senderAsPlayerRef();
         if (ref == null || !ref.isValid()) {
-            context.sendMessage(Message.raw("Player not in world!").color("#ff5555"));
+            context.sendMessage(messages.get("common.not_in_world"));
             return;
         }
 
         Store<EntityStore> store = ref.getStore();
         World world = ((EntityStore) store.getExternalData()).getWorld();
 
+        long start = System.nanoTime();
         try {
             // TODO: Player API temporarily disabled until we have proper access
             // Get player entity for permission checks
@@ -52,18 +65,20 @@ public class HomeTpCommand extends CommandBase {
 
             // TODO: Permission checks temporarily disabled
             // Check permission
-            // if (!permissionManager.canTeleportToHome(player)) {
-            //     context.sendMessage(Message.raw("You don't have permission to teleport to homes!").color("#ff5555"));
+            // if (!permissionManager.canTeleportToHome(player, playerId)) {
+            //     context.sendMessage(messages.get("tp.no_permission"));
             //     return;
             // }
 
             String homeName = homeNameArg.get(context);
-            String playerId = context.sender().getDisplayName();
+            String playerName = context.sender().getDisplayName();
+            UUID playerId = context.sender().getUuid();
+            TeleportPlugin.getInstance().getHomeManager().identify(playerId, playerName);
 
             // Check if player already has a cooldown
             if (cooldownManager.hasCooldown(playerId)) {
                 int remaining = cooldownManager.getRemainingTime(playerId);
-                context.sendMessage(Message.raw("You're already teleporting! Wait " + remaining + " more seconds.").color("#ff5555"));
+                context.sendMessage(messages.format("tp.already_teleporting", "seconds", remaining));
                 return;
             }
 
@@ -71,66 +86,73 @@ public class HomeTpCommand extends CommandBase {
             HomeLocation home = homeManager.getHome(playerId, homeName);
 
             if (home == null) {
-                context.sendMessage(Message.raw("Home '" + homeName + "' not found!").color("#ff5555"));
-                context.sendMessage(Message.raw("Use '/home list' to see your homes.").color("#aaaaaa"));
+                context.sendMessage(messages.lines(messages.format("common.home_not_found", "home", homeName),
+                        messages.get("common.list_hint")));
                 return;
             }
 
             // Start teleport cooldown
             int cooldownSeconds = TeleportPlugin.getInstance().getConfig().teleportCooldownSeconds;
 
-            context.sendMessage(Message.raw("Teleporting to home '" + homeName + "' in " + cooldownSeconds + " seconds...").color("#ffaa00"));
-            context.sendMessage(Message.raw("Don't move or the teleport will be cancelled!").color("#aaaaaa"));
+            context.sendMessage(messages.lines(messages.format("tp.starting", "home", homeName, "seconds", cooldownSeconds),
+                    messages.get("tp.dont_move")));
 
             // Define success callback
-            Runnable onSuccess = () -> {
-                // Execute teleport in the correct world thread
-                world.execute(() -> {
-                    try {
-                        TransformComponent transformComponent = (TransformComponent) store.ensureAndGetComponent(ref, TransformComponent.getComponentType());
-                        if (transformComponent == null) {
-                            context.sendMessage(Message.raw("Unable to teleport you!").color("#ff5555"));
-                            return;
-                        }
-
-                        Vector3d homePosition = new Vector3d(home.x, home.y, home.z);
-                        Vector3f currentRotation = transformComponent.getRotation().clone();
-
-                        // Try multiple teleportation methods
-                        transformComponent.getPosition().assign(homePosition);
-                        store.addComponent(ref, Teleport.getComponentType(), new Teleport(homePosition, currentRotation));
-                        transformComponent.getTransform().setPosition(homePosition);
-
-                        context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
-                        context.sendMessage(Message.raw("|       TELEPORT SUCCESSFUL!        |").color("#00ff00").bold(true));
-                        context.sendMessage(Message.raw("+====================================+").color("#55ffff"));
-                        context.sendMessage(Message.raw("Home: ").color("#ffaa00").bold(true)
-                                .insert(Message.raw(homeName).color("#ffffff")));
-                        context.sendMessage(Message.raw("Location: ").color("#ffaa00").bold(true)
-                                .insert(Message.raw(String.format("%.1f, %.1f, %.1f", home.x, home.y, home.z)).color("#ffffff")));
-
-                        System.out.println("[HomeTpCommand] Player " + playerId + " teleported to home '" + homeName + "' at " + home.x + "," + home.y + "," + home.z);
-
-                    } catch (Exception e) {
-                        System.err.println("[HomeTpCommand] Error in teleport execution: " + e.getMessage());
-                        e.printStackTrace();
-                        context.sendMessage(Message.raw("[X] Error teleporting to home!").color("#ff5555"));
+            Runnable teleport = () -> {
+                try {
+                    TransformComponent transformComponent = (TransformComponent) store.ensureAndGetComponent(ref, TransformComponent.getComponentType());
+                    if (transformComponent == null) {
+                        context.sendMessage(messages.get("tp.unable"));
+                        return;
                     }
-                });
+
+                    Vector3d homePosition = new Vector3d(home.x, home.y, home.z);
+                    Vector3f currentRotation = transformComponent.getRotation().clone();
+
+                    // Try multiple teleportation methods
+                    transformComponent.getPosition().assign(homePosition);
+                    store.addComponent(ref, Teleport.getComponentType(), new Teleport(homePosition, currentRotation));
+                    transformComponent.getTransform().setPosition(homePosition);
+
+                    context.sendMessage(messages.lines(
+                            messages.get("common.border"),
+                            messages.get("tp.title"),
+                            messages.get("common.border"),
+                            messages.labeled("tp.label_home", homeName),
+                            messages.labeled("tp.label_location", MessageTemplate.formatPosition(home.x, home.y, home.z))));
+
+                    LOG.info("Player " + playerName + " teleported to home '" + homeName + "' at " + home.x + "," + home.y + "," + home.z);
+
+                } catch (Exception e) {
+                    LOG.error("Error in teleport execution: " + e.getMessage(), e);
+                    context.sendMessage(messages.get("tp.error"));
+                }
             };
 
+            // Execute teleport in the correct world thread. World tick driven cooldowns already run
+            // there, but inside a system tick where the store must not change, so they queue it too.
+            Runnable onSuccess = () -> world.execute(teleport);
+
             // Define cancel callback
             Runnable onCancel = () -> {
-                context.sendMessage(Message.raw("Teleport cancelled!").color("#ff5555"));
+                context.sendMessage(messages.get("tp.cancelled"));
             };
 
             // Start the cooldown
-            cooldownManager.startCooldown(playerId, homeName, onSuccess, onCancel);
+            cooldownManager.startCooldown(playerId, world.getName(), homeName, onSuccess, onCancel);
+
+            // Cancel the teleport if the player moves away from here
+            MovementCancelSystem movementCancelSystem = TeleportPlugin.getInstance().getMovementCancelSystem();
+            if (movementCancelSystem != null) {
+                movementCancelSystem.watch(playerId, ref);
+            }
 
         } catch (Exception e) {
-            System.err.println("[HomeTpCommand] Error: " + e.getMessage());
-            e.printStackTrace();
-            context.sendMessage(Message.raw("[X] Error teleporting to home!").color("#ff5555"));
+            LOG.error("Error: " + e.getMessage(), e);
+            ERRORS.increment();
+            context.sendMessage(messages.get("tp.error"));
+        } finally {
+            LATENCY.recordSince(start);
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.teleportplugin.config;
 
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.permissions.PermissionNodeTable;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -12,34 +14,104 @@ import java.nio.file.Paths;
  * Configuration management for TeleportPlugin
  */
 public class PluginConfig {
+    private static final PluginLogger LOG = PluginLogger.get("PluginConfig");
     private static final String CONFIG_FILE = "teleport_config.json";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
+    // Home storage modes
+    public static final String STORAGE_SNAPSHOT = "snapshot"; // Single homes.json
+    public static final String STORAGE_SHARDED = "sharded";   // One file per player under homes/
+    public static final String STORAGE_JOURNAL = "journal";   // homes.json snapshot plus append-only homes.journal
+    public static final String STORAGE_WORLD = "world";       // One file per world under worlds/, loaded with the world
+
+    // Cooldown drivers
+    public static final String COOLDOWN_DRIVER_TIMER = "timer";           // Shared timer wheel thread
+    public static final String COOLDOWN_DRIVER_WORLD_TICK = "world-tick"; // Drained by each world's tick on the world thread
+
     // Configuration values with defaults
     public int teleportCooldownSeconds = 3;
-    public boolean enableMovementCancellation = false; // Temporarily disabled until proper API access
+    public long cooldownTickMillis = 50; // Resolution of the cooldown timer wheel
+    public String cooldownDriver = COOLDOWN_DRIVER_TIMER;
+    public boolean enableMovementCancellation = false; // Opt-in, cancels a pending teleport when the player moves
+    public double movementCancelThreshold = 0.1; // Blocks a player may move during a cooldown
     public String permissionPrefix = "teleport";
+    public String logLevel = "info"; // debug, info, warn, error or off
+    public String messagesFile = "messages.json"; // Localization file in the plugin folder
     public int defaultMaxHomes = 5;
+    public int homeListPageSize = 10; // Homes per page of /home list
+    public int homeCompletionMaxResults = 20; // Home names suggested when tab completing /home tp and delete
+    public int stringPoolMaxSize = 100_000; // Distinct home names and world IDs shared in memory
+    public int spatialIndexCellSize = 64; // Edge in blocks of the grid cells homes are indexed by, a power of two
+    public int spatialQueryMaxResults = 50; // Homes shown by /homeadmin region and nearby
+    public String storageMode = STORAGE_SNAPSHOT; // Other modes are opt-in, see the constants above
+    public int startupLoadThreads = 0; // Threads for loading home shards at startup, 0 = one per CPU core
+    public long journalCompactionThresholdBytes = 4L * 1024 * 1024;
+    public String snapshotFormat = "json"; // "json" or "binary" (homes.bin) for snapshot and journal modes
+
+    // Write-behind persistence: changes are batched and flushed in the background
+    public boolean writeBehindEnabled = false; // Opt-in, by default every change is saved before the command returns
+    public long writeBehindIntervalMillis = 5000;
+    public int writeBehindBatchSize = 64;
+    public long shutdownFlushTimeoutMillis = 10000;
+
+    // Lazy loading (sharded storage only): players' homes load on first use and idle ones are evicted
+    public boolean lazyLoadingEnabled = false;
+    public int cacheMaxPlayers = 5000;
+    public long cacheIdleMillis = 15 * 60 * 1000L;
+    public long cacheEvictionIntervalMillis = 60 * 1000L;
+
+    // World storage only: a world's homes load on its first tick and unload once it stopped ticking
+    public long worldUnloadIdleMillis = 5 * 60 * 1000L;
+
+    // Bulk NDJSON import and export of homes (/homeadmin import|export), files live in transfers/
+    public long transferMaxBytesPerSecond = 8L * 1024 * 1024; // 0 = no limit
+    public int transferBatchSize = 2000; // Homes merged and checkpointed together
+
+    // Metrics dump file (metrics.json or metrics.txt in the plugin directory), 0 disables it
+    public long metricsDumpIntervalMillis = 60 * 1000L;
+    public String metricsDumpFormat = "json"; // "json" or "text"
+
+    // Home limits: <prefix>.home.set.<tier> grants <tier> homes, <prefix>.home.set.999 grants unlimited
+    public int[] homeLimitTiers = {1, 3, 5, 10, 15, 20, 25, 50, 100};
+    public long permissionCacheMillis = 30 * 1000L; // How long resolved permissions are reused
+
+    // Permission nodes, built once from permissionPrefix when the config is loaded
+    private transient PermissionNodeTable permissionNodes;
+
+    public PluginConfig() {
+        buildPermissionNodes();
+    }
+
+    /**
+     * Precomputed permission nodes and their IDs
+     */
+    public PermissionNodeTable getPermissionNodes() {
+        return permissionNodes;
+    }
 
-    // Permission nodes
     public String getHomeSetPermission() {
-        return permissionPrefix + ".home.set";
+        return permissionNodes.node(PermissionNodeTable.HOME_SET);
     }
 
     public String getHomeTpPermission() {
-        return permissionPrefix + ".home.tp";
+        return permissionNodes.node(PermissionNodeTable.HOME_TP);
     }
 
     public String getHomeDeletePermission() {
-        return permissionPrefix + ".home.delete";
+        return permissionNodes.node(PermissionNodeTable.HOME_DELETE);
     }
 
     public String getHomeListPermission() {
-        return permissionPrefix + ".home.list";
+        return permissionNodes.node(PermissionNodeTable.HOME_LIST);
     }
 
     public String getHomeSetLimitPermission(int limit) {
-        return permissionPrefix + ".home.set." + limit;
+        int id = permissionNodes.limitNodeIdFor(limit);
+        return id >= 0 ? permissionNodes.node(id) : permissionPrefix + ".home.set." + limit;
+    }
+
+    private void buildPermissionNodes() {
+        permissionNodes = PermissionNodeTable.build(permissionPrefix, homeLimitTiers);
     }
 
     /**
@@ -52,17 +124,18 @@ public class PluginConfig {
             if (Files.exists(configFile)) {
                 String json = Files.readString(configFile);
                 PluginConfig config = GSON.fromJson(json, PluginConfig.class);
-                System.out.println("[PluginConfig] Loaded configuration from " + configFile);
+                config.buildPermissionNodes();
+                LOG.info("Loaded configuration from " + configFile);
                 return config;
             } else {
                 PluginConfig config = new PluginConfig();
                 config.save(configDir);
-                System.out.println("[PluginConfig] Created default configuration at " + configFile);
+                LOG.info("Created default configuration at " + configFile);
                 return config;
             }
         } catch (IOException e) {
-            System.err.println("[PluginConfig] Error loading config: " + e.getMessage());
-            System.out.println("[PluginConfig] Using default configuration");
+            LOG.warn("Error loading config: " + e.getMessage());
+            LOG.info("Using default configuration");
             return new PluginConfig();
         }
     }
@@ -76,9 +149,9 @@ public class PluginConfig {
             Path configFile = configDir.resolve(CONFIG_FILE);
             String json = GSON.toJson(this);
             Files.writeString(configFile, json);
-            System.out.println("[PluginConfig] Saved configuration to " + configFile);
+            LOG.info("Saved configuration to " + configFile);
         } catch (IOException e) {
-            System.err.println("[PluginConfig] Error saving config: " + e.getMessage());
+            LOG.error("Error saving config: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
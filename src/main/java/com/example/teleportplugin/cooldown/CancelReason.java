@@ -0,0 +1,18 @@
+package com.example.teleportplugin.cooldown;
+
+/**
+ * Why a teleport cooldown was cancelled
+ */
+public enum CancelReason {
+    MOVEMENT,  // Player moved away from the start position
+    REPLACED,  // A new teleport was started before the old one finished
+    MANUAL,    // Cancelled by a command or another plugin component
+    SHUTDOWN;  // Plugin shut down with the cooldown still pending
+
+    /**
+     * Metric name counting cancellations for this reason
+     */
+    String metricName() {
+        return "cooldown.cancelled." + name().toLowerCase();
+    }
+}
\ No newline at end of file
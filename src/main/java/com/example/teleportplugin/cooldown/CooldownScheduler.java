@@ -0,0 +1,19 @@
+package com.example.teleportplugin.cooldown;
+
+/**
+ * Runs cooldown steps once a System.nanoTime() deadline is reached
+ */
+public interface CooldownScheduler {
+
+    Handle scheduleAt(Runnable task, long deadlineNanos);
+
+    /**
+     * Handle to a scheduled step
+     */
+    interface Handle {
+        /**
+         * Cancel the step, returns false if it already ran or was cancelled
+         */
+        boolean cancel();
+    }
+}
\ No newline at end of file
@@ -1,27 +1,36 @@
 package com.example.teleportplugin.cooldown;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents an individual teleport cooldown with countdown
  */
 public class TeleportCooldown {
-    private static final Timer TIMER = new Timer("TeleportCooldown", true);
+    private static final PluginLogger LOG = PluginLogger.get("TeleportCooldown");
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // How much later than scheduled the teleport fired
+    private static final LatencyHistogram FIRE_LATENESS = MetricsRegistry.getInstance().histogram("cooldown.fire_lateness");
 
-    private final String playerId;
+    private final CooldownScheduler scheduler;
+    private final UUID playerId;
     private final String homeName;
     private final int totalSeconds;
     private final Runnable onSuccess;
     private final Runnable onCancel;
 
-    private TimerTask countdownTask;
-    private TimerTask teleportTask;
+    private volatile CooldownScheduler.Handle pendingStep;
     private volatile int remainingSeconds;
     private volatile boolean cancelled = false;
+    private long startNanos;
 
-    public TeleportCooldown(String playerId, String homeName, int cooldownSeconds,
+    public TeleportCooldown(CooldownScheduler scheduler, UUID playerId, String homeName, int cooldownSeconds,
                            Runnable onSuccess, Runnable onCancel) {
+        this.scheduler = scheduler;
         this.playerId = playerId;
         this.homeName = homeName;
         this.totalSeconds = cooldownSeconds;
@@ -36,46 +45,34 @@ public class TeleportCooldown {
     public void start() {
         if (cancelled) return;
 
-        // Schedule the final teleport using Timer
-        teleportTask = new TimerTask() {
-            @Override
-            public void run() {
-                if (!cancelled) {
-                    System.out.println("[TeleportCooldown] Cooldown completed for player " + playerId + " - executing teleport to '" + homeName + "'");
-                    onSuccess.run();
-                }
-            }
-        };
-        TIMER.schedule(teleportTask, totalSeconds * 1000L);
-
-        // Schedule countdown messages (every second)
-        if (totalSeconds > 0) {
-            countdownTask = new TimerTask() {
-                @Override
-                public void run() {
-                    if (cancelled) {
-                        return;
-                    }
-
-                    if (remainingSeconds <= 0) {
-                        // Countdown finished, stop the countdown task
-                        if (countdownTask != null) {
-                            countdownTask.cancel();
-                        }
-                        return;
-                    }
-
-                    // Send countdown message at key intervals
-                    if (remainingSeconds <= 5 || remainingSeconds % 5 == 0) {
-                        System.out.println("[TeleportCooldown] Player " + playerId + ": Teleporting to '" + homeName + "' in " + remainingSeconds + " seconds...");
-                        // Note: Actual message sending should be implemented in command classes
-                    }
-
-                    remainingSeconds--;
-                }
-            };
-            TIMER.scheduleAtFixedRate(countdownTask, 0, 1000);
+        // One timeout per cooldown: each countdown step schedules the next one at an
+        // absolute deadline so the steps do not drift, the last step runs the teleport
+        startNanos = System.nanoTime();
+        pendingStep = scheduler.scheduleAt(this::step, startNanos);
+    }
+
+    private void step() {
+        if (cancelled) {
+            return;
+        }
+
+        if (remainingSeconds <= 0) {
+            FIRE_LATENESS.recordSince(startNanos + totalSeconds * SECOND_NANOS);
+            LOG.debug(() -> "Cooldown completed for player " + playerId + " - executing teleport to '" + homeName + "'");
+            onSuccess.run();
+            return;
+        }
+
+        // Send countdown message at key intervals
+        if (remainingSeconds <= 5 || remainingSeconds % 5 == 0) {
+            int seconds = remainingSeconds;
+            LOG.debug(() -> "Player " + playerId + ": Teleporting to '" + homeName + "' in " + seconds + " seconds...");
+            // Note: Actual message sending should be implemented in command classes
         }
+
+        remainingSeconds--;
+        long elapsedSeconds = totalSeconds - remainingSeconds;
+        pendingStep = scheduler.scheduleAt(this::step, startNanos + elapsedSeconds * SECOND_NANOS);
     }
 
     /**
@@ -86,19 +83,16 @@ public class TeleportCooldown {
 
         cancelled = true;
 
-        if (countdownTask != null) {
-            countdownTask.cancel();
-        }
-
-        if (teleportTask != null) {
-            teleportTask.cancel();
+        CooldownScheduler.Handle step = pendingStep;
+        if (step != null) {
+            step.cancel();
         }
 
         if (onCancel != null) {
             onCancel.run();
         }
 
-        System.out.println("[TeleportCooldown] Cooldown cancelled for player " + playerId);
+        LOG.debug(() -> "Cooldown cancelled for player " + playerId);
     }
 
     /**
@@ -114,13 +108,4 @@ public class TeleportCooldown {
     public boolean isCancelled() {
         return cancelled;
     }
-
-    /**
-     * Shutdown the shared timer (call on plugin disable)
-     */
-    public static void shutdownTimer() {
-        TIMER.cancel();
-        TIMER.purge();
-        System.out.println("[TeleportCooldown] Timer shutdown complete");
-    }
 }
\ No newline at end of file
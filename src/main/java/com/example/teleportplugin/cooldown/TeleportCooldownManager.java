@@ -1,102 +1,170 @@
 package com.example.teleportplugin.cooldown;
 
-import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.MetricsRegistry;
+import com.example.teleportplugin.util.ConcurrentUuidMap;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
 /**
  * Manages teleport cooldowns and movement detection
  */
 public class TeleportCooldownManager {
-    private final Map<String, TeleportCooldown> activeCooldowns = new ConcurrentHashMap<>();
+    private static final PluginLogger LOG = PluginLogger.get("TeleportCooldownManager");
+    private static final Counter STARTED = MetricsRegistry.getInstance().counter("cooldown.started");
+    private static final Counter COMPLETED = MetricsRegistry.getInstance().counter("cooldown.completed");
+    private static final Counter[] CANCELLED = new Counter[CancelReason.values().length];
+
+    static {
+        for (CancelReason reason : CancelReason.values()) {
+            CANCELLED[reason.ordinal()] = MetricsRegistry.getInstance().counter(reason.metricName());
+        }
+    }
+
+    private final ConcurrentUuidMap<TeleportCooldown> activeCooldowns = new ConcurrentUuidMap<>();
     private final int cooldownSeconds;
+    private final TimingWheel wheel;          // Timer mode
+    private final WorldTickQueue worldQueue;  // World tick mode
 
     public TeleportCooldownManager(int cooldownSeconds) {
+        this(cooldownSeconds, 50, false);
+    }
+
+    /**
+     * @param tickMillis     resolution of the shared countdown timer (timer mode only)
+     * @param worldTickDriven run cooldowns from {@link #tick} on the world thread instead of a timer thread
+     */
+    public TeleportCooldownManager(int cooldownSeconds, long tickMillis, boolean worldTickDriven) {
         this.cooldownSeconds = cooldownSeconds;
-        System.out.println("[TeleportCooldownManager] Initialized with " + cooldownSeconds + " second cooldown");
+        MetricsRegistry.getInstance().gauge("cooldown.active", activeCooldowns::size);
+        if (worldTickDriven) {
+            this.wheel = null;
+            this.worldQueue = new WorldTickQueue();
+            LOG.info("Initialized with " + cooldownSeconds + " second cooldown (driven by world ticks)");
+        } else {
+            this.wheel = new TimingWheel("TeleportCooldown", tickMillis, 512);
+            this.worldQueue = null;
+            LOG.info("Initialized with " + cooldownSeconds + " second cooldown (" + tickMillis + "ms timer ticks)");
+        }
+    }
+
+    /**
+     * Whether callbacks already run on the world thread of the world passed to {@link #startCooldown}
+     */
+    public boolean isWorldTickDriven() {
+        return worldQueue != null;
+    }
+
+    /**
+     * Run the expired cooldown steps of a world, called once per tick from that world's thread
+     */
+    public void tick(String worldKey) {
+        if (worldQueue != null) {
+            worldQueue.drain(worldKey, System.nanoTime());
+        }
     }
 
     /**
      * Start a teleport cooldown for a player
+     *
+     * @param worldKey world the player is in; in world tick mode the callbacks run on its thread
      */
-    public void startCooldown(String playerId, String homeName, Runnable onSuccess, Runnable onCancel) {
+    public void startCooldown(UUID playerId, String worldKey, String homeName, Runnable onSuccess, Runnable onCancel) {
         // Cancel any existing cooldown
-        cancelCooldown(playerId);
+        cancelCooldown(playerId, CancelReason.REPLACED);
+
+        // The wrappers remove only this cooldown, a step that was already running when it got
+        // replaced must not remove the new one
+        TeleportCooldown[] self = new TeleportCooldown[1];
 
         // Wrap onSuccess to remove cooldown from map
         Runnable wrappedOnSuccess = () -> {
-            activeCooldowns.remove(playerId);  // Remove from map when complete
+            activeCooldowns.remove(playerId, self[0]);  // Remove from map when complete
+            COMPLETED.increment();
             onSuccess.run();
         };
 
         // Wrap onCancel to remove cooldown from map
         Runnable wrappedOnCancel = () -> {
-            activeCooldowns.remove(playerId);  // Remove from map when cancelled
+            activeCooldowns.remove(playerId, self[0]);  // Remove from map when cancelled
             if (onCancel != null) {
                 onCancel.run();
             }
         };
 
+        CooldownScheduler scheduler = worldQueue != null ? worldQueue.forWorld(worldKey) : wheel;
         TeleportCooldown cooldown = new TeleportCooldown(
+            scheduler,
             playerId,
             homeName,
             cooldownSeconds,
             wrappedOnSuccess,
             wrappedOnCancel
         );
+        self[0] = cooldown;
 
         activeCooldowns.put(playerId, cooldown);
+        STARTED.increment();
         cooldown.start();
 
-        System.out.println("[TeleportCooldownManager] Started " + cooldownSeconds + "s cooldown for player " + playerId + " to home '" + homeName + "'");
+        LOG.debug(() -> "Started " + cooldownSeconds + "s cooldown for player " + playerId + " to home '" + homeName + "'");
     }
 
     /**
      * Cancel a player's cooldown (e.g., when they move)
      */
-    public void cancelCooldown(String playerId) {
+    public void cancelCooldown(UUID playerId) {
+        cancelCooldown(playerId, CancelReason.MANUAL);
+    }
+
+    /**
+     * Cancel a player's cooldown, counting the cancellation under the given reason
+     */
+    public void cancelCooldown(UUID playerId, CancelReason reason) {
         TeleportCooldown cooldown = activeCooldowns.remove(playerId);
         if (cooldown != null) {
+            CANCELLED[reason.ordinal()].increment();
             cooldown.cancel();
-            System.out.println("[TeleportCooldownManager] Cancelled cooldown for player " + playerId);
+            LOG.debug(() -> "Cancelled cooldown for player " + playerId);
         }
     }
 
+    /**
+     * Number of cooldowns currently running
+     */
+    public int getActiveCooldownCount() {
+        return activeCooldowns.size();
+    }
+
     /**
      * Check if a player has an active cooldown
      */
-    public boolean hasCooldown(String playerId) {
+    public boolean hasCooldown(UUID playerId) {
         return activeCooldowns.containsKey(playerId);
     }
 
     /**
      * Get remaining cooldown time for a player
      */
-    public int getRemainingTime(String playerId) {
+    public int getRemainingTime(UUID playerId) {
         TeleportCooldown cooldown = activeCooldowns.get(playerId);
         return cooldown != null ? cooldown.getRemainingSeconds() : 0;
     }
 
-    /**
-     * Called when a player moves - cancels their cooldown if movement cancellation is enabled
-     */
-    public void onPlayerMove(String playerId) {
-        if (TeleportPlugin.getInstance().getConfig().enableMovementCancellation) {
-            if (hasCooldown(playerId)) {
-                cancelCooldown(playerId);
-                // Note: The actual message sending should be done in the caller
-                System.out.println("[TeleportCooldownManager] Player " + playerId + " moved during cooldown - teleport cancelled");
-            }
-        }
-    }
-
     /**
      * Cleanup method for plugin shutdown
      */
     public void shutdown() {
-        activeCooldowns.values().forEach(TeleportCooldown::cancel);
+        CANCELLED[CancelReason.SHUTDOWN.ordinal()].add(activeCooldowns.size());
+        activeCooldowns.forEach((playerId, cooldown) -> cooldown.cancel());
         activeCooldowns.clear();
-        System.out.println("[TeleportCooldownManager] Shutdown complete");
+        if (wheel != null) {
+            wheel.shutdown();
+        }
+        if (worldQueue != null) {
+            worldQueue.clear();
+        }
+        LOG.info("Shutdown complete");
     }
 }
\ No newline at end of file
@@ -0,0 +1,240 @@
+package com.example.teleportplugin.cooldown;
+
+import com.example.teleportplugin.logging.PluginLogger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel with a single tick thread.
+ *
+ * Scheduling and cancelling are O(1): both only enqueue the timeout, and the tick
+ * thread links it into (or unlinks it from) its bucket on the next tick, so
+ * cancelled timeouts never pile up. A timeout fires on the first tick at or after
+ * its deadline, i.e. with at most one tick of delay.
+ */
+public class TimingWheel implements CooldownScheduler {
+    private static final PluginLogger LOG = PluginLogger.get("TimingWheel");
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Thread worker;
+    private final long startTime;
+    private volatile boolean running = true;
+    private long currentTick = 0;
+
+    /**
+     * @param name       name of the tick thread
+     * @param tickMillis tick resolution in milliseconds
+     * @param wheelSize  number of buckets, rounded up to a power of two
+     */
+    public TimingWheel(String name, long tickMillis, int wheelSize) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Run a task once the delay has passed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return scheduleAt(task, System.nanoTime() + unit.toNanos(delay));
+    }
+
+    /**
+     * Run a task once System.nanoTime() reaches the deadline
+     */
+    @Override
+    public Timeout scheduleAt(Runnable task, long deadlineNanos) {
+        Timeout timeout = new Timeout(this, task, deadlineNanos);
+        if (!running) {
+            timeout.state.set(STATE_CANCELLED);
+            return timeout;
+        }
+        pendingCount.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Number of timeouts scheduled but not yet fired or cancelled
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stop the tick thread, pending timeouts never fire
+     */
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startTime + (currentTick + 1) * tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        break;
+                    }
+                }
+                continue;
+            }
+
+            processCancels();
+            processAdds();
+            wheel[(int) (currentTick & mask)].expire(this);
+            currentTick++;
+        }
+    }
+
+    private void processCancels() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void processAdds() {
+        // Bounded per tick so a burst of schedules cannot stall expiry
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = pendingAdds.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != STATE_PENDING) {
+                continue;
+            }
+            long ticks = Math.max(currentTick, (timeout.deadline - startTime + tickNanos - 1) / tickNanos);
+            timeout.remainingRounds = (ticks - currentTick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Handle to a scheduled task
+     */
+    public static class Timeout implements CooldownScheduler.Handle {
+        private final TimingWheel owner;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel owner, Runnable task, long deadline) {
+            this.owner = owner;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task, returns false if it already fired or was cancelled
+         */
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            owner.pendingCount.decrementAndGet();
+            owner.pendingCancels.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+            owner.pendingCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.error("Error in scheduled task: " + t, t);
+            }
+        }
+    }
+
+    /**
+     * Doubly-linked list of timeouts hashed to the same slot, only touched by the tick thread
+     */
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(TimingWheel wheel) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state.get() != STATE_PENDING) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.example.teleportplugin.cooldown;
+
+import com.example.teleportplugin.logging.PluginLogger;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-world deadline queues drained by the world's own tick.
+ *
+ * Steps can be scheduled from any thread; they are handed over through a lock-free
+ * inbox and only ever run inside {@link #drain}, which the world thread calls once
+ * per tick. Expired steps therefore run on the world thread without an extra
+ * executor hop, aligned with the tick players see.
+ */
+public class WorldTickQueue {
+    private static final PluginLogger LOG = PluginLogger.get("WorldTickQueue");
+    private final Map<String, WorldQueue> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * Scheduler whose steps run on the tick of the given world
+     */
+    public CooldownScheduler forWorld(String worldKey) {
+        return worlds.computeIfAbsent(worldKey, k -> new WorldQueue());
+    }
+
+    /**
+     * Run every step of the world whose deadline has passed. Must be called from the world thread.
+     * Steps scheduled while draining wait for the next tick.
+     */
+    public int drain(String worldKey, long nowNanos) {
+        WorldQueue queue = worlds.get(worldKey);
+        return queue != null ? queue.drain(nowNanos) : 0;
+    }
+
+    /**
+     * Number of steps waiting in all worlds, including cancelled ones not yet discarded
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (WorldQueue queue : worlds.values()) {
+            count += queue.inbox.size() + queue.size;
+        }
+        return count;
+    }
+
+    /**
+     * Drop all queued steps
+     */
+    public void clear() {
+        for (WorldQueue queue : worlds.values()) {
+            queue.inbox.clear();
+        }
+        worlds.clear();
+    }
+
+    private static class WorldQueue implements CooldownScheduler {
+        private final Queue<Entry> inbox = new ConcurrentLinkedQueue<>();
+        // Only touched by the world thread
+        private final PriorityQueue<Entry> deadlines = new PriorityQueue<>();
+        private volatile int size;
+
+        @Override
+        public Entry scheduleAt(Runnable task, long deadlineNanos) {
+            Entry entry = new Entry(task, deadlineNanos);
+            inbox.add(entry);
+            return entry;
+        }
+
+        int drain(long nowNanos) {
+            Entry entry;
+            while ((entry = inbox.poll()) != null) {
+                if (!entry.cancelled.get()) {
+                    deadlines.add(entry);
+                }
+            }
+
+            int ran = 0;
+            while ((entry = deadlines.peek()) != null && entry.deadline - nowNanos <= 0) {
+                deadlines.poll();
+                if (entry.cancelled.compareAndSet(false, true)) {
+                    try {
+                        entry.task.run();
+                    } catch (Throwable t) {
+                        LOG.error("Error in scheduled task: " + t, t);
+                    }
+                    ran++;
+                }
+            }
+            size = deadlines.size();
+            return ran;
+        }
+    }
+
+    private static class Entry implements CooldownScheduler.Handle, Comparable<Entry> {
+        private final Runnable task;
+        private final long deadline;
+        // Set once the entry ran or was cancelled
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            return cancelled.compareAndSet(false, true);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Long.compare(deadline - other.deadline, 0);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of all homes (homes.bin), loaded through a memory-mapped
+ * FileChannel instead of a reflective Gson parse.
+ *
+ * Layout (big-endian):
+ *   int    magic 'THB1'
+ *   short  version
+ *   int    string count, then per string: unsigned short byte length + UTF-8 bytes
+ *   int    record count, then per record (36 bytes):
+ *          int playerIndex, int nameIndex, int worldIndex, double x, double y, double z
+ *
+ * Player IDs, home names and world IDs are stored once in the string table and
+ * shared by every record that uses them.
+ */
+public class BinaryHomeData {
+    private static final PluginLogger LOG = PluginLogger.get("BinaryHomeData");
+    private static final LatencyHistogram LOAD_LATENCY = MetricsRegistry.getInstance().histogram("storage.load");
+    private static final LatencyHistogram SAVE_LATENCY = MetricsRegistry.getInstance().histogram("storage.save");
+    private static final Counter BYTES_WRITTEN = MetricsRegistry.getInstance().counter("storage.bytes_written");
+    static final String HOMES_FILE = "homes.bin";
+    private static final int MAGIC = 0x54484231; // "THB1"
+    private static final short VERSION = 1;
+    private static final int RECORD_BYTES = 3 * Integer.BYTES + 3 * Double.BYTES;
+
+    /**
+     * Load homes from the binary snapshot, empty if it does not exist or is unreadable.
+     * An unreadable file is first copied aside as homes.bin.corrupt-{time}, the next save replaces it.
+     */
+    public static Map<String, Map<String, HomeData.HomeLocation>> loadHomes(Path dataDir) {
+        Path homesFile = dataDir.resolve(HOMES_FILE);
+        if (!Files.exists(homesFile)) {
+            LOG.info("No existing binary homes file found, starting with empty data");
+            return new HashMap<>();
+        }
+
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(homesFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("file too large to map (" + channel.size() + " bytes)");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not a binary homes file");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("unsupported version " + version);
+            }
+
+            int stringCount = buffer.getInt();
+            // Every string takes at least its length prefix, a larger count cannot be real
+            if (stringCount < 0 || (long) stringCount * Short.BYTES > buffer.remaining()) {
+                throw new IOException("invalid string count " + stringCount);
+            }
+            String[] strings = new String[stringCount];
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < strings.length; i++) {
+                int length = Short.toUnsignedInt(buffer.getShort());
+                if (scratch.length < length) {
+                    scratch = new byte[length];
+                }
+                buffer.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+
+            int recordCount = buffer.getInt();
+            if (recordCount < 0 || (long) recordCount * RECORD_BYTES > buffer.remaining()) {
+                throw new IOException("truncated record section");
+            }
+
+            Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+            for (int i = 0; i < recordCount; i++) {
+                String playerId = strings[buffer.getInt()];
+                String name = strings[buffer.getInt()];
+                String worldId = strings[buffer.getInt()];
+                double x = buffer.getDouble();
+                double y = buffer.getDouble();
+                double z = buffer.getDouble();
+                homes.computeIfAbsent(playerId, k -> new HashMap<>()).put(name, new HomeData.HomeLocation(x, y, z, worldId));
+            }
+
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            LOG.info("Loaded " + recordCount + " homes for " + homes.size() + " players from " + homesFile + " in " + millis + "ms");
+            return homes;
+        } catch (IOException | BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            LOG.error("Error loading homes: " + e);
+            backUp(homesFile);
+            LOG.info("Starting with empty homes data");
+            return new HashMap<>();
+        } finally {
+            LOAD_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Save homes as a binary snapshot, returns false if the file could not be written
+     */
+    public static boolean saveHomes(Map<String, Map<String, HomeData.HomeLocation>> homes, Path dataDir) {
+        Path homesFile = dataDir.resolve(HOMES_FILE);
+        Path tempFile = dataDir.resolve(HOMES_FILE + ".tmp");
+        long start = System.nanoTime();
+
+        // Single pass over the (possibly live) map: every distinct string gets one index,
+        // records are buffered so the count always matches what was written
+        Map<String, Integer> stringIndex = new LinkedHashMap<>();
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(4096);
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        int recordCount = 0;
+
+        try {
+            for (Map.Entry<String, Map<String, HomeData.HomeLocation>> player : homes.entrySet()) {
+                int playerIndex = indexOf(stringIndex, player.getKey());
+                for (Map.Entry<String, HomeData.HomeLocation> home : player.getValue().entrySet()) {
+                    HomeData.HomeLocation location = home.getValue();
+                    records.writeInt(playerIndex);
+                    records.writeInt(indexOf(stringIndex, home.getKey()));
+                    records.writeInt(indexOf(stringIndex, location.worldId));
+                    records.writeDouble(location.x);
+                    records.writeDouble(location.y);
+                    records.writeDouble(location.z);
+                    recordCount++;
+                }
+            }
+
+            Files.createDirectories(dataDir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+
+                out.writeInt(stringIndex.size());
+                for (String value : stringIndex.keySet()) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    if (bytes.length > 0xFFFF) {
+                        throw new IOException("string too long for binary format (" + bytes.length + " bytes)");
+                    }
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                }
+
+                out.writeInt(recordCount);
+                recordBytes.writeTo(out);
+            }
+            // Note: on Windows this fails while an earlier mapping of the file has not been released yet
+            BYTES_WRITTEN.add(Files.size(tempFile));
+            Files.move(tempFile, homesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LOG.info("Saved " + recordCount + " homes for " + homes.size() + " players to " + homesFile);
+            return true;
+        } catch (IOException e) {
+            LOG.error("Error saving homes: " + e.getMessage());
+            return false;
+        } finally {
+            SAVE_LATENCY.recordSince(start);
+        }
+    }
+
+    private static void backUp(Path homesFile) {
+        Path backup = homesFile.resolveSibling(homesFile.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        try {
+            Files.copy(homesFile, backup, StandardCopyOption.REPLACE_EXISTING);
+            LOG.warn("Original backed up to " + backup.getFileName());
+        } catch (IOException e) {
+            LOG.error("Could not back up " + homesFile.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static int indexOf(Map<String, Integer> stringIndex, String value) {
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = stringIndex.size();
+            stringIndex.put(value, index);
+        }
+        return index;
+    }
+}
\ No newline at end of file
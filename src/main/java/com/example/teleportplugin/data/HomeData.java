@@ -1,13 +1,17 @@
 package com.example.teleportplugin.data;
 
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.LatencyHistogram;
+import com.example.teleportplugin.metrics.MetricsRegistry;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,7 +19,11 @@ import java.util.Map;
  * JSON-based data persistence for homes
  */
 public class HomeData {
-    private static final String HOMES_FILE = "homes.json";
+    private static final PluginLogger LOG = PluginLogger.get("HomeData");
+    private static final LatencyHistogram LOAD_LATENCY = MetricsRegistry.getInstance().histogram("storage.load");
+    private static final LatencyHistogram SAVE_LATENCY = MetricsRegistry.getInstance().histogram("storage.save");
+    private static final Counter BYTES_WRITTEN = MetricsRegistry.getInstance().counter("storage.bytes_written");
+    static final String HOMES_FILE = "homes.json";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     /**
@@ -43,50 +51,86 @@ public class HomeData {
     }
 
     /**
-     * Load homes from JSON file
+     * Check a loaded location: null if its coordinates are unusable, a copy in the
+     * default world if the world is missing, otherwise the location itself
+     */
+    static HomeLocation validate(HomeLocation location) {
+        if (location == null || !Double.isFinite(location.x) || !Double.isFinite(location.y) || !Double.isFinite(location.z)) {
+            return null;
+        }
+        if (location.worldId == null || location.worldId.isEmpty()) {
+            return new HomeLocation(location.x, location.y, location.z);
+        }
+        return location;
+    }
+
+    /**
+     * Load homes from JSON file, streaming it so large files never sit in memory as one String
      */
     public static Map<String, Map<String, HomeLocation>> loadHomes(Path dataDir) {
+        try {
+            return readHomes(dataDir);
+        } catch (IOException e) {
+            LOG.error("Error loading homes: " + e.getMessage());
+            LOG.info("Starting with empty homes data");
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Like {@link #loadHomes}, but throws if the file exists and cannot be read, for callers
+     * that must not mistake an unreadable file for an empty one
+     */
+    public static Map<String, Map<String, HomeLocation>> readHomes(Path dataDir) throws IOException {
         Path homesFile = dataDir.resolve(HOMES_FILE);
+        long start = System.nanoTime();
 
         try {
             if (Files.exists(homesFile)) {
-                String json = Files.readString(homesFile);
-                Type type = new TypeToken<Map<String, Map<String, HomeLocation>>>(){}.getType();
-                Map<String, Map<String, HomeLocation>> homes = GSON.fromJson(json, type);
-
-                if (homes == null) {
-                    homes = new HashMap<>();
-                }
-
-                System.out.println("[HomeData] Loaded " + homes.size() + " players' homes from " + homesFile);
+                Map<String, Map<String, HomeLocation>> homes = StreamingHomeLoader.load(homesFile);
+                LOG.info("Loaded " + homes.size() + " players' homes from " + homesFile);
                 return homes;
             } else {
-                System.out.println("[HomeData] No existing homes file found, starting with empty data");
+                LOG.info("No existing homes file found, starting with empty data");
                 return new HashMap<>();
             }
-        } catch (IOException e) {
-            System.err.println("[HomeData] Error loading homes: " + e.getMessage());
-            System.out.println("[HomeData] Starting with empty homes data");
-            return new HashMap<>();
+        } finally {
+            LOAD_LATENCY.recordSince(start);
         }
     }
 
     /**
-     * Save homes to JSON file
+     * Save homes to JSON file, returns false if the file could not be written
      */
-    public static void saveHomes(Map<String, Map<String, HomeLocation>> homes, Path dataDir) {
+    public static boolean saveHomes(Map<String, Map<String, HomeLocation>> homes, Path dataDir) {
+        long start = System.nanoTime();
         try {
             Files.createDirectories(dataDir);
             Path homesFile = dataDir.resolve(HOMES_FILE);
             String json = GSON.toJson(homes);
-            Files.writeString(homesFile, json);
+            writeAtomically(homesFile, json);
 
             int totalHomes = homes.values().stream()
                     .mapToInt(playerHomes -> playerHomes.size())
                     .sum();
-            System.out.println("[HomeData] Saved " + totalHomes + " homes for " + homes.size() + " players to " + homesFile);
+            LOG.info("Saved " + totalHomes + " homes for " + homes.size() + " players to " + homesFile);
+            return true;
         } catch (IOException e) {
-            System.err.println("[HomeData] Error saving homes: " + e.getMessage());
+            LOG.error("Error saving homes: " + e.getMessage());
+            return false;
+        } finally {
+            SAVE_LATENCY.recordSince(start);
         }
     }
+
+    /**
+     * Write a file through a temporary sibling so a crash never leaves it half-written
+     */
+    static void writeAtomically(Path file, String content) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Files.write(tempFile, bytes);
+        BYTES_WRITTEN.add(bytes.length);
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
 }
\ No newline at end of file
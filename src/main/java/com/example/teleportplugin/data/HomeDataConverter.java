@@ -0,0 +1,59 @@
+package com.example.teleportplugin.data;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Converts home snapshots between homes.json and homes.bin.
+ * Can also be run offline: java -cp <plugin jar>:<gson jar> com.example.teleportplugin.data.HomeDataConverter <to-binary|to-json> <data dir>
+ */
+public class HomeDataConverter {
+
+    /**
+     * Convert homes.json into homes.bin in the same directory
+     */
+    public static boolean jsonToBinary(Path dataDir) {
+        if (!Files.exists(dataDir.resolve(HomeData.HOMES_FILE))) {
+            System.err.println("[HomeDataConverter] No " + HomeData.HOMES_FILE + " in " + dataDir);
+            return false;
+        }
+        Map<String, Map<String, HomeData.HomeLocation>> homes = HomeData.loadHomes(dataDir);
+        return BinaryHomeData.saveHomes(homes, dataDir);
+    }
+
+    /**
+     * Convert homes.bin into homes.json in the same directory
+     */
+    public static boolean binaryToJson(Path dataDir) {
+        if (!Files.exists(dataDir.resolve(BinaryHomeData.HOMES_FILE))) {
+            System.err.println("[HomeDataConverter] No " + BinaryHomeData.HOMES_FILE + " in " + dataDir);
+            return false;
+        }
+        Map<String, Map<String, HomeData.HomeLocation>> homes = BinaryHomeData.loadHomes(dataDir);
+        return HomeData.saveHomes(homes, dataDir);
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: HomeDataConverter <to-binary|to-json> <data dir>");
+            System.exit(2);
+        }
+
+        Path dataDir = Paths.get(args[1]);
+        boolean ok;
+        switch (args[0]) {
+            case "to-binary":
+                ok = jsonToBinary(dataDir);
+                break;
+            case "to-json":
+                ok = binaryToJson(dataDir);
+                break;
+            default:
+                System.err.println("Unknown mode: " + args[0]);
+                ok = false;
+        }
+        System.exit(ok ? 0 : 1);
+    }
+}
\ No newline at end of file
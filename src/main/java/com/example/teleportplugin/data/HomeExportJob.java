@@ -0,0 +1,102 @@
+package com.example.teleportplugin.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes every stored home to an NDJSON file. Homes are read one partition at a time
+ * (a player shard or world file, or one player for stores kept in memory) in sorted key
+ * order, so only one partition is held at once. Checkpoints are only taken between
+ * partitions, so a resumed export truncates the file to the checkpoint and continues with
+ * the next one. Partitions added in between may be missed by a resumed export.
+ */
+final class HomeExportJob extends HomeTransferJob {
+
+    HomeExportJob(HomeManager homeManager, Path file, boolean resume, int batchSize, long maxBytesPerSecond) {
+        super(homeManager, file, resume, batchSize, maxBytesPerSecond);
+    }
+
+    @Override
+    public Kind getKind() {
+        return Kind.EXPORT;
+    }
+
+    @Override
+    boolean transfer() throws IOException, InterruptedException {
+        Checkpoint checkpoint = readCheckpoint();
+        List<String> keys = homeManager.listExportKeys();
+
+        // Skip what an earlier run already wrote
+        int first = 0;
+        if (checkpoint != null && checkpoint.lastKey != null) {
+            first = insertionPoint(Collections.binarySearch(keys, checkpoint.lastKey));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            channel.position(offset);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            int inBatch = 0;
+            for (int i = first; i < keys.size(); i++) {
+                if (cancelRequested) {
+                    return false;
+                }
+                String key = keys.get(i);
+                for (Map.Entry<String, Map<String, HomeData.HomeLocation>> player : homeManager.readExportKey(key).entrySet()) {
+                    for (Map.Entry<String, HomeData.HomeLocation> home : player.getValue().entrySet()) {
+                        byte[] line = (GSON.toJson(new HomeRecord(player.getKey(), home.getKey(), home.getValue())) + "\n")
+                                .getBytes(StandardCharsets.UTF_8);
+                        if (buffer.remaining() < line.length) {
+                            drain(channel, buffer);
+                        }
+                        if (line.length > buffer.capacity()) {
+                            write(channel, ByteBuffer.wrap(line));
+                        } else {
+                            buffer.put(line);
+                        }
+                        records.incrementAndGet();
+                        inBatch++;
+                    }
+                }
+                if (inBatch >= batchSize) {
+                    // The checkpoint must never point past what is on disk
+                    drain(channel, buffer);
+                    channel.force(false);
+                    writeCheckpoint(key);
+                    inBatch = 0;
+                    logProgress();
+                }
+            }
+            drain(channel, buffer);
+            channel.force(false);
+        }
+        return true;
+    }
+
+    private void drain(FileChannel channel, ByteBuffer buffer) throws IOException, InterruptedException {
+        buffer.flip();
+        write(channel, buffer);
+        buffer.clear();
+    }
+
+    private void write(FileChannel channel, ByteBuffer bytes) throws IOException, InterruptedException {
+        limiter.acquire(bytes.remaining());
+        while (bytes.hasRemaining()) {
+            offset += channel.write(bytes);
+        }
+    }
+
+    /**
+     * Index of the first element after the searched one
+     */
+    private static int insertionPoint(int searchResult) {
+        return searchResult >= 0 ? searchResult + 1 : -searchResult - 1;
+    }
+}
\ No newline at end of file
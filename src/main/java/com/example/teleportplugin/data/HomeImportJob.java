@@ -0,0 +1,162 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads homes from an NDJSON file and merges them into the {@link HomeManager} in batches.
+ * Only the read buffer, the current line and one batch are held in memory, whatever the
+ * file size. Blank lines and lines starting with # are ignored; lines that are not a valid
+ * home or longer than the buffer are counted as skipped.
+ */
+final class HomeImportJob extends HomeTransferJob {
+    private static final PluginLogger LOG = PluginLogger.get("HomeTransfer");
+
+    private final Map<String, Map<String, HomeData.HomeLocation>> batch = new HashMap<>();
+    private int batchHomes;
+
+    HomeImportJob(HomeManager homeManager, Path file, boolean resume, int batchSize, long maxBytesPerSecond) {
+        super(homeManager, file, resume, batchSize, maxBytesPerSecond);
+    }
+
+    @Override
+    public Kind getKind() {
+        return Kind.IMPORT;
+    }
+
+    @Override
+    boolean transfer() throws IOException, InterruptedException {
+        readCheckpoint();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (offset > channel.size()) {
+                throw new IOException("File is shorter than its checkpoint (" + offset + " bytes)");
+            }
+            channel.position(offset);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] line = new byte[256];
+            int lineLength = 0;
+            boolean oversized = false;
+            long position = offset;
+            long lineStart = offset;
+
+            while (true) {
+                if (cancelRequested) {
+                    // Resume from the start of the line that was cut off
+                    commit(lineStart);
+                    return false;
+                }
+                buffer.clear();
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    break;
+                }
+                limiter.acquire(read);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    position++;
+                    if (b != '\n') {
+                        if (oversized) {
+                            continue;
+                        }
+                        if (lineLength == BUFFER_SIZE) {
+                            oversized = true;
+                            continue;
+                        }
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, Math.min(line.length * 2, BUFFER_SIZE));
+                        }
+                        line[lineLength++] = b;
+                        continue;
+                    }
+
+                    if (oversized) {
+                        skip(lineStart, "line longer than " + BUFFER_SIZE + " bytes");
+                    } else {
+                        parseLine(line, lineLength, lineStart);
+                    }
+                    lineLength = 0;
+                    oversized = false;
+                    lineStart = position;
+                    if (batchHomes >= batchSize) {
+                        commit(lineStart);
+                    }
+                }
+            }
+
+            // The last line may lack its newline
+            if (oversized) {
+                skip(lineStart, "line longer than " + BUFFER_SIZE + " bytes");
+            } else if (lineLength > 0) {
+                parseLine(line, lineLength, lineStart);
+            }
+            commit(position);
+        }
+        return true;
+    }
+
+    private void parseLine(byte[] line, int length, long lineStart) {
+        String text = new String(line, 0, length, StandardCharsets.UTF_8).trim();
+        if (text.isEmpty() || text.startsWith("#")) {
+            return;
+        }
+        HomeRecord record;
+        try {
+            record = GSON.fromJson(text, HomeRecord.class);
+        } catch (JsonParseException e) {
+            skip(lineStart, "not a JSON object");
+            return;
+        }
+        if (record == null || record.player == null || record.player.isEmpty() || record.name == null || record.name.isEmpty()
+                || record.x == null || record.y == null || record.z == null) {
+            skip(lineStart, "player, name, x, y or z missing");
+            return;
+        }
+        HomeData.HomeLocation location = HomeData.validate(new HomeData.HomeLocation(record.x, record.y, record.z, record.world));
+        if (location == null) {
+            skip(lineStart, "coordinates are not finite");
+            return;
+        }
+
+        records.incrementAndGet();
+        UUID playerId = HomeTable.parsePlayerId(record.player);
+        String key = playerId != null ? playerId.toString() : record.player;
+        if (batch.computeIfAbsent(key, k -> new HashMap<>()).putIfAbsent(record.name, location) == null) {
+            batchHomes++;
+        } else {
+            // The same home twice in one batch, the first one wins as it would across batches
+            skipped.incrementAndGet();
+        }
+    }
+
+    private void skip(long lineStart, String reason) {
+        skipped.incrementAndGet();
+        LOG.debug(() -> "Skipped line at byte " + lineStart + " of " + file.getFileName() + ": " + reason);
+    }
+
+    /**
+     * Merge the pending batch, then record that the file is done up to the given offset
+     */
+    private void commit(long done) throws IOException {
+        if (!batch.isEmpty()) {
+            int added = homeManager.importBatch(batch);
+            skipped.addAndGet(batchHomes - added);
+            batch.clear();
+            batchHomes = 0;
+        }
+        offset = done;
+        writeCheckpoint(null);
+        logProgress();
+    }
+}
\ No newline at end of file
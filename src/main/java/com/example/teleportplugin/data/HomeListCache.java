@@ -0,0 +1,115 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.messages.MessageTemplate;
+
+import com.example.teleportplugin.util.ConcurrentUuidMap;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-player cache of the sorted home list with the location text already rendered,
+ * so /home list does not format every location on every call. A player's entry is
+ * dropped by the HomeManager change listener whenever their homes change.
+ */
+public class HomeListCache {
+    private final HomeManager homeManager;
+    private final ConcurrentUuidMap<Rendered> cache = new ConcurrentUuidMap<>();
+
+    public HomeListCache(HomeManager homeManager) {
+        this.homeManager = homeManager;
+        // Runs after the change is in the home map; remove waits for a render of the same player in progress
+        homeManager.addChangeListener(cache::remove);
+    }
+
+    /**
+     * One page of a player's homes, sorted by name. Pages start at 1; a page past the
+     * end comes back with no entries.
+     */
+    public Page getPage(UUID playerId, int page, int pageSize) {
+        Rendered rendered = cache.computeIfAbsent(playerId, this::render);
+        int size = Math.max(1, pageSize);
+        int total = rendered.names.length;
+        int pageCount = Math.max(1, (total + size - 1) / size);
+        int from = (int) Math.min(total, (long) (page - 1) * size);
+        int to = Math.min(total, from + size);
+        if (page < 1) {
+            from = to = 0;
+        }
+        return new Page(page, pageCount, total, from,
+                Arrays.copyOfRange(rendered.names, from, to),
+                Arrays.copyOfRange(rendered.locations, from, to));
+    }
+
+    /**
+     * Drop a player's entry, e.g. when they leave
+     */
+    public void invalidate(UUID playerId) {
+        cache.remove(playerId);
+    }
+
+    /**
+     * Number of players with a cached list
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private Rendered render(UUID playerId) {
+        Set<String> homeNames = homeManager.getHomeNames(playerId);
+        String[] names = homeNames.toArray(new String[0]);
+        Arrays.sort(names, String.CASE_INSENSITIVE_ORDER);
+
+        String[] locations = new String[names.length];
+        StringBuilder builder = new StringBuilder(48);
+        int count = 0;
+        for (String name : names) {
+            HomeData.HomeLocation home = homeManager.getHome(playerId, name);
+            if (home == null) {
+                continue; // Deleted while rendering, the change listener drops this entry right after
+            }
+            builder.setLength(0);
+            builder.append('(');
+            MessageTemplate.appendCoordinate(builder, home.x).append(", ");
+            MessageTemplate.appendCoordinate(builder, home.y).append(", ");
+            MessageTemplate.appendCoordinate(builder, home.z).append(") in ").append(home.worldId);
+            names[count] = name;
+            locations[count] = builder.toString();
+            count++;
+        }
+        return new Rendered(Arrays.copyOf(names, count), Arrays.copyOf(locations, count));
+    }
+
+    /**
+     * A slice of a player's home list. {@code firstIndex} is the zero-based position of
+     * the first entry in the full list.
+     */
+    public static final class Page {
+        public final int page;
+        public final int pageCount;
+        public final int total;
+        public final int firstIndex;
+        public final String[] names;
+        public final String[] locations;
+
+        Page(int page, int pageCount, int total, int firstIndex, String[] names, String[] locations) {
+            this.page = page;
+            this.pageCount = pageCount;
+            this.total = total;
+            this.firstIndex = firstIndex;
+            this.names = names;
+            this.locations = locations;
+        }
+    }
+
+    private static final class Rendered {
+        final String[] names;
+        final String[] locations;
+
+        Rendered(String[] names, String[] locations) {
+            this.names = names;
+            this.locations = locations;
+        }
+    }
+}
\ No newline at end of file
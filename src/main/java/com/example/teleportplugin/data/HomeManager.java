@@ -1,86 +1,717 @@
 package com.example.teleportplugin.data;
 
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.logging.PluginLogger;
+
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class HomeManager {
-    // Player Name -> Map von Home-Namen -> Home-Positionen
-    private final Map<String, Map<String, HomeData.HomeLocation>> homes;
-    private final Path dataDirectory;
+    private static final PluginLogger LOG = PluginLogger.get("HomeManager");
+    private final HomeStore store;
+    // Homes in memory and their indexes, shared with the parts below
+    private final HomeTable table;
+    private final WorldResidency worlds;
+    private final HomePersistence persistence;
+    private final PlayerCache cache;
+    private final int completionMaxResults;
 
     public HomeManager(Path dataDirectory) {
-        this.dataDirectory = dataDirectory;
-        this.homes = HomeData.loadHomes(dataDirectory);
-        System.out.println("[HomeManager] Home data system initialized with JSON persistence");
+        this(new SnapshotHomeStore(dataDirectory));
+    }
+
+    /**
+     * Create a manager that loads everything up front and saves synchronously on every change
+     */
+    public HomeManager(HomeStore store) {
+        this(store, synchronousConfig());
+    }
+
+    /**
+     * Create a manager using the persistence and cache settings from the configuration
+     */
+    public HomeManager(HomeStore store, PluginConfig config) {
+        this.store = store;
+        this.table = new HomeTable(config.stringPoolMaxSize, config.spatialIndexCellSize);
+        this.completionMaxResults = config.homeCompletionMaxResults;
+        this.worlds = new WorldResidency(store, table, config);
+        this.persistence = new HomePersistence(store, table, worlds, config);
+        this.cache = new PlayerCache(store, table, persistence, config);
+
+        if (!cache.isEnabled() && !worlds.isEnabled()) {
+            long start = System.nanoTime();
+            store.loadAll((key, playerHomes) -> {
+                UUID playerId = HomeTable.parsePlayerId(key);
+                if (playerId != null) {
+                    Map<String, HomeData.HomeLocation> interned = table.internHomes(playerHomes);
+                    table.homes.put(playerId, interned);
+                    table.index(playerId, interned);
+                } else {
+                    table.legacyHomes.put(key, table.internHomes(playerHomes));
+                }
+            });
+            LOG.info("Loaded homes for " + (table.homes.size() + table.legacyHomes.size()) + " players in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        }
+        if (!table.legacyHomes.isEmpty()) {
+            LOG.info(table.legacyHomes.size() + " players still have homes stored under their display name,"
+                    + " they move over when they next use a command");
+        }
     }
 
-    public void setHome(String playerId, String name, double x, double y, double z) {
+    /**
+     * Tell the manager which display name a player currently has. Homes saved under that
+     * name before homes were keyed by UUID move to the player's UUID. Cheap when the name
+     * did not change since the last call.
+     */
+    public void identify(UUID playerId, String displayName) {
+        if (displayName == null) {
+            return;
+        }
+        boolean renamed = !displayName.equals(table.knownNames.get(playerId));
+        // A world loaded after the player was identified may have brought more name-keyed homes
+        if (!renamed && table.legacyHomes.isEmpty()) {
+            return;
+        }
+        if (renamed) {
+            table.knownNames.put(playerId, displayName);
+        }
+
+        if (renamed) {
+            // The name's homes may be in worlds that are not loaded, the migration must see all of them
+            loadWorlds(displayName);
+        }
+        Map<String, HomeData.HomeLocation> legacy = table.legacyHomes.remove(displayName);
+        if (legacy == null && renamed && cache.isEnabled() && HomeTable.parsePlayerId(displayName) == null) {
+            // Lazy mode never loaded the name-keyed shards, look for this player's one
+            Map<String, HomeData.HomeLocation> loaded = store.loadPlayer(displayName);
+            legacy = loaded.isEmpty() ? null : table.internHomes(loaded);
+        }
+        if (legacy != null) {
+            migrate(playerId, displayName, legacy);
+        }
+    }
+
+    /**
+     * Merge homes stored under a display name into the player's UUID entry, homes already
+     * stored under the UUID win. Both keys are saved so the old entry disappears from disk.
+     */
+    private void migrate(UUID playerId, String legacyKey, Map<String, HomeData.HomeLocation> legacy) {
+        String key = playerId.toString();
+        table.evictionLock.readLock().lock();
+        try {
+            // A lazy player's shard is read before the homes map is locked
+            cache.get(playerId);
+            table.homes.compute(playerId, (id, playerHomes) -> {
+                if (playerHomes == null) {
+                    playerHomes = new ConcurrentHashMap<>();
+                }
+                for (Map.Entry<String, HomeData.HomeLocation> entry : legacy.entrySet()) {
+                    if (worlds.worldOf(key, entry.getKey()) == null
+                            && playerHomes.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                        table.spatialIndex.add(id, entry.getKey(), entry.getValue());
+                        table.nameIndex.add(id, entry.getKey());
+                        store.recordSet(key, entry.getKey(), entry.getValue());
+                        worlds.recordHome(key, entry.getKey(), entry.getValue().worldId);
+                    }
+                    store.recordDelete(legacyKey, entry.getKey());
+                    worlds.forgetHome(legacyKey, entry.getKey());
+                    worlds.markDirty(entry.getValue().worldId);
+                }
+                return playerHomes;
+            });
+            persistence.savePlayer(playerId);
+            persistence.saveLegacyKey(legacyKey);
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+        table.notifyChanged(playerId);
+        LOG.info("Moved " + legacy.size() + " homes of '" + legacyKey + "' to " + playerId);
+    }
+
+    public void setHome(UUID playerId, String name, double x, double y, double z) {
         setHome(playerId, name, x, y, z, "default");
     }
 
-    public void setHome(String playerId, String name, double x, double y, double z, String worldId) {
-        homes.computeIfAbsent(playerId, k -> new HashMap<>())
-              .put(name, new HomeData.HomeLocation(x, y, z, worldId));
-        saveData();
-        System.out.println("[HomeManager] Set home '" + name + "' for player " + playerId + " at " + new HomeData.HomeLocation(x, y, z, worldId));
+    public void setHome(UUID playerId, String name, double x, double y, double z, String worldId) {
+        String pooledName = table.strings.intern(name);
+        HomeData.HomeLocation location = new HomeData.HomeLocation(x, y, z, table.strings.intern(worldId));
+        // A home moving between worlds must also leave its old world's partition
+        String previousWorld = worlds.worldOf(playerId.toString(), pooledName);
+        if (previousWorld != null) {
+            loadWorld(previousWorld);
+        }
+        loadWorld(location.worldId);
+        table.evictionLock.readLock().lock();
+        try {
+            cache.get(playerId);
+            // Record inside compute so journal order matches the order changes hit the map
+            table.homes.compute(playerId, (id, playerHomes) -> {
+                if (playerHomes == null) {
+                    playerHomes = new ConcurrentHashMap<>();
+                }
+                HomeData.HomeLocation previous = playerHomes.put(pooledName, location);
+                table.spatialIndex.move(id, pooledName, previous, location);
+                if (previous == null) {
+                    table.nameIndex.add(id, pooledName);
+                }
+                store.recordSet(id.toString(), pooledName, location);
+                worlds.recordHome(id.toString(), pooledName, location.worldId);
+                worlds.markDirty(location.worldId);
+                if (previous != null && !previous.worldId.equals(location.worldId)) {
+                    worlds.markDirty(previous.worldId);
+                }
+                return playerHomes;
+            });
+            persistence.savePlayer(playerId);
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+        table.notifyChanged(playerId);
+        LOG.debug(() -> "Set home '" + name + "' for player " + playerId + " at " + location);
     }
 
-    public HomeData.HomeLocation getHome(String playerId, String name) {
-        Map<String, HomeData.HomeLocation> playerHomes = homes.get(playerId);
+    public HomeData.HomeLocation getHome(UUID playerId, String name) {
+        if (!loadWorldOf(playerId, name)) {
+            return null;
+        }
+        Map<String, HomeData.HomeLocation> playerHomes = cache.get(playerId);
         if (playerHomes == null) {
             return null;
         }
         return playerHomes.get(name);
     }
 
-    public boolean deleteHome(String playerId, String name) {
-        Map<String, HomeData.HomeLocation> playerHomes = homes.get(playerId);
-        if (playerHomes == null) {
+    public boolean deleteHome(UUID playerId, String name) {
+        AtomicBoolean removed = new AtomicBoolean(false);
+        if (!loadWorldOf(playerId, name)) {
             return false;
         }
-        boolean removed = playerHomes.remove(name) != null;
-        if (removed) {
-            saveData();
-            System.out.println("[HomeManager] Deleted home '" + name + "' for player " + playerId);
+        table.evictionLock.readLock().lock();
+        try {
+            // A lazy player's shard is read before the homes map is locked
+            cache.get(playerId);
+            table.homes.compute(playerId, (id, playerHomes) -> {
+                if (playerHomes == null) {
+                    return null;
+                }
+                HomeData.HomeLocation location = playerHomes.remove(name);
+                if (location != null) {
+                    table.spatialIndex.remove(id, name, location);
+                    table.nameIndex.remove(id, name);
+                    removed.set(true);
+                    store.recordDelete(id.toString(), name);
+                    worlds.forgetHome(id.toString(), name);
+                    worlds.markDirty(location.worldId);
+                }
+                // In lazy mode an empty map marks the player as loaded until it is evicted
+                return playerHomes.isEmpty() && !cache.isEnabled() ? null : playerHomes;
+            });
+            if (removed.get()) {
+                persistence.savePlayer(playerId);
+            }
+        } finally {
+            table.evictionLock.readLock().unlock();
         }
-        return removed;
+        if (removed.get()) {
+            table.notifyChanged(playerId);
+            LOG.debug(() -> "Deleted home '" + name + "' for player " + playerId);
+        }
+        return removed.get();
     }
 
-    public Set<String> getHomeNames(String playerId) {
-        Map<String, HomeData.HomeLocation> playerHomes = homes.get(playerId);
+    public Set<String> getHomeNames(UUID playerId) {
+        if (worlds.isEnabled()) {
+            return worlds.homeNames(playerId.toString());
+        }
+        Map<String, HomeData.HomeLocation> playerHomes = cache.get(playerId);
         if (playerHomes == null) {
             return Set.of();
         }
         return playerHomes.keySet();
     }
 
-    public boolean hasHome(String playerId, String name) {
-        Map<String, HomeData.HomeLocation> playerHomes = homes.get(playerId);
+    /**
+     * A player's home names starting with the prefix (ignoring case) for tab completion,
+     * at most the configured number. Only looks at the matching names.
+     */
+    public List<String> completeHomeNames(UUID playerId, String prefix) {
+        if (cache.isEnabled()) {
+            cache.get(playerId);
+        }
+        return table.nameIndex.complete(playerId, prefix, completionMaxResults);
+    }
+
+    public boolean hasHome(UUID playerId, String name) {
+        if (worlds.isEnabled()) {
+            return worlds.worldOf(playerId.toString(), name) != null;
+        }
+        Map<String, HomeData.HomeLocation> playerHomes = cache.get(playerId);
         return playerHomes != null && playerHomes.containsKey(name);
     }
 
     /**
      * Get the number of homes a player has
      */
-    public int getHomeCount(String playerId) {
-        Map<String, HomeData.HomeLocation> playerHomes = homes.get(playerId);
+    public int getHomeCount(UUID playerId) {
+        if (worlds.isEnabled()) {
+            // Counts homes in every world, not only the loaded ones, so limits cannot be dodged
+            return worlds.homeCount(playerId.toString());
+        }
+        Map<String, HomeData.HomeLocation> playerHomes = cache.get(playerId);
         return playerHomes == null ? 0 : playerHomes.size();
     }
 
     /**
-     * Save data to JSON file
+     * In world mode, load the world a home is stored in. False if the player has no such
+     * home, true otherwise and in the other modes.
+     */
+    private boolean loadWorldOf(UUID playerId, String name) {
+        if (!worlds.isEnabled()) {
+            return true;
+        }
+        String worldId = worlds.worldOf(playerId.toString(), name);
+        if (worldId == null) {
+            return false;
+        }
+        loadWorld(worldId);
+        return true;
+    }
+
+    /**
+     * In world mode, load every world a player (UUID or display name key) has homes in
+     */
+    private void loadWorlds(String key) {
+        for (String worldId : worlds.worldsOf(key)) {
+            loadWorld(worldId);
+        }
+    }
+
+    /**
+     * Load a player's homes ahead of the first command, e.g. when they join
+     */
+    public void preload(UUID playerId) {
+        cache.get(playerId);
+    }
+
+    /**
+     * Number of homes in a world, including those of players or worlds not held in memory,
+     * which are loaded to count them
+     */
+    public int countWorldHomes(String worldId) {
+        loadWorld(worldId);
+        table.evictionLock.readLock().lock();
+        try {
+            loadEvictedPlayersIn(worldId);
+            return table.spatialIndex.size(worldId);
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * In lazy mode, load the players with homes in the world that were evicted, so that the
+     * spatial index holds all of the world's homes. Reads the shard of every player not in
+     * memory. The caller holds the eviction read lock, which keeps the loaded players in.
+     */
+    private void loadEvictedPlayersIn(String worldId) {
+        if (!cache.isEnabled()) {
+            return;
+        }
+        // Players with unsaved changes are never evicted, so the shards on disk are current
+        for (String key : store.listPartitions()) {
+            UUID playerId = HomeTable.parsePlayerId(key);
+            if (playerId == null || table.homes.get(playerId) != null) {
+                continue;
+            }
+            for (HomeData.HomeLocation location : store.loadPlayer(key).values()) {
+                if (worldId.equals(location.worldId)) {
+                    cache.get(playerId);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete every home in a world, e.g. after the world was removed. Only the world's own
+     * homes are visited, in lazy mode after loading the players whose homes are there.
+     * Returns the number of homes deleted.
+     */
+    public int purgeWorld(String worldId) {
+        // The world's partition is loaded so that purging also empties it on disk
+        loadWorld(worldId);
+
+        int purged = 0;
+        List<UUID> changed = new ArrayList<>();
+        table.evictionLock.readLock().lock();
+        try {
+            loadEvictedPlayersIn(worldId);
+            Map<UUID, List<String>> byPlayer = new HashMap<>();
+            for (HomeSpatialIndex.Entry entry : table.spatialIndex.world(worldId)) {
+                byPlayer.computeIfAbsent(entry.playerId, id -> new ArrayList<>()).add(entry.name);
+            }
+
+            for (Map.Entry<UUID, List<String>> player : byPlayer.entrySet()) {
+                int[] removed = {0};
+                table.homes.compute(player.getKey(), (id, playerHomes) -> {
+                    if (playerHomes == null) {
+                        return null;
+                    }
+                    for (String name : player.getValue()) {
+                        HomeData.HomeLocation location = playerHomes.get(name);
+                        // Skip homes that were set again in another world meanwhile
+                        if (location != null && worldId.equals(location.worldId) && playerHomes.remove(name, location)) {
+                            table.spatialIndex.remove(id, name, location);
+                            table.nameIndex.remove(id, name);
+                            store.recordDelete(id.toString(), name);
+                            worlds.forgetHome(id.toString(), name);
+                            worlds.markDirty(worldId);
+                            removed[0]++;
+                        }
+                    }
+                    return playerHomes.isEmpty() && !cache.isEnabled() ? null : playerHomes;
+                });
+                if (removed[0] > 0) {
+                    persistence.savePlayer(player.getKey());
+                    changed.add(player.getKey());
+                    purged += removed[0];
+                }
+            }
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+
+        for (UUID playerId : changed) {
+            table.notifyChanged(playerId);
+        }
+        LOG.info("Purged " + purged + " homes of " + changed.size() + " players in world " + worldId);
+        return purged;
+    }
+
+    /**
+     * Merge a batch of imported homes keyed by player UUID (or display name, as in older
+     * data). Homes a player already has win over imported ones. Each player is updated in
+     * one step and the batch is saved once instead of once per home. Returns the number of
+     * homes added.
+     */
+    int importBatch(Map<String, Map<String, HomeData.HomeLocation>> batch) {
+        if (worlds.isEnabled()) {
+            Set<String> worldIds = new HashSet<>();
+            for (Map<String, HomeData.HomeLocation> playerHomes : batch.values()) {
+                for (HomeData.HomeLocation location : playerHomes.values()) {
+                    worldIds.add(location.worldId);
+                }
+            }
+            for (String worldId : worldIds) {
+                loadWorld(worldId);
+            }
+        }
+
+        int added = 0;
+        List<UUID> changed = new ArrayList<>();
+        List<String> changedLegacyKeys = new ArrayList<>();
+        table.evictionLock.readLock().lock();
+        try {
+            for (Map.Entry<String, Map<String, HomeData.HomeLocation>> player : batch.entrySet()) {
+                String key = player.getKey();
+                Map<String, HomeData.HomeLocation> imported = table.internHomes(player.getValue());
+                UUID playerId = HomeTable.parsePlayerId(key);
+                int[] playerAdded = {0};
+                if (playerId != null) {
+                    cache.get(playerId);
+                    table.homes.compute(playerId, (id, playerHomes) -> {
+                        if (playerHomes == null) {
+                            playerHomes = new ConcurrentHashMap<>();
+                        }
+                        for (Map.Entry<String, HomeData.HomeLocation> entry : imported.entrySet()) {
+                            // In world mode the name may be taken in a world that is not loaded
+                            if (worlds.worldOf(key, entry.getKey()) == null
+                                    && playerHomes.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                                table.spatialIndex.add(id, entry.getKey(), entry.getValue());
+                                table.nameIndex.add(id, entry.getKey());
+                                store.recordSet(key, entry.getKey(), entry.getValue());
+                                worlds.recordHome(key, entry.getKey(), entry.getValue().worldId);
+                                worlds.markDirty(entry.getValue().worldId);
+                                playerAdded[0]++;
+                            }
+                        }
+                        return playerHomes.isEmpty() && !cache.isEnabled() ? null : playerHomes;
+                    });
+                    if (playerAdded[0] > 0) {
+                        changed.add(playerId);
+                    }
+                } else {
+                    // Moves to the player's UUID once identify() sees the name
+                    Map<String, HomeData.HomeLocation> stored = cache.isEnabled() && !table.legacyHomes.containsKey(key)
+                            ? table.internHomes(store.loadPlayer(key)) : null;
+                    table.legacyHomes.compute(key, (legacyKey, playerHomes) -> {
+                        if (playerHomes == null) {
+                            playerHomes = stored != null ? stored : new ConcurrentHashMap<>();
+                        }
+                        for (Map.Entry<String, HomeData.HomeLocation> entry : imported.entrySet()) {
+                            if (worlds.worldOf(legacyKey, entry.getKey()) == null
+                                    && playerHomes.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                                store.recordSet(legacyKey, entry.getKey(), entry.getValue());
+                                worlds.recordHome(legacyKey, entry.getKey(), entry.getValue().worldId);
+                                worlds.markDirty(entry.getValue().worldId);
+                                playerAdded[0]++;
+                            }
+                        }
+                        return playerHomes.isEmpty() ? null : playerHomes;
+                    });
+                    if (playerAdded[0] > 0) {
+                        changedLegacyKeys.add(key);
+                    }
+                }
+                added += playerAdded[0];
+            }
+            persistence.saveBatch(changed, changedLegacyKeys);
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+
+        for (UUID playerId : changed) {
+            table.notifyChanged(playerId);
+        }
+        return added;
+    }
+
+    /**
+     * Keys to export every home by, sorted. For stores that load players or worlds on
+     * demand these are the store's partitions, read after pending changes are written, so
+     * homes not held in memory are included; otherwise the keys of all players in memory.
+     */
+    List<String> listExportKeys() {
+        List<String> keys;
+        if (exportsFromStore()) {
+            persistence.flushDirty();
+            keys = new ArrayList<>(store.listPartitions());
+        } else {
+            keys = new ArrayList<>(table.homes.size() + table.legacyHomes.size());
+            for (UUID playerId : table.homes.keys()) {
+                keys.add(playerId.toString());
+            }
+            keys.addAll(table.legacyHomes.keySet());
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Homes under one key from {@link #listExportKeys()}, keyed by player
+     */
+    Map<String, Map<String, HomeData.HomeLocation>> readExportKey(String key) {
+        if (exportsFromStore()) {
+            return store.loadPartition(key);
+        }
+        Map<String, HomeData.HomeLocation> playerHomes = table.storeView.get(key);
+        return playerHomes != null ? Map.of(key, playerHomes) : Map.of();
+    }
+
+    private boolean exportsFromStore() {
+        return store.supportsPlayerLoading() || store.supportsWorldLoading();
+    }
+
+    /**
+     * Whether homes are stored per world and only held in memory while their world is loaded
+     */
+    public boolean isWorldPartitioned() {
+        return worlds.isEnabled();
+    }
+
+    /**
+     * Load a world's homes unless they already are, and keep the world from being unloaded
+     * as idle. Cheap once loaded, so it can run on every tick of the world.
+     */
+    public void loadWorld(String worldId) {
+        if (worlds.load(worldId)) {
+            table.evictionLock.readLock().lock();
+            try {
+                persistence.saveWorlds();
+            } finally {
+                table.evictionLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Save a world's homes if they changed and drop them from memory, e.g. after the world
+     * was unloaded. Returns false if the partition could not be written, or kept changing
+     * while it was written, and stays loaded.
+     */
+    public boolean unloadWorld(String worldId) {
+        return worlds.unload(worldId);
+    }
+
+    /**
+     * Number of worlds whose homes are currently held in memory
+     */
+    public int getLoadedWorldCount() {
+        return worlds.loadedCount();
+    }
+
+    /**
+     * Loaded homes per world and grid cell, for region and nearby queries
+     */
+    public HomeSpatialIndex getSpatialIndex() {
+        return table.spatialIndex;
+    }
+
+    /**
+     * Display name a player last used a command with, or their UUID if not seen since startup
+     */
+    public String getDisplayName(UUID playerId) {
+        String name = table.knownNames.get(playerId);
+        return name != null ? name : playerId.toString();
+    }
+
+    /**
+     * Pool of home names and world IDs
+     */
+    public StringPool getStringPool() {
+        return table.strings;
+    }
+
+    /**
+     * Walk all loaded homes and measure what the string pool saves: every distinct String
+     * instance referenced as home name or world ID is counted once, against the size the
+     * same references would take as separate copies
+     */
+    public InternStats computeInternStats() {
+        List<Map<String, HomeData.HomeLocation>> players = new ArrayList<>(table.homes.size() + table.legacyHomes.size());
+        table.homes.forEach((playerId, playerHomes) -> players.add(playerHomes));
+        players.addAll(table.legacyHomes.values());
+
+        Map<String, Boolean> distinct = new IdentityHashMap<>();
+        long references = 0;
+        long homeCount = 0;
+        long bytesUnshared = 0;
+        long bytesShared = 0;
+        for (Map<String, HomeData.HomeLocation> playerHomes : players) {
+            for (Map.Entry<String, HomeData.HomeLocation> entry : playerHomes.entrySet()) {
+                homeCount++;
+                String[] values = {entry.getKey(), entry.getValue().worldId};
+                for (String value : values) {
+                    long size = StringPool.estimateSize(value);
+                    references++;
+                    bytesUnshared += size;
+                    if (distinct.put(value, Boolean.TRUE) == null) {
+                        bytesShared += size;
+                    }
+                }
+            }
+        }
+        return new InternStats(players.size(), homeCount, references, distinct.size(), bytesUnshared, bytesShared);
+    }
+
+    /**
+     * Result of {@link #computeInternStats()}
+     */
+    public static final class InternStats {
+        public final int players;
+        public final long homes;
+        public final long references;
+        public final int distinctInstances;
+        public final long bytesUnshared;
+        public final long bytesShared;
+
+        InternStats(int players, long homes, long references, int distinctInstances, long bytesUnshared, long bytesShared) {
+            this.players = players;
+            this.homes = homes;
+            this.references = references;
+            this.distinctInstances = distinctInstances;
+            this.bytesUnshared = bytesUnshared;
+            this.bytesShared = bytesShared;
+        }
+
+        public long getBytesSaved() {
+            return bytesUnshared - bytesShared;
+        }
+    }
+
+    /**
+     * Register a listener called with the player ID whenever a player's homes change or are
+     * evicted from memory, e.g. to drop derived per-player caches
+     */
+    public void addChangeListener(Consumer<UUID> listener) {
+        table.addChangeListener(listener);
+    }
+
+    /**
+     * Number of players whose homes are still stored under a display name
      */
-    private void saveData() {
-        HomeData.saveHomes(homes, dataDirectory);
+    public int getLegacyPlayerCount() {
+        return table.legacyHomes.size();
+    }
+
+    /**
+     * Number of players whose homes are currently held in memory
+     */
+    public int getLoadedPlayerCount() {
+        return table.homes.size();
+    }
+
+    /**
+     * Total number of players evicted from the cache since startup
+     */
+    public long getEvictedPlayerCount() {
+        return cache.getEvictedCount();
+    }
+
+    /**
+     * Number of players (or world partitions) with changes not yet written to disk
+     */
+    public int getPendingDirtyCount() {
+        return persistence.getPendingDirtyCount();
+    }
+
+    /**
+     * Age of the oldest unsaved change in milliseconds, 0 if everything is saved
+     */
+    public long getOldestPendingAgeMillis() {
+        return persistence.getOldestPendingAgeMillis();
+    }
+
+    /**
+     * How long the oldest change waited before the last flush wrote it
+     */
+    public long getLastFlushLagMillis() {
+        return persistence.getLastFlushLagMillis();
+    }
+
+    /**
+     * Number of players written by the last flush
+     */
+    public int getLastFlushCount() {
+        return persistence.getLastFlushCount();
     }
 
     /**
      * Manual save method for plugin shutdown
      */
     public void saveAll() {
-        saveData();
-        System.out.println("[HomeManager] Manual save completed");
+        cache.shutdown();
+        worlds.shutdown();
+        persistence.saveAll();
+    }
+
+    private static PluginConfig synchronousConfig() {
+        PluginConfig config = new PluginConfig();
+        config.writeBehindEnabled = false;
+        config.lazyLoadingEnabled = false;
+        return config;
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.util.ConcurrentUuidMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Home names of each loaded player in a sorted array, for tab completion. Names are
+ * ordered case-insensitively, so all names starting with a prefix form one range that is
+ * found with two binary searches; a completion costs the prefix length times log(homes)
+ * plus the results instead of a scan. Arrays are replaced on every change, so readers
+ * never lock. Kept in sync by {@link HomeManager}.
+ */
+public class HomeNameIndex {
+    // Ties between names that only differ in case are broken by the exact name
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+    private static final String[] EMPTY = new String[0];
+
+    private final ConcurrentUuidMap<String[]> names = new ConcurrentUuidMap<>(1024);
+
+    void add(UUID playerId, String name) {
+        names.compute(playerId, (id, current) -> {
+            String[] sorted = current != null ? current : EMPTY;
+            int index = Arrays.binarySearch(sorted, name, ORDER);
+            if (index >= 0) {
+                return current;
+            }
+            int insert = -index - 1;
+            String[] updated = new String[sorted.length + 1];
+            System.arraycopy(sorted, 0, updated, 0, insert);
+            updated[insert] = name;
+            System.arraycopy(sorted, insert, updated, insert + 1, sorted.length - insert);
+            return updated;
+        });
+    }
+
+    void remove(UUID playerId, String name) {
+        names.compute(playerId, (id, current) -> {
+            if (current == null) {
+                return null;
+            }
+            int index = Arrays.binarySearch(current, name, ORDER);
+            if (index < 0) {
+                return current;
+            }
+            if (current.length == 1) {
+                return null;
+            }
+            String[] updated = new String[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            return updated;
+        });
+    }
+
+    void addAll(UUID playerId, Collection<String> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        names.compute(playerId, (id, current) -> {
+            String[] sorted = current != null ? current : EMPTY;
+            String[] merged = Arrays.copyOf(sorted, sorted.length + added.size());
+            int size = sorted.length;
+            for (String name : added) {
+                merged[size++] = name;
+            }
+            Arrays.sort(merged, ORDER);
+            // Drop names that were already present
+            int unique = 0;
+            for (int i = 0; i < merged.length; i++) {
+                if (unique == 0 || !merged[unique - 1].equals(merged[i])) {
+                    merged[unique++] = merged[i];
+                }
+            }
+            return unique == merged.length ? merged : Arrays.copyOf(merged, unique);
+        });
+    }
+
+    /**
+     * Forget all of a player's names, e.g. when their homes leave memory
+     */
+    void clear(UUID playerId) {
+        names.remove(playerId);
+    }
+
+    /**
+     * Up to limit of the player's home names starting with the prefix (ignoring case), in
+     * case-insensitive order
+     */
+    public List<String> complete(UUID playerId, String prefix, int limit) {
+        String[] sorted = names.get(playerId);
+        if (sorted == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int from = firstAtLeast(sorted, prefix, 0);
+        int to = firstAtLeast(sorted, prefix, 1);
+        to = from + Math.min(to - from, limit);
+        List<String> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(sorted[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Number of names indexed for a player
+     */
+    public int size(UUID playerId) {
+        String[] sorted = names.get(playerId);
+        return sorted == null ? 0 : sorted.length;
+    }
+
+    /**
+     * First index whose name compares to the prefix at least as bound: 0 finds the start
+     * of the prefix range, 1 its end
+     */
+    private static int firstAtLeast(String[] sorted, String prefix, int bound) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(sorted[mid], prefix) < bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compare the start of a name with a prefix the way {@link String#CASE_INSENSITIVE_ORDER}
+     * compares strings; 0 if the name starts with the prefix
+     */
+    private static int comparePrefix(String name, String prefix) {
+        int length = Math.min(name.length(), prefix.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = name.charAt(i);
+            char c2 = prefix.charAt(i);
+            if (c1 != c2) {
+                c1 = Character.toUpperCase(c1);
+                c2 = Character.toUpperCase(c2);
+                if (c1 != c2) {
+                    c1 = Character.toLowerCase(c1);
+                    c2 = Character.toLowerCase(c2);
+                    if (c1 != c2) {
+                        return c1 - c2;
+                    }
+                }
+            }
+        }
+        return name.length() < prefix.length() ? -1 : 0;
+    }
+}
\ No newline at end of file
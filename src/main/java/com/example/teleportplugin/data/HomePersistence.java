@@ -0,0 +1,363 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.util.ConcurrentUuidMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes changed homes to the {@link HomeStore}, either right away or in write-behind
+ * batches from a background thread. Callers hold the read side of the eviction lock.
+ * A player stays dirty until a save of their homes succeeds, so failed writes are retried
+ * and the player is not evicted meanwhile.
+ */
+final class HomePersistence {
+    private static final PluginLogger LOG = PluginLogger.get("HomeManager");
+
+    private final HomeStore store;
+    private final HomeTable table;
+    private final WorldResidency worlds;
+
+    // Write-behind state: player -> System.nanoTime() of the first unsaved change
+    private final ConcurrentUuidMap<Long> dirtyPlayers = new ConcurrentUuidMap<>();
+    private final Map<String, Long> dirtyLegacyKeys = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final ScheduledExecutorService flusher;
+    private final int writeBehindBatchSize;
+    private final long shutdownFlushTimeoutMillis;
+    private volatile long lastFlushLagMillis = 0;
+    private volatile int lastFlushCount = 0;
+
+    HomePersistence(HomeStore store, HomeTable table, WorldResidency worlds, PluginConfig config) {
+        this.store = store;
+        this.table = table;
+        this.worlds = worlds;
+        this.writeBehindBatchSize = config.writeBehindBatchSize;
+        this.shutdownFlushTimeoutMillis = config.shutdownFlushTimeoutMillis;
+
+        if (config.writeBehindEnabled) {
+            this.flusher = HomeTable.newDaemonExecutor("HomeManager-Flusher");
+            long interval = Math.max(50, config.writeBehindIntervalMillis);
+            flusher.scheduleWithFixedDelay(this::flushDirty, interval, interval, TimeUnit.MILLISECONDS);
+            LOG.info("Home data system initialized with " + store.getClass().getSimpleName()
+                    + " (write-behind every " + interval + "ms or " + writeBehindBatchSize + " dirty players)");
+        } else {
+            this.flusher = null;
+            LOG.info("Home data system initialized with " + store.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Persist a player's homes after a change, or mark them dirty in write-behind mode
+     */
+    void savePlayer(UUID playerId) {
+        if (worlds.isEnabled()) {
+            // The change marked its worlds dirty, their partitions are written whole
+            saveWorlds();
+            return;
+        }
+        if (dirtyPlayers.get(playerId) == null) {
+            dirtyPlayers.putIfAbsent(playerId, System.nanoTime());
+        }
+        if (flusher == null) {
+            saveDirtyNow();
+            return;
+        }
+        requestFlushIfFull();
+    }
+
+    /**
+     * Persist a display-name key after its homes moved to a UUID
+     */
+    void saveLegacyKey(String legacyKey) {
+        if (worlds.isEnabled()) {
+            // Covered by the worlds the migrated homes marked dirty
+            return;
+        }
+        dirtyLegacyKeys.putIfAbsent(legacyKey, System.nanoTime());
+        if (flusher == null) {
+            saveDirtyNow();
+            return;
+        }
+        requestFlushIfFull();
+    }
+
+    /**
+     * Persist the players changed by one import batch together
+     */
+    void saveBatch(List<UUID> players, List<String> legacyKeys) {
+        if (worlds.isEnabled()) {
+            saveWorlds();
+            return;
+        }
+        if (players.isEmpty() && legacyKeys.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (UUID playerId : players) {
+            if (dirtyPlayers.get(playerId) == null) {
+                dirtyPlayers.putIfAbsent(playerId, now);
+            }
+        }
+        for (String legacyKey : legacyKeys) {
+            dirtyLegacyKeys.putIfAbsent(legacyKey, now);
+        }
+        if (flusher == null) {
+            // Fail the batch so an import stops instead of reporting homes it did not write
+            if (!saveDirtyNow()) {
+                throw new UncheckedIOException(new IOException("Could not save an import batch of "
+                        + (players.size() + legacyKeys.size()) + " players"));
+            }
+            return;
+        }
+        requestFlushIfFull();
+    }
+
+    /**
+     * Write dirty world partitions now, or leave them to the next write-behind flush
+     */
+    void saveWorlds() {
+        if (flusher == null) {
+            flushDirtyWorlds();
+        } else {
+            requestFlushIfFull();
+        }
+    }
+
+    /**
+     * Whether a player has changes not yet written, such players must stay in memory
+     */
+    boolean isDirty(UUID playerId) {
+        return dirtyPlayers.containsKey(playerId);
+    }
+
+    /**
+     * Write the dirty players on the caller's thread, returns false if the write failed.
+     * Only used without write-behind, so the flush lock is always taken after the eviction lock.
+     */
+    private boolean saveDirtyNow() {
+        flushLock.lock();
+        try {
+            return flushDirtyPlayers();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void requestFlushIfFull() {
+        if (getPendingDirtyCount() >= writeBehindBatchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushDirty);
+        }
+    }
+
+    /**
+     * Persist every dirty player in one batch
+     */
+    void flushDirty() {
+        flushRequested.set(false);
+        flushLock.lock();
+        try {
+            flushDirtyLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushDirtyLocked() {
+        // Players leave the dirty set before they are written, keep eviction out until then
+        table.evictionLock.readLock().lock();
+        try {
+            flushDirtyPlayers();
+            flushDirtyWorlds();
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write every dirty player in one batch, returns false if the batch stayed dirty
+     */
+    private boolean flushDirtyPlayers() {
+        if (dirtyPlayers.isEmpty() && dirtyLegacyKeys.isEmpty()) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        long oldest = now;
+        Set<String> batch = new HashSet<>();
+        List<UUID> batchPlayers = new ArrayList<>();
+        for (UUID playerId : dirtyPlayers.keys()) {
+            Long since = dirtyPlayers.remove(playerId);
+            if (since != null) {
+                batch.add(playerId.toString());
+                batchPlayers.add(playerId);
+                oldest = Math.min(oldest, since);
+            }
+        }
+        List<String> batchLegacyKeys = new ArrayList<>();
+        for (String legacyKey : new ArrayList<>(dirtyLegacyKeys.keySet())) {
+            Long since = dirtyLegacyKeys.remove(legacyKey);
+            if (since != null) {
+                batch.add(legacyKey);
+                batchLegacyKeys.add(legacyKey);
+                oldest = Math.min(oldest, since);
+            }
+        }
+
+        try {
+            store.save(table.storeView, batch);
+        } catch (RuntimeException e) {
+            // Keep the batch dirty so the next flush retries it
+            for (UUID playerId : batchPlayers) {
+                dirtyPlayers.putIfAbsent(playerId, oldest);
+            }
+            for (String legacyKey : batchLegacyKeys) {
+                dirtyLegacyKeys.putIfAbsent(legacyKey, oldest);
+            }
+            LOG.error("Error flushing " + batch.size() + " players: " + e.getMessage());
+            return false;
+        }
+
+        lastFlushLagMillis = TimeUnit.NANOSECONDS.toMillis(now - oldest);
+        lastFlushCount = batch.size();
+        LOG.debug(() -> "Flushed " + batch.size() + " dirty players (lag " + lastFlushLagMillis + "ms)");
+        return true;
+    }
+
+    /**
+     * Write every dirty world partition, caller holds the eviction lock
+     */
+    private void flushDirtyWorlds() {
+        if (!worlds.isEnabled()) {
+            return;
+        }
+        WorldPartitions partitions = worlds.partitions();
+        long now = System.nanoTime();
+        long oldest = now;
+        int written = 0;
+        for (int i = 0; i < partitions.count(); i++) {
+            WorldPartitions.Partition partition = partitions.get(i);
+            long since = partition.dirtySince.get();
+            if (since != 0 && worlds.writeWorld(partition)) {
+                oldest = Math.min(oldest, since);
+                written++;
+            }
+        }
+        if (written > 0) {
+            lastFlushLagMillis = TimeUnit.NANOSECONDS.toMillis(now - oldest);
+            lastFlushCount = written;
+        }
+    }
+
+    int getPendingDirtyCount() {
+        WorldPartitions partitions = worlds.partitions();
+        int dirtyWorlds = 0;
+        for (int i = 0; i < partitions.count(); i++) {
+            if (partitions.get(i).dirtySince.get() != 0) {
+                dirtyWorlds++;
+            }
+        }
+        return dirtyPlayers.size() + dirtyLegacyKeys.size() + dirtyWorlds;
+    }
+
+    long getOldestPendingAgeMillis() {
+        long now = System.nanoTime();
+        long[] oldest = {now};
+        dirtyPlayers.forEach((playerId, since) -> oldest[0] = Math.min(oldest[0], since));
+        for (long since : dirtyLegacyKeys.values()) {
+            oldest[0] = Math.min(oldest[0], since);
+        }
+        WorldPartitions partitions = worlds.partitions();
+        for (int i = 0; i < partitions.count(); i++) {
+            long since = partitions.get(i).dirtySince.get();
+            if (since != 0) {
+                oldest[0] = Math.min(oldest[0], since);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(now - oldest[0]);
+    }
+
+    long getLastFlushLagMillis() {
+        return lastFlushLagMillis;
+    }
+
+    int getLastFlushCount() {
+        return lastFlushCount;
+    }
+
+    /**
+     * Write everything still unsaved and close the store, e.g. on shutdown. The store is
+     * closed even if the final write fails or times out.
+     */
+    void saveAll() {
+        if (flusher == null) {
+            try {
+                if (worlds.isEnabled()) {
+                    // Partitions were written on every change, only retry the ones that failed
+                    flushDirtyLocked();
+                } else {
+                    store.saveAll(table.storeView);
+                }
+                LOG.info("Manual save completed");
+            } catch (RuntimeException e) {
+                LOG.error("Manual save failed: " + e.getMessage());
+            } finally {
+                store.close();
+            }
+            return;
+        }
+
+        // Stop the background flusher, then write whatever is still dirty on this thread
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(shutdownFlushTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Background flush did not finish within " + shutdownFlushTimeoutMillis + "ms");
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long start = System.nanoTime();
+        int pending = getPendingDirtyCount();
+        boolean locked = false;
+        try {
+            locked = flushLock.tryLock(shutdownFlushTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (!locked) {
+                LOG.error("Final flush skipped, " + pending + " players left unsaved (flush lock busy)");
+                return;
+            }
+            flushDirtyLocked();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Final flush interrupted, " + pending + " players left unsaved");
+            return;
+        } finally {
+            if (locked) {
+                flushLock.unlock();
+            }
+            store.close();
+        }
+        int unsaved = getPendingDirtyCount();
+        if (unsaved > 0) {
+            LOG.error("Final flush failed, " + unsaved + " players left unsaved");
+            return;
+        }
+        LOG.info("Final flush of " + pending + " players completed in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.example.teleportplugin.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Homes grouped per world into square grid cells on the x/z plane. Region and radius
+ * queries only visit the cells they overlap and a world's homes are listed without
+ * looking at other worlds, so queries cost the size of the area and its result instead
+ * of the total number of homes. Kept in sync by {@link HomeManager}, which only indexes
+ * players whose homes are in memory.
+ */
+public class HomeSpatialIndex {
+    private final int cellShift;
+    private final Map<String, WorldGrid> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * @param cellSize edge length of a grid cell in blocks, rounded down to a power of two
+     */
+    public HomeSpatialIndex(int cellSize) {
+        this.cellShift = Integer.numberOfTrailingZeros(Integer.highestOneBit(Math.max(1, cellSize)));
+    }
+
+    /**
+     * An indexed home
+     */
+    public static final class Entry {
+        public final UUID playerId;
+        public final String name;
+        public final HomeData.HomeLocation location;
+
+        Entry(UUID playerId, String name, HomeData.HomeLocation location) {
+            this.playerId = playerId;
+            this.name = name;
+            this.location = location;
+        }
+    }
+
+    void add(UUID playerId, String name, HomeData.HomeLocation location) {
+        worlds.computeIfAbsent(location.worldId, world -> new WorldGrid()).add(cellKey(location.x, location.z),
+                new Entry(playerId, name, location));
+    }
+
+    void remove(UUID playerId, String name, HomeData.HomeLocation location) {
+        WorldGrid grid = worlds.get(location.worldId);
+        if (grid != null) {
+            grid.remove(cellKey(location.x, location.z), playerId, name);
+        }
+    }
+
+    /**
+     * Replace the entry of a home that was set again, previous may be null
+     */
+    void move(UUID playerId, String name, HomeData.HomeLocation previous, HomeData.HomeLocation location) {
+        if (previous != null) {
+            remove(playerId, name, previous);
+        }
+        add(playerId, name, location);
+    }
+
+    void addAll(UUID playerId, Map<String, HomeData.HomeLocation> playerHomes) {
+        for (Map.Entry<String, HomeData.HomeLocation> home : playerHomes.entrySet()) {
+            add(playerId, home.getKey(), home.getValue());
+        }
+    }
+
+    void removeAll(UUID playerId, Map<String, HomeData.HomeLocation> playerHomes) {
+        for (Map.Entry<String, HomeData.HomeLocation> home : playerHomes.entrySet()) {
+            remove(playerId, home.getKey(), home.getValue());
+        }
+    }
+
+    /**
+     * Homes in a world whose x and z lie within the given bounds (inclusive, in any order)
+     */
+    public List<Entry> region(String worldId, double x1, double z1, double x2, double z2) {
+        WorldGrid grid = worlds.get(worldId);
+        if (grid == null) {
+            return Collections.emptyList();
+        }
+        double minX = Math.min(x1, x2);
+        double maxX = Math.max(x1, x2);
+        double minZ = Math.min(z1, z2);
+        double maxZ = Math.max(z1, z2);
+        return grid.collect(cell(minX), cell(minZ), cell(maxX), cell(maxZ),
+                entry -> entry.location.x >= minX && entry.location.x <= maxX
+                        && entry.location.z >= minZ && entry.location.z <= maxZ);
+    }
+
+    /**
+     * Homes in a world within the radius of a point on the x/z plane, nearest first
+     */
+    public List<Entry> nearby(String worldId, double x, double z, double radius) {
+        WorldGrid grid = worlds.get(worldId);
+        if (grid == null) {
+            return Collections.emptyList();
+        }
+        double radiusSquared = radius * radius;
+        List<Entry> result = grid.collect(cell(x - radius), cell(z - radius), cell(x + radius), cell(z + radius),
+                entry -> distanceSquared(entry, x, z) <= radiusSquared);
+        result.sort(Comparator.comparingDouble(entry -> distanceSquared(entry, x, z)));
+        return result;
+    }
+
+    /**
+     * Every indexed home in a world
+     */
+    public List<Entry> world(String worldId) {
+        WorldGrid grid = worlds.get(worldId);
+        return grid == null ? Collections.emptyList() : grid.all();
+    }
+
+    /**
+     * Worlds with at least one indexed home
+     */
+    public Set<String> getWorlds() {
+        Set<String> result = new TreeSet<>();
+        worlds.forEach((worldId, grid) -> {
+            if (grid.size() > 0) {
+                result.add(worldId);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Number of indexed homes in a world
+     */
+    public int size(String worldId) {
+        WorldGrid grid = worlds.get(worldId);
+        return grid == null ? 0 : grid.size();
+    }
+
+    private static double distanceSquared(Entry entry, double x, double z) {
+        double dx = entry.location.x - x;
+        double dz = entry.location.z - z;
+        return dx * dx + dz * dz;
+    }
+
+    private int cell(double coordinate) {
+        long block = (long) Math.floor(coordinate);
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, block >> cellShift));
+    }
+
+    private long cellKey(double x, double z) {
+        return packCell(cell(x), cell(z));
+    }
+
+    private static long packCell(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Occupied cells of one world; empty cells are dropped so the map only grows with homes
+     */
+    private static final class WorldGrid {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, List<Entry>> cells = new HashMap<>();
+        private int size;
+
+        void add(long key, Entry entry) {
+            lock.writeLock().lock();
+            try {
+                cells.computeIfAbsent(key, k -> new ArrayList<>(2)).add(entry);
+                size++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long key, UUID playerId, String name) {
+            lock.writeLock().lock();
+            try {
+                List<Entry> cell = cells.get(key);
+                if (cell == null) {
+                    return;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.playerId.equals(playerId) && entry.name.equals(name)) {
+                        cell.remove(i);
+                        size--;
+                        break;
+                    }
+                }
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Matching entries of the cells in the given cell range. Walks the range or the occupied
+         * cells, whichever is smaller, so a huge sparse region does not visit empty cells.
+         */
+        List<Entry> collect(int minCellX, int minCellZ, int maxCellX, int maxCellZ, Predicate<Entry> filter) {
+            List<Entry> result = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                long rangeCells = ((long) maxCellX - minCellX + 1) * ((long) maxCellZ - minCellZ + 1);
+                if (rangeCells <= cells.size()) {
+                    // Long counters, an int would wrap around past a range ending at Integer.MAX_VALUE
+                    for (long cellX = minCellX; cellX <= maxCellX; cellX++) {
+                        for (long cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                            List<Entry> cell = cells.get(packCell((int) cellX, (int) cellZ));
+                            if (cell != null) {
+                                addMatching(cell, filter, result);
+                            }
+                        }
+                    }
+                } else {
+                    for (Map.Entry<Long, List<Entry>> cell : cells.entrySet()) {
+                        int cellX = (int) (cell.getKey() >> 32);
+                        int cellZ = (int) (long) cell.getKey();
+                        if (cellX >= minCellX && cellX <= maxCellX && cellZ >= minCellZ && cellZ <= maxCellZ) {
+                            addMatching(cell.getValue(), filter, result);
+                        }
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return result;
+        }
+
+        List<Entry> all() {
+            lock.readLock().lock();
+            try {
+                List<Entry> result = new ArrayList<>(size);
+                for (List<Entry> cell : cells.values()) {
+                    result.addAll(cell);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return size;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private static void addMatching(List<Entry> cell, Predicate<Entry> filter, List<Entry> result) {
+            for (Entry entry : cell) {
+                if (filter.test(entry)) {
+                    result.add(entry);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
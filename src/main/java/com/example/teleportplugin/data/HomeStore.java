@@ -0,0 +1,138 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Persistence backend for home data. Players are keyed by their UUID in text form, or by
+ * display name in data written before homes were keyed by UUID.
+ */
+public interface HomeStore {
+
+    /**
+     * Load every player's homes
+     */
+    Map<String, Map<String, HomeData.HomeLocation>> loadAll();
+
+    /**
+     * Load every player's homes, handing each player to the sink as it is read.
+     * The sink may be called from several threads at once.
+     */
+    default void loadAll(BiConsumer<String, Map<String, HomeData.HomeLocation>> sink) {
+        loadAll().forEach(sink);
+    }
+
+    /**
+     * Whether single players can be loaded on demand with {@link #loadPlayer(String)}
+     */
+    default boolean supportsPlayerLoading() {
+        return false;
+    }
+
+    /**
+     * Load one player's homes, empty if they have none
+     */
+    default Map<String, HomeData.HomeLocation> loadPlayer(String playerId) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot load single players");
+    }
+
+    /**
+     * Whether homes are kept in one partition per world, loaded with {@link #loadWorld(String)}
+     */
+    default boolean supportsWorldLoading() {
+        return false;
+    }
+
+    /**
+     * Worlds that have stored homes, empty unless {@link #supportsWorldLoading()}
+     */
+    default List<String> listWorlds() {
+        return List.of();
+    }
+
+    /**
+     * Load the homes of one world keyed by player, empty if it has none
+     */
+    default Map<String, Map<String, HomeData.HomeLocation>> loadWorld(String worldId) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot load single worlds");
+    }
+
+    /**
+     * Replace the stored homes of one world, throws if the partition could not be written
+     */
+    default void saveWorld(String worldId, Map<String, Map<String, HomeData.HomeLocation>> worldHomes) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot save single worlds");
+    }
+
+    /**
+     * Keys of the files the store keeps homes in, player keys for per-player shards or world
+     * IDs for per-world partitions, so every stored home can be read one file at a time.
+     * Empty if the store keeps all homes in a single file.
+     */
+    default List<String> listPartitions() {
+        return List.of();
+    }
+
+    /**
+     * Homes stored in one of the {@link #listPartitions() partitions}, keyed by player
+     */
+    default Map<String, Map<String, HomeData.HomeLocation>> loadPartition(String partition) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " has no partitions");
+    }
+
+    /**
+     * Persist the given players after their homes changed. Throws
+     * {@link java.io.UncheckedIOException} if they may not have been written, so the caller
+     * keeps them dirty and retries.
+     */
+    void save(Map<String, Map<String, HomeData.HomeLocation>> homes, Set<String> changedPlayers);
+
+    /**
+     * Persist every player's homes, throws {@link java.io.UncheckedIOException} if any
+     * could not be written
+     */
+    void saveAll(Map<String, Map<String, HomeData.HomeLocation>> homes);
+
+    /**
+     * Called after a home was set, before the change is saved. Runs while the player's
+     * homes are locked, so calls for one player arrive in the order of the changes; it
+     * must not read the homes map, and anything that reads the map must not block it.
+     */
+    default void recordSet(String playerId, String name, HomeData.HomeLocation location) {
+    }
+
+    /**
+     * Called after a home was deleted, before the change is saved. Same rules as
+     * {@link #recordSet}.
+     */
+    default void recordDelete(String playerId, String name) {
+    }
+
+    /**
+     * Release files and background threads on shutdown
+     */
+    default void close() {
+    }
+
+    /**
+     * Create the store selected by the configuration
+     */
+    static HomeStore create(PluginConfig config, Path dataDir) {
+        SnapshotFormat format = SnapshotFormat.fromConfig(config.snapshotFormat);
+        if (PluginConfig.STORAGE_SHARDED.equalsIgnoreCase(config.storageMode)) {
+            return new ShardedHomeStore(dataDir, config.startupLoadThreads);
+        }
+        if (PluginConfig.STORAGE_WORLD.equalsIgnoreCase(config.storageMode)) {
+            return new WorldPartitionedHomeStore(dataDir);
+        }
+        if (PluginConfig.STORAGE_JOURNAL.equalsIgnoreCase(config.storageMode)) {
+            return new JournalHomeStore(dataDir, format, config.journalCompactionThresholdBytes);
+        }
+        return new SnapshotHomeStore(dataDir, format);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.util.ConcurrentUuidMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Homes held in memory and the indexes kept in step with them, shared by
+ * {@link HomeManager} and the parts that load, save and drop homes.
+ *
+ * Locking: mutations and flushes hold the read side of {@link #evictionLock}, dropping
+ * players or worlds from memory holds the write side. Inside that, a world partition's
+ * monitor comes before the homes map, whose compute functions may update the indexes
+ * and call {@link HomeStore#recordSet}/{@link HomeStore#recordDelete} but nothing else
+ * of the store.
+ */
+final class HomeTable {
+    // Player UUID -> Map von Home-Namen -> Home-Positionen
+    final ConcurrentUuidMap<Map<String, HomeData.HomeLocation>> homes = new ConcurrentUuidMap<>(1024);
+    // Homes still stored under a display name, moved to the UUID once the player is identified
+    final Map<String, Map<String, HomeData.HomeLocation>> legacyHomes = new ConcurrentHashMap<>();
+    // The store keeps String keys: UUIDs in their text form, display names in data saved before UUID keys
+    final Map<String, Map<String, HomeData.HomeLocation>> storeView = new StoreView();
+    // Display name last seen per player, so identify() only does work after a join or rename
+    final ConcurrentUuidMap<String> knownNames = new ConcurrentUuidMap<>();
+    // Home names and world IDs shared by all players, applied on load and on setHome
+    final StringPool strings;
+    // Loaded homes per world and grid cell, updated together with the homes map
+    final HomeSpatialIndex spatialIndex;
+    // Sorted home names per loaded player for tab completion, updated together with the homes map
+    final HomeNameIndex nameIndex = new HomeNameIndex();
+    final ReentrantReadWriteLock evictionLock = new ReentrantReadWriteLock();
+
+    // Notified with the player ID after that player's homes changed or were dropped from memory
+    private final List<Consumer<UUID>> changeListeners = new CopyOnWriteArrayList<>();
+
+    HomeTable(int stringPoolMaxSize, int spatialIndexCellSize) {
+        this.strings = new StringPool(stringPoolMaxSize);
+        this.spatialIndex = new HomeSpatialIndex(spatialIndexCellSize);
+    }
+
+    /**
+     * Player UUID stored as a key, null if the key is a display name from older data
+     */
+    static UUID parsePlayerId(String key) {
+        if (key.length() != 36 || key.charAt(8) != '-' || key.charAt(13) != '-'
+                || key.charAt(18) != '-' || key.charAt(23) != '-') {
+            return null;
+        }
+        try {
+            return UUID.fromString(key);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copy loaded homes into a live map, replacing names and world IDs by their pooled instances
+     */
+    Map<String, HomeData.HomeLocation> internHomes(Map<String, HomeData.HomeLocation> loaded) {
+        Map<String, HomeData.HomeLocation> playerHomes = new ConcurrentHashMap<>(loaded.size());
+        for (Map.Entry<String, HomeData.HomeLocation> entry : loaded.entrySet()) {
+            HomeData.HomeLocation location = entry.getValue();
+            String worldId = strings.intern(location.worldId);
+            if (worldId != location.worldId) {
+                location = new HomeData.HomeLocation(location.x, location.y, location.z, worldId);
+            }
+            playerHomes.put(strings.intern(entry.getKey()), location);
+        }
+        return playerHomes;
+    }
+
+    /**
+     * Add a player's homes to the indexes, e.g. after they were loaded
+     */
+    void index(UUID playerId, Map<String, HomeData.HomeLocation> playerHomes) {
+        spatialIndex.addAll(playerId, playerHomes);
+        nameIndex.addAll(playerId, playerHomes.keySet());
+    }
+
+    void addChangeListener(Consumer<UUID> listener) {
+        changeListeners.add(listener);
+    }
+
+    void notifyChanged(UUID playerId) {
+        for (Consumer<UUID> listener : changeListeners) {
+            listener.accept(playerId);
+        }
+    }
+
+    /**
+     * Single background thread for the home data system, never keeps the server alive
+     */
+    static ScheduledExecutorService newDaemonExecutor(String name) {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Read-only view of all homes under their store keys, handed to the {@link HomeStore}
+     */
+    private final class StoreView extends AbstractMap<String, Map<String, HomeData.HomeLocation>> {
+        @Override
+        public Map<String, HomeData.HomeLocation> get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            UUID playerId = parsePlayerId((String) key);
+            return playerId != null ? homes.get(playerId) : legacyHomes.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return homes.size() + legacyHomes.size();
+        }
+
+        @Override
+        public Set<Entry<String, Map<String, HomeData.HomeLocation>>> entrySet() {
+            List<Entry<String, Map<String, HomeData.HomeLocation>>> entries = new ArrayList<>(size());
+            homes.forEach((playerId, playerHomes) -> entries.add(new SimpleImmutableEntry<>(playerId.toString(), playerHomes)));
+            for (Entry<String, Map<String, HomeData.HomeLocation>> entry : legacyHomes.entrySet()) {
+                entries.add(new SimpleImmutableEntry<>(entry));
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Map<String, HomeData.HomeLocation>>> iterator() {
+                    return entries.iterator();
+                }
+
+                @Override
+                public int size() {
+                    return entries.size();
+                }
+            };
+        }
+    }
+}
\ No newline at end of file
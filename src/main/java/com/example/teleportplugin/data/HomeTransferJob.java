@@ -0,0 +1,243 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.util.ByteRateLimiter;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bulk import or export of homes as NDJSON: one JSON object per line, e.g.
+ * {"player":"<uuid>","name":"base","world":"default","x":1.0,"y":64.0,"z":-3.0}.
+ * Runs on the transfer thread of {@link HomeTransferService}, streams the file through a
+ * fixed buffer and records a checkpoint (file offset plus counters) after every batch,
+ * so a cancelled or failed transfer can be resumed where it stopped.
+ */
+public abstract class HomeTransferJob implements Runnable {
+    private static final PluginLogger LOG = PluginLogger.get("HomeTransfer");
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    static final Gson GSON = new Gson();
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final long PROGRESS_INTERVAL = 100_000;
+
+    public enum Kind { IMPORT, EXPORT }
+
+    public enum State { RUNNING, DONE, CANCELLED, FAILED }
+
+    final HomeManager homeManager;
+    final Path file;
+    final boolean resume;
+    final int batchSize;
+    final ByteRateLimiter limiter;
+
+    final AtomicLong records = new AtomicLong();
+    final AtomicLong skipped = new AtomicLong();
+    volatile long offset;
+    volatile boolean cancelRequested;
+    private volatile State state = State.RUNNING;
+    private volatile String error;
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+    private long nextProgress = PROGRESS_INTERVAL;
+
+    HomeTransferJob(HomeManager homeManager, Path file, boolean resume, int batchSize, long maxBytesPerSecond) {
+        this.homeManager = homeManager;
+        this.file = file;
+        this.resume = resume;
+        this.batchSize = Math.max(1, batchSize);
+        this.limiter = new ByteRateLimiter(maxBytesPerSecond);
+    }
+
+    public abstract Kind getKind();
+
+    /**
+     * Stream the file, checking {@link #cancelRequested} between batches. Returns false if
+     * it stopped early because of a cancel.
+     */
+    abstract boolean transfer() throws IOException, InterruptedException;
+
+    @Override
+    public final void run() {
+        String name = getKindName() + " of " + file.getFileName();
+        LOG.info("Starting " + name + (resume ? " (resuming)" : "")
+                + (limiter.isLimited() ? "" : " without a rate limit"));
+        try {
+            state = transfer() ? State.DONE : State.CANCELLED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.CANCELLED;
+        } catch (IOException | RuntimeException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.toString();
+            state = State.FAILED;
+            LOG.error("Error during " + name + " at byte " + offset + ": " + error, e);
+        } finally {
+            endNanos = System.nanoTime();
+        }
+
+        if (state == State.DONE) {
+            deleteCheckpoint();
+        }
+        LOG.info(name + " " + getStateName() + ": " + records.get() + " records, " + skipped.get()
+                + " skipped, " + offset + " bytes in " + getElapsedMillis() + "ms");
+    }
+
+    /**
+     * Ask the job to stop after the current batch; its checkpoint allows resuming it
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getKindName() {
+        return getKind().name().toLowerCase(Locale.ROOT);
+    }
+
+    public String getStateName() {
+        return state.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Records read or written so far, including those of earlier runs when resumed
+     */
+    public long getRecords() {
+        return records.get();
+    }
+
+    /**
+     * Import: invalid lines and homes the player already had. Export: always 0.
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Byte offset in the file up to which the transfer is complete
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Why the job failed, null unless it did
+     */
+    public String getError() {
+        return error;
+    }
+
+    public long getElapsedMillis() {
+        long end = state == State.RUNNING ? System.nanoTime() : endNanos;
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    void logProgress() {
+        if (records.get() >= nextProgress) {
+            nextProgress = records.get() + PROGRESS_INTERVAL;
+            LOG.info(getKindName() + " of " + file.getFileName() + ": " + records.get() + " records, "
+                    + (offset / (1024 * 1024)) + " MiB");
+        }
+    }
+
+    /**
+     * Where a transfer of this file stopped, null to start from the beginning
+     */
+    Checkpoint readCheckpoint() {
+        if (!resume) {
+            return null;
+        }
+        Path checkpointFile = checkpointPath();
+        if (!Files.exists(checkpointFile)) {
+            LOG.warn("No checkpoint for " + file.getFileName() + ", starting from the beginning");
+            return null;
+        }
+        try {
+            Checkpoint checkpoint = GSON.fromJson(Files.readString(checkpointFile), Checkpoint.class);
+            if (checkpoint == null || checkpoint.kind != getKind() || checkpoint.offset < 0) {
+                LOG.warn("Checkpoint of " + file.getFileName() + " does not belong to an " + getKindName()
+                        + ", starting from the beginning");
+                return null;
+            }
+            records.set(checkpoint.records);
+            skipped.set(checkpoint.skipped);
+            offset = checkpoint.offset;
+            LOG.info("Resuming " + getKindName() + " of " + file.getFileName() + " at byte " + checkpoint.offset);
+            return checkpoint;
+        } catch (IOException | JsonParseException e) {
+            LOG.warn("Unreadable checkpoint of " + file.getFileName() + ", starting from the beginning: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Record that everything before the current offset is done
+     */
+    void writeCheckpoint(String lastKey) throws IOException {
+        Checkpoint checkpoint = new Checkpoint();
+        checkpoint.kind = getKind();
+        checkpoint.offset = offset;
+        checkpoint.records = records.get();
+        checkpoint.skipped = skipped.get();
+        checkpoint.lastKey = lastKey;
+        HomeData.writeAtomically(checkpointPath(), GSON.toJson(checkpoint));
+    }
+
+    private void deleteCheckpoint() {
+        try {
+            Files.deleteIfExists(checkpointPath());
+        } catch (IOException e) {
+            LOG.warn("Could not delete checkpoint of " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private Path checkpointPath() {
+        return file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX);
+    }
+
+    /**
+     * Progress saved next to the transfer file as <file>.checkpoint
+     */
+    static final class Checkpoint {
+        Kind kind;
+        long offset;
+        long records;
+        long skipped;
+        String lastKey; // Export only: the last partition (player or world) written completely
+    }
+
+    /**
+     * One line of a transfer file
+     */
+    static final class HomeRecord {
+        String player;
+        String name;
+        String world;
+        Double x;
+        Double y;
+        Double z;
+
+        HomeRecord() {
+        }
+
+        HomeRecord(String player, String name, HomeData.HomeLocation location) {
+            this.player = player;
+            this.name = name;
+            this.world = location.worldId;
+            this.x = location.x;
+            this.y = location.y;
+            this.z = location.z;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.logging.PluginLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bulk imports and exports of homes on a background thread, one at a time, so the
+ * world thread only starts them and reads their progress. Transfer files live in the
+ * transfers folder of the plugin directory; names that point outside of it are refused.
+ */
+public class HomeTransferService {
+    private static final PluginLogger LOG = PluginLogger.get("HomeTransfer");
+    private static final String DIRECTORY = "transfers";
+
+    private final HomeManager homeManager;
+    private final Path directory;
+    private final long maxBytesPerSecond;
+    private final int batchSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "TeleportPlugin-Transfer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private volatile HomeTransferJob currentJob;
+
+    public HomeTransferService(HomeManager homeManager, PluginConfig config, Path dataDir) {
+        this.homeManager = homeManager;
+        this.directory = dataDir.resolve(DIRECTORY).toAbsolutePath().normalize();
+        this.maxBytesPerSecond = config.transferMaxBytesPerSecond;
+        this.batchSize = config.transferBatchSize;
+    }
+
+    /**
+     * Start writing all loaded homes to a file, resuming an earlier export of it if asked
+     *
+     * @throws IllegalArgumentException if the file name is not usable
+     * @throws IllegalStateException if another transfer is running
+     */
+    public synchronized HomeTransferJob startExport(String fileName, boolean resume) {
+        Path file = resolve(fileName);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return start(new HomeExportJob(homeManager, file, resume, batchSize, maxBytesPerSecond));
+    }
+
+    /**
+     * Start merging the homes of a file, resuming an earlier import of it if asked
+     *
+     * @throws IllegalArgumentException if the file name is not usable or the file does not exist
+     * @throws IllegalStateException if another transfer is running
+     */
+    public synchronized HomeTransferJob startImport(String fileName, boolean resume) {
+        Path file = resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No file " + fileName + " in " + directory);
+        }
+        return start(new HomeImportJob(homeManager, file, resume, batchSize, maxBytesPerSecond));
+    }
+
+    /**
+     * The running transfer, or the last one that ended; null if none was started
+     */
+    public HomeTransferJob getCurrentJob() {
+        return currentJob;
+    }
+
+    /**
+     * Ask the running transfer to stop, returns false if none is running
+     */
+    public synchronized boolean cancel() {
+        HomeTransferJob job = currentJob;
+        if (job == null || job.getState() != HomeTransferJob.State.RUNNING) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * Stop the running transfer at its next batch so that it leaves a checkpoint
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Transfer did not stop within 10s");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HomeTransferJob start(HomeTransferJob job) {
+        HomeTransferJob running = currentJob;
+        if (running != null && running.getState() == HomeTransferJob.State.RUNNING) {
+            throw new IllegalStateException("The " + running.getKindName() + " of " + running.getFile().getFileName() + " is still running");
+        }
+        currentJob = job;
+        executor.execute(job);
+        return job;
+    }
+
+    private Path resolve(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new IllegalArgumentException("No file name given");
+        }
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || file.equals(directory) || fileName.endsWith(".checkpoint")) {
+            throw new IllegalArgumentException("File " + fileName + " is outside of " + directory);
+        }
+        return file;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,429 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.metrics.Counter;
+import com.example.teleportplugin.metrics.MetricsRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Stores homes as a snapshot (homes.json or homes.bin) plus an append-only journal of
+ * set/delete records. Each mutation is a small sequential append; once the
+ * journal grows past a threshold a background compactor folds it into a new
+ * snapshot.
+ *
+ * A save returns once the records appended before it are on disk. Saves from several
+ * threads share fsyncs: records appended while one fsync runs are covered by the next,
+ * and a save whose records an earlier fsync already covered skips its own.
+ *
+ * If an append fails the journal lacks that change, so the next save writes a full
+ * snapshot instead, and throws if that fails too.
+ *
+ * Record layout: [int length][payload][int crc32(payload)]
+ * Payload: [byte op][UTF playerId][UTF name] and for SET [UTF worldId][double x][double y][double z]
+ */
+public class JournalHomeStore implements HomeStore {
+    private static final PluginLogger LOG = PluginLogger.get("JournalHomeStore");
+    private static final Counter BYTES_WRITTEN = MetricsRegistry.getInstance().counter("storage.bytes_written");
+    private static final Counter SYNCS = MetricsRegistry.getInstance().counter("storage.journal_syncs");
+    static final String JOURNAL_FILE = "homes.journal";
+    static final String COMPACTING_FILE = "homes.journal.compacting";
+
+    private static final byte OP_SET = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final Path dataDir;
+    private final SnapshotFormat format;
+    private final Path journalFile;
+    private final Path compactingFile;
+    private final long compactionThresholdBytes;
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "HomeJournal-Compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel channel;
+    private volatile long journalSize;
+    // Group commit: records appended so far, and how many of them an fsync covered
+    private long appendedRecords;
+    private volatile long syncedRecords;
+    private final Object syncLock = new Object();
+    // Set when a record could not be appended, cleared once a snapshot holds the change
+    private volatile boolean appendFailed;
+
+    public JournalHomeStore(Path dataDir, SnapshotFormat format, long compactionThresholdBytes) {
+        this.dataDir = dataDir;
+        this.format = format;
+        this.journalFile = dataDir.resolve(JOURNAL_FILE);
+        this.compactingFile = dataDir.resolve(COMPACTING_FILE);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+    }
+
+    @Override
+    public synchronized Map<String, Map<String, HomeData.HomeLocation>> loadAll() {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = format.load(dataDir);
+
+        // Replay a journal left over from an interrupted compaction first, then the live journal
+        if (Files.exists(compactingFile)) {
+            replay(compactingFile, homes);
+        }
+        long validLength = Files.exists(journalFile) ? replay(journalFile, homes) : 0;
+
+        try {
+            Files.createDirectories(dataDir);
+            openJournal();
+            if (channel.size() > validLength) {
+                LOG.warn("Truncating torn journal tail at offset " + validLength);
+                channel.truncate(validLength);
+            }
+            journalSize = validLength;
+        } catch (IOException e) {
+            LOG.error("Error opening journal: " + e.getMessage());
+        }
+        return homes;
+    }
+
+    @Override
+    public synchronized void recordSet(String playerId, String name, HomeData.HomeLocation location) {
+        try (Record record = new Record(OP_SET, playerId, name)) {
+            record.out.writeUTF(location.worldId);
+            record.out.writeDouble(location.x);
+            record.out.writeDouble(location.y);
+            record.out.writeDouble(location.z);
+            append(record.bytes());
+        } catch (IOException e) {
+            appendFailed = true;
+            LOG.error("Error appending set record: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void recordDelete(String playerId, String name) {
+        try (Record record = new Record(OP_DELETE, playerId, name)) {
+            append(record.bytes());
+        } catch (IOException e) {
+            appendFailed = true;
+            LOG.error("Error appending delete record: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void save(Map<String, Map<String, HomeData.HomeLocation>> homes, Set<String> changedPlayers) {
+        if (appendFailed) {
+            LOG.warn("Writing a full snapshot, the journal is missing a change");
+            saveAll(homes);
+            return;
+        }
+        long target;
+        synchronized (this) {
+            target = appendedRecords;
+        }
+        sync(target);
+        if (journalSize >= compactionThresholdBytes && compacting.compareAndSet(false, true)) {
+            Map<String, Map<String, HomeData.HomeLocation>> snapshot = rotate(homes);
+            if (snapshot == null) {
+                compacting.set(false);
+                return;
+            }
+            compactor.execute(() -> {
+                try {
+                    writeSnapshot(snapshot);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Write a snapshot of everything now, after any background compaction finished, so an
+     * older snapshot can never replace this one
+     */
+    @Override
+    public void saveAll(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        while (!compacting.compareAndSet(false, true)) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new IOException("Interrupted while waiting for compaction"));
+            }
+        }
+        try {
+            // Cleared first, a record failing from here on is not in the copy and needs another snapshot
+            boolean hadFailed = appendFailed;
+            appendFailed = false;
+            Map<String, Map<String, HomeData.HomeLocation>> snapshot = rotate(homes);
+            if (snapshot == null || !writeSnapshot(snapshot)) {
+                appendFailed |= hadFailed;
+                throw new UncheckedIOException(new IOException("Could not write a snapshot of the journal"));
+            }
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                if (channel != null) {
+                    channel.force(false);
+                    channel.close();
+                }
+            } catch (IOException e) {
+                LOG.error("Error closing journal: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Current journal size in bytes
+     */
+    public synchronized long getJournalSize() {
+        return journalSize;
+    }
+
+    private void append(byte[] payload) throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            openJournal();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(payload.length + 8);
+        buffer.putInt(payload.length).put(payload).putInt((int) crc.getValue()).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        journalSize += payload.length + 8;
+        appendedRecords++;
+        BYTES_WRITTEN.add(payload.length + 8);
+    }
+
+    /**
+     * Make sure the first target records are on disk. The fsync runs outside this store's
+     * monitor so appends go on meanwhile; they are covered by the next fsync.
+     */
+    private void sync(long target) {
+        synchronized (syncLock) {
+            if (syncedRecords >= target) {
+                return;
+            }
+            FileChannel current;
+            long upTo;
+            synchronized (this) {
+                current = channel;
+                upTo = appendedRecords;
+            }
+            try {
+                if (current != null) {
+                    current.force(false);
+                    SYNCS.increment();
+                }
+            } catch (ClosedByInterruptException e) {
+                // The interrupt closed the channel, the next append opens it again
+                throw new UncheckedIOException(e);
+            } catch (ClosedChannelException e) {
+                // Rotated or closed meanwhile, both force the journal before closing it
+            } catch (IOException e) {
+                LOG.error("Error syncing journal: " + e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+            syncedRecords = upTo;
+        }
+    }
+
+    private void openJournal() throws IOException {
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Move the live journal aside so new records start a fresh journal, then copy the
+     * current state. Returns the copy to snapshot, or null if the journal could not be rotated.
+     *
+     * The copy is taken after the rotation and outside this store's monitor: appends are
+     * made while the caller holds a lock on the player's homes (see {@link HomeStore#recordSet}),
+     * so reading the homes under the monitor would take the two locks in opposite order.
+     * Every record in the rotated journal was appended after its change reached the map,
+     * so the copy contains it; changes that slip in after the rotation are both in the
+     * copy and in the new journal, and replaying them again is harmless.
+     */
+    private Map<String, Map<String, HomeData.HomeLocation>> rotate(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        synchronized (this) {
+            try {
+                if (channel != null) {
+                    if (channel.isOpen()) {
+                        channel.force(false);
+                        channel.close();
+                    }
+                    channel = null;
+                }
+                if (Files.exists(journalFile)) {
+                    if (Files.exists(compactingFile)) {
+                        // A previous compaction failed; keep its records ahead of the newer ones
+                        Files.write(compactingFile, Files.readAllBytes(journalFile), StandardOpenOption.APPEND);
+                        Files.delete(journalFile);
+                    } else {
+                        Files.move(journalFile, compactingFile, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                }
+                openJournal();
+                journalSize = 0;
+            } catch (IOException e) {
+                LOG.error("Error rotating journal: " + e.getMessage());
+                try {
+                    if (channel == null) {
+                        openJournal();
+                    }
+                } catch (IOException reopen) {
+                    LOG.error("Error reopening journal: " + reopen.getMessage());
+                }
+                return null;
+            }
+        }
+
+        Map<String, Map<String, HomeData.HomeLocation>> snapshot = new HashMap<>(homes.size() * 2);
+        for (Map.Entry<String, Map<String, HomeData.HomeLocation>> entry : homes.entrySet()) {
+            snapshot.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replace the snapshot and drop the rotated journal it covers, returns false on failure
+     */
+    private boolean writeSnapshot(Map<String, Map<String, HomeData.HomeLocation>> snapshot) {
+        long start = System.nanoTime();
+        if (!format.save(snapshot, dataDir)) {
+            LOG.error("Compaction failed, keeping " + COMPACTING_FILE + " for replay");
+            return false;
+        }
+        try {
+            Files.deleteIfExists(compactingFile);
+        } catch (IOException e) {
+            LOG.error("Error removing compacted journal: " + e.getMessage());
+        }
+        LOG.info("Compacted journal into snapshot in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        return true;
+    }
+
+    /**
+     * Apply all intact records of a journal file to the map.
+     * Returns the offset just past the last intact record.
+     */
+    static long replay(Path file, Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        long offset = 0;
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                    LOG.warn("Corrupt record length in " + file.getFileName() + " at offset " + offset);
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                int storedCrc = in.readInt();
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != storedCrc) {
+                    LOG.warn("Checksum mismatch in " + file.getFileName() + " at offset " + offset);
+                    break;
+                }
+                apply(payload, homes);
+                offset += length + 8;
+                records++;
+            }
+        } catch (EOFException e) {
+            LOG.warn("Torn record at end of " + file.getFileName() + ", ignoring tail");
+        } catch (IOException e) {
+            LOG.error("Error replaying " + file.getFileName() + ": " + e.getMessage());
+        }
+        LOG.info("Replayed " + records + " records from " + file.getFileName());
+        return offset;
+    }
+
+    private static void apply(byte[] payload, Map<String, Map<String, HomeData.HomeLocation>> homes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        String playerId = in.readUTF();
+        String name = in.readUTF();
+        if (op == OP_SET) {
+            String worldId = in.readUTF();
+            double x = in.readDouble();
+            double y = in.readDouble();
+            double z = in.readDouble();
+            homes.computeIfAbsent(playerId, k -> new HashMap<>()).put(name, new HomeData.HomeLocation(x, y, z, worldId));
+        } else if (op == OP_DELETE) {
+            Map<String, HomeData.HomeLocation> playerHomes = homes.get(playerId);
+            if (playerHomes != null) {
+                playerHomes.remove(name);
+                if (playerHomes.isEmpty()) {
+                    homes.remove(playerId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for a single record payload
+     */
+    private static class Record implements AutoCloseable {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        Record(byte op, String playerId, String name) throws IOException {
+            out.writeByte(op);
+            out.writeUTF(playerId);
+            out.writeUTF(name);
+        }
+
+        byte[] bytes() throws IOException {
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
\ No newline at end of file
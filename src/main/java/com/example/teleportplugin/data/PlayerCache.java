@@ -0,0 +1,176 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.util.ConcurrentUuidMap;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lazy loading of player shards: only players that used a command recently are held in
+ * the homes map, idle ones are evicted. Does nothing when lazy loading is off.
+ */
+final class PlayerCache {
+    private static final PluginLogger LOG = PluginLogger.get("HomeManager");
+
+    private final HomeStore store;
+    private final HomeTable table;
+    private final HomePersistence persistence;
+    private final boolean enabled;
+    private final ConcurrentUuidMap<Long> lastAccess = new ConcurrentUuidMap<>();
+    private final ScheduledExecutorService evictor;
+    private final int maxPlayers;
+    private final long idleMillis;
+    private final AtomicLong evictedPlayers = new AtomicLong();
+
+    PlayerCache(HomeStore store, HomeTable table, HomePersistence persistence, PluginConfig config) {
+        this.store = store;
+        this.table = table;
+        this.persistence = persistence;
+        this.maxPlayers = config.cacheMaxPlayers;
+        this.idleMillis = config.cacheIdleMillis;
+
+        if (config.lazyLoadingEnabled && !store.supportsPlayerLoading()) {
+            LOG.warn("Lazy loading needs the sharded storage mode, loading all homes instead");
+        }
+        this.enabled = config.lazyLoadingEnabled && store.supportsPlayerLoading();
+
+        if (enabled) {
+            this.evictor = HomeTable.newDaemonExecutor("HomeManager-Evictor");
+            long interval = Math.max(1000, config.cacheEvictionIntervalMillis);
+            evictor.scheduleWithFixedDelay(this::evictIdlePlayers, interval, interval, TimeUnit.MILLISECONDS);
+            LOG.info("Lazy loading enabled (max " + maxPlayers + " players, idle " + idleMillis + "ms)");
+        } else {
+            this.evictor = null;
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void touch(UUID playerId) {
+        if (enabled) {
+            lastAccess.put(playerId, System.nanoTime());
+        }
+    }
+
+    /**
+     * Homes of a player, loading them first in lazy mode. Null if the player has none.
+     */
+    Map<String, HomeData.HomeLocation> get(UUID playerId) {
+        Map<String, HomeData.HomeLocation> playerHomes = table.homes.get(playerId);
+        if (!enabled) {
+            return playerHomes;
+        }
+        touch(playerId);
+        if (playerHomes != null) {
+            return playerHomes;
+        }
+        // No eviction between reading the shard and installing it, else a stale copy could win
+        table.evictionLock.readLock().lock();
+        try {
+            return load(playerId);
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Read a player's shard into a live map and index it. The file is read without locking
+     * the homes map; if another thread installed the player meanwhile, its map wins.
+     */
+    private Map<String, HomeData.HomeLocation> load(UUID playerId) {
+        Map<String, HomeData.HomeLocation> playerHomes = table.homes.get(playerId);
+        if (playerHomes != null) {
+            return playerHomes;
+        }
+        Map<String, HomeData.HomeLocation> loaded = table.internHomes(store.loadPlayer(playerId.toString()));
+        return table.homes.compute(playerId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            table.index(id, loaded);
+            return loaded;
+        });
+    }
+
+    /**
+     * Drop players that were idle too long, then the least recently used ones while the
+     * cache is over its size bound. Players with unsaved changes are never evicted.
+     */
+    void evictIdlePlayers() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        int evicted = 0;
+
+        table.evictionLock.writeLock().lock();
+        try {
+            for (UUID playerId : table.homes.keys()) {
+                Long accessed = lastAccess.get(playerId);
+                if ((accessed == null || now - accessed > idleNanos) && evict(playerId)) {
+                    evicted++;
+                }
+            }
+
+            int excess = table.homes.size() - maxPlayers;
+            if (excess > 0) {
+                List<Map.Entry<UUID, Long>> byAge = new ArrayList<>(lastAccess.size());
+                lastAccess.forEach((playerId, accessed) -> byAge.add(new AbstractMap.SimpleImmutableEntry<>(playerId, accessed)));
+                byAge.sort(Map.Entry.comparingByValue());
+                for (Map.Entry<UUID, Long> entry : byAge) {
+                    if (excess <= 0) {
+                        break;
+                    }
+                    if (evict(entry.getKey())) {
+                        evicted++;
+                        excess--;
+                    }
+                }
+            }
+        } finally {
+            table.evictionLock.writeLock().unlock();
+        }
+
+        if (evicted > 0) {
+            evictedPlayers.addAndGet(evicted);
+            LOG.info("Evicted " + evicted + " inactive players, " + table.homes.size() + " still loaded");
+        }
+    }
+
+    private boolean evict(UUID playerId) {
+        if (persistence.isDirty(playerId)) {
+            return false;
+        }
+        lastAccess.remove(playerId);
+        table.knownNames.remove(playerId);
+        Map<String, HomeData.HomeLocation> removed = table.homes.remove(playerId);
+        if (removed == null) {
+            return false;
+        }
+        table.spatialIndex.removeAll(playerId, removed);
+        table.nameIndex.clear(playerId);
+        table.notifyChanged(playerId);
+        return true;
+    }
+
+    long getEvictedCount() {
+        return evictedPlayers.get();
+    }
+
+    /**
+     * Stop evicting, e.g. on shutdown
+     */
+    void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,397 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Stores each player's homes in their own file under homes/, so a mutation
+ * only rewrites the shard of the player that changed.
+ *
+ * A legacy homes.json is split into shards on first use and only renamed once every shard
+ * was written. If it cannot be read or a shard cannot be written, every call that needs
+ * the shards throws {@link UncheckedIOException} and the file is left in place, so no
+ * player is ever saved over a shard that still lacks their old homes.
+ */
+public class ShardedHomeStore implements HomeStore {
+    private static final PluginLogger LOG = PluginLogger.get("ShardedHomeStore");
+    private static final String SHARD_DIR = "homes";
+    private static final String SHARD_SUFFIX = ".json";
+    private static final String MIGRATED_SUFFIX = ".migrated";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type PLAYER_HOMES_TYPE = new TypeToken<Map<String, HomeData.HomeLocation>>(){}.getType();
+
+    private static final int SLOWEST_SHARDS_LOGGED = 5;
+
+    private final Path dataDir;
+    private final Path shardDir;
+    private final int loadParallelism;
+    private volatile boolean migrated = false;
+
+    public ShardedHomeStore(Path dataDir) {
+        this(dataDir, 0);
+    }
+
+    /**
+     * @param loadParallelism threads used to load shards at startup, 0 for one per CPU core
+     */
+    public ShardedHomeStore(Path dataDir, int loadParallelism) {
+        this.dataDir = dataDir;
+        this.shardDir = dataDir.resolve(SHARD_DIR);
+        this.loadParallelism = loadParallelism > 0 ? loadParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public Map<String, Map<String, HomeData.HomeLocation>> loadAll() {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new ConcurrentHashMap<>();
+        loadAll(homes::put);
+        return homes;
+    }
+
+    /**
+     * Read, parse and validate all shards in parallel, handing each player to the sink
+     * from the loader threads
+     */
+    @Override
+    public void loadAll(BiConsumer<String, Map<String, HomeData.HomeLocation>> sink) {
+        ensureMigrated();
+
+        if (!Files.isDirectory(shardDir)) {
+            LOG.info("No home shards found, starting with empty data");
+            return;
+        }
+
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(shardDir, "*" + SHARD_SUFFIX)) {
+            stream.forEach(shards::add);
+        } catch (IOException e) {
+            LOG.error("Error listing home shards: " + e.getMessage());
+            return;
+        }
+
+        long start = System.nanoTime();
+        long[] shardNanos = new long[shards.size()];
+        AtomicInteger players = new AtomicInteger();
+        AtomicInteger homeCount = new AtomicInteger();
+        AtomicInteger invalid = new AtomicInteger();
+
+        List<Callable<Void>> tasks = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            int index = i;
+            tasks.add(() -> {
+                long shardStart = System.nanoTime();
+                Path shard = shards.get(index);
+                String playerId = decodePlayerId(shard.getFileName().toString());
+                Map<String, HomeData.HomeLocation> playerHomes = playerId != null ? readShard(shard) : null;
+                if (playerHomes != null) {
+                    int before = playerHomes.size();
+                    Iterator<Map.Entry<String, HomeData.HomeLocation>> it = playerHomes.entrySet().iterator();
+                    while (it.hasNext()) {
+                        Map.Entry<String, HomeData.HomeLocation> home = it.next();
+                        HomeData.HomeLocation location = HomeData.validate(home.getValue());
+                        if (location == null) {
+                            it.remove();
+                        } else if (location != home.getValue()) {
+                            home.setValue(location);
+                        }
+                    }
+                    invalid.addAndGet(before - playerHomes.size());
+                    if (!playerHomes.isEmpty()) {
+                        sink.accept(playerId, playerHomes);
+                        players.incrementAndGet();
+                        homeCount.addAndGet(playerHomes.size());
+                    }
+                }
+                shardNanos[index] = System.nanoTime() - shardStart;
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(loadParallelism);
+        try {
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while loading home shards");
+        } catch (ExecutionException e) {
+            LOG.error("Error loading home shards: " + e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOG.info("Loaded " + homeCount.get() + " homes for " + players.get() + " players from "
+                + shards.size() + " shards in " + totalMillis + "ms using " + loadParallelism + " threads"
+                + (invalid.get() > 0 ? " (dropped " + invalid.get() + " invalid homes)" : ""));
+        logShardTimings(shards, shardNanos);
+    }
+
+    /**
+     * Log the per-shard timing distribution and the slowest shards
+     */
+    private static void logShardTimings(List<Path> shards, long[] shardNanos) {
+        if (shardNanos.length == 0) {
+            return;
+        }
+        Integer[] order = new Integer[shardNanos.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(shardNanos[a], shardNanos[b]));
+
+        LOG.info(String.format("Shard load time: min %.2fms, median %.2fms, p99 %.2fms, max %.2fms",
+                shardNanos[order[0]] / 1e6,
+                shardNanos[order[order.length / 2]] / 1e6,
+                shardNanos[order[Math.min(order.length - 1, (int) (order.length * 0.99))]] / 1e6,
+                shardNanos[order[order.length - 1]] / 1e6));
+
+        StringBuilder slowest = new StringBuilder("Slowest shards:");
+        for (int i = order.length - 1; i >= Math.max(0, order.length - SLOWEST_SHARDS_LOGGED); i--) {
+            slowest.append(String.format(" %s=%.2fms", shards.get(order[i]).getFileName(), shardNanos[order[i]] / 1e6));
+        }
+        LOG.info(slowest.toString());
+    }
+
+    @Override
+    public boolean supportsPlayerLoading() {
+        return true;
+    }
+
+    @Override
+    public Map<String, HomeData.HomeLocation> loadPlayer(String playerId) {
+        ensureMigrated();
+        Path shard = shardPath(playerId);
+        if (!Files.exists(shard)) {
+            return new HashMap<>();
+        }
+        Map<String, HomeData.HomeLocation> playerHomes = readShard(shard);
+        return playerHomes != null ? playerHomes : new HashMap<>();
+    }
+
+    /**
+     * Player keys that have a shard, throws if the shard directory cannot be listed
+     */
+    @Override
+    public List<String> listPartitions() {
+        ensureMigrated();
+        List<String> players = new ArrayList<>();
+        if (!Files.isDirectory(shardDir)) {
+            return players;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(shardDir, "*" + SHARD_SUFFIX)) {
+            for (Path shard : stream) {
+                String playerId = decodePlayerId(shard.getFileName().toString());
+                if (playerId != null) {
+                    players.add(playerId);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error listing home shards", e);
+        }
+        return players;
+    }
+
+    @Override
+    public Map<String, Map<String, HomeData.HomeLocation>> loadPartition(String playerId) {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        homes.put(playerId, loadPlayer(playerId));
+        return homes;
+    }
+
+    /**
+     * Rewrite the changed players' shards, throws after trying all of them if any failed
+     */
+    @Override
+    public void save(Map<String, Map<String, HomeData.HomeLocation>> homes, Set<String> changedPlayers) {
+        UncheckedIOException failure = null;
+        for (String playerId : changedPlayers) {
+            try {
+                writeShard(playerId, homes.get(playerId));
+            } catch (UncheckedIOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void saveAll(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        int failed = 0;
+        UncheckedIOException failure = null;
+        for (Map.Entry<String, Map<String, HomeData.HomeLocation>> entry : homes.entrySet()) {
+            try {
+                writeShard(entry.getKey(), entry.getValue());
+            } catch (UncheckedIOException e) {
+                failed++;
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Could not save " + failed + " of " + homes.size() + " player shards", failure.getCause());
+        }
+        LOG.info("Saved " + homes.size() + " player shards to " + shardDir);
+    }
+
+    /**
+     * Read a single player's shard, or null if it is unreadable
+     */
+    Map<String, HomeData.HomeLocation> readShard(Path shard) {
+        try {
+            String json = Files.readString(shard);
+            return GSON.fromJson(json, PLAYER_HOMES_TYPE);
+        } catch (IOException | JsonParseException e) {
+            LOG.error("Error reading shard " + shard.getFileName() + ": " + e.getMessage());
+            // Move it aside so the next save of this player does not overwrite the broken file
+            try {
+                Files.move(shard, shard.resolveSibling(shard.getFileName() + CORRUPT_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveError) {
+                LOG.warn("Could not move aside corrupt shard: " + moveError.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Rewrite a single player's shard, removing it once the player has no homes left.
+     * Throws if the shard could not be written.
+     */
+    private void writeShard(String playerId, Map<String, HomeData.HomeLocation> playerHomes) {
+        Path shard = shardPath(playerId);
+        try {
+            if (playerHomes == null || playerHomes.isEmpty()) {
+                Files.deleteIfExists(shard);
+                return;
+            }
+            Files.createDirectories(shardDir);
+            HomeData.writeAtomically(shard, GSON.toJson(playerHomes, PLAYER_HOMES_TYPE));
+        } catch (IOException e) {
+            LOG.error("Error saving shard for player " + playerId + ": " + e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Path shardPath(String playerId) {
+        return shardDir.resolve(encodePlayerId(playerId) + SHARD_SUFFIX);
+    }
+
+    private void ensureMigrated() {
+        if (migrated) {
+            return;
+        }
+        synchronized (this) {
+            if (!migrated) {
+                migrateLegacyFile();
+                migrated = true;
+            }
+        }
+    }
+
+    /**
+     * One-time split of a legacy homes.json into per-player shards. Throws, leaving the
+     * file in place, if it cannot be read or any shard cannot be written; the next call
+     * tries again.
+     */
+    private void migrateLegacyFile() {
+        Path legacyFile = dataDir.resolve(HomeData.HOMES_FILE);
+        if (!Files.exists(legacyFile)) {
+            return;
+        }
+
+        LOG.info("Migrating " + legacyFile + " to per-player shards...");
+        try {
+            Map<String, Map<String, HomeData.HomeLocation>> legacyHomes = HomeData.readHomes(dataDir);
+            Files.createDirectories(shardDir);
+            saveAll(legacyHomes);
+        } catch (IOException e) {
+            LOG.error("Migration to per-player shards failed, keeping " + legacyFile + ": " + e.getMessage());
+            throw new UncheckedIOException("Could not migrate " + legacyFile, e);
+        } catch (UncheckedIOException e) {
+            LOG.error("Migration to per-player shards failed, keeping " + legacyFile + ": " + e.getMessage());
+            throw e;
+        }
+
+        try {
+            Files.move(legacyFile, dataDir.resolve(HomeData.HOMES_FILE + MIGRATED_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+            LOG.info("Migration complete, old file kept as " + HomeData.HOMES_FILE + MIGRATED_SUFFIX);
+        } catch (IOException e) {
+            LOG.error("Migrated homes but could not rename legacy file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encode a player ID into a file-system safe name (letters, digits, _ and - are kept,
+     * everything else is percent-encoded as UTF-8)
+     */
+    static String encodePlayerId(String playerId) {
+        StringBuilder sb = new StringBuilder(playerId.length());
+        for (byte b : playerId.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-') {
+                sb.append(c);
+            } else {
+                sb.append('%').append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decode a shard file name back into the player ID, or null if the name is not a valid encoding
+     */
+    static String decodePlayerId(String fileName) {
+        String encoded = fileName.substring(0, fileName.length() - SHARD_SUFFIX.length());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded.length());
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c == '%') {
+                if (i + 2 >= encoded.length()) {
+                    return null;
+                }
+                int hi = Character.digit(encoded.charAt(i + 1), 16);
+                int lo = Character.digit(encoded.charAt(i + 2), 16);
+                if (hi < 0 || lo < 0) {
+                    return null;
+                }
+                bytes.write((hi << 4) | lo);
+                i += 2;
+            } else {
+                bytes.write(c);
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * File format of a full home snapshot. Loading falls back to the other format
+ * when only that file exists, so switching formats migrates on the next save.
+ */
+public enum SnapshotFormat {
+    JSON {
+        @Override
+        public Map<String, Map<String, HomeData.HomeLocation>> load(Path dataDir) {
+            if (!Files.exists(dataDir.resolve(HomeData.HOMES_FILE)) && Files.exists(dataDir.resolve(BinaryHomeData.HOMES_FILE))) {
+                LOG.info("Importing binary snapshot into JSON format");
+                return BinaryHomeData.loadHomes(dataDir);
+            }
+            return HomeData.loadHomes(dataDir);
+        }
+
+        @Override
+        public boolean save(Map<String, Map<String, HomeData.HomeLocation>> homes, Path dataDir) {
+            return HomeData.saveHomes(homes, dataDir);
+        }
+    },
+    BINARY {
+        @Override
+        public Map<String, Map<String, HomeData.HomeLocation>> load(Path dataDir) {
+            if (!Files.exists(dataDir.resolve(BinaryHomeData.HOMES_FILE)) && Files.exists(dataDir.resolve(HomeData.HOMES_FILE))) {
+                LOG.info("Importing JSON snapshot into binary format");
+                return HomeData.loadHomes(dataDir);
+            }
+            return BinaryHomeData.loadHomes(dataDir);
+        }
+
+        @Override
+        public boolean save(Map<String, Map<String, HomeData.HomeLocation>> homes, Path dataDir) {
+            return BinaryHomeData.saveHomes(homes, dataDir);
+        }
+    };
+
+    private static final PluginLogger LOG = PluginLogger.get("SnapshotFormat");
+
+    /**
+     * Load the snapshot from the data directory
+     */
+    public abstract Map<String, Map<String, HomeData.HomeLocation>> load(Path dataDir);
+
+    /**
+     * Write the snapshot to the data directory, returns false on failure
+     */
+    public abstract boolean save(Map<String, Map<String, HomeData.HomeLocation>> homes, Path dataDir);
+
+    /**
+     * Resolve the configured format name, defaulting to JSON
+     */
+    public static SnapshotFormat fromConfig(String value) {
+        return "binary".equalsIgnoreCase(value) ? BINARY : JSON;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.teleportplugin.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores all homes in a single snapshot file (homes.json or homes.bin)
+ */
+public class SnapshotHomeStore implements HomeStore {
+    private final Path dataDir;
+    private final SnapshotFormat format;
+
+    public SnapshotHomeStore(Path dataDir) {
+        this(dataDir, SnapshotFormat.JSON);
+    }
+
+    public SnapshotHomeStore(Path dataDir, SnapshotFormat format) {
+        this.dataDir = dataDir;
+        this.format = format;
+    }
+
+    @Override
+    public Map<String, Map<String, HomeData.HomeLocation>> loadAll() {
+        return format.load(dataDir);
+    }
+
+    @Override
+    public void save(Map<String, Map<String, HomeData.HomeLocation>> homes, Set<String> changedPlayers) {
+        // A single snapshot can only be rewritten as a whole
+        saveAll(homes);
+    }
+
+    @Override
+    public void saveAll(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        if (!format.save(homes, dataDir)) {
+            throw new UncheckedIOException(new IOException("Could not write the " + format + " snapshot"));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental loader for homes.json built on JsonReader, so the file is never held
+ * in memory as one String. Entries with the wrong shape are skipped or repaired
+ * instead of failing the whole load; on a syntax error everything read up to that
+ * point is kept and the original file is backed up. Read errors are thrown, so an
+ * unreadable file is never taken for an empty one.
+ */
+public class StreamingHomeLoader {
+    private static final PluginLogger LOG = PluginLogger.get("StreamingHomeLoader");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 10_000;
+    private static final String DEFAULT_WORLD = "default";
+
+    private final Path file;
+    private FileChannel channel;
+    private long fileSize;
+
+    private int playersLoaded = 0;
+    private int homesLoaded = 0;
+    private int playersSkipped = 0;
+    private int homesSkipped = 0;
+    private int homesRepaired = 0;
+
+    private StreamingHomeLoader(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load all homes from a JSON file
+     */
+    public static Map<String, Map<String, HomeData.HomeLocation>> load(Path file) throws IOException {
+        return new StreamingHomeLoader(file).load();
+    }
+
+    private Map<String, Map<String, HomeData.HomeLocation>> load() throws IOException {
+        long start = System.nanoTime();
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+             JsonReader reader = new JsonReader(new BufferedReader(
+                     Channels.newReader(fileChannel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE), BUFFER_SIZE))) {
+            channel = fileChannel;
+            fileSize = fileChannel.size();
+
+            try {
+                readPlayers(reader, homes);
+            } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+                // Syntax errors and a cut-off file leave the reader unusable, keep what was read so far.
+                // Any other IOException means the file could not be read and is thrown.
+                Path backup = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+                Files.copy(file, backup, StandardCopyOption.REPLACE_EXISTING);
+                LOG.warn("Malformed JSON after " + playersLoaded + " players (" + e.getMessage()
+                        + "), keeping partial data. Original backed up to " + backup.getFileName());
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        LOG.info("Loaded " + homesLoaded + " homes for " + playersLoaded + " players in " + millis + "ms"
+                + " (skipped " + playersSkipped + " players, " + homesSkipped + " homes; repaired " + homesRepaired + " homes)");
+        return homes;
+    }
+
+    private void readPlayers(JsonReader reader, Map<String, Map<String, HomeData.HomeLocation>> homes) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String playerId = reader.nextName();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                LOG.warn("Skipping player " + playerId + ": expected an object but found " + reader.peek());
+                reader.skipValue();
+                playersSkipped++;
+                continue;
+            }
+
+            Map<String, HomeData.HomeLocation> playerHomes = readPlayerHomes(reader, playerId);
+            if (!playerHomes.isEmpty()) {
+                homes.put(playerId, playerHomes);
+                playersLoaded++;
+                homesLoaded += playerHomes.size();
+                if (playersLoaded % PROGRESS_INTERVAL == 0) {
+                    reportProgress();
+                }
+            }
+        }
+        reader.endObject();
+    }
+
+    private Map<String, HomeData.HomeLocation> readPlayerHomes(JsonReader reader, String playerId) throws IOException {
+        Map<String, HomeData.HomeLocation> playerHomes = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String homeName = reader.nextName();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                homesSkipped++;
+                continue;
+            }
+
+            HomeData.HomeLocation location = readLocation(reader);
+            if (location == null) {
+                LOG.warn("Skipping home '" + homeName + "' of player " + playerId + ": missing or invalid coordinates");
+                homesSkipped++;
+            } else {
+                playerHomes.put(homeName, location);
+            }
+        }
+        reader.endObject();
+        return playerHomes;
+    }
+
+    /**
+     * Read one location object, null if its coordinates are unusable
+     */
+    private HomeData.HomeLocation readLocation(JsonReader reader) throws IOException {
+        double x = Double.NaN;
+        double y = Double.NaN;
+        double z = Double.NaN;
+        String worldId = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            switch (field) {
+                case "x":
+                    x = readCoordinate(reader);
+                    break;
+                case "y":
+                    y = readCoordinate(reader);
+                    break;
+                case "z":
+                    z = readCoordinate(reader);
+                    break;
+                case "worldId":
+                    if (reader.peek() == JsonToken.STRING) {
+                        worldId = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (!Double.isFinite(x) || !Double.isFinite(y) || !Double.isFinite(z)) {
+            return null;
+        }
+        if (worldId == null || worldId.isEmpty()) {
+            worldId = DEFAULT_WORLD;
+            homesRepaired++;
+        }
+        return new HomeData.HomeLocation(x, y, z, worldId);
+    }
+
+    /**
+     * Read a coordinate given as a number or a numeric string, NaN if it is neither
+     */
+    private static double readCoordinate(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            reader.skipValue();
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(reader.nextString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private void reportProgress() throws IOException {
+        long position = channel.position();
+        int percent = fileSize > 0 ? (int) (position * 100 / fileSize) : 100;
+        LOG.info("Loading homes: " + percent + "% (" + playersLoaded + " players, " + homesLoaded + " homes)");
+    }
+}
\ No newline at end of file
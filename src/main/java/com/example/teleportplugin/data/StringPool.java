@@ -0,0 +1,81 @@
+package com.example.teleportplugin.data;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared dictionary for the strings that repeat across players, i.e. home names and
+ * world IDs. Every distinct value is kept once and all homes point at that instance
+ * instead of at the copy their loader or command created.
+ *
+ * The pool only grows; once it holds maxSize strings, new values are passed through
+ * unchanged so a flood of unique names cannot turn it into a leak.
+ */
+public class StringPool {
+    private final Map<String, String> pool = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * The pooled instance equal to value, adding value if it is new and there is room
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.increment();
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            hits.increment();
+            return pooled;
+        }
+        if (pool.size() >= maxSize) {
+            return value;
+        }
+        pooled = pool.putIfAbsent(value, value);
+        if (pooled != null) {
+            hits.increment();
+            return pooled;
+        }
+        return value;
+    }
+
+    /**
+     * Number of distinct strings in the pool
+     */
+    public int size() {
+        return pool.size();
+    }
+
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /**
+     * Lookups that found an existing instance, i.e. duplicates that were dropped
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Approximate heap footprint of a String with 64-bit compressed oops: a 24 byte String
+     * plus its backing byte[] (16 byte header, one byte per char or two if any char is
+     * outside Latin-1), rounded up to 8 bytes
+     */
+    public static long estimateSize(String value) {
+        int length = value.length();
+        boolean latin1 = true;
+        for (int i = 0; i < length && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        long array = 16 + (long) length * (latin1 ? 1 : 2);
+        return 24 + ((array + 7) & ~7L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.teleportplugin.data;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * World of every home when homes are stored per world, including worlds whose partition
+ * is not loaded, so a player's home count and names are known and the world to load for
+ * a home is found without reading every partition. Keyed by store key (player UUID, or
+ * display name in older data), then home name.
+ *
+ * The directory is not lazy: it holds one entry per home of every world for as long as
+ * the plugin runs, so unloading worlds frees the homes' locations but not their names.
+ */
+final class WorldDirectory {
+    private final Map<String, Map<String, String>> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * World the home is stored in, null if the player has no home of that name
+     */
+    String worldOf(String key, String name) {
+        Map<String, String> playerWorlds = worlds.get(key);
+        return playerWorlds != null ? playerWorlds.get(name) : null;
+    }
+
+    /**
+     * Record a home's world unless the name is already recorded. Returns the recorded world,
+     * which differs from the given one if the name is in use in another world.
+     */
+    String claim(String key, String name, String worldId) {
+        String[] owner = {worldId};
+        worlds.compute(key, (k, playerWorlds) -> {
+            if (playerWorlds == null) {
+                playerWorlds = new ConcurrentHashMap<>();
+            }
+            String existing = playerWorlds.putIfAbsent(name, worldId);
+            if (existing != null) {
+                owner[0] = existing;
+            }
+            return playerWorlds;
+        });
+        return owner[0];
+    }
+
+    void put(String key, String name, String worldId) {
+        worlds.compute(key, (k, playerWorlds) -> {
+            if (playerWorlds == null) {
+                playerWorlds = new ConcurrentHashMap<>();
+            }
+            playerWorlds.put(name, worldId);
+            return playerWorlds;
+        });
+    }
+
+    void remove(String key, String name) {
+        worlds.computeIfPresent(key, (k, playerWorlds) -> {
+            playerWorlds.remove(name);
+            return playerWorlds.isEmpty() ? null : playerWorlds;
+        });
+    }
+
+    /**
+     * Names of all of a player's homes, whatever world they are in
+     */
+    Set<String> names(String key) {
+        Map<String, String> playerWorlds = worlds.get(key);
+        return playerWorlds != null ? Collections.unmodifiableSet(playerWorlds.keySet()) : Set.of();
+    }
+
+    int count(String key) {
+        Map<String, String> playerWorlds = worlds.get(key);
+        return playerWorlds != null ? playerWorlds.size() : 0;
+    }
+
+    /**
+     * Worlds a player has homes in
+     */
+    Set<String> worldsOf(String key) {
+        Map<String, String> playerWorlds = worlds.get(key);
+        return playerWorlds != null ? new HashSet<>(playerWorlds.values()) : Set.of();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.logging.PluginLogger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Stores the homes of each world in their own file under worlds/, keyed by player and
+ * home name, so a world's homes can be loaded and dropped together with the world
+ */
+public class WorldPartitionedHomeStore implements HomeStore {
+    private static final PluginLogger LOG = PluginLogger.get("WorldPartitionedHomeStore");
+    private static final String PARTITION_DIR = "worlds";
+    private static final String PARTITION_SUFFIX = ".json";
+    private static final String MIGRATED_SUFFIX = ".migrated";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path dataDir;
+    private final Path partitionDir;
+    private volatile boolean migrated = false;
+
+    public WorldPartitionedHomeStore(Path dataDir) {
+        this.dataDir = dataDir;
+        this.partitionDir = dataDir.resolve(PARTITION_DIR);
+    }
+
+    /**
+     * Read every partition and merge the worlds per player
+     */
+    @Override
+    public Map<String, Map<String, HomeData.HomeLocation>> loadAll() {
+        Map<String, Map<String, HomeData.HomeLocation>> homes = new HashMap<>();
+        for (String worldId : listWorlds()) {
+            loadWorld(worldId).forEach((playerId, playerHomes) ->
+                    homes.computeIfAbsent(playerId, k -> new HashMap<>()).putAll(playerHomes));
+        }
+        return homes;
+    }
+
+    @Override
+    public boolean supportsWorldLoading() {
+        return true;
+    }
+
+    /**
+     * Worlds that have a partition file
+     */
+    @Override
+    public List<String> listWorlds() {
+        ensureMigrated();
+        List<String> worlds = new ArrayList<>();
+        if (!Files.isDirectory(partitionDir)) {
+            return worlds;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(partitionDir, "*" + PARTITION_SUFFIX)) {
+            for (Path partition : stream) {
+                String worldId = ShardedHomeStore.decodePlayerId(partition.getFileName().toString());
+                if (worldId != null) {
+                    worlds.add(worldId);
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Error listing world partitions: " + e.getMessage());
+        }
+        return worlds;
+    }
+
+    @Override
+    public List<String> listPartitions() {
+        return listWorlds();
+    }
+
+    @Override
+    public Map<String, Map<String, HomeData.HomeLocation>> loadPartition(String worldId) {
+        return loadWorld(worldId);
+    }
+
+    /**
+     * Read one world's partition. Homes filed under another world are moved to this one,
+     * since the file they are in is what decides where they get saved.
+     */
+    @Override
+    public Map<String, Map<String, HomeData.HomeLocation>> loadWorld(String worldId) {
+        ensureMigrated();
+        Path partition = partitionPath(worldId);
+        if (!Files.exists(partition)) {
+            return new HashMap<>();
+        }
+        Map<String, Map<String, HomeData.HomeLocation>> worldHomes;
+        try {
+            worldHomes = StreamingHomeLoader.load(partition);
+        } catch (IOException e) {
+            LOG.error("Error reading world partition " + partition.getFileName() + ": " + e.getMessage());
+            // Move it aside so the next save of this world does not overwrite the broken file
+            try {
+                Files.move(partition, partition.resolveSibling(partition.getFileName() + CORRUPT_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveError) {
+                LOG.warn("Could not move aside corrupt partition: " + moveError.getMessage());
+            }
+            return new HashMap<>();
+        }
+        for (Map<String, HomeData.HomeLocation> playerHomes : worldHomes.values()) {
+            playerHomes.replaceAll((name, location) -> worldId.equals(location.worldId) ? location
+                    : new HomeData.HomeLocation(location.x, location.y, location.z, worldId));
+        }
+        return worldHomes;
+    }
+
+    /**
+     * Rewrite one world's partition, removing it once the world has no homes left
+     */
+    @Override
+    public void saveWorld(String worldId, Map<String, Map<String, HomeData.HomeLocation>> worldHomes) {
+        Path partition = partitionPath(worldId);
+        try {
+            if (worldHomes.isEmpty()) {
+                Files.deleteIfExists(partition);
+                return;
+            }
+            Files.createDirectories(partitionDir);
+            HomeData.writeAtomically(partition, GSON.toJson(worldHomes));
+        } catch (IOException e) {
+            LOG.error("Error saving partition of world " + worldId + ": " + e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rewrite the partitions of every world the changed players have homes in. Worlds a
+     * player left entirely are only rewritten by {@link #saveWorld}.
+     */
+    @Override
+    public void save(Map<String, Map<String, HomeData.HomeLocation>> homes, Set<String> changedPlayers) {
+        Set<String> worlds = new HashSet<>();
+        for (String playerId : changedPlayers) {
+            Map<String, HomeData.HomeLocation> playerHomes = homes.get(playerId);
+            if (playerHomes != null) {
+                playerHomes.values().forEach(location -> worlds.add(location.worldId));
+            }
+        }
+        Map<String, Map<String, Map<String, HomeData.HomeLocation>>> byWorld = partition(homes);
+        for (String worldId : worlds) {
+            saveWorld(worldId, byWorld.getOrDefault(worldId, Map.of()));
+        }
+    }
+
+    @Override
+    public void saveAll(Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        Map<String, Map<String, Map<String, HomeData.HomeLocation>>> byWorld = partition(homes);
+        for (Map.Entry<String, Map<String, Map<String, HomeData.HomeLocation>>> world : byWorld.entrySet()) {
+            saveWorld(world.getKey(), world.getValue());
+        }
+        LOG.info("Saved " + byWorld.size() + " world partitions to " + partitionDir);
+    }
+
+    /**
+     * Split player -> name -> location into world -> player -> name -> location
+     */
+    private static Map<String, Map<String, Map<String, HomeData.HomeLocation>>> partition(
+            Map<String, Map<String, HomeData.HomeLocation>> homes) {
+        Map<String, Map<String, Map<String, HomeData.HomeLocation>>> byWorld = new HashMap<>();
+        for (Map.Entry<String, Map<String, HomeData.HomeLocation>> player : homes.entrySet()) {
+            for (Map.Entry<String, HomeData.HomeLocation> home : player.getValue().entrySet()) {
+                byWorld.computeIfAbsent(home.getValue().worldId, k -> new HashMap<>())
+                        .computeIfAbsent(player.getKey(), k -> new HashMap<>())
+                        .put(home.getKey(), home.getValue());
+            }
+        }
+        return byWorld;
+    }
+
+    Path partitionPath(String worldId) {
+        return partitionDir.resolve(ShardedHomeStore.encodePlayerId(worldId) + PARTITION_SUFFIX);
+    }
+
+    private void ensureMigrated() {
+        if (migrated) {
+            return;
+        }
+        synchronized (this) {
+            if (!migrated) {
+                migrateLegacyFile();
+                migrated = true;
+            }
+        }
+    }
+
+    /**
+     * Remove the partitions written so far, their directory would mark the migration as done
+     */
+    private void migrationFailed(Path legacyFile, Exception cause) {
+        LOG.error("Migration to per-world partitions failed, keeping " + legacyFile + ": " + cause.getMessage());
+        if (!Files.isDirectory(partitionDir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(partitionDir)) {
+            // Deepest first, so each directory is empty when it is deleted
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            LOG.error("Could not remove partly migrated " + partitionDir + ", delete it before the next start: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One-time split of a homes.json snapshot into per-world partitions. Throws, leaving the
+     * file in place and removing the partitions written so far, if it cannot be read or any
+     * partition cannot be written; the next call tries again.
+     */
+    private void migrateLegacyFile() {
+        Path legacyFile = dataDir.resolve(HomeData.HOMES_FILE);
+        if (!Files.exists(legacyFile) || Files.isDirectory(partitionDir)) {
+            return;
+        }
+
+        LOG.info("Migrating " + legacyFile + " to per-world partitions...");
+        try {
+            Map<String, Map<String, HomeData.HomeLocation>> legacyHomes = HomeData.readHomes(dataDir);
+            Files.createDirectories(partitionDir);
+            saveAll(legacyHomes);
+        } catch (IOException e) {
+            migrationFailed(legacyFile, e);
+            throw new UncheckedIOException("Could not migrate " + legacyFile, e);
+        } catch (UncheckedIOException e) {
+            migrationFailed(legacyFile, e);
+            throw e;
+        }
+
+        try {
+            Files.move(legacyFile, dataDir.resolve(HomeData.HOMES_FILE + MIGRATED_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+            LOG.info("Migration complete, old file kept as " + HomeData.HOMES_FILE + MIGRATED_SUFFIX);
+        } catch (IOException e) {
+            LOG.error("Migrated homes but could not rename legacy file: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
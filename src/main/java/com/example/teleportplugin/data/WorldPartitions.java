@@ -0,0 +1,94 @@
+package com.example.teleportplugin.data;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * World IDs numbered with small integers in the order they are first seen. The load and
+ * dirty state of each world's home partition sits in an array indexed by that number, so
+ * the flusher and the idle sweep walk a plain array instead of hashing world names.
+ */
+class WorldPartitions {
+    private final Map<String, Partition> byName = new ConcurrentHashMap<>();
+    private volatile Partition[] byIndex = new Partition[8];
+    private volatile int count;
+
+    /**
+     * State of one world's partition, null if the world was never seen
+     */
+    Partition get(String worldId) {
+        return byName.get(worldId);
+    }
+
+    Partition getOrCreate(String worldId) {
+        Partition partition = byName.get(worldId);
+        if (partition != null) {
+            return partition;
+        }
+        synchronized (this) {
+            partition = byName.get(worldId);
+            if (partition == null) {
+                partition = new Partition(count, worldId);
+                Partition[] partitions = byIndex;
+                if (count == partitions.length) {
+                    partitions = Arrays.copyOf(partitions, count * 2);
+                }
+                partitions[count] = partition;
+                byIndex = partitions;
+                count++;
+                byName.put(worldId, partition);
+            }
+            return partition;
+        }
+    }
+
+    /**
+     * Number of worlds seen so far, valid indexes are 0 to count - 1
+     */
+    int count() {
+        return count;
+    }
+
+    Partition get(int index) {
+        return byIndex[index];
+    }
+
+    /**
+     * Number of partitions currently held in memory
+     */
+    int loadedCount() {
+        int loaded = 0;
+        int total = count;
+        Partition[] partitions = byIndex;
+        for (int i = 0; i < total; i++) {
+            if (partitions[i].loaded) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    static final class Partition {
+        final int index;
+        final String worldId;
+        // Written under the partition's monitor, read without it
+        volatile boolean loaded;
+        volatile long lastActiveNanos;
+        // System.nanoTime() of the first unsaved change, 0 when the partition is saved
+        final AtomicLong dirtySince = new AtomicLong();
+
+        Partition(int index, String worldId) {
+            this.index = index;
+            this.worldId = worldId;
+            this.lastActiveNanos = System.nanoTime();
+        }
+
+        void markDirty() {
+            if (dirtySince.get() == 0) {
+                dirtySince.compareAndSet(0, System.nanoTime() | 1);
+            }
+        }
+    }
+}
\ No newline at end of file
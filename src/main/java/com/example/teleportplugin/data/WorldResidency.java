@@ -0,0 +1,395 @@
+package com.example.teleportplugin.data;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.logging.PluginLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Which worlds' homes are in memory when the store keeps one partition per world: a world's
+ * homes are loaded with the world and dropped once it stopped ticking. Partitions are
+ * rewritten whole, so changes mark their worlds dirty. Does nothing for other stores.
+ *
+ * Which world each home is in is read once at startup and kept in a {@link WorldDirectory},
+ * so counts and names cover worlds that are not loaded and a home's world can be loaded
+ * before the home is read or changed.
+ */
+final class WorldResidency {
+    private static final PluginLogger LOG = PluginLogger.get("HomeManager");
+    private static final int UNLOAD_ATTEMPTS = 3;
+
+    private final HomeStore store;
+    private final HomeTable table;
+    private final boolean enabled;
+    private final WorldPartitions partitions = new WorldPartitions();
+    private final WorldDirectory directory = new WorldDirectory();
+    private final long unloadIdleMillis;
+    private final ScheduledExecutorService unloader;
+
+    WorldResidency(HomeStore store, HomeTable table, PluginConfig config) {
+        this.store = store;
+        this.table = table;
+        this.enabled = store.supportsWorldLoading();
+        this.unloadIdleMillis = config.worldUnloadIdleMillis;
+
+        if (enabled) {
+            // Only the directory is built up front, each world loads its partition on its first tick
+            scan();
+            this.unloader = HomeTable.newDaemonExecutor("HomeManager-Evictor");
+            long interval = Math.max(1000, config.cacheEvictionIntervalMillis);
+            unloader.scheduleWithFixedDelay(this::unloadIdle, interval, interval, TimeUnit.MILLISECONDS);
+            LOG.info("World partitioned storage enabled (worlds unload after " + unloadIdleMillis + "ms without a tick)");
+        } else {
+            this.unloader = null;
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Fill the directory from every partition. Worlds are read in name order, so if a home
+     * is stored in two partitions, e.g. after a crash between their writes, the same copy
+     * wins on every start; the other is dropped when its world loads.
+     */
+    private void scan() {
+        long start = System.nanoTime();
+        List<String> worldIds = new ArrayList<>(store.listWorlds());
+        Collections.sort(worldIds);
+        int homes = 0;
+        for (String worldId : worldIds) {
+            String pooledWorld = table.strings.intern(worldId);
+            for (Map.Entry<String, Map<String, HomeData.HomeLocation>> player : store.loadWorld(worldId).entrySet()) {
+                UUID playerId = HomeTable.parsePlayerId(player.getKey());
+                for (String name : player.getValue().keySet()) {
+                    String pooledName = table.strings.intern(name);
+                    String owner = directory.claim(player.getKey(), pooledName, pooledWorld);
+                    if (!owner.equals(pooledWorld)) {
+                        LOG.warn("Home '" + name + "' of " + player.getKey() + " is stored in worlds " + owner + " and "
+                                + worldId + ", keeping the one in " + owner);
+                        continue;
+                    }
+                    homes++;
+                    if (playerId != null) {
+                        table.nameIndex.add(playerId, pooledName);
+                    }
+                }
+            }
+        }
+        LOG.info("Indexed " + homes + " homes in " + worldIds.size() + " worlds in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+
+    /**
+     * World a home is stored in, loaded or not. Null if the player has no such home or
+     * homes are not stored per world.
+     */
+    String worldOf(String key, String name) {
+        return enabled ? directory.worldOf(key, name) : null;
+    }
+
+    /**
+     * Worlds a player has homes in, loaded or not
+     */
+    Set<String> worldsOf(String key) {
+        return enabled ? directory.worldsOf(key) : Set.of();
+    }
+
+    /**
+     * Names of all of a player's homes, loaded or not
+     */
+    Set<String> homeNames(String key) {
+        return directory.names(key);
+    }
+
+    int homeCount(String key) {
+        return directory.count(key);
+    }
+
+    /**
+     * Note that a home was set in a world, called together with the change to the homes map
+     */
+    void recordHome(String key, String name, String worldId) {
+        if (enabled) {
+            directory.put(key, name, worldId);
+        }
+    }
+
+    /**
+     * Note that a home was deleted, called together with the change to the homes map
+     */
+    void forgetHome(String key, String name) {
+        if (enabled) {
+            directory.remove(key, name);
+        }
+    }
+
+    /**
+     * Load a world's homes unless they already are, and keep the world from being unloaded
+     * as idle. Returns true if loading left the partition dirty and it should be saved.
+     */
+    boolean load(String worldId) {
+        if (!enabled) {
+            return false;
+        }
+        WorldPartitions.Partition partition = partitions.getOrCreate(worldId);
+        partition.lastActiveNanos = System.nanoTime();
+        if (partition.loaded) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        Set<UUID> changed = new HashSet<>();
+        int loadedHomes;
+        table.evictionLock.readLock().lock();
+        try {
+            synchronized (partition) {
+                if (partition.loaded) {
+                    return false;
+                }
+                loadedHomes = loadLocked(partition, changed);
+            }
+        } finally {
+            table.evictionLock.readLock().unlock();
+        }
+
+        for (UUID playerId : changed) {
+            table.notifyChanged(playerId);
+        }
+        LOG.info("Loaded " + loadedHomes + " homes of " + changed.size() + " players for world " + worldId + " in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        return partition.dirtySince.get() != 0;
+    }
+
+    /**
+     * Merge a world's stored homes into the live maps and mark it loaded. The caller holds
+     * the eviction read lock and the partition's monitor. Returns the number of homes added.
+     */
+    private int loadLocked(WorldPartitions.Partition partition, Set<UUID> changed) {
+        int[] loadedHomes = {0};
+        for (Map.Entry<String, Map<String, HomeData.HomeLocation>> player : store.loadWorld(partition.worldId).entrySet()) {
+            Map<String, HomeData.HomeLocation> loaded = table.internHomes(player.getValue());
+            UUID playerId = HomeTable.parsePlayerId(player.getKey());
+            if (playerId == null) {
+                Map<String, HomeData.HomeLocation> legacy = table.legacyHomes.computeIfAbsent(player.getKey(), k -> new ConcurrentHashMap<>());
+                mergeLoaded(partition, loaded, legacy, player.getKey(), null);
+                continue;
+            }
+            table.homes.compute(playerId, (id, playerHomes) -> {
+                if (playerHomes == null) {
+                    playerHomes = new ConcurrentHashMap<>();
+                }
+                loadedHomes[0] += mergeLoaded(partition, loaded, playerHomes, player.getKey(), id);
+                return playerHomes.isEmpty() ? null : playerHomes;
+            });
+            changed.add(playerId);
+        }
+        partition.loaded = true;
+        return loadedHomes[0];
+    }
+
+    /**
+     * Add a world's stored homes to a player's live map. A home the directory places in
+     * another world is a stale copy, it is dropped and the partition rewritten. Returns the
+     * number of homes added.
+     */
+    private int mergeLoaded(WorldPartitions.Partition partition, Map<String, HomeData.HomeLocation> loaded,
+                            Map<String, HomeData.HomeLocation> playerHomes, String key, UUID playerId) {
+        int added = 0;
+        for (Map.Entry<String, HomeData.HomeLocation> entry : loaded.entrySet()) {
+            String owner = directory.claim(key, entry.getKey(), partition.worldId);
+            if (!owner.equals(partition.worldId) || playerHomes.putIfAbsent(entry.getKey(), entry.getValue()) != null) {
+                partition.markDirty();
+                LOG.warn("Dropped home '" + entry.getKey() + "' of " + key + " from world " + partition.worldId
+                        + ", the player's home of that name is in world " + owner);
+            } else {
+                added++;
+                if (playerId != null) {
+                    table.spatialIndex.add(playerId, entry.getKey(), entry.getValue());
+                    table.nameIndex.add(playerId, entry.getKey());
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Save a world's homes if they changed and drop them from memory. Returns false if the
+     * partition could not be written, or kept changing while it was written, and stays loaded.
+     *
+     * The partition is written under the read lock, so commands keep running meanwhile. The
+     * homes are dropped under the write lock, which needs no I/O as long as nothing changed
+     * since the write; otherwise the write is repeated a few times before giving up.
+     */
+    boolean unload(String worldId) {
+        WorldPartitions.Partition partition = partitions.get(worldId);
+        if (partition == null || !partition.loaded) {
+            return true;
+        }
+
+        for (int attempt = 0; attempt < UNLOAD_ATTEMPTS; attempt++) {
+            table.evictionLock.readLock().lock();
+            try {
+                if (!writeWorld(partition)) {
+                    return false;
+                }
+            } finally {
+                table.evictionLock.readLock().unlock();
+            }
+            if (dropIfClean(partition)) {
+                return true;
+            }
+        }
+        LOG.warn("World " + worldId + " kept changing while it was saved, it stays loaded until the next unload");
+        return false;
+    }
+
+    /**
+     * Drop a saved world's homes from memory. Returns false, leaving the world loaded, if it
+     * changed since it was written.
+     */
+    private boolean dropIfClean(WorldPartitions.Partition partition) {
+        String worldId = partition.worldId;
+        Set<UUID> changed = new HashSet<>();
+        int[] unloaded = {0};
+        // No mutation can run meanwhile, so nothing is added to the world while it is dropped
+        table.evictionLock.writeLock().lock();
+        try {
+            synchronized (partition) {
+                if (!partition.loaded) {
+                    return true;
+                }
+                if (partition.dirtySince.get() != 0) {
+                    return false;
+                }
+                for (HomeSpatialIndex.Entry entry : table.spatialIndex.world(worldId)) {
+                    table.homes.compute(entry.playerId, (id, playerHomes) -> {
+                        if (playerHomes != null && playerHomes.remove(entry.name, entry.location)) {
+                            // Names stay in the name index, like the directory it covers every world
+                            table.spatialIndex.remove(id, entry.name, entry.location);
+                            unloaded[0]++;
+                        }
+                        return playerHomes == null || playerHomes.isEmpty() ? null : playerHomes;
+                    });
+                    changed.add(entry.playerId);
+                }
+                table.legacyHomes.values().removeIf(playerHomes -> {
+                    playerHomes.values().removeIf(location -> worldId.equals(location.worldId));
+                    return playerHomes.isEmpty();
+                });
+                partition.loaded = false;
+            }
+        } finally {
+            table.evictionLock.writeLock().unlock();
+        }
+
+        for (UUID playerId : changed) {
+            table.notifyChanged(playerId);
+        }
+        LOG.info("Unloaded " + unloaded[0] + " homes of " + changed.size() + " players for world " + worldId);
+        return true;
+    }
+
+    /**
+     * Unload the partitions of worlds that have not ticked for the configured idle time
+     */
+    private void unloadIdle() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(unloadIdleMillis);
+        for (int i = 0; i < partitions.count(); i++) {
+            WorldPartitions.Partition partition = partitions.get(i);
+            if (partition.loaded && now - partition.lastActiveNanos > idleNanos) {
+                unload(partition.worldId);
+            }
+        }
+    }
+
+    int loadedCount() {
+        return partitions.loadedCount();
+    }
+
+    void markDirty(String worldId) {
+        if (enabled) {
+            partitions.getOrCreate(worldId).markDirty();
+        }
+    }
+
+    /**
+     * Every world seen so far, for the flusher to find the dirty ones
+     */
+    WorldPartitions partitions() {
+        return partitions;
+    }
+
+    /**
+     * Write a world's partition if it is dirty, returns false if the write failed and the
+     * partition stays dirty. The caller holds the eviction read lock.
+     */
+    boolean writeWorld(WorldPartitions.Partition partition) {
+        Set<UUID> changed = new HashSet<>();
+        try {
+            synchronized (partition) {
+                if (partition.dirtySince.get() == 0) {
+                    return true;
+                }
+                if (!partition.loaded) {
+                    // A change reached the world just after it was unloaded; load the stored
+                    // homes so the rewrite keeps them, the world unloads again once idle
+                    LOG.info("Loading world " + partition.worldId + " to save a change made while it was unloaded");
+                    partition.lastActiveNanos = System.nanoTime();
+                    loadLocked(partition, changed);
+                }
+                long since = partition.dirtySince.getAndSet(0);
+                try {
+                    store.saveWorld(partition.worldId, gatherWorld(partition.worldId));
+                    return true;
+                } catch (RuntimeException e) {
+                    partition.dirtySince.compareAndSet(0, since);
+                    LOG.error("Error saving homes of world " + partition.worldId + ": " + e.getMessage());
+                    return false;
+                }
+            }
+        } finally {
+            for (UUID playerId : changed) {
+                table.notifyChanged(playerId);
+            }
+        }
+    }
+
+    /**
+     * All loaded homes of a world keyed by player, as stored in its partition. Name-keyed
+     * players are scanned in full, there are only few and they shrink as players return.
+     */
+    private Map<String, Map<String, HomeData.HomeLocation>> gatherWorld(String worldId) {
+        Map<String, Map<String, HomeData.HomeLocation>> worldHomes = new HashMap<>();
+        for (HomeSpatialIndex.Entry entry : table.spatialIndex.world(worldId)) {
+            worldHomes.computeIfAbsent(entry.playerId.toString(), k -> new HashMap<>()).put(entry.name, entry.location);
+        }
+        table.legacyHomes.forEach((legacyKey, playerHomes) -> playerHomes.forEach((name, location) -> {
+            if (worldId.equals(location.worldId)) {
+                worldHomes.computeIfAbsent(legacyKey, k -> new HashMap<>()).put(name, location);
+            }
+        }));
+        return worldHomes;
+    }
+
+    /**
+     * Stop the idle sweep, e.g. on shutdown
+     */
+    void shutdown() {
+        if (unloader != null) {
+            unloader.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.example.teleportplugin.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands log lines from any thread to one writer thread through a bounded lock-free ring
+ * buffer, so callers never block on console I/O. The writer prints whole batches with a
+ * single call to System.out / System.err. When the buffer is full new lines are dropped
+ * and counted instead of blocking the caller.
+ */
+public final class AsyncLogAppender {
+    private static final int CAPACITY = 8192;
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+    private static final AsyncLogAppender INSTANCE = new AsyncLogAppender(CAPACITY);
+
+    private final int mask;
+    private final Entry[] entries;
+    // Slot sequence numbers, see Vyukov's bounded MPMC queue
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head = 0; // Writer thread only
+    private final Thread writer;
+    private volatile boolean idle = false;
+    private volatile boolean running = true;
+
+    /**
+     * @param capacity buffer size in lines, a power of two
+     */
+    AsyncLogAppender(int capacity) {
+        this.mask = capacity - 1;
+        this.entries = new Entry[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        this.writer = new Thread(this::run, "TeleportPlugin-Log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        // Print what is still buffered when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "TeleportPlugin-LogFlush"));
+    }
+
+    public static AsyncLogAppender getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a line, never blocks
+     */
+    public void append(LogLevel level, String name, String message, Throwable error) {
+        if (!running) {
+            // Writer is gone, print directly
+            print(new StringBuilder(), new Entry(level, name, message, error));
+            return;
+        }
+
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries[index] = new Entry(level, name, message, error);
+                    sequences.set(index, position + 1);
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Number of lines dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stop the writer thread after printing everything queued so far
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        StringBuilder out = new StringBuilder(4096);
+        StringBuilder err = new StringBuilder(1024);
+        long reportedDrops = 0;
+
+        while (true) {
+            boolean wasRunning = running;
+            int drained = drain(out, err);
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                err.append("[Log] Dropped ").append(drops - reportedDrops).append(" log lines, buffer full\n");
+                reportedDrops = drops;
+            }
+            flush(out, err);
+
+            if (drained == 0) {
+                if (!wasRunning) {
+                    return;
+                }
+                idle = true;
+                // Re-check after publishing idle so a line appended meanwhile is not missed
+                if (!hasNext()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    private boolean hasNext() {
+        return sequences.get((int) (head & mask)) == head + 1;
+    }
+
+    private int drain(StringBuilder out, StringBuilder err) {
+        int drained = 0;
+        while (drained < entries.length && hasNext()) {
+            int index = (int) (head & mask);
+            Entry entry = entries[index];
+            entries[index] = null;
+            sequences.lazySet(index, head + entries.length);
+            head++;
+            drained++;
+            format(entry.level.compareTo(LogLevel.WARN) >= 0 ? err : out, entry);
+        }
+        return drained;
+    }
+
+    private static void flush(StringBuilder out, StringBuilder err) {
+        if (out.length() > 0) {
+            System.out.print(out);
+            out.setLength(0);
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            err.setLength(0);
+        }
+    }
+
+    private static void print(StringBuilder buffer, Entry entry) {
+        format(buffer, entry);
+        if (entry.level.compareTo(LogLevel.WARN) >= 0) {
+            System.err.print(buffer);
+        } else {
+            System.out.print(buffer);
+        }
+    }
+
+    private static void format(StringBuilder buffer, Entry entry) {
+        buffer.append('[').append(entry.name).append("] ").append(entry.message).append('\n');
+        if (entry.error != null) {
+            StringWriter trace = new StringWriter();
+            entry.error.printStackTrace(new PrintWriter(trace));
+            buffer.append(trace);
+        }
+    }
+
+    private static class Entry {
+        final LogLevel level;
+        final String name;
+        final String message;
+        final Throwable error;
+
+        Entry(LogLevel level, String name, String message, Throwable error) {
+            this.level = level;
+            this.name = name;
+            this.message = message;
+            this.error = error;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.teleportplugin.logging;
+
+/**
+ * Log levels, ordered from most to least verbose
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Parse a level name from the config, INFO if it is unknown
+     */
+    public static LogLevel fromConfig(String value) {
+        if (value != null) {
+            for (LogLevel level : values()) {
+                if (level.name().equalsIgnoreCase(value.trim())) {
+                    return level;
+                }
+            }
+        }
+        return INFO;
+    }
+}
\ No newline at end of file
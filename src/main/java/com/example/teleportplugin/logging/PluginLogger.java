@@ -0,0 +1,87 @@
+package com.example.teleportplugin.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Leveled logger writing "[Name] message" lines through the shared {@link AsyncLogAppender}.
+ *
+ * Disabled levels return after a single volatile read. Messages that are costly to
+ * build should be passed as a Supplier, which is only called when the level is enabled.
+ */
+public final class PluginLogger {
+    private static volatile LogLevel threshold = LogLevel.INFO;
+
+    private final String name;
+
+    private PluginLogger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Logger whose lines are prefixed with [name]
+     */
+    public static PluginLogger get(String name) {
+        return new PluginLogger(name);
+    }
+
+    /**
+     * Set the minimum level that is logged by all plugin loggers
+     */
+    public static void setLevel(LogLevel level) {
+        threshold = level;
+    }
+
+    public static LogLevel getLevel() {
+        return threshold;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(threshold) >= 0 && level != LogLevel.OFF;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message.get(), null);
+        }
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message.get(), null);
+        }
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message, null);
+    }
+
+    public void warn(String message, Throwable error) {
+        log(LogLevel.WARN, message, error);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(LogLevel.ERROR, message, error);
+    }
+
+    private void log(LogLevel level, String message, Throwable error) {
+        if (isEnabled(level)) {
+            AsyncLogAppender.getInstance().append(level, name, message, error);
+        }
+    }
+}
\ No newline at end of file
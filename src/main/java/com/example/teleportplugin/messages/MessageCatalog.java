@@ -0,0 +1,217 @@
+package com.example.teleportplugin.messages;
+
+import com.example.teleportplugin.logging.PluginLogger;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * All player-facing texts by key, loaded from a localization file in the plugin folder.
+ *
+ * The file maps keys to {"text", "color", "bold"} entries. It is created with the
+ * built-in English defaults on first start, and keys missing from an existing file
+ * are added with their default so translators always see the full set.
+ */
+public class MessageCatalog {
+    private static final PluginLogger LOG = PluginLogger.get("MessageCatalog");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    private static final Type FILE_TYPE = new TypeToken<LinkedHashMap<String, Entry>>(){}.getType();
+
+    static final String RED = "#ff5555";
+    static final String ORANGE = "#ffaa00";
+    static final String GRAY = "#aaaaaa";
+    static final String GREEN = "#00ff00";
+    static final String CYAN = "#55ffff";
+    static final String WHITE = "#ffffff";
+
+    private final Map<String, MessageTemplate> templates;
+
+    private MessageCatalog(Map<String, MessageTemplate> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Template for a key. Unknown keys give a red placeholder line instead of failing the command.
+     */
+    public MessageTemplate get(String key) {
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
+            LOG.warn("Unknown message key: " + key);
+            template = new MessageTemplate(key, "<" + key + ">", RED, false);
+        }
+        return template;
+    }
+
+    public Map<String, MessageTemplate> getTemplates() {
+        return templates;
+    }
+
+    /**
+     * Catalog with the built-in English texts only
+     */
+    public static MessageCatalog defaults() {
+        return fromEntries(defaultEntries());
+    }
+
+    /**
+     * Load the localization file, creating or completing it from the defaults
+     */
+    public static MessageCatalog load(Path dataDir, String fileName) {
+        Path file = dataDir.resolve(fileName);
+        Map<String, Entry> entries = defaultEntries();
+
+        try {
+            boolean complete = false;
+            if (Files.exists(file)) {
+                Map<String, Entry> loaded = GSON.fromJson(Files.readString(file), FILE_TYPE);
+                complete = loaded != null && loaded.keySet().containsAll(entries.keySet());
+                if (loaded != null) {
+                    loaded.forEach((key, entry) -> {
+                        if (entry != null && entry.text != null) {
+                            entries.put(key, entry);
+                        }
+                    });
+                }
+                LOG.info("Loaded " + entries.size() + " messages from " + file);
+            }
+            if (!complete) {
+                Files.createDirectories(dataDir);
+                Files.writeString(file, GSON.toJson(entries));
+                LOG.info("Wrote default messages to " + file);
+            }
+        } catch (IOException | JsonParseException e) {
+            LOG.warn("Error loading messages from " + file + ": " + e.getMessage() + ", using defaults");
+            return defaults();
+        }
+        return fromEntries(entries);
+    }
+
+    private static MessageCatalog fromEntries(Map<String, Entry> entries) {
+        Map<String, MessageTemplate> templates = new LinkedHashMap<>();
+        entries.forEach((key, entry) -> templates.put(key,
+                new MessageTemplate(key, entry.text, entry.color != null ? entry.color : WHITE, entry.bold)));
+        return new MessageCatalog(templates);
+    }
+
+    private static Map<String, Entry> defaultEntries() {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        // Shared
+        entries.put("common.border", new Entry("+====================================+", CYAN, false));
+        entries.put("common.players_only", new Entry("This command can only be used by players!", RED, false));
+        entries.put("common.not_in_world", new Entry("Player not in world!", RED, false));
+        entries.put("common.home_not_found", new Entry("Home '{home}' not found!", RED, false));
+        entries.put("common.list_hint", new Entry("Use '/home list' to see your homes.", GRAY, false));
+
+        // /home set
+        entries.put("set.title", new Entry("|         HOME SET SUCCESSFUL        |", GREEN, true));
+        entries.put("set.no_permission", new Entry("You don't have permission to set homes!", RED, false));
+        entries.put("set.limit_reached", new Entry("You've reached your home limit! ({limit})", RED, false));
+        entries.put("set.limit_hint", new Entry("Delete a home first or get higher permissions.", ORANGE, false));
+        entries.put("set.name_too_long", new Entry("Home name too long! Maximum {max} characters.", RED, false));
+        entries.put("set.name_invalid", new Entry("Home name can only contain letters, numbers, _ and -", RED, false));
+        entries.put("set.no_position", new Entry("Unable to get your position!", RED, false));
+        entries.put("set.label_name", new Entry("Home Name: ", ORANGE, true));
+        entries.put("set.label_position", new Entry("Position: ", ORANGE, true));
+        entries.put("set.label_homes", new Entry("Homes: ", ORANGE, true));
+        entries.put("set.tp_hint", new Entry("Use '/home tp {home}' to teleport!", GRAY, false));
+        entries.put("set.error", new Entry("[X] Error setting home!", RED, false));
+
+        // /home tp
+        entries.put("tp.title", new Entry("|       TELEPORT SUCCESSFUL!        |", GREEN, true));
+        entries.put("tp.no_permission", new Entry("You don't have permission to teleport to homes!", RED, false));
+        entries.put("tp.already_teleporting", new Entry("You're already teleporting! Wait {seconds} more seconds.", RED, false));
+        entries.put("tp.starting", new Entry("Teleporting to home '{home}' in {seconds} seconds...", ORANGE, false));
+        entries.put("tp.dont_move", new Entry("Don't move or the teleport will be cancelled!", GRAY, false));
+        entries.put("tp.unable", new Entry("Unable to teleport you!", RED, false));
+        entries.put("tp.label_home", new Entry("Home: ", ORANGE, true));
+        entries.put("tp.label_location", new Entry("Location: ", ORANGE, true));
+        entries.put("tp.cancelled", new Entry("Teleport cancelled!", RED, false));
+        entries.put("tp.error", new Entry("[X] Error teleporting to home!", RED, false));
+
+        // /home delete
+        entries.put("delete.title", new Entry("|        HOME DELETED                |", RED, true));
+        entries.put("delete.not_found", new Entry("[X] Home '{home}' not found!", RED, false));
+        entries.put("delete.label_name", new Entry("Deleted home: ", ORANGE, true));
+        entries.put("delete.cannot_undo", new Entry("This action cannot be undone!", GRAY, false));
+        entries.put("delete.error", new Entry("[X] Error deleting home!", RED, false));
+
+        // /home list
+        entries.put("list.title", new Entry("|           YOUR HOMES               |", ORANGE, true));
+        entries.put("list.empty", new Entry("You have no homes set!", GRAY, false));
+        entries.put("list.empty_hint", new Entry("Use '/home set <name>' to create one.", GRAY, false));
+        entries.put("list.label_total", new Entry("Total homes: ", ORANGE, true));
+        entries.put("list.page_info", new Entry(" (page {page}/{pages})", WHITE, false));
+        entries.put("list.no_such_page", new Entry("Page {page} does not exist, you have {pages} pages.", RED, false));
+        entries.put("list.next_page_hint", new Entry("Use '/home list {page}' for the next page.", GRAY, false));
+        entries.put("list.tp_hint", new Entry("Use '/home tp <name>' to teleport!", GRAY, false));
+        entries.put("list.error", new Entry("[X] Error listing homes!", RED, false));
+
+        // /homeadmin
+        entries.put("admin.no_permission", new Entry("You don't have permission to use admin commands!", RED, false));
+        entries.put("admin.metrics.title", new Entry("|         HOME SYSTEM METRICS        |", ORANGE, true));
+        entries.put("admin.metrics.error", new Entry("[X] Error reading metrics!", RED, false));
+        entries.put("admin.stats.title", new Entry("|          HOME STORE STATS          |", ORANGE, true));
+        entries.put("admin.stats.label_players", new Entry("Players loaded: ", ORANGE, false));
+        entries.put("admin.stats.label_homes", new Entry("Homes: ", ORANGE, false));
+        entries.put("admin.stats.label_strings", new Entry("Names/world IDs: ", ORANGE, false));
+        entries.put("admin.stats.strings", new Entry("{references} references to {distinct} distinct strings", WHITE, false));
+        entries.put("admin.stats.label_pool", new Entry("String pool: ", ORANGE, false));
+        entries.put("admin.stats.pool", new Entry("{size}/{max} strings, {hits} of {lookups} lookups deduplicated", WHITE, false));
+        entries.put("admin.stats.label_memory", new Entry("Memory saved: ", ORANGE, false));
+        entries.put("admin.stats.memory", new Entry("{saved} ({unshared} as copies, {shared} shared)", WHITE, false));
+        entries.put("admin.stats.error", new Entry("[X] Error reading home store stats!", RED, false));
+        entries.put("admin.region.title", new Entry("|          HOMES IN REGION           |", ORANGE, true));
+        entries.put("admin.region.summary", new Entry("{count} homes in {world} between ({x1}, {z1}) and ({x2}, {z2})", WHITE, false));
+        entries.put("admin.nearby.title", new Entry("|            NEARBY HOMES            |", ORANGE, true));
+        entries.put("admin.nearby.summary", new Entry("{count} homes in {world} within {radius} blocks of ({x}, {z})", WHITE, false));
+        entries.put("admin.spatial.entry", new Entry("{name} of {player} - {location}", WHITE, false));
+        entries.put("admin.spatial.more", new Entry("... and {count} more", GRAY, false));
+        entries.put("admin.spatial.empty", new Entry("No homes found.", GRAY, false));
+        entries.put("admin.spatial.error", new Entry("[X] Error looking up homes!", RED, false));
+        entries.put("admin.purge.preview", new Entry("{count} homes in world {world} would be deleted.", ORANGE, false));
+        entries.put("admin.purge.confirm_hint", new Entry("Run '/homeadmin purge {world} confirm' to delete them.", GRAY, false));
+        entries.put("admin.purge.done", new Entry("Deleted {count} homes in world {world}.", GREEN, false));
+        entries.put("admin.purge.error", new Entry("[X] Error purging homes!", RED, false));
+        entries.put("admin.transfer.started", new Entry("Started the {kind} of {file}.", GREEN, false));
+        entries.put("admin.transfer.status_hint", new Entry("Run '/homeadmin transfer' to follow its progress.", GRAY, false));
+        entries.put("admin.transfer.busy", new Entry("[X] {reason}, wait for it or cancel it first.", RED, false));
+        entries.put("admin.transfer.invalid_file", new Entry("[X] Cannot use that file: {reason}", RED, false));
+        entries.put("admin.transfer.title", new Entry("|           HOME TRANSFER            |", ORANGE, true));
+        entries.put("admin.transfer.label_job", new Entry("Transfer: ", ORANGE, false));
+        entries.put("admin.transfer.status", new Entry("{kind} of {file} - {state}", WHITE, false));
+        entries.put("admin.transfer.label_progress", new Entry("Progress: ", ORANGE, false));
+        entries.put("admin.transfer.progress", new Entry("{records} homes, {skipped} skipped, {kib} KiB in {seconds}s", WHITE, false));
+        entries.put("admin.transfer.failed", new Entry("Error: {reason}", RED, false));
+        entries.put("admin.transfer.resume_hint", new Entry("Run '/homeadmin {kind} {file} resume' to continue it.", GRAY, false));
+        entries.put("admin.transfer.idle", new Entry("No import or export was started since the server started.", GRAY, false));
+        entries.put("admin.transfer.cancelled", new Entry("The {kind} of {file} stops after its current batch.", ORANGE, false));
+        entries.put("admin.transfer.nothing_to_cancel", new Entry("No import or export is running.", GRAY, false));
+        entries.put("admin.transfer.error", new Entry("[X] Error running the transfer command!", RED, false));
+        entries.put("admin.reload.done", new Entry("Cached permissions dropped, they are read again on each player's next command.", GREEN, false));
+        entries.put("admin.reload.error", new Entry("[X] Error reloading permissions!", RED, false));
+        return entries;
+    }
+
+    /**
+     * One entry of the localization file
+     */
+    static final class Entry {
+        String text;
+        String color;
+        boolean bold;
+
+        Entry(String text, String color, boolean bold) {
+            this.text = text;
+            this.color = color;
+            this.bold = bold;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.example.teleportplugin.messages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One chat line of the message catalog: text with {placeholder} parts, a color and a
+ * bold flag. The text is split into literal and placeholder segments once, when the
+ * catalog loads, so formatting is a single StringBuilder pass.
+ */
+public final class MessageTemplate {
+    private final String key;
+    private final String text;
+    private final String color;
+    private final boolean bold;
+    // segments[i] is a literal for even i, a placeholder name for odd i
+    private final String[] segments;
+
+    public MessageTemplate(String key, String text, String color, boolean bold) {
+        this.key = key;
+        this.text = text;
+        this.color = color;
+        this.bold = bold;
+        this.segments = parse(text);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public boolean isBold() {
+        return bold;
+    }
+
+    /**
+     * True if the text has no placeholders, so the same message can be reused for every send
+     */
+    public boolean isStatic() {
+        return segments.length == 1;
+    }
+
+    /**
+     * Fill in placeholders from name/value pairs, e.g. format("home", homeName, "seconds", 3).
+     * Placeholders without a value are left as they are.
+     */
+    public String format(Object... namesAndValues) {
+        if (isStatic()) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < segments.length; i++) {
+            if ((i & 1) == 0) {
+                builder.append(segments[i]);
+                continue;
+            }
+            Object value = lookup(segments[i], namesAndValues);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(segments[i]).append('}');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Object lookup(String name, Object[] namesAndValues) {
+        for (int i = 0; i + 1 < namesAndValues.length; i += 2) {
+            if (name.equals(namesAndValues[i])) {
+                return namesAndValues[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static String[] parse(String text) {
+        List<String> segments = new ArrayList<>();
+        int literalStart = 0;
+        int open = text.indexOf('{');
+        while (open >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            String name = text.substring(open + 1, close);
+            if (name.isEmpty() || name.indexOf('{') >= 0) {
+                open = text.indexOf('{', open + 1);
+                continue;
+            }
+            segments.add(text.substring(literalStart, open));
+            segments.add(name);
+            literalStart = close + 1;
+            open = text.indexOf('{', literalStart);
+        }
+        segments.add(text.substring(literalStart));
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * Append a coordinate with one decimal, like %.1f but without a Formatter
+     */
+    public static StringBuilder appendCoordinate(StringBuilder builder, double value) {
+        if (!Double.isFinite(value) || Math.abs(value) >= 1e15) {
+            return builder.append(value);
+        }
+        long tenths = Math.round(Math.abs(value) * 10);
+        if (value < 0 && tenths != 0) {
+            builder.append('-');
+        }
+        return builder.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    /**
+     * Position as "x, y, z" with one decimal each
+     */
+    public static String formatPosition(double x, double y, double z) {
+        StringBuilder builder = new StringBuilder(32);
+        appendCoordinate(builder, x).append(", ");
+        appendCoordinate(builder, y).append(", ");
+        return appendCoordinate(builder, z).toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.teleportplugin.messages;
+
+import com.hypixel.hytale.server.core.Message;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds chat messages from the {@link MessageCatalog}. Templates without placeholders
+ * are turned into a Message once and that instance is shared by every send; they are
+ * only ever sent or inserted into other messages, never inserted into themselves.
+ */
+public class Messages {
+    private static final Message NEWLINE = Message.raw("\n");
+
+    private final MessageCatalog catalog;
+    private final Map<String, Message> prebuilt = new HashMap<>();
+
+    public Messages(MessageCatalog catalog) {
+        this.catalog = catalog;
+        for (MessageTemplate template : catalog.getTemplates().values()) {
+            if (template.isStatic()) {
+                prebuilt.put(template.getKey(), build(template, template.getText()));
+            }
+        }
+    }
+
+    /**
+     * Message for a key, the shared prebuilt one if it has no placeholders
+     */
+    public Message get(String key) {
+        Message message = prebuilt.get(key);
+        return message != null ? message : format(key);
+    }
+
+    /**
+     * Message for a key with its placeholders filled in from name/value pairs
+     */
+    public Message format(String key, Object... namesAndValues) {
+        MessageTemplate template = catalog.get(key);
+        return build(template, template.format(namesAndValues));
+    }
+
+    /**
+     * A player-provided or computed value, shown in the value color
+     */
+    public Message value(Object value) {
+        return Message.raw(String.valueOf(value)).color(MessageCatalog.WHITE);
+    }
+
+    /**
+     * Several lines composed into one message, so they go out as a single chat packet
+     */
+    public Message lines(Message... lines) {
+        Message out = Message.raw("");
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0) {
+                out.insert(NEWLINE);
+            }
+            out.insert(lines[i]);
+        }
+        return out;
+    }
+
+    /**
+     * A label followed by a value on one line, e.g. "Home Name: base"
+     */
+    public Message labeled(String labelKey, Object value) {
+        return labeled(labelKey, value(value));
+    }
+
+    /**
+     * A label followed by an already built message on one line
+     */
+    public Message labeled(String labelKey, Message value) {
+        return Message.raw("").insert(get(labelKey)).insert(value);
+    }
+
+    public MessageCatalog getCatalog() {
+        return catalog;
+    }
+
+    private static Message build(MessageTemplate template, String text) {
+        Message message = Message.raw(text).color(template.getColor());
+        return template.isBold() ? message.bold(true) : message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.teleportplugin.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, cheap to update from many threads
+ */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
\ No newline at end of file
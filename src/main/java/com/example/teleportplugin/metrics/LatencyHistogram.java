@@ -0,0 +1,80 @@
+package com.example.teleportplugin.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of nanosecond durations in power-of-two buckets. Recording is a few
+ * uncontended adds; percentiles are reported as the upper bound of their bucket,
+ * so they are accurate to within a factor of two.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a duration in nanoseconds, negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Record the time elapsed since a System.nanoTime() reading
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sum.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Approximate percentile (0-100) in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                // Bucket i holds values in [2^(i-1), 2^i - 1], bucket 0 holds 0
+                return Math.min(i == 0 ? 0 : (1L << i) - 1, getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.teleportplugin.metrics;
+
+import com.example.teleportplugin.logging.PluginLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the metrics report to a file (metrics.json or metrics.txt) for
+ * external scrapers. The file is replaced atomically, so readers never see a partial report.
+ */
+public class MetricsDumper {
+    private static final PluginLogger LOG = PluginLogger.get("MetricsDumper");
+
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final boolean json;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "TeleportPlugin-Metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param format "json" or "text"
+     */
+    public MetricsDumper(MetricsRegistry registry, Path dataDir, String format) {
+        this.registry = registry;
+        this.json = !"text".equalsIgnoreCase(format);
+        this.file = dataDir.resolve(json ? "metrics.json" : "metrics.txt");
+    }
+
+    public void start(long intervalMillis) {
+        scheduler.scheduleWithFixedDelay(this::dump, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        LOG.info("Writing metrics to " + file + " every " + intervalMillis + "ms");
+    }
+
+    /**
+     * Write the report now
+     */
+    public void dump() {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(tempFile, json ? registry.renderJson() : registry.renderText());
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.error("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop dumping after writing a final report
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        dump();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.example.teleportplugin.metrics;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Plugin-wide registry of named counters, gauges and latency histograms.
+ * Metrics are created on first use; components keep the returned instance in a
+ * static field so updating it never touches the registry.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Register a value that is read when metrics are reported, replacing an earlier gauge of the same name
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * One line per metric, sorted by name, durations in milliseconds
+     */
+    public List<String> renderLines() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            lines.add(entry.getKey() + " " + entry.getValue().get());
+        }
+        for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(gauges).entrySet()) {
+            lines.add(entry.getKey() + " " + readGauge(entry.getValue()));
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            long count = histogram.getCount();
+            lines.add(String.format("%s count=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms",
+                    entry.getKey(),
+                    count,
+                    count > 0 ? histogram.getSumNanos() / (double) count / 1e6 : 0.0,
+                    histogram.getPercentileNanos(50) / 1e6,
+                    histogram.getPercentileNanos(99) / 1e6,
+                    histogram.getMaxNanos() / 1e6));
+        }
+        return lines;
+    }
+
+    /**
+     * Plain text report, one metric per line
+     */
+    public String renderText() {
+        StringBuilder text = new StringBuilder();
+        text.append("# TeleportPlugin metrics at ").append(System.currentTimeMillis()).append('\n');
+        for (String line : renderLines()) {
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * JSON report: {"timestamp", "uptimeMillis", "counters", "gauges", "histograms"}, durations in nanoseconds
+     */
+    public String renderJson() {
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.setIndent("  ");
+            long now = System.currentTimeMillis();
+            json.beginObject();
+            json.name("timestamp").value(now);
+            json.name("uptimeMillis").value(now - startedAt);
+
+            json.name("counters").beginObject();
+            for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+                json.name(entry.getKey()).value(entry.getValue().get());
+            }
+            json.endObject();
+
+            json.name("gauges").beginObject();
+            for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(gauges).entrySet()) {
+                json.name(entry.getKey()).value(readGauge(entry.getValue()));
+            }
+            json.endObject();
+
+            json.name("histograms").beginObject();
+            for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                json.name(entry.getKey()).beginObject();
+                json.name("count").value(histogram.getCount());
+                json.name("sumNanos").value(histogram.getSumNanos());
+                json.name("p50Nanos").value(histogram.getPercentileNanos(50));
+                json.name("p90Nanos").value(histogram.getPercentileNanos(90));
+                json.name("p99Nanos").value(histogram.getPercentileNanos(99));
+                json.name("maxNanos").value(histogram.getMaxNanos());
+                json.endObject();
+            }
+            json.endObject();
+
+            json.endObject();
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    private static long readGauge(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
\ No newline at end of file
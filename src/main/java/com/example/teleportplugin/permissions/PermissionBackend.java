@@ -0,0 +1,10 @@
+package com.example.teleportplugin.permissions;
+
+/**
+ * Answers single permission node checks for a subject (the server's player type)
+ */
+@FunctionalInterface
+public interface PermissionBackend<S> {
+
+    boolean hasPermission(S subject, String node);
+}
\ No newline at end of file
@@ -1,104 +1,100 @@
 package com.example.teleportplugin.permissions;
 
 import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 
+import java.util.UUID;
+
 /**
  * Manages permission checks and home limits
+ *
+ * Resolution and caching live in {@link PermissionResolver}; this class connects it to
+ * the server's Player type and permission API.
  */
 public class PermissionManager {
-    private final TeleportPlugin plugin;
+    private static final PluginLogger LOG = PluginLogger.get("PermissionManager");
+
+    private final PermissionResolver<Player> resolver;
+    private final String adminNode;
 
     public PermissionManager(TeleportPlugin plugin) {
-        this.plugin = plugin;
-        System.out.println("[PermissionManager] Permission system initialized");
+        this.adminNode = plugin.getConfig().getPermissionNodes().node(PermissionNodeTable.ADMIN);
+        this.resolver = new PermissionResolver<>(this::hasPermission, plugin.getConfig(),
+                playerId -> plugin.getHomeManager().getHomeCount(playerId));
+        LOG.info("Permission system initialized");
     }
 
     /**
      * Check if player has permission to set homes
      */
-    public boolean canSetHome(Player player) {
-        return hasPermission(player, plugin.getConfig().getHomeSetPermission());
+    public boolean canSetHome(Player player, UUID playerId) {
+        return resolver.isGranted(player, playerId, PermissionNodeTable.HOME_SET);
     }
 
     /**
      * Check if player has permission to teleport to homes
      */
-    public boolean canTeleportToHome(Player player) {
-        return hasPermission(player, plugin.getConfig().getHomeTpPermission());
+    public boolean canTeleportToHome(Player player, UUID playerId) {
+        return resolver.isGranted(player, playerId, PermissionNodeTable.HOME_TP);
     }
 
     /**
      * Check if player has permission to delete homes
      */
-    public boolean canDeleteHome(Player player) {
-        return hasPermission(player, plugin.getConfig().getHomeDeletePermission());
+    public boolean canDeleteHome(Player player, UUID playerId) {
+        return resolver.isGranted(player, playerId, PermissionNodeTable.HOME_DELETE);
     }
 
     /**
      * Check if player has permission to list homes
      */
-    public boolean canListHomes(Player player) {
-        return hasPermission(player, plugin.getConfig().getHomeListPermission());
+    public boolean canListHomes(Player player, UUID playerId) {
+        return resolver.isGranted(player, playerId, PermissionNodeTable.HOME_LIST);
+    }
+
+    /**
+     * Check if a command sender (player or console) may use the /homeadmin commands. Asks
+     * the sender directly rather than the cached placeholder check, admin commands are rare.
+     */
+    public boolean canAdminister(CommandSender sender) {
+        return sender.hasPermission(adminNode);
     }
 
     /**
      * Get the maximum number of homes a player can set based on permissions
-     * Checks for teleport.home.set.X permissions where X is the limit
      */
-    public int getMaxHomes(Player player) {
-        // Check for specific limit permissions (teleport.home.set.1, teleport.home.set.5, etc.)
-        int maxFound = 0;
-
-        // Check common limits: 1, 3, 5, 10, 15, 20, 25, 50, 100
-        int[] commonLimits = {1, 3, 5, 10, 15, 20, 25, 50, 100};
-
-        for (int limit : commonLimits) {
-            String permission = plugin.getConfig().getHomeSetLimitPermission(limit);
-            if (hasPermission(player, permission)) {
-                maxFound = Math.max(maxFound, limit);
-            }
-        }
-
-        // If no specific limit found, check for unlimited permission
-        if (maxFound == 0 && hasPermission(player, plugin.getConfig().getHomeSetLimitPermission(999))) {
-            return Integer.MAX_VALUE; // Unlimited
-        }
-
-        // If still no limit found, use default
-        if (maxFound == 0) {
-            maxFound = plugin.getConfig().defaultMaxHomes;
-        }
-
-        return maxFound;
+    public int getMaxHomes(Player player, UUID playerId) {
+        return resolver.getMaxHomes(player, playerId);
     }
 
     /**
      * Check if player can set another home (doesn't exceed limit)
      */
-    public boolean canSetAnotherHome(Player player, String playerId) {
-        int maxHomes = getMaxHomes(player);
-        int currentHomes = plugin.getHomeManager().getHomeCount(playerId);
-
-        boolean canSet = currentHomes < maxHomes;
+    public boolean canSetAnotherHome(Player player, UUID playerId) {
+        return resolver.canSetAnotherHome(player, playerId);
+    }
 
-        System.out.println("[PermissionManager] Player " + playerId + " has " + currentHomes + "/" + maxHomes + " homes. Can set another: " + canSet);
+    /**
+     * Get a formatted string showing current/max homes for a player
+     */
+    public String getHomesLimitString(Player player, UUID playerId) {
+        return resolver.getHomesLimitString(player, playerId);
+    }
 
-        return canSet;
+    /**
+     * Forget a player's resolved permissions, call on permission change, world change or rejoin
+     */
+    public void invalidate(UUID playerId) {
+        resolver.invalidate(playerId);
     }
 
     /**
-     * Get a formatted string showing current/max homes for a player
+     * Forget all resolved permissions, e.g. after the permission backend or config reloaded
      */
-    public String getHomesLimitString(Player player, String playerId) {
-        int maxHomes = getMaxHomes(player);
-        int currentHomes = plugin.getHomeManager().getHomeCount(playerId);
-
-        if (maxHomes == Integer.MAX_VALUE) {
-            return currentHomes + "/unlimited homes";
-        } else {
-            return currentHomes + "/" + maxHomes + " homes";
-        }
+    public void invalidateAll() {
+        resolver.invalidateAll();
     }
 
     /**
@@ -115,7 +111,7 @@ public class PermissionManager {
 
         // TODO: Use proper player identification when Player API is fully available
         // Note: getUuid() is deprecated, but still used in examples - we'll use toString for now
-        System.out.println("[PermissionManager] Checking permission '" + permission + "' for player (placeholder: true)");
+        LOG.debug(() -> "Checking permission '" + permission + "' for player (placeholder: true)");
         return true; // Placeholder - always true for now
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.example.teleportplugin.permissions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable table of every permission node the plugin checks, built once from the
+ * config. Each node has a fixed integer ID, so per-player permission state can be
+ * kept in a BitSet indexed by node ID instead of being looked up by string.
+ *
+ * IDs 0-5 are the fixed nodes below, followed by one ID per home limit tier in
+ * ascending tier order.
+ */
+public final class PermissionNodeTable {
+    public static final int HOME_SET = 0;
+    public static final int HOME_TP = 1;
+    public static final int HOME_DELETE = 2;
+    public static final int HOME_LIST = 3;
+    public static final int HOME_SET_UNLIMITED = 4;
+    public static final int ADMIN = 5;
+    private static final int FIRST_LIMIT_ID = 6;
+
+    private static final int UNLIMITED_HOMES_TIER = 999;
+
+    private final String[] nodes;
+    private final int[] limitTiers;
+    private final Map<String, Integer> ids;
+
+    private PermissionNodeTable(String[] nodes, int[] limitTiers) {
+        this.nodes = nodes;
+        this.limitTiers = limitTiers;
+        this.ids = new HashMap<>(nodes.length * 2);
+        for (int id = 0; id < nodes.length; id++) {
+            ids.put(nodes[id], id);
+        }
+    }
+
+    /**
+     * Build the table for a permission prefix and home limit tiers (unsorted, non-positive tiers are ignored)
+     */
+    public static PermissionNodeTable build(String prefix, int[] homeLimitTiers) {
+        int[] tiers = Arrays.stream(homeLimitTiers != null ? homeLimitTiers : new int[0])
+                .filter(tier -> tier > 0 && tier != UNLIMITED_HOMES_TIER)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        String homeSet = prefix + ".home.set";
+        String[] nodes = new String[FIRST_LIMIT_ID + tiers.length];
+        nodes[HOME_SET] = homeSet.intern();
+        nodes[HOME_TP] = (prefix + ".home.tp").intern();
+        nodes[HOME_DELETE] = (prefix + ".home.delete").intern();
+        nodes[HOME_LIST] = (prefix + ".home.list").intern();
+        nodes[HOME_SET_UNLIMITED] = (homeSet + "." + UNLIMITED_HOMES_TIER).intern();
+        nodes[ADMIN] = (prefix + ".admin").intern();
+        for (int i = 0; i < tiers.length; i++) {
+            nodes[FIRST_LIMIT_ID + i] = (homeSet + "." + tiers[i]).intern();
+        }
+        return new PermissionNodeTable(nodes, tiers);
+    }
+
+    /**
+     * Number of nodes, IDs run from 0 to size() - 1
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Node string for an ID
+     */
+    public String node(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * ID of a node string, -1 if the plugin never checks it
+     */
+    public int idOf(String node) {
+        Integer id = ids.get(node);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Number of configured home limit tiers
+     */
+    public int limitTierCount() {
+        return limitTiers.length;
+    }
+
+    /**
+     * Home limit of a tier, tiers are sorted ascending
+     */
+    public int limitTier(int index) {
+        return limitTiers[index];
+    }
+
+    /**
+     * Node ID granting a tier's home limit
+     */
+    public int limitNodeId(int index) {
+        return FIRST_LIMIT_ID + index;
+    }
+
+    /**
+     * Node ID for an exact home limit, -1 if it is not a configured tier
+     */
+    public int limitNodeIdFor(int limit) {
+        if (limit == UNLIMITED_HOMES_TIER) {
+            return HOME_SET_UNLIMITED;
+        }
+        int index = Arrays.binarySearch(limitTiers, limit);
+        return index >= 0 ? limitNodeId(index) : -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.example.teleportplugin.permissions;
+
+import com.example.teleportplugin.config.PluginConfig;
+import com.example.teleportplugin.logging.PluginLogger;
+import com.example.teleportplugin.util.ConcurrentUuidMap;
+
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Resolves and caches permissions and home limits, independent of the server API.
+ *
+ * A player's permissions are resolved once into a {@link ResolvedPermissions} and
+ * reused until {@link #invalidate} is called, the entry ages past
+ * permissionCacheMillis, or a different subject object shows up for the same ID
+ * (rejoin or world change).
+ */
+public class PermissionResolver<S> {
+    private static final PluginLogger LOG = PluginLogger.get("PermissionResolver");
+    private static final int SWEEP_INTERVAL = 256;
+
+    private final PermissionBackend<S> backend;
+    private final PluginConfig config;
+    private final ToIntFunction<UUID> homeCounts;
+    private final ConcurrentUuidMap<ResolvedPermissions<S>> cache = new ConcurrentUuidMap<>();
+    private final AtomicInteger missesSinceSweep = new AtomicInteger();
+
+    /**
+     * @param homeCounts current number of homes of a player ID
+     */
+    public PermissionResolver(PermissionBackend<S> backend, PluginConfig config, ToIntFunction<UUID> homeCounts) {
+        this.backend = backend;
+        this.config = config;
+        this.homeCounts = homeCounts;
+    }
+
+    /**
+     * Check a node by its {@link PermissionNodeTable} ID
+     */
+    public boolean isGranted(S subject, UUID playerId, int nodeId) {
+        return resolve(subject, playerId).granted.get(nodeId);
+    }
+
+    /**
+     * Get the maximum number of homes a player can set based on permissions
+     * Checks for teleport.home.set.X permissions where X is one of the configured limit tiers
+     */
+    public int getMaxHomes(S subject, UUID playerId) {
+        return resolve(subject, playerId).maxHomes;
+    }
+
+    /**
+     * Check if player can set another home (doesn't exceed limit)
+     */
+    public boolean canSetAnotherHome(S subject, UUID playerId) {
+        int maxHomes = getMaxHomes(subject, playerId);
+        int currentHomes = homeCounts.applyAsInt(playerId);
+
+        boolean canSet = currentHomes < maxHomes;
+
+        LOG.debug(() -> "Player " + playerId + " has " + currentHomes + "/" + maxHomes + " homes. Can set another: " + canSet);
+
+        return canSet;
+    }
+
+    /**
+     * Get a formatted string showing current/max homes for a player
+     */
+    public String getHomesLimitString(S subject, UUID playerId) {
+        int maxHomes = getMaxHomes(subject, playerId);
+        int currentHomes = homeCounts.applyAsInt(playerId);
+
+        if (maxHomes == Integer.MAX_VALUE) {
+            return currentHomes + "/unlimited homes";
+        } else {
+            return currentHomes + "/" + maxHomes + " homes";
+        }
+    }
+
+    /**
+     * Forget a player's resolved permissions, call on permission change, world change or rejoin
+     */
+    public void invalidate(UUID playerId) {
+        cache.remove(playerId);
+    }
+
+    /**
+     * Forget all resolved permissions, e.g. after the permission backend or config reloaded
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private ResolvedPermissions<S> resolve(S subject, UUID playerId) {
+        long now = System.nanoTime();
+        ResolvedPermissions<S> cached = cache.get(playerId);
+        if (cached != null && cached.expiresAt - now > 0 && cached.subject.get() == subject) {
+            return cached;
+        }
+
+        PermissionNodeTable nodes = config.getPermissionNodes();
+        BitSet granted = new BitSet(nodes.size());
+        for (int id = 0; id < nodes.size(); id++) {
+            if (backend.hasPermission(subject, nodes.node(id))) {
+                granted.set(id);
+            }
+        }
+        ResolvedPermissions<S> resolved = new ResolvedPermissions<>(
+            subject,
+            now + TimeUnit.MILLISECONDS.toNanos(config.permissionCacheMillis),
+            granted,
+            resolveMaxHomes(granted, nodes, config.defaultMaxHomes)
+        );
+        cache.put(playerId, resolved);
+
+        // Drop entries of players whose subject is gone now and then
+        int misses = missesSinceSweep.incrementAndGet();
+        if (misses >= SWEEP_INTERVAL && missesSinceSweep.compareAndSet(misses, 0)) {
+            cache.forEach((id, entry) -> {
+                if (entry.subject.get() == null) {
+                    cache.remove(id, entry);
+                }
+            });
+        }
+        return resolved;
+    }
+
+    private static int resolveMaxHomes(BitSet granted, PermissionNodeTable nodes, int defaultMaxHomes) {
+        // Check for specific limit permissions (teleport.home.set.1, teleport.home.set.5, etc.)
+        // Tiers are sorted ascending, so the highest granted tier is the first hit from the top
+        for (int i = nodes.limitTierCount() - 1; i >= 0; i--) {
+            if (granted.get(nodes.limitNodeId(i))) {
+                return nodes.limitTier(i);
+            }
+        }
+
+        // If no specific limit found, check for unlimited permission
+        if (granted.get(PermissionNodeTable.HOME_SET_UNLIMITED)) {
+            return Integer.MAX_VALUE; // Unlimited
+        }
+
+        // If still no limit found, use default
+        return defaultMaxHomes;
+    }
+
+    /**
+     * Permissions of one player, resolved in one go. Granted nodes are indexed by their
+     * {@link PermissionNodeTable} ID.
+     */
+    private static class ResolvedPermissions<S> {
+        final WeakReference<S> subject;
+        final long expiresAt;
+        final BitSet granted;
+        final int maxHomes;
+
+        ResolvedPermissions(S subject, long expiresAt, BitSet granted, int maxHomes) {
+            this.subject = new WeakReference<>(subject);
+            this.expiresAt = expiresAt;
+            this.granted = granted;
+            this.maxHomes = maxHomes;
+        }
+    }
+}
\ No newline at end of file
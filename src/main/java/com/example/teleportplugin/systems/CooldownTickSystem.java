@@ -0,0 +1,26 @@
+package com.example.teleportplugin.systems;
+
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Runs expired teleport cooldowns of a world on its own tick. The callbacks run inside this
+ * system's tick, so ones that change components hand that work to world.execute, which runs
+ * it after the tick.
+ */
+public class CooldownTickSystem extends TickingSystem<EntityStore> {
+    private final TeleportCooldownManager cooldownManager;
+
+    public CooldownTickSystem(TeleportCooldownManager cooldownManager) {
+        this.cooldownManager = cooldownManager;
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, Store<EntityStore> store) {
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        cooldownManager.tick(world.getName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.teleportplugin.systems;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import com.example.teleportplugin.util.ConcurrentUuidMap;
+
+import java.util.UUID;
+
+/**
+ * Reads the TransformComponent of players with a pending teleport each tick and hands
+ * their position to {@link PlayerMovementSystem}. Players without a pending teleport
+ * are never looked at, so the cost follows the number of pending teleports.
+ */
+public class MovementCancelSystem extends TickingSystem<EntityStore> {
+    private final PlayerMovementSystem movementSystem;
+    private final ConcurrentUuidMap<Ref<EntityStore>> watched = new ConcurrentUuidMap<>();
+
+    public MovementCancelSystem(PlayerMovementSystem movementSystem) {
+        this.movementSystem = movementSystem;
+    }
+
+    /**
+     * Watch a player whose teleport cooldown just started
+     */
+    public void watch(UUID playerId, Ref<EntityStore> ref) {
+        movementSystem.startWatching(playerId);
+        watched.put(playerId, ref);
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, Store<EntityStore> store) {
+        if (watched.isEmpty()) {
+            return;
+        }
+
+        watched.forEach((playerId, ref) -> {
+            if (!ref.isValid()) {
+                // Player left or the entity was removed
+                movementSystem.stopWatching(playerId);
+                watched.remove(playerId, ref);
+                return;
+            }
+            if (ref.getStore() != store) {
+                return; // Ticked by the player's own world
+            }
+
+            TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+            if (transform == null) {
+                return;
+            }
+            Vector3d position = transform.getPosition();
+            if (!movementSystem.checkMovement(playerId, position.getX(), position.getY(), position.getZ())) {
+                // Only drop the entry if no newer teleport replaced it meanwhile
+                watched.remove(playerId, ref);
+            }
+        });
+    }
+
+    /**
+     * Number of players currently watched
+     */
+    public int getWatchedCount() {
+        return watched.size();
+    }
+}
\ No newline at end of file
@@ -1,114 +1,80 @@
 package com.example.teleportplugin.systems;
 
-import com.example.teleportplugin.TeleportPlugin;
+import com.example.teleportplugin.cooldown.CancelReason;
+import com.example.teleportplugin.cooldown.TeleportCooldownManager;
+import com.example.teleportplugin.logging.PluginLogger;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.UUID;
 
 /**
- * Simplified movement detection system using periodic checks
- * TODO: Replace with proper Entity System when API is available
+ * Cancels teleport cooldowns of players who move away from where the cooldown started.
+ * Only players with a pending teleport are watched, see {@link MovementCancelSystem}
+ * for the entity system that feeds their positions.
  */
 public class PlayerMovementSystem {
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    private final Map<String, PlayerPosition> lastPositions = new HashMap<>();
-    private final double MOVEMENT_THRESHOLD = 0.1; // Minimum movement to trigger cancellation
-    private volatile boolean running = false;
+    private static final PluginLogger LOG = PluginLogger.get("PlayerMovementSystem");
+    private final TeleportCooldownManager cooldownManager;
+    private final PositionTracker startPositions = new PositionTracker(64);
+    private final double movementThresholdSquared;
 
-    public void start() {
-        if (running) return;
-        running = true;
-
-        // Check for movement every 100ms (10 times per second) - using Timer instead
-        java.util.Timer timer = new java.util.Timer("PlayerMovementChecker", true);
-        timer.scheduleAtFixedRate(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                checkPlayerMovement();
-            }
-        }, 0, 100);
-        System.out.println("[PlayerMovementSystem] Started movement detection (placeholder implementation)");
+    /**
+     * @param movementThreshold minimum movement in blocks to trigger cancellation
+     */
+    public PlayerMovementSystem(TeleportCooldownManager cooldownManager, double movementThreshold) {
+        this.cooldownManager = cooldownManager;
+        this.movementThresholdSquared = movementThreshold * movementThreshold;
     }
 
-    private void checkPlayerMovement() {
-        try {
-            // TODO: This is a placeholder implementation
-            // In a real implementation, we would:
-            // 1. Get all online players
-            // 2. Get their current positions
-            // 3. Compare with stored positions
-            // 4. Cancel cooldowns if movement detected
-
-            // For now, we'll disable movement cancellation since we can't access player positions
-            // The user reported that movement cancellation isn't working anyway,
-            // so this is consistent with the current behavior
-
-        } catch (Exception e) {
-            System.err.println("[PlayerMovementSystem] Error in movement check: " + e.getMessage());
-        }
+    /**
+     * Start watching a player whose cooldown just began, the next reported position becomes the start position
+     */
+    public void startWatching(UUID playerId) {
+        startPositions.remove(playerId);
     }
 
     /**
-     * Manual method to cancel cooldown when movement is detected
-     * This can be called from other systems when movement is detected
+     * Stop watching a player
      */
-    public void onPlayerMove(String playerId, double x, double y, double z) {
-        PlayerPosition lastPosition = lastPositions.get(playerId);
-        PlayerPosition currentPosition = new PlayerPosition(x, y, z);
-
-        if (lastPosition != null) {
-            double distance = lastPosition.distanceTo(currentPosition);
+    public void stopWatching(UUID playerId) {
+        startPositions.remove(playerId);
+    }
 
-            if (distance > MOVEMENT_THRESHOLD) {
-                // Player moved significantly - cancel their cooldown
-                if (TeleportPlugin.getInstance().getCooldownManager().hasCooldown(playerId)) {
-                    TeleportPlugin.getInstance().getCooldownManager().cancelCooldown(playerId);
-                    System.out.println("[PlayerMovementSystem] Player " + playerId + " moved " +
-                                     String.format("%.2f", distance) + " blocks - cooldown cancelled");
-                }
-            }
+    /**
+     * Compare a watched player's position with their start position and cancel the cooldown
+     * if they moved too far. Returns false once the player no longer needs watching.
+     */
+    public boolean checkMovement(UUID playerId, double x, double y, double z) {
+        if (!cooldownManager.hasCooldown(playerId)) {
+            stopWatching(playerId);
+            return false;
         }
 
-        // Always update the last known position
-        lastPositions.put(playerId, currentPosition);
+        double distanceSquared = startPositions.measure(playerId, x, y, z);
+        if (distanceSquared > movementThresholdSquared) {
+            // Player moved significantly - cancel their cooldown
+            cooldownManager.cancelCooldown(playerId, CancelReason.MOVEMENT);
+            stopWatching(playerId);
+            LOG.info("Player " + playerId + " moved " + String.format("%.2f", Math.sqrt(distanceSquared)) + " blocks - cooldown cancelled");
+            return false;
+        }
+        return true;
     }
 
     /**
-     * Remove player from tracking when they disconnect
+     * Manual method to cancel cooldown when movement is detected
+     * This can be called from other systems when movement is detected
      */
-    public void removePlayer(String playerId) {
-        lastPositions.remove(playerId);
+    public void onPlayerMove(UUID playerId, double x, double y, double z) {
+        if (cooldownManager.hasCooldown(playerId)) {
+            checkMovement(playerId, x, y, z);
+        }
     }
 
     /**
      * Shutdown the movement detection system
      */
     public void shutdown() {
-        running = false;
-        // Timer cleanup will be handled automatically since it's a daemon thread
-        lastPositions.clear();
-        System.out.println("[PlayerMovementSystem] Shutdown complete");
-    }
-
-    /**
-     * Simple position container
-     */
-    private static class PlayerPosition {
-        public final double x, y, z;
-
-        public PlayerPosition(double x, double y, double z) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
-        }
-
-        public double distanceTo(PlayerPosition other) {
-            double dx = this.x - other.x;
-            double dy = this.y - other.y;
-            double dz = this.z - other.z;
-            return Math.sqrt(dx * dx + dy * dy + dz * dz);
-        }
+        startPositions.clear();
+        LOG.info("Shutdown complete");
     }
 }
\ No newline at end of file
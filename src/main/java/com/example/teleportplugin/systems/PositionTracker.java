@@ -0,0 +1,106 @@
+package com.example.teleportplugin.systems;
+
+import com.example.teleportplugin.util.UuidMap;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Last known position per player, stored as parallel primitive arrays indexed by a
+ * per-player slot. Updates overwrite the slot in place, so once a player has a slot
+ * tracking them allocates nothing.
+ */
+public class PositionTracker {
+    private final UuidMap<Integer> slots = new UuidMap<>();
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+    private int[] freeSlots;
+    private int freeCount = 0;
+    private int nextSlot = 0;
+
+    public PositionTracker(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        xs = new double[capacity];
+        ys = new double[capacity];
+        zs = new double[capacity];
+        freeSlots = new int[capacity];
+    }
+
+    /**
+     * Store the player's position and return the squared distance from the previous one,
+     * or -1 if the player was not tracked yet
+     */
+    public synchronized double update(UUID playerId, double x, double y, double z) {
+        Integer slot = slots.get(playerId);
+        if (slot == null) {
+            int index = allocateSlot();
+            slots.put(playerId, index);
+            xs[index] = x;
+            ys[index] = y;
+            zs[index] = z;
+            return -1;
+        }
+
+        int index = slot;
+        double dx = x - xs[index];
+        double dy = y - ys[index];
+        double dz = z - zs[index];
+        xs[index] = x;
+        ys[index] = y;
+        zs[index] = z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Squared distance between the given position and the stored one, without updating it.
+     * Stores the position and returns -1 if the player was not tracked yet.
+     */
+    public synchronized double measure(UUID playerId, double x, double y, double z) {
+        Integer slot = slots.get(playerId);
+        if (slot == null) {
+            update(playerId, x, y, z);
+            return -1;
+        }
+
+        int index = slot;
+        double dx = x - xs[index];
+        double dy = y - ys[index];
+        double dz = z - zs[index];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Stop tracking a player and recycle their slot
+     */
+    public synchronized void remove(UUID playerId) {
+        Integer slot = slots.remove(playerId);
+        if (slot != null) {
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    public synchronized void clear() {
+        slots.clear();
+        freeCount = 0;
+        nextSlot = 0;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextSlot == xs.length) {
+            int capacity = xs.length * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return nextSlot++;
+    }
+}
\ No newline at end of file
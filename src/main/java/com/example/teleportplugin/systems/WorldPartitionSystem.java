@@ -0,0 +1,25 @@
+package com.example.teleportplugin.systems;
+
+import com.example.teleportplugin.data.HomeManager;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Loads a world's home partition on its first tick and keeps it loaded while the world
+ * ticks. Worlds that stop ticking are unloaded by the {@link HomeManager} once idle.
+ */
+public class WorldPartitionSystem extends TickingSystem<EntityStore> {
+    private final HomeManager homeManager;
+
+    public WorldPartitionSystem(HomeManager homeManager) {
+        this.homeManager = homeManager;
+    }
+
+    @Override
+    public void tick(float dt, int systemIndex, Store<EntityStore> store) {
+        World world = ((EntityStore) store.getExternalData()).getWorld();
+        homeManager.loadWorld(world.getName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.example.teleportplugin.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the throughput of a stream of reads or writes. Bytes are taken from a budget that
+ * refills at the configured rate and may burst up to one second's worth; a caller that
+ * overdraws it sleeps until the budget is back at zero.
+ *
+ * Not thread-safe, meant for one stream on one thread.
+ */
+public class ByteRateLimiter {
+    private final long bytesPerSecond;
+    private long available;
+    private long lastRefill;
+
+    /**
+     * @param bytesPerSecond maximum rate, 0 or less for no limit
+     */
+    public ByteRateLimiter(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.available = Math.max(0, bytesPerSecond);
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Account for bytes about to be read or written, sleeping if the rate is exceeded
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        if (bytesPerSecond <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long refill = (long) ((now - lastRefill) / 1e9 * bytesPerSecond);
+        if (refill > 0) {
+            available = Math.min(bytesPerSecond, available + refill);
+            lastRefill = now;
+        }
+        available -= bytes;
+        if (available < 0) {
+            TimeUnit.NANOSECONDS.sleep((long) (-available * 1e9 / bytesPerSecond));
+        }
+    }
+
+    public boolean isLimited() {
+        return bytesPerSecond > 0;
+    }
+}
\ No newline at end of file
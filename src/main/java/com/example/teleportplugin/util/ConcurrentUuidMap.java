@@ -0,0 +1,275 @@
+package com.example.teleportplugin.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread-safe {@link UuidMap}: the keys are spread over segments, each guarded by its own
+ * StampedLock. Reads are optimistic and only take the read lock when they raced a write.
+ *
+ * Functions passed to compute methods run under the segment's write lock, which is not
+ * reentrant, so they must not access the same map.
+ */
+public class ConcurrentUuidMap<V> {
+    private static final int SEGMENT_BITS = 4;
+
+    private final Segment<V>[] segments;
+
+    public ConcurrentUuidMap() {
+        this(16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentUuidMap(int expectedSize) {
+        int count = 1 << SEGMENT_BITS;
+        segments = (Segment<V>[]) new Segment<?>[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(expectedSize / count);
+        }
+    }
+
+    public V get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    public V get(long msb, long lsb) {
+        Segment<V> segment = segmentFor(msb, lsb);
+        StampedLock lock = segment.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            V value = segment.map.get(msb, lsb);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return segment.map.get(msb, lsb);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(UUID key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associate the value with the key, returns the previous value or null
+     */
+    public V put(UUID key, V value) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        Segment<V> segment = segmentFor(msb, lsb);
+        long stamp = segment.lock.writeLock();
+        try {
+            return segment.map.put(msb, lsb, value);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Associate the value with the key unless it already has one, returns the existing value or null
+     */
+    public V putIfAbsent(UUID key, V value) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        Segment<V> segment = segmentFor(msb, lsb);
+        long stamp = segment.lock.writeLock();
+        try {
+            V existing = segment.map.get(msb, lsb);
+            if (existing == null) {
+                segment.map.put(msb, lsb, value);
+            }
+            return existing;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the key, returns the removed value or null
+     */
+    public V remove(UUID key) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        Segment<V> segment = segmentFor(msb, lsb);
+        long stamp = segment.lock.writeLock();
+        try {
+            return segment.map.remove(msb, lsb);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the key only while it still maps to the given instance
+     */
+    public boolean remove(UUID key, V expected) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        Segment<V> segment = segmentFor(msb, lsb);
+        long stamp = segment.lock.writeLock();
+        try {
+            if (segment.map.get(msb, lsb) != expected) {
+                return false;
+            }
+            segment.map.remove(msb, lsb);
+            return true;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replace the key's value by the function result, removing the key if it returns null
+     */
+    public V compute(UUID key, BiFunction<UUID, V, V> function) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        Segment<V> segment = segmentFor(msb, lsb);
+        long stamp = segment.lock.writeLock();
+        try {
+            V existing = segment.map.get(msb, lsb);
+            V value = function.apply(key, existing);
+            if (value != null) {
+                segment.map.put(msb, lsb, value);
+            } else if (existing != null) {
+                segment.map.remove(msb, lsb);
+            }
+            return value;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Value of the key, created by the function if there is none yet
+     */
+    public V computeIfAbsent(UUID key, Function<UUID, V> function) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        Segment<V> segment = segmentFor(msb, lsb);
+        long stamp = segment.lock.writeLock();
+        try {
+            existing = segment.map.get(msb, lsb);
+            if (existing != null) {
+                return existing;
+            }
+            V value = function.apply(key);
+            if (value != null) {
+                segment.map.put(msb, lsb, value);
+            }
+            return value;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Number of entries; not a snapshot while other threads are writing
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Segment<V> segment : segments) {
+            if (segment.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            long stamp = segment.lock.writeLock();
+            try {
+                segment.map.clear();
+            } finally {
+                segment.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Call the action for every entry. Each segment is copied under its read lock and the
+     * action runs outside of it, so it may modify this map.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<UUID, V> action) {
+        for (Segment<V> segment : segments) {
+            long[] msbs;
+            long[] lsbs;
+            Object[] values;
+            int count;
+            long stamp = segment.lock.readLock();
+            try {
+                int size = segment.map.size();
+                if (size == 0) {
+                    continue;
+                }
+                msbs = new long[size];
+                lsbs = new long[size];
+                values = new Object[size];
+                count = segment.map.copyTo(msbs, lsbs, values);
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+            for (int i = 0; i < count; i++) {
+                action.accept(new UUID(msbs[i], lsbs[i]), (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the keys
+     */
+    public List<UUID> keys() {
+        List<UUID> keys = new ArrayList<>(size());
+        forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+
+    private Segment<V> segmentFor(long msb, long lsb) {
+        return segments[(int) (UuidMap.hash(msb, lsb) >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    private static final class Segment<V> {
+        final StampedLock lock = new StampedLock();
+        final UuidMap<V> map;
+
+        Segment(int expectedSize) {
+            map = new UuidMap<>(expectedSize);
+        }
+
+        int size() {
+            long stamp = lock.tryOptimisticRead();
+            int size = map.size();
+            if (stamp != 0 && lock.validate(stamp)) {
+                return size;
+            }
+            stamp = lock.readLock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.example.teleportplugin.util;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Open-addressing hash map keyed by UUID. Keys live as two longs in parallel primitive
+ * arrays, so a lookup neither hashes a String nor allocates. Linear probing with
+ * backward-shift deletion; null values are not allowed.
+ *
+ * Not thread-safe, see {@link ConcurrentUuidMap}.
+ */
+public class UuidMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    // Swapped as a whole on resize, so a reader that loaded it once sees consistent arrays
+    private Table table;
+    private int size;
+
+    public UuidMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public UuidMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public V get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long msb, long lsb) {
+        Table t = table;
+        int index = (int) hash(msb, lsb) & t.mask;
+        // Bounded by the capacity so a racing optimistic reader always terminates
+        for (int probes = 0; probes <= t.mask; probes++) {
+            Object value = t.values[index];
+            if (value == null) {
+                return null;
+            }
+            if (t.msbs[index] == msb && t.lsbs[index] == lsb) {
+                return (V) value;
+            }
+            index = (index + 1) & t.mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(UUID key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associate the value with the key, returns the previous value or null
+     */
+    public V put(UUID key, V value) {
+        return put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long msb, long lsb, V value) {
+        if (value == null) {
+            throw new NullPointerException("null values are not supported");
+        }
+        Table t = table;
+        int index = (int) hash(msb, lsb) & t.mask;
+        while (true) {
+            Object existing = t.values[index];
+            if (existing == null) {
+                t.msbs[index] = msb;
+                t.lsbs[index] = lsb;
+                t.values[index] = value;
+                if (++size > t.threshold) {
+                    resize(t.values.length * 2);
+                }
+                return null;
+            }
+            if (t.msbs[index] == msb && t.lsbs[index] == lsb) {
+                t.values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & t.mask;
+        }
+    }
+
+    /**
+     * Remove the key, returns the removed value or null
+     */
+    public V remove(UUID key) {
+        return remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long msb, long lsb) {
+        Table t = table;
+        int index = (int) hash(msb, lsb) & t.mask;
+        while (true) {
+            Object existing = t.values[index];
+            if (existing == null) {
+                return null;
+            }
+            if (t.msbs[index] == msb && t.lsbs[index] == lsb) {
+                shiftBack(t, index);
+                size--;
+                return (V) existing;
+            }
+            index = (index + 1) & t.mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Call the action for every entry, creating a UUID per entry
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<UUID, V> action) {
+        Table t = table;
+        for (int i = 0; i < t.values.length; i++) {
+            Object value = t.values[i];
+            if (value != null) {
+                action.accept(new UUID(t.msbs[i], t.lsbs[i]), (V) value);
+            }
+        }
+    }
+
+    /**
+     * Copy the entries into the given arrays (sized by {@link #size()}), returns the count
+     */
+    int copyTo(long[] msbs, long[] lsbs, Object[] values) {
+        Table t = table;
+        int count = 0;
+        for (int i = 0; i < t.values.length; i++) {
+            if (t.values[i] != null) {
+                msbs[count] = t.msbs[i];
+                lsbs[count] = t.lsbs[i];
+                values[count] = t.values[i];
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Close the gap left at a removed slot by moving later entries of the same probe run back
+     */
+    private static void shiftBack(Table t, int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & t.mask;
+            if (t.values[index] == null) {
+                break;
+            }
+            int home = (int) hash(t.msbs[index], t.lsbs[index]) & t.mask;
+            // The entry may only move back if its home slot is not between the gap and itself
+            if (((index - home) & t.mask) >= ((index - gap) & t.mask)) {
+                t.msbs[gap] = t.msbs[index];
+                t.lsbs[gap] = t.lsbs[index];
+                t.values[gap] = t.values[index];
+                gap = index;
+            }
+        }
+        t.values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        for (int i = 0; i < old.values.length; i++) {
+            Object value = old.values[i];
+            if (value == null) {
+                continue;
+            }
+            int index = (int) hash(old.msbs[i], old.lsbs[i]) & resized.mask;
+            while (resized.values[index] != null) {
+                index = (index + 1) & resized.mask;
+            }
+            resized.msbs[index] = old.msbs[i];
+            resized.lsbs[index] = old.lsbs[i];
+            resized.values[index] = value;
+        }
+        table = resized;
+    }
+
+    /**
+     * Mix both halves of the key; the low bits pick the slot, the high bits the segment of a
+     * {@link ConcurrentUuidMap}
+     */
+    static long hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L + lsb;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        // Keep the load factor at or below 2/3
+        long needed = Math.max(MIN_CAPACITY, (long) expectedSize * 3 / 2 + 1);
+        if (needed > 1 << 30) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static final class Table {
+        final long[] msbs;
+        final long[] lsbs;
+        final Object[] values;
+        final int mask;
+        final int threshold;
+
+        Table(int capacity) {
+            msbs = new long[capacity];
+            lsbs = new long[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+            threshold = capacity / 3 * 2;
+        }
+    }
+}
\ No newline at end of file